@@ -0,0 +1,143 @@
+package com.estacionamento.carga;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.Arrays;
+import java.util.Locale;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Gerador de carga para {@code POST /api/acessos}. Mantém {@code concorrencia} requisições em voo até
+ * completar {@code requisicoes}, mede a latência de cada uma e reporta vazão e percentis. Rodado uma vez
+ * com o servidor em threads de plataforma e outra com {@code spring.threads.virtual.enabled=true}, o
+ * arquivo de resultados permite comparar os dois modos lado a lado.
+ *
+ * <p>Os acessos enviados já vêm com saída, para não esbarrar na capacidade do estacionamento, e usam
+ * um conjunto fixo de placas, como os veículos recorrentes de um estacionamento real.
+ */
+public final class CargaAcessos {
+
+    private CargaAcessos() {
+    }
+
+    public static void main(String[] args) throws Exception {
+        String url = System.getProperty("carga.url", "http://localhost:8080/api/acessos");
+        long estacionamentoId = Long.getLong("carga.estacionamentoId", 1L);
+        long tempoId = Long.getLong("carga.tempoId", 1L);
+        int requisicoes = Integer.getInteger("carga.requisicoes", 20_000);
+        int aquecimento = Integer.getInteger("carga.aquecimento", 2_000);
+        int concorrencia = Integer.getInteger("carga.concorrencia", 200);
+        int placas = Integer.getInteger("carga.placas", 1_000);
+        String rotulo = System.getProperty("carga.rotulo", "sem-rotulo");
+        Path resultados = Path.of(System.getProperty("carga.resultados", "build/carga/resultados.csv"));
+
+        HttpClient cliente = HttpClient.newBuilder().connectTimeout(Duration.ofSeconds(5)).build();
+        Cenario cenario = new Cenario(URI.create(url), estacionamentoId, tempoId, placas);
+
+        executar(cliente, cenario, aquecimento, concorrencia);
+        Resultado resultado = executar(cliente, cenario, requisicoes, concorrencia);
+
+        String linha = resultado.formatar(rotulo, concorrencia);
+        System.out.println(Resultado.CABECALHO);
+        System.out.println(linha);
+
+        Files.createDirectories(resultados.toAbsolutePath().getParent());
+        if (Files.notExists(resultados)) {
+            Files.writeString(resultados, Resultado.CABECALHO + System.lineSeparator());
+        }
+        Files.writeString(resultados, linha + System.lineSeparator(), StandardOpenOption.APPEND);
+    }
+
+    private static Resultado executar(HttpClient cliente, Cenario cenario, int total, int concorrencia)
+        throws InterruptedException {
+        long[] latencias = new long[total];
+        AtomicInteger falhas = new AtomicInteger();
+        Semaphore emVoo = new Semaphore(concorrencia);
+
+        long inicio = System.nanoTime();
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (int i = 0; i < total; i++) {
+                emVoo.acquire();
+                int indice = i;
+                executor.submit(() -> {
+                    try {
+                        long enviada = System.nanoTime();
+                        HttpResponse<Void> resposta = cliente.send(cenario.requisicao(indice),
+                            HttpResponse.BodyHandlers.discarding());
+                        latencias[indice] = System.nanoTime() - enviada;
+                        if (resposta.statusCode() != 201) {
+                            falhas.incrementAndGet();
+                        }
+                    } catch (IOException e) {
+                        latencias[indice] = -1;
+                        falhas.incrementAndGet();
+                    } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                    } finally {
+                        emVoo.release();
+                    }
+                });
+            }
+        }
+        long duracao = System.nanoTime() - inicio;
+        return Resultado.de(latencias, falhas.get(), duracao);
+    }
+
+    private record Cenario(URI uri, long estacionamentoId, long tempoId, int placas) {
+
+        HttpRequest requisicao(int indice) {
+            LocalDate dia = LocalDate.now();
+            LocalTime entrada = LocalTime.of(8, 0).plusMinutes(indice % 600);
+            String corpo = String.format(Locale.ROOT,
+                "{\"estacionamento\":{\"id\":%d},"
+                    + "\"veiculo\":{\"placa\":\"CRG%04d\",\"marca\":\"Carga\",\"modelo\":\"Teste\"},"
+                    + "\"dataInicio\":\"%s\",\"horaInicio\":\"%s\",\"dataFim\":\"%s\",\"horaFim\":\"%s\","
+                    + "\"tipoAcesso\":\"TEMPO\",\"tempo\":{\"id\":%d}}",
+                estacionamentoId, indice % placas, dia, entrada, dia, entrada.plusMinutes(37), tempoId);
+            return HttpRequest.newBuilder(uri)
+                .timeout(Duration.ofSeconds(30))
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofString(corpo, StandardCharsets.UTF_8))
+                .build();
+        }
+    }
+
+    private record Resultado(int total, int falhas, double vazao, double p50, double p90, double p99, double max) {
+
+        static final String CABECALHO = "rotulo,concorrencia,requisicoes,falhas,vazao_rps,p50_ms,p90_ms,p99_ms,max_ms";
+
+        static Resultado de(long[] latencias, int falhas, long duracaoNanos) {
+            long[] respondidas = Arrays.stream(latencias).filter(l -> l > 0).sorted().toArray();
+            double vazao = latencias.length / (duracaoNanos / 1e9);
+            return new Resultado(latencias.length, falhas, vazao,
+                percentil(respondidas, 0.50), percentil(respondidas, 0.90), percentil(respondidas, 0.99),
+                respondidas.length == 0 ? 0 : respondidas[respondidas.length - 1] / 1e6);
+        }
+
+        private static double percentil(long[] ordenadas, double p) {
+            if (ordenadas.length == 0) {
+                return 0;
+            }
+            int posicao = (int) Math.ceil(p * ordenadas.length) - 1;
+            return ordenadas[Math.max(posicao, 0)] / 1e6;
+        }
+
+        String formatar(String rotulo, int concorrencia) {
+            return String.format(Locale.ROOT, "%s,%d,%d,%d,%.1f,%.2f,%.2f,%.2f,%.2f",
+                rotulo, concorrencia, total, falhas, vazao, p50, p90, p99, max);
+        }
+    }
+}
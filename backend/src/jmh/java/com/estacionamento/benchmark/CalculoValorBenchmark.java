@@ -0,0 +1,57 @@
+package com.estacionamento.benchmark;
+
+import com.estacionamento.model.Acesso;
+import com.estacionamento.tarifa.CalculoTarifarioReferencia;
+import com.estacionamento.tarifa.CobrancaDiaria;
+import com.estacionamento.tarifa.MotorTarifario;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.time.LocalTime;
+
+@State(Scope.Benchmark)
+public class CalculoValorBenchmark {
+
+    private static final long TOLERANCIA_MINUTOS = 15;
+
+    @Param({"TEMPO", "DIARIA", "MENSALISTA"})
+    private String tipoAcesso;
+
+    @Param({"CURTA", "MULTIPLOS_DIAS"})
+    private Cenarios.Permanencia permanencia;
+
+    @Param({"UNICA", "POR_DIA"})
+    private CobrancaDiaria cobrancaDiaria;
+
+    private MotorTarifario motorTarifario;
+    private Acesso acesso;
+
+    @Setup
+    public void setUp() {
+        motorTarifario = new MotorTarifario(cobrancaDiaria, Duration.ofMinutes(TOLERANCIA_MINUTOS));
+        acesso = Cenarios.acesso(tipoAcesso, permanencia, Cenarios.diaria(LocalTime.of(22, 0), LocalTime.of(6, 0)));
+    }
+
+    @Benchmark
+    public BigDecimal motorTarifario() {
+        return motorTarifario.calcularValor(acesso);
+    }
+
+    @Benchmark
+    public long motorTarifarioCentavos() {
+        return motorTarifario.calcularCentavos(acesso);
+    }
+
+    @Benchmark
+    public BigDecimal calculoReferencia() {
+        if (cobrancaDiaria == CobrancaDiaria.POR_DIA && "DIARIA".equals(tipoAcesso)) {
+            return CalculoTarifarioReferencia.calcularValorDiariaPorDia(acesso, TOLERANCIA_MINUTOS);
+        }
+        return CalculoTarifarioReferencia.calcularValor(acesso);
+    }
+}
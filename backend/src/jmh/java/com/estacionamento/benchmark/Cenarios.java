@@ -0,0 +1,73 @@
+package com.estacionamento.benchmark;
+
+import com.estacionamento.model.Acesso;
+import com.estacionamento.model.Diaria;
+import com.estacionamento.model.DiariaNoturna;
+import com.estacionamento.model.Estacionamento;
+import com.estacionamento.model.Mensalista;
+import com.estacionamento.model.Tempo;
+import com.estacionamento.model.Veiculo;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.HashSet;
+
+public final class Cenarios {
+
+    static final LocalDate DIA = LocalDate.of(2024, 7, 1);
+
+    private Cenarios() {
+    }
+
+    static Estacionamento estacionamento() {
+        return new Estacionamento(1L, "Estacionamento Central", "Rua A, 123", 100,
+            LocalTime.of(6, 0), LocalTime.of(23, 0), new HashSet<>(), 0L);
+    }
+
+    static Veiculo veiculo() {
+        return new Veiculo(1L, "ABC1234", "Fiat", "Uno", "Preto");
+    }
+
+    static Tempo tempo() {
+        return new Tempo(1L, LocalTime.of(0, 15), new BigDecimal("7.35"), new BigDecimal("10.00"));
+    }
+
+    static Diaria diaria(LocalTime inicioNoturno, LocalTime fimNoturno) {
+        Diaria diaria = new Diaria(2L, new BigDecimal("50.00"), "DIARIA_COMUM", "Diária normal", null);
+        diaria.setDiariaNoturna(new DiariaNoturna(2L, inicioNoturno, fimNoturno, new BigDecimal("5.00"), null));
+        return diaria;
+    }
+
+    static Mensalista mensalista() {
+        return new Mensalista(3L, new BigDecimal("300.00"), 1, "Plano Mensal");
+    }
+
+    static Acesso acesso(String tipoAcesso, Permanencia permanencia, Diaria diaria) {
+        Acesso acesso = new Acesso();
+        acesso.setEstacionamento(estacionamento());
+        acesso.setVeiculo(veiculo());
+        acesso.setTipoAcesso(tipoAcesso);
+        acesso.setDataInicio(DIA);
+        acesso.setHoraInicio(LocalTime.of(21, 7, 31));
+        acesso.setDataFim(DIA.plusDays(permanencia.dias));
+        acesso.setHoraFim(LocalTime.of(21, 7, 31).plusMinutes(permanencia.minutos));
+        acesso.setTempo(tempo());
+        acesso.setDiaria(diaria);
+        acesso.setMensalista(mensalista());
+        return acesso;
+    }
+
+    public enum Permanencia {
+        CURTA(0, 47),
+        MULTIPLOS_DIAS(4, 7 * 60 + 13);
+
+        private final int dias;
+        private final int minutos;
+
+        Permanencia(int dias, int minutos) {
+            this.dias = dias;
+            this.minutos = minutos;
+        }
+    }
+}
@@ -0,0 +1,82 @@
+package com.estacionamento.benchmark;
+
+import com.estacionamento.cache.CachePlacas;
+import com.estacionamento.cache.CacheTarifas;
+import com.estacionamento.escrita.FilaEntradas;
+import com.estacionamento.faturamento.AgregadorFaturamento;
+import com.estacionamento.model.Acesso;
+import com.estacionamento.model.Diaria;
+import com.estacionamento.ocupacao.IndiceOcupacao;
+import com.estacionamento.ocupacao.SessoesAbertas;
+import com.estacionamento.repository.AcessoLoteRepository;
+import com.estacionamento.repository.AcessoRepository;
+import com.estacionamento.repository.DiariaRepository;
+import com.estacionamento.repository.EstacionamentoRepository;
+import com.estacionamento.repository.EventoRepository;
+import com.estacionamento.repository.FaturamentoDiarioRepository;
+import com.estacionamento.repository.MensalistaRepository;
+import com.estacionamento.repository.TempoRepository;
+import com.estacionamento.repository.VeiculoLoteRepository;
+import com.estacionamento.repository.VeiculoRepository;
+import com.estacionamento.reserva.ReservasVagas;
+import com.estacionamento.service.AcessoService;
+import com.estacionamento.tarifa.MotorTarifario;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.springframework.util.unit.DataSize;
+
+import java.time.Duration;
+import java.time.LocalTime;
+
+/**
+ * Mede o registro de acesso sem banco: os repositórios devolvem entidades fixas, então o resultado
+ * reflete validação, resolução de referências e precificação. O mesmo acesso é reutilizado entre as
+ * chamadas porque {@code criarAcesso} apenas substitui as referências pelas entidades gerenciadas.
+ */
+@State(Scope.Thread)
+public class CriarAcessoBenchmark {
+
+    @Param({"TEMPO", "DIARIA", "MENSALISTA"})
+    private String tipoAcesso;
+
+    @Param({"CURTA", "MULTIPLOS_DIAS"})
+    private Cenarios.Permanencia permanencia;
+
+    private AcessoService acessoService;
+    private Acesso acesso;
+
+    @Setup
+    public void setUp() {
+        Diaria diaria = Cenarios.diaria(LocalTime.of(22, 0), LocalTime.of(6, 0));
+        acessoService = new AcessoService(
+            RepositoriosEmMemoria.repositorio(AcessoRepository.class, null),
+            new AcessoLoteRepository(null),
+            RepositoriosEmMemoria.repositorio(EstacionamentoRepository.class, Cenarios.estacionamento()),
+            RepositoriosEmMemoria.repositorio(VeiculoRepository.class, Cenarios.veiculo()),
+            new VeiculoLoteRepository(null),
+            new CacheTarifas(
+                RepositoriosEmMemoria.repositorio(TempoRepository.class, Cenarios.tempo()),
+                RepositoriosEmMemoria.repositorio(DiariaRepository.class, diaria),
+                RepositoriosEmMemoria.repositorio(MensalistaRepository.class, Cenarios.mensalista()),
+                1_000, Duration.ofHours(6)),
+            new MotorTarifario(),
+            new IndiceOcupacao(),
+            new SessoesAbertas(),
+            new CachePlacas(10_000, Duration.ofMinutes(30)),
+            new AgregadorFaturamento(RepositoriosEmMemoria.repositorio(FaturamentoDiarioRepository.class, null)),
+            new FilaEntradas(null, false, null, DataSize.ofMegabytes(64), "benchmark"),
+            new ReservasVagas(),
+            RepositoriosEmMemoria.repositorio(EventoRepository.class, null),
+            null
+        );
+        acesso = Cenarios.acesso(tipoAcesso, permanencia, Cenarios.diaria(LocalTime.of(22, 0), LocalTime.of(6, 0)));
+    }
+
+    @Benchmark
+    public Acesso criarAcesso() {
+        return acessoService.criarAcesso(acesso);
+    }
+}
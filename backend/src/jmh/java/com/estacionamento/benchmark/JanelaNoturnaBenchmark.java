@@ -0,0 +1,62 @@
+package com.estacionamento.benchmark;
+
+import com.estacionamento.model.Diaria;
+import com.estacionamento.model.DiariaNoturna;
+import com.estacionamento.tarifa.JanelaNoturna;
+import com.estacionamento.tarifa.PlanoDiaria;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.time.LocalTime;
+
+@State(Scope.Thread)
+public class JanelaNoturnaBenchmark {
+
+    private static final int HORARIOS = 1024;
+
+    @Param({"22:00-06:00", "18:00-23:30"})
+    private String janela;
+
+    private DiariaNoturna diariaNoturna;
+    private PlanoDiaria planoDiaria;
+    private JanelaNoturna janelaNoturna;
+    private LocalTime[] horarios;
+    private int indice;
+
+    @Setup
+    public void setUp() {
+        String[] limites = janela.split("-");
+        Diaria diaria = Cenarios.diaria(LocalTime.parse(limites[0]), LocalTime.parse(limites[1]));
+        diariaNoturna = diaria.getDiariaNoturna();
+        planoDiaria = PlanoDiaria.compilar(diaria);
+        janelaNoturna = JanelaNoturna.de(diariaNoturna.getHoraInicio(), diariaNoturna.getHoraFim());
+
+        horarios = new LocalTime[HORARIOS];
+        for (int i = 0; i < HORARIOS; i++) {
+            horarios[i] = LocalTime.ofSecondOfDay((i * 84_391L) % 86_400L);
+        }
+    }
+
+    private LocalTime proximoHorario() {
+        indice = (indice + 1) & (HORARIOS - 1);
+        return horarios[indice];
+    }
+
+    @Benchmark
+    public boolean entidadeDiariaNoturna() {
+        return diariaNoturna.isTimeInNightPeriod(proximoHorario());
+    }
+
+    @Benchmark
+    public boolean janelaNoturna() {
+        return janelaNoturna.contem(proximoHorario());
+    }
+
+    @Benchmark
+    public long planoDiaria() {
+        return planoDiaria.calcularCentavos(proximoHorario());
+    }
+}
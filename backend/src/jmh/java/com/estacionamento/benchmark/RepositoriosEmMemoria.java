@@ -0,0 +1,47 @@
+package com.estacionamento.benchmark;
+
+import java.lang.reflect.Proxy;
+import java.util.Optional;
+
+/**
+ * Repositórios falsos para isolar o custo do serviço do custo do banco: toda busca devolve a
+ * entidade informada e {@code save} devolve o próprio argumento.
+ */
+final class RepositoriosEmMemoria {
+
+    private RepositoriosEmMemoria() {
+    }
+
+    static <T> T repositorio(Class<T> tipo, Object entidade) {
+        Optional<Object> resultado = Optional.ofNullable(entidade);
+        Object proxy = Proxy.newProxyInstance(tipo.getClassLoader(), new Class<?>[]{tipo}, (p, metodo, args) -> {
+            String nome = metodo.getName();
+            if (nome.startsWith("findBy")) {
+                return resultado;
+            }
+            if (nome.equals("getReferenceById")) {
+                return entidade;
+            }
+            if (nome.equals("save")) {
+                return args[0];
+            }
+            if (nome.equals("acumular")) {
+                return null;
+            }
+            if (nome.equals("existsById")) {
+                return entidade != null;
+            }
+            if (nome.equals("hashCode")) {
+                return System.identityHashCode(p);
+            }
+            if (nome.equals("equals")) {
+                return p == args[0];
+            }
+            if (nome.equals("toString")) {
+                return tipo.getSimpleName() + "EmMemoria";
+            }
+            throw new UnsupportedOperationException(nome);
+        });
+        return tipo.cast(proxy);
+    }
+}
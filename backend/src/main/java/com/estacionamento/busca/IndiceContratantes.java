@@ -0,0 +1,204 @@
+package com.estacionamento.busca;
+
+import com.estacionamento.dto.ContratanteResumoDTO;
+import com.estacionamento.transacao.AposCommit;
+import org.springframework.stereotype.Component;
+
+import java.text.Normalizer;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.regex.Pattern;
+
+/**
+ * Índice em memória para a busca de contratantes pelo atendente, sem {@code LIKE '%x%'} no banco.
+ *
+ * <p>Nomes são indexados por palavra, sem acentos e em minúsculas, e a busca casa o prefixo de cada
+ * palavra digitada ("jo sil" encontra "João da Silva"). CPF/CNPJ e telefone são indexados só pelos dígitos
+ * e por todos os sufixos, então uma busca só com dígitos casa qualquer trecho contínuo deles: o começo do
+ * CPF ou o telefone sem DDD.
+ *
+ * <p>Mantido pelo {@code ContratanteService} depois do commit de cada escrita e carregado na inicialização
+ * pelo {@link InicializadorIndiceContratantes}. As leituras não bloqueiam; as escritas são serializadas.
+ */
+@Component
+public class IndiceContratantes {
+
+    public static final int LIMITE_PADRAO = 10;
+    public static final int LIMITE_MAXIMO = 50;
+
+    private static final int MINIMO_DIGITOS = 3;
+
+    private static final Pattern LETRA = Pattern.compile("\\p{L}");
+    private static final Pattern MARCAS = Pattern.compile("\\p{M}+");
+    private static final Pattern SEPARADORES = Pattern.compile("[^\\p{L}\\p{N}]+");
+    private static final Pattern NAO_DIGITOS = Pattern.compile("\\D+");
+
+    private final Map<Long, Indexado> porId = new ConcurrentHashMap<>();
+    private final NavigableMap<String, Set<Long>> palavras = new ConcurrentSkipListMap<>();
+    private final NavigableMap<String, Set<Long>> digitos = new ConcurrentSkipListMap<>();
+
+    /**
+     * Contratantes que casam com o termo, no máximo {@code limite}. Com só dígitos e separadores, busca em
+     * CPF/CNPJ e telefone; com letras, busca no nome. Termos curtos demais retornam lista vazia.
+     */
+    public List<ContratanteResumoDTO> buscar(String termo, int limite) {
+        if (termo == null || limite <= 0) {
+            return List.of();
+        }
+        if (!LETRA.matcher(termo).find()) {
+            String apenasDigitos = NAO_DIGITOS.matcher(termo).replaceAll("");
+            return apenasDigitos.length() < MINIMO_DIGITOS ? List.of() : buscarDigitos(apenasDigitos, limite);
+        }
+        List<String> prefixos = palavrasDe(termo);
+        return prefixos.isEmpty() ? List.of() : buscarNome(prefixos, limite);
+    }
+
+    public synchronized void registrar(ContratanteResumoDTO contratante) {
+        if (contratante == null || contratante.id() == null) {
+            return;
+        }
+        remover(contratante.id());
+        Indexado indexado = new Indexado(contratante, palavrasDe(contratante.nome()), sufixosDe(contratante));
+        porId.put(contratante.id(), indexado);
+        indexado.palavras().forEach(p -> adicionar(palavras, p, contratante.id()));
+        indexado.sufixos().forEach(s -> adicionar(digitos, s, contratante.id()));
+    }
+
+    public synchronized void remover(Long id) {
+        Indexado anterior = porId.remove(id);
+        if (anterior == null) {
+            return;
+        }
+        anterior.palavras().forEach(p -> retirar(palavras, p, id));
+        anterior.sufixos().forEach(s -> retirar(digitos, s, id));
+    }
+
+    public synchronized void reconstruir(Collection<ContratanteResumoDTO> contratantes) {
+        porId.clear();
+        palavras.clear();
+        digitos.clear();
+        contratantes.forEach(this::registrar);
+    }
+
+    /** A busca só passa a encontrar o contratante quando o cadastro ou a alteração dele estiver gravado. */
+    public void registrarAposCommit(ContratanteResumoDTO contratante) {
+        AposCommit.executar(() -> registrar(contratante));
+    }
+
+    public void removerAposCommit(Long id) {
+        AposCommit.executar(() -> remover(id));
+    }
+
+    public int tamanho() {
+        return porId.size();
+    }
+
+    private List<ContratanteResumoDTO> buscarDigitos(String trecho, int limite) {
+        Set<Long> ids = new LinkedHashSet<>();
+        for (Set<Long> encontrados : comPrefixo(digitos, trecho).values()) {
+            for (Long id : encontrados) {
+                ids.add(id);
+                if (ids.size() == limite) {
+                    return resumos(ids);
+                }
+            }
+        }
+        return resumos(ids);
+    }
+
+    /**
+     * Percorre em ordem as palavras que começam com o prefixo mais longo, o mais seletivo, e confere os
+     * demais nas palavras do próprio contratante, parando ao atingir o limite.
+     */
+    private List<ContratanteResumoDTO> buscarNome(List<String> prefixos, int limite) {
+        String maisLongo = prefixos.stream().max(Comparator.comparingInt(String::length)).orElseThrow();
+        Set<Long> ids = new LinkedHashSet<>();
+        for (Set<Long> encontrados : comPrefixo(palavras, maisLongo).values()) {
+            for (Long id : encontrados) {
+                Indexado indexado = porId.get(id);
+                if (indexado != null && indexado.casaTodos(prefixos)) {
+                    ids.add(id);
+                    if (ids.size() == limite) {
+                        return resumos(ids);
+                    }
+                }
+            }
+        }
+        return resumos(ids);
+    }
+
+    private List<ContratanteResumoDTO> resumos(Set<Long> ids) {
+        List<ContratanteResumoDTO> resultado = new ArrayList<>(ids.size());
+        for (Long id : ids) {
+            Indexado indexado = porId.get(id);
+            if (indexado != null) {
+                resultado.add(indexado.resumo());
+            }
+        }
+        return resultado;
+    }
+
+    private static NavigableMap<String, Set<Long>> comPrefixo(NavigableMap<String, Set<Long>> mapa, String prefixo) {
+        return mapa.subMap(prefixo, true, prefixo + Character.MAX_VALUE, false);
+    }
+
+    private static void adicionar(NavigableMap<String, Set<Long>> mapa, String chave, Long id) {
+        mapa.computeIfAbsent(chave, k -> ConcurrentHashMap.newKeySet()).add(id);
+    }
+
+    private static void retirar(NavigableMap<String, Set<Long>> mapa, String chave, Long id) {
+        mapa.computeIfPresent(chave, (k, ids) -> {
+            ids.remove(id);
+            return ids.isEmpty() ? null : ids;
+        });
+    }
+
+    private static List<String> palavrasDe(String texto) {
+        if (texto == null) {
+            return List.of();
+        }
+        String semAcentos = MARCAS.matcher(Normalizer.normalize(texto, Normalizer.Form.NFD)).replaceAll("");
+        List<String> resultado = new ArrayList<>();
+        for (String palavra : SEPARADORES.split(semAcentos.toLowerCase(Locale.ROOT))) {
+            if (!palavra.isEmpty() && !resultado.contains(palavra)) {
+                resultado.add(palavra);
+            }
+        }
+        return resultado;
+    }
+
+    private static Set<String> sufixosDe(ContratanteResumoDTO contratante) {
+        Set<String> sufixos = new LinkedHashSet<>();
+        for (String valor : new String[]{contratante.cpfCnpj(), contratante.telefone()}) {
+            if (valor == null) {
+                continue;
+            }
+            String apenasDigitos = NAO_DIGITOS.matcher(valor).replaceAll("");
+            for (int i = 0; i + MINIMO_DIGITOS <= apenasDigitos.length(); i++) {
+                sufixos.add(apenasDigitos.substring(i));
+            }
+        }
+        return sufixos;
+    }
+
+    private record Indexado(ContratanteResumoDTO resumo, List<String> palavras, Set<String> sufixos) {
+
+        boolean casaTodos(List<String> prefixos) {
+            for (String prefixo : prefixos) {
+                if (palavras.stream().noneMatch(p -> p.startsWith(prefixo))) {
+                    return false;
+                }
+            }
+            return true;
+        }
+    }
+}
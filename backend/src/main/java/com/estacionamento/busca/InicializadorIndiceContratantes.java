@@ -0,0 +1,26 @@
+package com.estacionamento.busca;
+
+import com.estacionamento.repository.ContratanteRepository;
+import org.springframework.beans.factory.SmartInitializingSingleton;
+import org.springframework.stereotype.Component;
+
+/**
+ * Carrega o {@link IndiceContratantes} a partir do banco antes de o servidor começar a aceitar requisições.
+ */
+@Component
+public class InicializadorIndiceContratantes implements SmartInitializingSingleton {
+
+    private final IndiceContratantes indiceContratantes;
+    private final ContratanteRepository contratanteRepository;
+
+    public InicializadorIndiceContratantes(IndiceContratantes indiceContratantes,
+                                           ContratanteRepository contratanteRepository) {
+        this.indiceContratantes = indiceContratantes;
+        this.contratanteRepository = contratanteRepository;
+    }
+
+    @Override
+    public void afterSingletonsInstantiated() {
+        indiceContratantes.reconstruir(contratanteRepository.listarTodosResumos());
+    }
+}
@@ -0,0 +1,106 @@
+package com.estacionamento.cache;
+
+import com.estacionamento.transacao.AposCommit;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Cache placa → ID do veículo, limitado por tamanho e por tempo desde a escrita. As métricas de acerto,
+ * falha e despejo ficam em {@code cache.gets}, {@code cache.evictions} e {@code cache.size} com
+ * {@code cache=placas}.
+ * <p>
+ * Uma placa lida do banco só entra no cache depois do commit de quem a leu, e só se nenhuma placa foi
+ * invalidada desde a {@link #marca()} tomada antes da leitura: assim uma leitura anterior a uma troca de placa
+ * ou exclusão de veículo não volta a gravar o ID antigo depois que a escrita já limpou o cache.
+ */
+@Component
+public class CachePlacas implements MeterBinder {
+
+    private final Cache<String, Long> idsPorPlaca;
+    private final AtomicLong invalidacoes = new AtomicLong();
+
+    public CachePlacas(@Value("${cache.placas.tamanho-maximo:10000}") long tamanhoMaximo,
+                       @Value("${cache.placas.expiracao:30m}") Duration expiracao) {
+        this.idsPorPlaca = Caffeine.newBuilder()
+            .maximumSize(tamanhoMaximo)
+            .expireAfterWrite(expiracao)
+            .recordStats()
+            .build();
+    }
+
+    public Long buscarId(String placa) {
+        return idsPorPlaca.getIfPresent(placa);
+    }
+
+    public void registrar(String placa, Long id) {
+        if (placa != null && id != null) {
+            idsPorPlaca.put(placa, id);
+        }
+    }
+
+    /** Só depois do commit: um veículo inserido numa transação revertida não pode ficar com a placa. */
+    public void registrarAposCommit(String placa, Long id) {
+        AposCommit.executar(() -> registrar(placa, id));
+    }
+
+    /** Marca a tomar antes de ler uma placa do banco, para {@link #registrarLidaAposCommit}. */
+    public long marca() {
+        return invalidacoes.get();
+    }
+
+    /**
+     * Registra depois do commit uma placa lida do banco, descartando-a se alguma invalidação aconteceu desde
+     * {@code marca}. A marca é conferida de novo depois de gravar, porque uma invalidação pode cair entre as
+     * duas coisas.
+     */
+    public void registrarLidaAposCommit(String placa, Long id, long marca) {
+        AposCommit.executar(() -> {
+            if (invalidacoes.get() != marca) {
+                return;
+            }
+            registrar(placa, id);
+            if (invalidacoes.get() != marca) {
+                idsPorPlaca.invalidate(placa);
+            }
+        });
+    }
+
+    public void invalidar(String placa) {
+        if (placa != null) {
+            invalidacoes.incrementAndGet();
+            idsPorPlaca.invalidate(placa);
+        }
+    }
+
+    public void invalidarId(Long id) {
+        invalidacoes.incrementAndGet();
+        idsPorPlaca.asMap().values().removeIf(id::equals);
+    }
+
+    /**
+     * Invalida na hora e de novo depois do commit, descartando também o que outra transação tenha lido entre
+     * a primeira invalidação e o commit da escrita.
+     */
+    public void invalidarAposCommit(String placa) {
+        invalidar(placa);
+        AposCommit.executar(() -> invalidar(placa));
+    }
+
+    public void invalidarIdAposCommit(Long id) {
+        invalidarId(id);
+        AposCommit.executar(() -> invalidarId(id));
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        CaffeineCacheMetrics.monitor(registry, idsPorPlaca, "placas");
+    }
+}
@@ -0,0 +1,177 @@
+package com.estacionamento.cache;
+
+import com.estacionamento.model.Diaria;
+import com.estacionamento.model.Mensalista;
+import com.estacionamento.model.Tempo;
+import com.estacionamento.repository.DiariaRepository;
+import com.estacionamento.repository.MensalistaRepository;
+import com.estacionamento.repository.TempoRepository;
+import com.estacionamento.transacao.AposCommit;
+import com.github.benmanes.caffeine.cache.CacheLoader;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.LoadingCache;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.hibernate.Hibernate;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Function;
+
+/**
+ * Cache read-through das tabelas tarifárias ({@link Tempo}, {@link Diaria} com sua {@code DiariaNoturna} e
+ * {@link Mensalista}). As entradas são compartilhadas entre requisições e não devem ser alteradas por quem as
+ * recebe. Os serviços de cadastro invalidam a entrada na hora e de novo após o commit, para que uma leitura
+ * concorrente não recoloque no cache a versão anterior à alteração.
+ *
+ * <p>As métricas ficam em {@code cache.gets}, {@code cache.load.duration} e {@code cache.hit.ratio} com
+ * {@code cache=tempos}, {@code cache=diarias} e {@code cache=mensalistas}.
+ */
+@Component
+public class CacheTarifas implements MeterBinder {
+
+    private final TempoRepository tempoRepository;
+    private final DiariaRepository diariaRepository;
+    private final MensalistaRepository mensalistaRepository;
+
+    private final LoadingCache<Long, Tempo> tempos;
+    private final LoadingCache<Long, Diaria> diarias;
+    private final LoadingCache<Long, Mensalista> mensalistas;
+
+    public CacheTarifas(TempoRepository tempoRepository, DiariaRepository diariaRepository,
+                        MensalistaRepository mensalistaRepository,
+                        @Value("${cache.tarifas.tamanho-maximo:1000}") long tamanhoMaximo,
+                        @Value("${cache.tarifas.expiracao:6h}") Duration expiracao) {
+        this.tempoRepository = tempoRepository;
+        this.diariaRepository = diariaRepository;
+        this.mensalistaRepository = mensalistaRepository;
+        this.tempos = construir(tamanhoMaximo, expiracao, tempoRepository::findAllById, Tempo::getId,
+            id -> tempoRepository.findById(id).orElse(null));
+        this.diarias = construir(tamanhoMaximo, expiracao,
+            ids -> inicializarTodas(diariaRepository.findAllById(ids)), Diaria::getId,
+            id -> diariaRepository.findById(id).map(CacheTarifas::inicializar).orElse(null));
+        this.mensalistas = construir(tamanhoMaximo, expiracao, mensalistaRepository::findAllById,
+            Mensalista::getId, id -> mensalistaRepository.findById(id).orElse(null));
+    }
+
+    public Tempo buscarTempo(Long id) {
+        return id != null ? tempos.get(id) : null;
+    }
+
+    public Diaria buscarDiaria(Long id) {
+        return id != null ? diarias.get(id) : null;
+    }
+
+    public Mensalista buscarMensalista(Long id) {
+        return id != null ? mensalistas.get(id) : null;
+    }
+
+    /**
+     * Devolve as configurações encontradas entre os IDs informados; os ausentes do cache são carregados com
+     * um único {@code findAllById}. IDs inexistentes simplesmente não aparecem no mapa.
+     */
+    public Map<Long, Tempo> buscarTempos(Collection<Long> ids) {
+        return tempos.getAll(ids);
+    }
+
+    public Map<Long, Diaria> buscarDiarias(Collection<Long> ids) {
+        return diarias.getAll(ids);
+    }
+
+    public Map<Long, Mensalista> buscarMensalistas(Collection<Long> ids) {
+        return mensalistas.getAll(ids);
+    }
+
+    public void invalidarTempo(Long id) {
+        invalidarAposCommit(tempos, id);
+    }
+
+    /**
+     * A {@code DiariaNoturna} compartilha o ID da {@link Diaria} e vive dentro da mesma entrada, então
+     * alterações em qualquer uma das duas invalidam por este método.
+     */
+    public void invalidarDiaria(Long id) {
+        invalidarAposCommit(diarias, id);
+    }
+
+    public void invalidarMensalista(Long id) {
+        invalidarAposCommit(mensalistas, id);
+    }
+
+    /**
+     * Carrega todas as configurações de uma vez, para que as primeiras requisições depois de um deploy não
+     * paguem as consultas.
+     */
+    public void aquecer() {
+        tempoRepository.findAll().forEach(t -> tempos.put(t.getId(), t));
+        diariaRepository.listarComDiariaNoturna().forEach(d -> diarias.put(d.getId(), d));
+        mensalistaRepository.findAll().forEach(m -> mensalistas.put(m.getId(), m));
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        monitorar(registry, tempos, "tempos");
+        monitorar(registry, diarias, "diarias");
+        monitorar(registry, mensalistas, "mensalistas");
+    }
+
+    private static void monitorar(MeterRegistry registry, LoadingCache<Long, ?> cache, String nome) {
+        CaffeineCacheMetrics.monitor(registry, cache, nome);
+        Gauge.builder("cache.hit.ratio", cache, c -> c.stats().hitRate())
+            .tag("cache", nome)
+            .description("Fração das consultas atendidas pelo cache")
+            .register(registry);
+    }
+
+    private static <T> LoadingCache<Long, T> construir(long tamanhoMaximo, Duration expiracao,
+                                                       Function<Set<Long>, ? extends Iterable<T>> buscarTodos,
+                                                       Function<T, Long> id, Function<Long, T> buscar) {
+        return Caffeine.newBuilder()
+            .maximumSize(tamanhoMaximo)
+            .expireAfterWrite(expiracao)
+            .recordStats()
+            .build(new CacheLoader<Long, T>() {
+                @Override
+                public T load(Long chave) {
+                    return buscar.apply(chave);
+                }
+
+                @Override
+                public Map<Long, T> loadAll(Set<? extends Long> chaves) {
+                    Map<Long, T> carregados = new HashMap<>();
+                    buscarTodos.apply(Set.copyOf(chaves)).forEach(e -> carregados.put(id.apply(e), e));
+                    return carregados;
+                }
+            });
+    }
+
+    private static void invalidarAposCommit(LoadingCache<Long, ?> cache, Long id) {
+        if (id == null) {
+            return;
+        }
+        cache.invalidate(id);
+        AposCommit.executar(() -> cache.invalidate(id));
+    }
+
+    /**
+     * A entrada sobrevive à sessão que a carregou, então a {@code DiariaNoturna} precisa estar inicializada
+     * antes de ir para o cache.
+     */
+    private static Diaria inicializar(Diaria diaria) {
+        Hibernate.initialize(diaria.getDiariaNoturna());
+        return diaria;
+    }
+
+    private static List<Diaria> inicializarTodas(List<Diaria> diarias) {
+        diarias.forEach(CacheTarifas::inicializar);
+        return diarias;
+    }
+}
@@ -0,0 +1,28 @@
+package com.estacionamento.cache;
+
+import org.springframework.beans.factory.SmartInitializingSingleton;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+/**
+ * Aquece o {@link CacheTarifas} antes de o servidor começar a aceitar requisições.
+ */
+@Component
+public class InicializadorCacheTarifas implements SmartInitializingSingleton {
+
+    private final CacheTarifas cacheTarifas;
+    private final boolean aquecer;
+
+    public InicializadorCacheTarifas(CacheTarifas cacheTarifas,
+                                     @Value("${cache.tarifas.aquecer:true}") boolean aquecer) {
+        this.cacheTarifas = cacheTarifas;
+        this.aquecer = aquecer;
+    }
+
+    @Override
+    public void afterSingletonsInstantiated() {
+        if (aquecer) {
+            cacheTarifas.aquecer();
+        }
+    }
+}
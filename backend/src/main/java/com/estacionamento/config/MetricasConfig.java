@@ -0,0 +1,22 @@
+package com.estacionamento.config;
+
+import com.estacionamento.metricas.ContagemRepositorio;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.lang.NonNull;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+@Configuration
+public class MetricasConfig implements WebMvcConfigurer {
+
+    private final ContagemRepositorio contagemRepositorio;
+
+    public MetricasConfig(ContagemRepositorio contagemRepositorio) {
+        this.contagemRepositorio = contagemRepositorio;
+    }
+
+    @Override
+    public void addInterceptors(@NonNull InterceptorRegistry registry) {
+        registry.addInterceptor(contagemRepositorio).addPathPatterns("/api/**");
+    }
+}
@@ -1,14 +1,33 @@
 package com.estacionamento.controller;
 
+import com.estacionamento.dto.AcessoDTO;
+import com.estacionamento.dto.AcessoResumoDTO;
+import com.estacionamento.dto.FiltroAcesso;
+import com.estacionamento.dto.PaginaDTO;
+import com.estacionamento.dto.ResultadoLoteDTO;
+import com.estacionamento.dto.SaidaDTO;
+import com.estacionamento.escrita.EntradaPendente;
+import com.estacionamento.exception.ChaveIdempotenciaReutilizadaException;
+import com.estacionamento.exception.ConflitoVersaoException;
 import com.estacionamento.exception.DescricaoEmBrancoException;
+import com.estacionamento.exception.EstacionamentoLotadoException;
 import com.estacionamento.exception.ObjetoNaoEncontradoException;
 import com.estacionamento.exception.ValorAcessoInvalidoException;
+import com.estacionamento.exception.VersaoAusenteException;
+import com.estacionamento.idempotencia.Idempotencia;
 import com.estacionamento.model.Acesso;
 import com.estacionamento.service.AcessoService;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import org.springframework.dao.OptimisticLockingFailureException;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import java.io.IOException;
+import java.io.UncheckedIOException;
 import java.util.List;
 
 @RestController
@@ -16,33 +35,92 @@ import java.util.List;
 public class AcessoController {
 
     private final AcessoService acessoService;
+    private final ObjectMapper objectMapper;
+    private final Idempotencia idempotencia;
 
-    public AcessoController(AcessoService acessoService) {
+    public AcessoController(AcessoService acessoService, ObjectMapper objectMapper, Idempotencia idempotencia) {
         this.acessoService = acessoService;
+        this.objectMapper = objectMapper;
+        this.idempotencia = idempotencia;
     }
 
+    /**
+     * Com a escrita adiada ligada, uma entrada sem saída é respondida com 202 assim que chega ao log local,
+     * ainda sem ID; as demais (ou com o log cheio) seguem pela gravação síncrona e respondem 201. Com
+     * {@code Idempotency-Key}, uma repetição da cancela recebe a resposta da primeira entrada; no 202 a chave
+     * vai para o log com a entrada, sem transação, e só é gravada no banco junto com ela.
+     */
     @PostMapping
-    public ResponseEntity<Acesso> criarAcesso(@RequestBody Acesso acesso) {
-        Acesso novoAcesso = acessoService.criarAcesso(acesso);
-        return new ResponseEntity<>(novoAcesso, HttpStatus.CREATED);
+    public ResponseEntity<AcessoDTO> criarAcesso(
+        @RequestHeader(name = Idempotencia.CABECALHO, required = false) String chave, @RequestBody Acesso acesso
+    ) {
+        return idempotencia.executar(chave, EntradaPendente.ROTA, acesso, AcessoDTO.class,
+            (chaveAceita, impressao) -> {
+                Acesso adiado = acessoService.registrarEntradaAdiada(acesso, chaveAceita, impressao);
+                return adiado != null ? new ResponseEntity<>(AcessoDTO.de(adiado), HttpStatus.ACCEPTED) : null;
+            },
+            () -> new ResponseEntity<>(AcessoDTO.de(acessoService.criarAcesso(acesso)), HttpStatus.CREATED));
+    }
+
+    @PostMapping("/lote")
+    public ResponseEntity<ResultadoLoteDTO> registrarLote(
+        @RequestHeader(name = Idempotencia.CABECALHO, required = false) String chave,
+        @RequestBody List<Acesso> acessos
+    ) {
+        return idempotencia.executar(chave, "POST /api/acessos/lote", acessos, ResultadoLoteDTO.class,
+            () -> new ResponseEntity<>(acessoService.registrarLote(acessos), HttpStatus.OK));
+    }
+
+    @PostMapping("/saida")
+    public ResponseEntity<AcessoDTO> registrarSaida(
+        @RequestHeader(name = Idempotencia.CABECALHO, required = false) String chave, @RequestBody SaidaDTO saida
+    ) {
+        return idempotencia.executar(chave, "POST /api/acessos/saida", saida, AcessoDTO.class, () -> {
+            Acesso acesso = acessoService.encerrarPorPlaca(saida.placa(), saida.dataFim(), saida.horaFim());
+            return new ResponseEntity<>(AcessoDTO.de(acesso), HttpStatus.OK);
+        });
     }
 
     @GetMapping("/{id}")
-    public ResponseEntity<Acesso> buscarAcessoPorId(@PathVariable Long id) {
-        Acesso acesso = acessoService.buscarAcessoPorId(id);
+    public ResponseEntity<AcessoDTO> buscarAcessoPorId(@PathVariable Long id) {
+        AcessoDTO acesso = acessoService.buscarAcessoPorId(id);
         return new ResponseEntity<>(acesso, HttpStatus.OK);
     }
 
     @GetMapping
-    public ResponseEntity<List<Acesso>> listarTodosAcessos() {
-        List<Acesso> acessos = acessoService.listarTodosAcessos();
-        return new ResponseEntity<>(acessos, HttpStatus.OK);
+    public ResponseEntity<PaginaDTO<AcessoResumoDTO>> listarAcessos(
+        FiltroAcesso filtro,
+        @RequestParam(required = false) Long cursor,
+        @RequestParam(required = false) Integer limite
+    ) {
+        PaginaDTO<AcessoResumoDTO> pagina = acessoService.listarAcessos(filtro, cursor, limite);
+        return new ResponseEntity<>(pagina, HttpStatus.OK);
+    }
+
+    @GetMapping("/exportar")
+    public ResponseEntity<StreamingResponseBody> exportarAcessos(FiltroAcesso filtro) {
+        ObjectWriter writer = objectMapper.writerFor(AcessoResumoDTO.class);
+        StreamingResponseBody corpo = saida -> acessoService.exportarAcessos(filtro, acesso -> {
+            try {
+                saida.write(writer.writeValueAsBytes(acesso));
+                saida.write('\n');
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        });
+        return ResponseEntity.ok().contentType(MediaType.APPLICATION_NDJSON).body(corpo);
     }
 
     @PutMapping("/{id}")
-    public ResponseEntity<Acesso> atualizarAcesso(@PathVariable Long id, @RequestBody Acesso acessoAtualizado) {
-        Acesso acesso = acessoService.atualizarAcesso(id, acessoAtualizado);
-        return new ResponseEntity<>(acesso, HttpStatus.OK);
+    public ResponseEntity<AcessoDTO> atualizarAcesso(@PathVariable Long id, @RequestBody Acesso acessoAtualizado) {
+        Acesso acesso;
+        try {
+            acesso = acessoService.atualizarAcesso(id, acessoAtualizado);
+        } catch (OptimisticLockingFailureException e) {
+            throw new ConflitoVersaoException("Acesso com ID " + id
+                + " foi alterado por outra requisição; recarregue e tente novamente.", id, e);
+        }
+        return new ResponseEntity<>(AcessoDTO.de(acesso), HttpStatus.OK);
     }
 
     @DeleteMapping("/{id}")
@@ -62,4 +140,25 @@ public class AcessoController {
     public ResponseEntity<String> handleNotFound(ObjetoNaoEncontradoException ex) {
         return new ResponseEntity<>(ex.getMessage(), HttpStatus.NOT_FOUND);
     }
+
+    @ExceptionHandler({EstacionamentoLotadoException.class})
+    public ResponseEntity<String> handleConflict(EstacionamentoLotadoException ex) {
+        return new ResponseEntity<>(ex.getMessage(), HttpStatus.CONFLICT);
+    }
+
+    @ExceptionHandler({VersaoAusenteException.class})
+    public ResponseEntity<String> handlePreconditionRequired(VersaoAusenteException ex) {
+        return new ResponseEntity<>(ex.getMessage(), HttpStatus.PRECONDITION_REQUIRED);
+    }
+
+    @ExceptionHandler({ChaveIdempotenciaReutilizadaException.class})
+    public ResponseEntity<String> handleUnprocessable(ChaveIdempotenciaReutilizadaException ex) {
+        return new ResponseEntity<>(ex.getMessage(), HttpStatus.UNPROCESSABLE_ENTITY);
+    }
+
+    /** Responde o conflito de versão com o acesso como está gravado, para o cliente refazer a alteração. */
+    @ExceptionHandler({ConflitoVersaoException.class})
+    public ResponseEntity<AcessoDTO> handleVersionConflict(ConflitoVersaoException ex) {
+        return new ResponseEntity<>(acessoService.buscarAcessoPorId(ex.getId()), HttpStatus.CONFLICT);
+    }
 }
\ No newline at end of file
@@ -1,5 +1,8 @@
 package com.estacionamento.controller;
 
+import com.estacionamento.dto.ContratanteDTO;
+import com.estacionamento.dto.ContratanteResumoDTO;
+import com.estacionamento.dto.PaginaListagemDTO;
 import com.estacionamento.exception.DescricaoEmBrancoException;
 import com.estacionamento.exception.ObjetoNaoEncontradoException;
 import com.estacionamento.model.Contratante;
@@ -21,29 +24,42 @@ public class ContratanteController {
     }
 
     @PostMapping
-    public ResponseEntity<Contratante> criarContratante(@RequestBody Contratante contratante) {
+    public ResponseEntity<ContratanteDTO> criarContratante(@RequestBody Contratante contratante) {
         Contratante novoContratante = contratanteService.criarContratante(contratante);
-        return new ResponseEntity<>(novoContratante, HttpStatus.CREATED);
+        return new ResponseEntity<>(ContratanteDTO.de(novoContratante), HttpStatus.CREATED);
     }
 
     @GetMapping("/{id}")
-    public ResponseEntity<Contratante> buscarContratantePorId(@PathVariable Long id) {
+    public ResponseEntity<ContratanteDTO> buscarContratantePorId(@PathVariable Long id) {
         Contratante contratante = contratanteService.buscarContratantePorId(id);
-        return new ResponseEntity<>(contratante, HttpStatus.OK);
+        return new ResponseEntity<>(ContratanteDTO.de(contratante), HttpStatus.OK);
     }
 
     @GetMapping
-    public ResponseEntity<List<Contratante>> listarTodosContratantes() {
-        List<Contratante> contratantes = contratanteService.listarTodosContratantes();
+    public ResponseEntity<PaginaListagemDTO<ContratanteResumoDTO>> listarContratantes(
+        @RequestParam(required = false) Integer pagina,
+        @RequestParam(required = false) Integer tamanho,
+        @RequestParam(required = false) String ordem
+    ) {
+        PaginaListagemDTO<ContratanteResumoDTO> contratantes =
+            contratanteService.listarContratantes(pagina, tamanho, ordem);
+        return new ResponseEntity<>(contratantes, HttpStatus.OK);
+    }
+
+    @GetMapping("/busca")
+    public ResponseEntity<List<ContratanteResumoDTO>> buscarContratantes(
+        @RequestParam String termo, @RequestParam(required = false) Integer limite
+    ) {
+        List<ContratanteResumoDTO> contratantes = contratanteService.buscarContratantes(termo, limite);
         return new ResponseEntity<>(contratantes, HttpStatus.OK);
     }
 
     @PutMapping("/{id}")
-    public ResponseEntity<Contratante> atualizarContratante(
+    public ResponseEntity<ContratanteDTO> atualizarContratante(
         @PathVariable Long id, @RequestBody Contratante contratanteAtualizado
     ) {
         Contratante contratante = contratanteService.atualizarContratante(id, contratanteAtualizado);
-        return new ResponseEntity<>(contratante, HttpStatus.OK);
+        return new ResponseEntity<>(ContratanteDTO.de(contratante), HttpStatus.OK);
     }
 
     @DeleteMapping("/{id}")
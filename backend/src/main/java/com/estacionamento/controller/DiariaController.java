@@ -1,6 +1,9 @@
 package com.estacionamento.controller;
 
 
+import com.estacionamento.dto.DiariaDTO;
+import com.estacionamento.dto.DiariaResumoDTO;
+import com.estacionamento.dto.PaginaListagemDTO;
 import com.estacionamento.exception.DescricaoEmBrancoException;
 import com.estacionamento.exception.ObjetoNaoEncontradoException;
 import com.estacionamento.model.Diaria;
@@ -9,8 +12,6 @@ import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
-import java.util.List;
-
 @RestController
 @RequestMapping("/api/diarias")
 public class DiariaController {
@@ -22,27 +23,31 @@ public class DiariaController {
     }
 
     @PostMapping
-    public ResponseEntity<Diaria> criarDiaria(@RequestBody Diaria diaria) {
+    public ResponseEntity<DiariaDTO> criarDiaria(@RequestBody Diaria diaria) {
         Diaria novaDiaria = diariaService.criarDiaria(diaria);
-        return new ResponseEntity<>(novaDiaria, HttpStatus.CREATED);
+        return new ResponseEntity<>(DiariaDTO.de(novaDiaria), HttpStatus.CREATED);
     }
 
     @GetMapping("/{id}")
-    public ResponseEntity<Diaria> buscarDiariaPorId(@PathVariable Long id) {
+    public ResponseEntity<DiariaDTO> buscarDiariaPorId(@PathVariable Long id) {
         Diaria diaria = diariaService.buscarDiariaPorId(id);
-        return new ResponseEntity<>(diaria, HttpStatus.OK);
+        return new ResponseEntity<>(DiariaDTO.de(diaria), HttpStatus.OK);
     }
 
     @GetMapping
-    public ResponseEntity<List<Diaria>> listarTodasDiarias() {
-        List<Diaria> diarias = diariaService.listarTodasDiarias();
+    public ResponseEntity<PaginaListagemDTO<DiariaResumoDTO>> listarDiarias(
+        @RequestParam(required = false) Integer pagina,
+        @RequestParam(required = false) Integer tamanho,
+        @RequestParam(required = false) String ordem
+    ) {
+        PaginaListagemDTO<DiariaResumoDTO> diarias = diariaService.listarDiarias(pagina, tamanho, ordem);
         return new ResponseEntity<>(diarias, HttpStatus.OK);
     }
 
     @PutMapping("/{id}")
-    public ResponseEntity<Diaria> atualizarDiaria(@PathVariable Long id, @RequestBody Diaria diariaAtualizada) {
+    public ResponseEntity<DiariaDTO> atualizarDiaria(@PathVariable Long id, @RequestBody Diaria diariaAtualizada) {
         Diaria diaria = diariaService.atualizarDiaria(id, diariaAtualizada);
-        return new ResponseEntity<>(diaria, HttpStatus.OK);
+        return new ResponseEntity<>(DiariaDTO.de(diaria), HttpStatus.OK);
     }
 
     @DeleteMapping("/{id}")
@@ -1,5 +1,8 @@
 package com.estacionamento.controller;
 
+import com.estacionamento.dto.DiariaNoturnaDTO;
+import com.estacionamento.dto.DiariaNoturnaResumoDTO;
+import com.estacionamento.dto.PaginaListagemDTO;
 import com.estacionamento.exception.DescricaoEmBrancoException;
 import com.estacionamento.exception.ObjetoNaoEncontradoException;
 import com.estacionamento.model.DiariaNoturna;
@@ -8,8 +11,6 @@ import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
-import java.util.List;
-
 @RestController
 @RequestMapping("/api/diarias-noturnas")
 public class DiariaNoturnaController {
@@ -21,23 +22,28 @@ public class DiariaNoturnaController {
     }
 
     @GetMapping("/{id}")
-    public ResponseEntity<DiariaNoturna> buscarDiariaNoturnaPorId(@PathVariable Long id) {
+    public ResponseEntity<DiariaNoturnaDTO> buscarDiariaNoturnaPorId(@PathVariable Long id) {
         DiariaNoturna diariaNoturna = diariaNoturnaService.buscarDiariaNoturnaPorId(id);
-        return new ResponseEntity<>(diariaNoturna, HttpStatus.OK);
+        return new ResponseEntity<>(DiariaNoturnaDTO.de(diariaNoturna), HttpStatus.OK);
     }
 
     @GetMapping
-    public ResponseEntity<List<DiariaNoturna>> listarTodasDiariasNoturnas() {
-        List<DiariaNoturna> diariasNoturnas = diariaNoturnaService.listarTodasDiariasNoturnas();
+    public ResponseEntity<PaginaListagemDTO<DiariaNoturnaResumoDTO>> listarDiariasNoturnas(
+        @RequestParam(required = false) Integer pagina,
+        @RequestParam(required = false) Integer tamanho,
+        @RequestParam(required = false) String ordem
+    ) {
+        PaginaListagemDTO<DiariaNoturnaResumoDTO> diariasNoturnas =
+            diariaNoturnaService.listarDiariasNoturnas(pagina, tamanho, ordem);
         return new ResponseEntity<>(diariasNoturnas, HttpStatus.OK);
     }
 
     @PutMapping("/{id}")
-    public ResponseEntity<DiariaNoturna> atualizarDiariaNoturna(
+    public ResponseEntity<DiariaNoturnaDTO> atualizarDiariaNoturna(
         @PathVariable Long id, @RequestBody DiariaNoturna diariaNoturnaAtualizada
     ) {
         DiariaNoturna diariaNoturna = diariaNoturnaService.atualizarDiariaNoturna(id, diariaNoturnaAtualizada);
-        return new ResponseEntity<>(diariaNoturna, HttpStatus.OK);
+        return new ResponseEntity<>(DiariaNoturnaDTO.de(diariaNoturna), HttpStatus.OK);
     }
 
     @DeleteMapping("/{id}")
@@ -1,16 +1,20 @@
 package com.estacionamento.controller;
 
+import com.estacionamento.dto.EstacionamentoResumoDTO;
+import com.estacionamento.dto.OcupacaoDTO;
+import com.estacionamento.dto.PaginaListagemDTO;
+import com.estacionamento.exception.ConflitoVersaoException;
 import com.estacionamento.exception.DescricaoEmBrancoException;
 import com.estacionamento.exception.ObjetoNaoEncontradoException;
+import com.estacionamento.exception.VersaoAusenteException;
 import com.estacionamento.model.Estacionamento;
 import com.estacionamento.service.EstacionamentoService;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.dao.OptimisticLockingFailureException;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
-import java.util.List;
-
 @RestController
 @RequestMapping("/api") 
 @CrossOrigin(origins = "*")
@@ -20,8 +24,13 @@ public class EstacionamentoController {
     private EstacionamentoService estacionamentoService;
     
     @GetMapping("/estacionamentos") 
-    public ResponseEntity<List<Estacionamento>> listarTodosEstacionamentos() {
-        List<Estacionamento> estacionamentos = estacionamentoService.listarTodosEstacionamentos();
+    public ResponseEntity<PaginaListagemDTO<EstacionamentoResumoDTO>> listarEstacionamentos(
+        @RequestParam(required = false) Integer pagina,
+        @RequestParam(required = false) Integer tamanho,
+        @RequestParam(required = false) String ordem
+    ) {
+        PaginaListagemDTO<EstacionamentoResumoDTO> estacionamentos =
+            estacionamentoService.listarEstacionamentos(pagina, tamanho, ordem);
         return new ResponseEntity<>(estacionamentos, HttpStatus.OK);
     }
     
@@ -37,11 +46,23 @@ public class EstacionamentoController {
         return new ResponseEntity<>(estacionamento, HttpStatus.OK);
     }
     
+    @GetMapping("/estacionamentos/{id}/ocupacao")
+    public ResponseEntity<OcupacaoDTO> buscarOcupacao(@PathVariable Long id) {
+        OcupacaoDTO ocupacao = estacionamentoService.buscarOcupacao(id);
+        return new ResponseEntity<>(ocupacao, HttpStatus.OK);
+    }
+    
     @PutMapping("/estacionamentos/{id}")
     public ResponseEntity<Estacionamento> atualizarEstacionamento(
         @PathVariable Long id, @RequestBody Estacionamento estacionamentoAtualizado
     ) {
-        Estacionamento estacionamento = estacionamentoService.atualizarEstacionamento(id, estacionamentoAtualizado);
+        Estacionamento estacionamento;
+        try {
+            estacionamento = estacionamentoService.atualizarEstacionamento(id, estacionamentoAtualizado);
+        } catch (OptimisticLockingFailureException e) {
+            throw new ConflitoVersaoException("Estacionamento com ID " + id
+                + " foi alterado por outra requisição; recarregue e tente novamente.", id, e);
+        }
         return new ResponseEntity<>(estacionamento, HttpStatus.OK);
     }
     
@@ -51,8 +72,8 @@ public class EstacionamentoController {
         return new ResponseEntity<>(HttpStatus.NO_CONTENT);
     }
 
-    @ExceptionHandler({DescricaoEmBrancoException.class})
-    public ResponseEntity<String> handleBadRequestException(DescricaoEmBrancoException ex) {
+    @ExceptionHandler({DescricaoEmBrancoException.class, IllegalArgumentException.class})
+    public ResponseEntity<String> handleBadRequestException(RuntimeException ex) {
         return new ResponseEntity<>(ex.getMessage(), HttpStatus.BAD_REQUEST);
     }
 
@@ -61,4 +82,15 @@ public class EstacionamentoController {
         return new ResponseEntity<>(ex.getMessage(), HttpStatus.NOT_FOUND);
     }
 
+    @ExceptionHandler({VersaoAusenteException.class})
+    public ResponseEntity<String> handlePreconditionRequiredException(VersaoAusenteException ex) {
+        return new ResponseEntity<>(ex.getMessage(), HttpStatus.PRECONDITION_REQUIRED);
+    }
+
+    /** Responde o conflito de versão com o estacionamento como está gravado, já com a versão atual. */
+    @ExceptionHandler({ConflitoVersaoException.class})
+    public ResponseEntity<Estacionamento> handleVersionConflictException(ConflitoVersaoException ex) {
+        return new ResponseEntity<>(estacionamentoService.buscarEstacionamentoPorId(ex.getId()), HttpStatus.CONFLICT);
+    }
+
 }
\ No newline at end of file
@@ -1,5 +1,8 @@
 package com.estacionamento.controller;
 
+import com.estacionamento.dto.EventoDTO;
+import com.estacionamento.dto.EventoResumoDTO;
+import com.estacionamento.dto.PaginaListagemDTO;
 import com.estacionamento.exception.DescricaoEmBrancoException;
 import com.estacionamento.exception.ObjetoNaoEncontradoException;
 import com.estacionamento.model.Evento;
@@ -8,8 +11,6 @@ import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
-import java.util.List;
-
 @RestController
 @RequestMapping("/api/eventos")
 public class EventoController {
@@ -21,27 +22,31 @@ public class EventoController {
     }
 
     @PostMapping
-    public ResponseEntity<Evento> criarEvento(@RequestBody Evento evento) {
+    public ResponseEntity<EventoDTO> criarEvento(@RequestBody Evento evento) {
         Evento novoEvento = eventoService.criarEvento(evento);
-        return new ResponseEntity<>(novoEvento, HttpStatus.CREATED);
+        return new ResponseEntity<>(EventoDTO.de(novoEvento), HttpStatus.CREATED);
     }
 
     @GetMapping("/{id}")
-    public ResponseEntity<Evento> buscarEventoPorId(@PathVariable Long id) {
-        Evento evento = eventoService.buscarEventoPorId(id);
+    public ResponseEntity<EventoDTO> buscarEventoPorId(@PathVariable Long id) {
+        EventoDTO evento = eventoService.buscarEventoPorId(id);
         return new ResponseEntity<>(evento, HttpStatus.OK);
     }
 
     @GetMapping
-    public ResponseEntity<List<Evento>> listarTodosEventos() {
-        List<Evento> eventos = eventoService.listarTodosEventos();
+    public ResponseEntity<PaginaListagemDTO<EventoResumoDTO>> listarEventos(
+        @RequestParam(required = false) Integer pagina,
+        @RequestParam(required = false) Integer tamanho,
+        @RequestParam(required = false) String ordem
+    ) {
+        PaginaListagemDTO<EventoResumoDTO> eventos = eventoService.listarEventos(pagina, tamanho, ordem);
         return new ResponseEntity<>(eventos, HttpStatus.OK);
     }
 
     @PutMapping("/{id}")
-    public ResponseEntity<Evento> atualizarEvento(@PathVariable Long id, @RequestBody Evento eventoAtualizado) {
+    public ResponseEntity<EventoDTO> atualizarEvento(@PathVariable Long id, @RequestBody Evento eventoAtualizado) {
         Evento evento = eventoService.atualizarEvento(id, eventoAtualizado);
-        return new ResponseEntity<>(evento, HttpStatus.OK);
+        return new ResponseEntity<>(EventoDTO.de(evento), HttpStatus.OK);
     }
 
     @DeleteMapping("/{id}")
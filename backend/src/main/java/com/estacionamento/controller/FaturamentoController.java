@@ -0,0 +1,66 @@
+package com.estacionamento.controller;
+
+import com.estacionamento.dto.FaturamentoPeriodoDTO;
+import com.estacionamento.dto.ResultadoSimulacaoDTO;
+import com.estacionamento.dto.SimulacaoTarifaDTO;
+import com.estacionamento.exception.ObjetoNaoEncontradoException;
+import com.estacionamento.faturamento.PeriodoFaturamento;
+import com.estacionamento.faturamento.ReconciliacaoFaturamento;
+import com.estacionamento.faturamento.SimuladorTarifas;
+import com.estacionamento.service.FaturamentoService;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.time.LocalDate;
+import java.util.List;
+
+@RestController
+@RequestMapping("/api/faturamento")
+public class FaturamentoController {
+
+    private final FaturamentoService faturamentoService;
+    private final ReconciliacaoFaturamento reconciliacaoFaturamento;
+    private final SimuladorTarifas simuladorTarifas;
+
+    public FaturamentoController(FaturamentoService faturamentoService,
+                                 ReconciliacaoFaturamento reconciliacaoFaturamento,
+                                 SimuladorTarifas simuladorTarifas) {
+        this.faturamentoService = faturamentoService;
+        this.reconciliacaoFaturamento = reconciliacaoFaturamento;
+        this.simuladorTarifas = simuladorTarifas;
+    }
+
+    @GetMapping
+    public ResponseEntity<List<FaturamentoPeriodoDTO>> consultarFaturamento(
+        @RequestParam Long estacionamentoId,
+        @RequestParam(required = false) PeriodoFaturamento periodo,
+        @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate dataInicial,
+        @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate dataFinal
+    ) {
+        List<FaturamentoPeriodoDTO> faturamento =
+            faturamentoService.consultar(estacionamentoId, periodo, dataInicial, dataFinal);
+        return new ResponseEntity<>(faturamento, HttpStatus.OK);
+    }
+
+    @PostMapping("/reconciliar")
+    public ResponseEntity<Integer> reconciliar() {
+        return new ResponseEntity<>(reconciliacaoFaturamento.reconstruir(), HttpStatus.OK);
+    }
+
+    @PostMapping("/simulacao")
+    public ResponseEntity<ResultadoSimulacaoDTO> simularTarifa(@RequestBody SimulacaoTarifaDTO simulacao) {
+        return new ResponseEntity<>(simuladorTarifas.simular(simulacao), HttpStatus.OK);
+    }
+
+    @ExceptionHandler({IllegalArgumentException.class})
+    public ResponseEntity<String> handleBadRequest(RuntimeException ex) {
+        return new ResponseEntity<>(ex.getMessage(), HttpStatus.BAD_REQUEST);
+    }
+
+    @ExceptionHandler({ObjetoNaoEncontradoException.class})
+    public ResponseEntity<String> handleNotFound(ObjetoNaoEncontradoException ex) {
+        return new ResponseEntity<>(ex.getMessage(), HttpStatus.NOT_FOUND);
+    }
+}
@@ -1,5 +1,8 @@
 package com.estacionamento.controller;
 
+import com.estacionamento.dto.MensalistaDTO;
+import com.estacionamento.dto.MensalistaResumoDTO;
+import com.estacionamento.dto.PaginaListagemDTO;
 import com.estacionamento.exception.DescricaoEmBrancoException;
 import com.estacionamento.exception.ObjetoNaoEncontradoException;
 import com.estacionamento.model.Mensalista;
@@ -8,8 +11,6 @@ import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
-import java.util.List;
-
 @RestController
 @RequestMapping("/api/mensalistas")
 public class MensalistaController {
@@ -21,29 +22,34 @@ public class MensalistaController {
     }
 
     @PostMapping
-    public ResponseEntity<Mensalista> criarMensalista(@RequestBody Mensalista mensalista) {
+    public ResponseEntity<MensalistaDTO> criarMensalista(@RequestBody Mensalista mensalista) {
         Mensalista novoMensalista = mensalistaService.criarMensalista(mensalista);
-        return new ResponseEntity<>(novoMensalista, HttpStatus.CREATED);
+        return new ResponseEntity<>(MensalistaDTO.de(novoMensalista), HttpStatus.CREATED);
     }
 
     @GetMapping("/{id}")
-    public ResponseEntity<Mensalista> buscarMensalistaPorId(@PathVariable Long id) {
+    public ResponseEntity<MensalistaDTO> buscarMensalistaPorId(@PathVariable Long id) {
         Mensalista mensalista = mensalistaService.buscarMensalistaPorId(id);
-        return new ResponseEntity<>(mensalista, HttpStatus.OK);
+        return new ResponseEntity<>(MensalistaDTO.de(mensalista), HttpStatus.OK);
     }
 
     @GetMapping
-    public ResponseEntity<List<Mensalista>> listarTodosMensalistas() {
-        List<Mensalista> mensalistas = mensalistaService.listarTodosMensalistas();
+    public ResponseEntity<PaginaListagemDTO<MensalistaResumoDTO>> listarMensalistas(
+        @RequestParam(required = false) Integer pagina,
+        @RequestParam(required = false) Integer tamanho,
+        @RequestParam(required = false) String ordem
+    ) {
+        PaginaListagemDTO<MensalistaResumoDTO> mensalistas =
+            mensalistaService.listarMensalistas(pagina, tamanho, ordem);
         return new ResponseEntity<>(mensalistas, HttpStatus.OK);
     }
 
     @PutMapping("/{id}")
-    public ResponseEntity<Mensalista> atualizarMensalista(
+    public ResponseEntity<MensalistaDTO> atualizarMensalista(
         @PathVariable Long id, @RequestBody Mensalista mensalistaAtualizado
     ) {
         Mensalista mensalista = mensalistaService.atualizarMensalista(id, mensalistaAtualizado);
-        return new ResponseEntity<>(mensalista, HttpStatus.OK);
+        return new ResponseEntity<>(MensalistaDTO.de(mensalista), HttpStatus.OK);
     }
 
     @DeleteMapping("/{id}")
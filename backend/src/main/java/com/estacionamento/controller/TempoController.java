@@ -1,5 +1,8 @@
 package com.estacionamento.controller;
 
+import com.estacionamento.dto.PaginaListagemDTO;
+import com.estacionamento.dto.TempoDTO;
+import com.estacionamento.dto.TempoResumoDTO;
 import com.estacionamento.exception.DescricaoEmBrancoException;
 import com.estacionamento.exception.ObjetoNaoEncontradoException;
 import com.estacionamento.model.Tempo;
@@ -8,8 +11,6 @@ import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
-import java.util.List;
-
 @RestController
 @RequestMapping("/api/tempos")
 public class TempoController {
@@ -21,27 +22,31 @@ public class TempoController {
     }
 
     @PostMapping
-    public ResponseEntity<Tempo> criarTempo(@RequestBody Tempo tempo) {
+    public ResponseEntity<TempoDTO> criarTempo(@RequestBody Tempo tempo) {
         Tempo novoTempo = tempoService.criarTempo(tempo);
-        return new ResponseEntity<>(novoTempo, HttpStatus.CREATED);
+        return new ResponseEntity<>(TempoDTO.de(novoTempo), HttpStatus.CREATED);
     }
 
     @GetMapping("/{id}")
-    public ResponseEntity<Tempo> buscarTempoPorId(@PathVariable Long id) {
+    public ResponseEntity<TempoDTO> buscarTempoPorId(@PathVariable Long id) {
         Tempo tempo = tempoService.buscarTempoPorId(id);
-        return new ResponseEntity<>(tempo, HttpStatus.OK);
+        return new ResponseEntity<>(TempoDTO.de(tempo), HttpStatus.OK);
     }
 
     @GetMapping
-    public ResponseEntity<List<Tempo>> listarTodosTempos() {
-        List<Tempo> tempos = tempoService.listarTodosTempos();
+    public ResponseEntity<PaginaListagemDTO<TempoResumoDTO>> listarTempos(
+        @RequestParam(required = false) Integer pagina,
+        @RequestParam(required = false) Integer tamanho,
+        @RequestParam(required = false) String ordem
+    ) {
+        PaginaListagemDTO<TempoResumoDTO> tempos = tempoService.listarTempos(pagina, tamanho, ordem);
         return new ResponseEntity<>(tempos, HttpStatus.OK);
     }
 
     @PutMapping("/{id}")
-    public ResponseEntity<Tempo> atualizarTempo(@PathVariable Long id, @RequestBody Tempo tempoAtualizado) {
+    public ResponseEntity<TempoDTO> atualizarTempo(@PathVariable Long id, @RequestBody Tempo tempoAtualizado) {
         Tempo tempo = tempoService.atualizarTempo(id, tempoAtualizado);
-        return new ResponseEntity<>(tempo, HttpStatus.OK);
+        return new ResponseEntity<>(TempoDTO.de(tempo), HttpStatus.OK);
     }
 
     @DeleteMapping("/{id}")
@@ -1,5 +1,8 @@
 package com.estacionamento.controller;
 
+import com.estacionamento.dto.PaginaListagemDTO;
+import com.estacionamento.dto.VeiculoDTO;
+import com.estacionamento.dto.VeiculoResumoDTO;
 import com.estacionamento.exception.DescricaoEmBrancoException;
 import com.estacionamento.exception.ObjetoNaoEncontradoException;
 import com.estacionamento.model.Veiculo;
@@ -8,8 +11,6 @@ import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
-import java.util.List;
-
 @RestController 
 @RequestMapping("/api/veiculos")
 public class VeiculoController {
@@ -21,27 +22,31 @@ public class VeiculoController {
     }
 
     @PostMapping
-    public ResponseEntity<Veiculo> criarVeiculo(@RequestBody Veiculo veiculo) {
+    public ResponseEntity<VeiculoDTO> criarVeiculo(@RequestBody Veiculo veiculo) {
         Veiculo novoVeiculo = veiculoService.criarVeiculo(veiculo);
-        return new ResponseEntity<>(novoVeiculo, HttpStatus.CREATED);
+        return new ResponseEntity<>(VeiculoDTO.de(novoVeiculo), HttpStatus.CREATED);
     }
 
     @GetMapping("/{id}")
-    public ResponseEntity<Veiculo> buscarVeiculoPorId(@PathVariable Long id) {
+    public ResponseEntity<VeiculoDTO> buscarVeiculoPorId(@PathVariable Long id) {
         Veiculo veiculo = veiculoService.buscarVeiculoPorId(id);
-        return new ResponseEntity<>(veiculo, HttpStatus.OK);
+        return new ResponseEntity<>(VeiculoDTO.de(veiculo), HttpStatus.OK);
     }
 
     @GetMapping
-    public ResponseEntity<List<Veiculo>> listarTodosVeiculos() {
-        List<Veiculo> veiculos = veiculoService.listarTodosVeiculos();
+    public ResponseEntity<PaginaListagemDTO<VeiculoResumoDTO>> listarVeiculos(
+        @RequestParam(required = false) Integer pagina,
+        @RequestParam(required = false) Integer tamanho,
+        @RequestParam(required = false) String ordem
+    ) {
+        PaginaListagemDTO<VeiculoResumoDTO> veiculos = veiculoService.listarVeiculos(pagina, tamanho, ordem);
         return new ResponseEntity<>(veiculos, HttpStatus.OK);
     }
 
     @PutMapping("/{id}")
-    public ResponseEntity<Veiculo> atualizarVeiculo(@PathVariable Long id, @RequestBody Veiculo veiculoAtualizado) {
+    public ResponseEntity<VeiculoDTO> atualizarVeiculo(@PathVariable Long id, @RequestBody Veiculo veiculoAtualizado) {
         Veiculo veiculo = veiculoService.atualizarVeiculo(id, veiculoAtualizado);
-        return new ResponseEntity<>(veiculo, HttpStatus.OK);
+        return new ResponseEntity<>(VeiculoDTO.de(veiculo), HttpStatus.OK);
     }
 
     @DeleteMapping("/{id}")
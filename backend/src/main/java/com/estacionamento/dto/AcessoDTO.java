@@ -0,0 +1,55 @@
+package com.estacionamento.dto;
+
+import com.estacionamento.model.Acesso;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalTime;
+
+/**
+ * Acesso nas respostas de detalhe e de escrita. As associações LAZY viram só os IDs (e a placa do veículo),
+ * então a serialização não inicializa proxies do Hibernate nem leva os metadados deles no JSON. A
+ * {@code versao} volta no PUT para que a atualização seja recusada se outra escrita veio antes.
+ */
+public record AcessoDTO(
+    Long id,
+    Long estacionamentoId,
+    Long veiculoId,
+    String placa,
+    String tipoAcesso,
+    LocalDate dataInicio,
+    LocalTime horaInicio,
+    LocalDate dataFim,
+    LocalTime horaFim,
+    BigDecimal valorCobrado,
+    Long tempoId,
+    Long diariaId,
+    Long mensalistaId,
+    Long eventoId,
+    Long versao
+) {
+
+    /**
+     * Monta a partir da entidade. O ID de uma associação LAZY sai do proxy sem consulta; só a placa
+     * inicializa o veículo, quando ele ainda não estava carregado.
+     */
+    public static AcessoDTO de(Acesso acesso) {
+        return new AcessoDTO(
+            acesso.getId(),
+            acesso.getEstacionamento() != null ? acesso.getEstacionamento().getId() : null,
+            acesso.getVeiculo() != null ? acesso.getVeiculo().getId() : null,
+            acesso.getVeiculo() != null ? acesso.getVeiculo().getPlaca() : null,
+            acesso.getTipoAcesso(),
+            acesso.getDataInicio(),
+            acesso.getHoraInicio(),
+            acesso.getDataFim(),
+            acesso.getHoraFim(),
+            acesso.getValorCobrado(),
+            acesso.getTempo() != null ? acesso.getTempo().getId() : null,
+            acesso.getDiaria() != null ? acesso.getDiaria().getId() : null,
+            acesso.getMensalista() != null ? acesso.getMensalista().getId() : null,
+            acesso.getEvento() != null ? acesso.getEvento().getId() : null,
+            acesso.getVersao()
+        );
+    }
+}
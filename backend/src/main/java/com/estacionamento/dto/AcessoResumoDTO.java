@@ -0,0 +1,18 @@
+package com.estacionamento.dto;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalTime;
+
+public record AcessoResumoDTO(
+    Long id,
+    Long estacionamentoId,
+    String placa,
+    String tipoAcesso,
+    LocalDate dataInicio,
+    LocalTime horaInicio,
+    LocalDate dataFim,
+    LocalTime horaFim,
+    BigDecimal valorCobrado
+) {
+}
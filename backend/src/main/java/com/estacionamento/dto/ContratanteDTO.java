@@ -0,0 +1,15 @@
+package com.estacionamento.dto;
+
+import com.estacionamento.model.Contratante;
+
+/**
+ * Contratante nas respostas de detalhe e de escrita: só os campos da própria tabela, sem as coleções de
+ * estacionamentos e eventos.
+ */
+public record ContratanteDTO(Long id, String nome, String cpfCnpj, String email, String telefone) {
+
+    public static ContratanteDTO de(Contratante contratante) {
+        return new ContratanteDTO(contratante.getId(), contratante.getNome(), contratante.getCpfCnpj(),
+            contratante.getEmail(), contratante.getTelefone());
+    }
+}
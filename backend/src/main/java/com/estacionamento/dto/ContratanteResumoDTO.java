@@ -0,0 +1,4 @@
+package com.estacionamento.dto;
+
+public record ContratanteResumoDTO(Long id, String nome, String cpfCnpj, String email, String telefone) {
+}
@@ -0,0 +1,27 @@
+package com.estacionamento.dto;
+
+import com.estacionamento.model.Diaria;
+
+import java.math.BigDecimal;
+
+/**
+ * Diária nas respostas de detalhe e de escrita, com a diária noturna associada (ou {@code null}) e o
+ * {@code valorTotal} que a entidade expunha. O {@code diariaNoturna} da entidade é o lado inverso de um
+ * {@code @OneToOne}, que o Hibernate carrega junto com a diária; aqui ele sai como registro, sem a
+ * referência de volta.
+ */
+public record DiariaDTO(
+    Long id,
+    BigDecimal valor,
+    String tipo,
+    String descricao,
+    DiariaNoturnaDTO diariaNoturna,
+    BigDecimal valorTotal
+) {
+
+    public static DiariaDTO de(Diaria diaria) {
+        return new DiariaDTO(diaria.getId(), diaria.getValor(), diaria.getTipo(), diaria.getDescricao(),
+            diaria.getDiariaNoturna() != null ? DiariaNoturnaDTO.de(diaria.getDiariaNoturna()) : null,
+            diaria.getValorTotal());
+    }
+}
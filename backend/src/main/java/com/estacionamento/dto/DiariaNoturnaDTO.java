@@ -0,0 +1,18 @@
+package com.estacionamento.dto;
+
+import com.estacionamento.model.DiariaNoturna;
+
+import java.math.BigDecimal;
+import java.time.LocalTime;
+
+/**
+ * Diária noturna nas respostas de detalhe e de escrita. O ID é o da diária dona da janela, então a
+ * referência de volta a ela não entra no JSON.
+ */
+public record DiariaNoturnaDTO(Long id, LocalTime horaInicio, LocalTime horaFim, BigDecimal adicionalNoturno) {
+
+    public static DiariaNoturnaDTO de(DiariaNoturna diariaNoturna) {
+        return new DiariaNoturnaDTO(diariaNoturna.getId(), diariaNoturna.getHoraInicio(),
+            diariaNoturna.getHoraFim(), diariaNoturna.getAdicionalNoturno());
+    }
+}
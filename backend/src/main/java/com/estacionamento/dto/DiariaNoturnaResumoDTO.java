@@ -0,0 +1,7 @@
+package com.estacionamento.dto;
+
+import java.math.BigDecimal;
+import java.time.LocalTime;
+
+public record DiariaNoturnaResumoDTO(Long id, LocalTime horaInicio, LocalTime horaFim, BigDecimal adicionalNoturno) {
+}
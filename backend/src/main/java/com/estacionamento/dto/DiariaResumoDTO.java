@@ -0,0 +1,9 @@
+package com.estacionamento.dto;
+
+import java.math.BigDecimal;
+
+/**
+ * Diária na listagem; {@code adicionalNoturno} vem da {@code DiariaNoturna} associada, ou {@code null}.
+ */
+public record DiariaResumoDTO(Long id, String tipo, BigDecimal valor, String descricao, BigDecimal adicionalNoturno) {
+}
@@ -0,0 +1,13 @@
+package com.estacionamento.dto;
+
+import java.time.LocalTime;
+
+public record EstacionamentoResumoDTO(
+    Long id,
+    String nome,
+    String endereco,
+    Integer capacidade,
+    LocalTime horaAbertura,
+    LocalTime horaFechamento
+) {
+}
@@ -0,0 +1,42 @@
+package com.estacionamento.dto;
+
+import com.estacionamento.model.Evento;
+
+import java.time.LocalDate;
+import java.time.LocalTime;
+
+/**
+ * Evento nas respostas de detalhe e de escrita, com o estacionamento reduzido a ID e nome no lugar do
+ * proxy LAZY da entidade. Mantém o formato {@code estacionamento: {id, nome}} que o frontend lê.
+ */
+public record EventoDTO(
+    Long id,
+    String nomeEvento,
+    String descricao,
+    LocalDate dataInicio,
+    LocalTime horaInicio,
+    LocalDate dataFim,
+    LocalTime horaFim,
+    Integer vagasReservadas,
+    EstacionamentoEvento estacionamento
+) {
+
+    /** Construtor das projeções JPQL, com o estacionamento vindo de um LEFT JOIN. */
+    public EventoDTO(Long id, String nomeEvento, String descricao, LocalDate dataInicio, LocalTime horaInicio,
+                     LocalDate dataFim, LocalTime horaFim, Integer vagasReservadas, Long estacionamentoId,
+                     String estacionamentoNome) {
+        this(id, nomeEvento, descricao, dataInicio, horaInicio, dataFim, horaFim, vagasReservadas,
+            estacionamentoId != null ? new EstacionamentoEvento(estacionamentoId, estacionamentoNome) : null);
+    }
+
+    public static EventoDTO de(Evento evento) {
+        return new EventoDTO(evento.getId(), evento.getNomeEvento(), evento.getDescricao(), evento.getDataInicio(),
+            evento.getHoraInicio(), evento.getDataFim(), evento.getHoraFim(), evento.getVagasReservadas(),
+            evento.getEstacionamento() != null
+                ? new EstacionamentoEvento(evento.getEstacionamento().getId(), evento.getEstacionamento().getNome())
+                : null);
+    }
+
+    public record EstacionamentoEvento(Long id, String nome) {
+    }
+}
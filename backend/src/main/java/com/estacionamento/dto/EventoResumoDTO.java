@@ -0,0 +1,17 @@
+package com.estacionamento.dto;
+
+import java.time.LocalDate;
+import java.time.LocalTime;
+
+/**
+ * Evento na listagem, sem a {@code descricao} (TEXT), que só aparece no detalhe.
+ */
+public record EventoResumoDTO(
+    Long id,
+    String nomeEvento,
+    LocalDate dataInicio,
+    LocalTime horaInicio,
+    LocalDate dataFim,
+    LocalTime horaFim
+) {
+}
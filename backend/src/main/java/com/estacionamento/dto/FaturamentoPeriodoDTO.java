@@ -0,0 +1,14 @@
+package com.estacionamento.dto;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.Map;
+
+public record FaturamentoPeriodoDTO(
+    LocalDate inicio,
+    LocalDate fim,
+    BigDecimal valorTotal,
+    long quantidade,
+    Map<String, BigDecimal> valorPorTipoAcesso
+) {
+}
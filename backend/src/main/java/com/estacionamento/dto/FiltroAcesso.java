@@ -0,0 +1,18 @@
+package com.estacionamento.dto;
+
+import org.springframework.format.annotation.DateTimeFormat;
+
+import java.time.LocalDate;
+
+public record FiltroAcesso(
+    Long estacionamentoId,
+    String placa,
+    String tipoAcesso,
+    @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate dataInicial,
+    @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate dataFinal
+) {
+
+    public static FiltroAcesso vazio() {
+        return new FiltroAcesso(null, null, null, null, null);
+    }
+}
@@ -0,0 +1,16 @@
+package com.estacionamento.dto;
+
+/**
+ * Resultado de um item do lote, na mesma posição ({@code indice}) em que foi enviado: {@code id} do acesso
+ * gravado em caso de sucesso, ou {@code erro} com o motivo da recusa.
+ */
+public record ItemLoteDTO(int indice, Long id, String erro) {
+
+    public static ItemLoteDTO sucesso(int indice, Long id) {
+        return new ItemLoteDTO(indice, id, null);
+    }
+
+    public static ItemLoteDTO falha(int indice, String erro) {
+        return new ItemLoteDTO(indice, null, erro);
+    }
+}
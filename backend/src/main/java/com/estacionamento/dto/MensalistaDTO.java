@@ -0,0 +1,16 @@
+package com.estacionamento.dto;
+
+import com.estacionamento.model.Mensalista;
+
+import java.math.BigDecimal;
+
+/**
+ * Mensalista nas respostas de detalhe e de escrita.
+ */
+public record MensalistaDTO(Long id, BigDecimal valor, Integer periodoMeses, String descricao) {
+
+    public static MensalistaDTO de(Mensalista mensalista) {
+        return new MensalistaDTO(mensalista.getId(), mensalista.getValor(), mensalista.getPeriodoMeses(),
+            mensalista.getDescricao());
+    }
+}
@@ -0,0 +1,6 @@
+package com.estacionamento.dto;
+
+import java.math.BigDecimal;
+
+public record MensalistaResumoDTO(Long id, BigDecimal valor, Integer periodoMeses, String descricao) {
+}
@@ -0,0 +1,4 @@
+package com.estacionamento.dto;
+
+public record OcupacaoDTO(Long estacionamentoId, int capacidade, int vagasOcupadas, int vagasLivres) {
+}
@@ -0,0 +1,10 @@
+package com.estacionamento.dto;
+
+import java.util.List;
+
+/**
+ * Página de uma listagem por cursor: {@code proximoCursor} é o ID a ser enviado na próxima requisição,
+ * ou {@code null} quando não há mais itens.
+ */
+public record PaginaDTO<T>(List<T> itens, Long proximoCursor) {
+}
@@ -0,0 +1,16 @@
+package com.estacionamento.dto;
+
+import org.springframework.data.domain.Page;
+
+import java.util.List;
+
+/**
+ * Página de uma listagem por número de página, usada pelos cadastros; {@code pagina} começa em zero.
+ */
+public record PaginaListagemDTO<T>(List<T> itens, int pagina, int tamanho, long totalItens, int totalPaginas) {
+
+    public static <T> PaginaListagemDTO<T> de(Page<T> pagina) {
+        return new PaginaListagemDTO<>(pagina.getContent(), pagina.getNumber(), pagina.getSize(),
+            pagina.getTotalElements(), pagina.getTotalPages());
+    }
+}
@@ -0,0 +1,6 @@
+package com.estacionamento.dto;
+
+import java.util.List;
+
+public record ResultadoLoteDTO(int registrados, int recusados, List<ItemLoteDTO> itens) {
+}
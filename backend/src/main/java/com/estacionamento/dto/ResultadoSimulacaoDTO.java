@@ -0,0 +1,32 @@
+package com.estacionamento.dto;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.List;
+
+/**
+ * Receita dos acessos encerrados no período: a cobrada na época, a da tarifa vigente hoje e a da tarifa
+ * candidata, no total e por estacionamento. Acessos cuja tarifa não pôde ser calculada ficam de fora dos
+ * valores e só entram em {@code acessosNaoPrecificados}.
+ */
+public record ResultadoSimulacaoDTO(
+    LocalDate dataInicial,
+    LocalDate dataFinal,
+    long acessos,
+    long acessosNaoPrecificados,
+    BigDecimal valorCobrado,
+    BigDecimal valorVigente,
+    BigDecimal valorSimulado,
+    List<EstacionamentoSimulado> estacionamentos
+) {
+
+    public record EstacionamentoSimulado(
+        Long estacionamentoId,
+        long acessos,
+        BigDecimal valorCobrado,
+        BigDecimal valorVigente,
+        BigDecimal valorSimulado,
+        BigDecimal diferenca
+    ) {
+    }
+}
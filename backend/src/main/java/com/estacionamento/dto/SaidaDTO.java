@@ -0,0 +1,10 @@
+package com.estacionamento.dto;
+
+import java.time.LocalDate;
+import java.time.LocalTime;
+
+/**
+ * Saída registrada pela cancela. Sem data e hora, vale o instante em que a requisição é processada.
+ */
+public record SaidaDTO(String placa, LocalDate dataFim, LocalTime horaFim) {
+}
@@ -0,0 +1,22 @@
+package com.estacionamento.dto;
+
+import com.estacionamento.model.Diaria;
+import com.estacionamento.model.Tempo;
+
+import java.time.LocalDate;
+import java.util.List;
+
+/**
+ * Pedido de simulação tarifária. Cada {@link Tempo} ou {@link Diaria} candidata substitui a configuração de
+ * mesmo ID (uma diária com a {@code diariaNoturna} completa, quando houver adicional). Sem
+ * {@code dataInicial}, o período são os {@code meses} (padrão 3) anteriores a {@code dataFinal} (padrão hoje).
+ */
+public record SimulacaoTarifaDTO(
+    Long estacionamentoId,
+    LocalDate dataInicial,
+    LocalDate dataFinal,
+    Integer meses,
+    List<Tempo> tempos,
+    List<Diaria> diarias
+) {
+}
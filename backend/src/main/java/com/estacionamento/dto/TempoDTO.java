@@ -0,0 +1,16 @@
+package com.estacionamento.dto;
+
+import com.estacionamento.model.Tempo;
+
+import java.math.BigDecimal;
+import java.time.LocalTime;
+
+/**
+ * Tarifa por tempo nas respostas de detalhe e de escrita.
+ */
+public record TempoDTO(Long id, LocalTime duracao, BigDecimal valorFracao, BigDecimal desconto) {
+
+    public static TempoDTO de(Tempo tempo) {
+        return new TempoDTO(tempo.getId(), tempo.getDuracao(), tempo.getValorFracao(), tempo.getDesconto());
+    }
+}
@@ -0,0 +1,7 @@
+package com.estacionamento.dto;
+
+import java.math.BigDecimal;
+import java.time.LocalTime;
+
+public record TempoResumoDTO(Long id, LocalTime duracao, BigDecimal valorFracao, BigDecimal desconto) {
+}
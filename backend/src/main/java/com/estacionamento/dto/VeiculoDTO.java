@@ -0,0 +1,14 @@
+package com.estacionamento.dto;
+
+import com.estacionamento.model.Veiculo;
+
+/**
+ * Veículo nas respostas de detalhe e de escrita.
+ */
+public record VeiculoDTO(Long id, String placa, String marca, String modelo, String cor) {
+
+    public static VeiculoDTO de(Veiculo veiculo) {
+        return new VeiculoDTO(veiculo.getId(), veiculo.getPlaca(), veiculo.getMarca(), veiculo.getModelo(),
+            veiculo.getCor());
+    }
+}
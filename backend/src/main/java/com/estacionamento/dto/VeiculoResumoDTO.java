@@ -0,0 +1,4 @@
+package com.estacionamento.dto;
+
+public record VeiculoResumoDTO(Long id, String placa, String marca, String modelo, String cor) {
+}
@@ -0,0 +1,164 @@
+package com.estacionamento.escrita;
+
+import com.estacionamento.model.Acesso;
+import com.estacionamento.model.Diaria;
+import com.estacionamento.model.Estacionamento;
+import com.estacionamento.model.Mensalista;
+import com.estacionamento.model.Tempo;
+import com.estacionamento.model.Veiculo;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.time.LocalDate;
+import java.time.LocalTime;
+
+/**
+ * Entrada aceita pela escrita adiada e ainda não gravada em {@code acesso}. Guarda só o que a cancela
+ * informou e o que o lote precisa para o INSERT: IDs das referências e os dados do veículo, que é resolvido
+ * pela placa na gravação. {@code recuperada} indica que a entrada veio do {@link LogEntradas} na
+ * inicialização e que a vaga ainda não foi reservada no {@code IndiceOcupacao}; não faz parte do registro.
+ *
+ * <p>Uma entrada aceita com {@code Idempotency-Key} leva a chave e a impressão do corpo, que só vão para
+ * {@code requisicao_idempotente} na gravação do lote; a resposta guardada é a de {@link #paraAcesso()}.
+ */
+public record EntradaPendente(
+    long sequencia,
+    Long estacionamentoId,
+    String placa,
+    String marca,
+    String modelo,
+    String cor,
+    LocalDate dataInicio,
+    LocalTime horaInicio,
+    String tipoAcesso,
+    Long tempoId,
+    Long diariaId,
+    Long mensalistaId,
+    String chaveIdempotencia,
+    String impressao,
+    boolean recuperada
+) {
+
+    /** Rota das entradas em {@code requisicao_idempotente}. */
+    public static final String ROTA = "POST /api/acessos";
+
+    private static final byte VERSAO = 2;
+    private static final byte VERSAO_SEM_CHAVE = 1;
+
+    public static EntradaPendente de(Acesso acesso) {
+        Veiculo veiculo = acesso.getVeiculo();
+        return new EntradaPendente(0L, acesso.getEstacionamento().getId(), veiculo.getPlaca(), veiculo.getMarca(),
+            veiculo.getModelo(), veiculo.getCor(), acesso.getDataInicio(), acesso.getHoraInicio(),
+            acesso.getTipoAcesso(),
+            acesso.getTempo() != null ? acesso.getTempo().getId() : null,
+            acesso.getDiaria() != null ? acesso.getDiaria().getId() : null,
+            acesso.getMensalista() != null ? acesso.getMensalista().getId() : null,
+            null, null, false);
+    }
+
+    public EntradaPendente comSequencia(long novaSequencia, boolean veioDoLog) {
+        return new EntradaPendente(novaSequencia, estacionamentoId, placa, marca, modelo, cor, dataInicio,
+            horaInicio, tipoAcesso, tempoId, diariaId, mensalistaId, chaveIdempotencia, impressao, veioDoLog);
+    }
+
+    public EntradaPendente comIdempotencia(String chave, String impressaoCorpo) {
+        return new EntradaPendente(sequencia, estacionamentoId, placa, marca, modelo, cor, dataInicio, horaInicio,
+            tipoAcesso, tempoId, diariaId, mensalistaId, chave, impressaoCorpo, recuperada);
+    }
+
+    /**
+     * Acesso aberto com referências só por ID, pronto para o {@code AcessoLoteRepository} depois que
+     * estacionamento e veículo forem trocados pelas entidades gerenciadas.
+     */
+    public Acesso paraAcesso() {
+        Acesso acesso = new Acesso();
+        Estacionamento estacionamento = new Estacionamento();
+        estacionamento.setId(estacionamentoId);
+        acesso.setEstacionamento(estacionamento);
+        acesso.setVeiculo(new Veiculo(null, placa, marca, modelo, cor));
+        acesso.setDataInicio(dataInicio);
+        acesso.setHoraInicio(horaInicio);
+        acesso.setTipoAcesso(tipoAcesso);
+        if (tempoId != null) {
+            Tempo tempo = new Tempo();
+            tempo.setId(tempoId);
+            acesso.setTempo(tempo);
+        }
+        if (diariaId != null) {
+            Diaria diaria = new Diaria();
+            diaria.setId(diariaId);
+            acesso.setDiaria(diaria);
+        }
+        if (mensalistaId != null) {
+            Mensalista mensalista = new Mensalista();
+            mensalista.setId(mensalistaId);
+            acesso.setMensalista(mensalista);
+        }
+        return acesso;
+    }
+
+    public byte[] serializar() {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream(128);
+        try (DataOutputStream saida = new DataOutputStream(bytes)) {
+            saida.writeByte(VERSAO);
+            escreverLong(saida, estacionamentoId);
+            escreverTexto(saida, placa);
+            escreverTexto(saida, marca);
+            escreverTexto(saida, modelo);
+            escreverTexto(saida, cor);
+            saida.writeLong(dataInicio.toEpochDay());
+            saida.writeLong(horaInicio.toNanoOfDay());
+            escreverTexto(saida, tipoAcesso);
+            escreverLong(saida, tempoId);
+            escreverLong(saida, diariaId);
+            escreverLong(saida, mensalistaId);
+            escreverTexto(saida, chaveIdempotencia);
+            escreverTexto(saida, impressao);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return bytes.toByteArray();
+    }
+
+    public static EntradaPendente desserializar(long sequencia, byte[] dados) {
+        try (DataInputStream entrada = new DataInputStream(new ByteArrayInputStream(dados))) {
+            byte versao = entrada.readByte();
+            if (versao != VERSAO && versao != VERSAO_SEM_CHAVE) {
+                throw new IllegalStateException("Versão de registro de entrada desconhecida: " + versao);
+            }
+            return new EntradaPendente(sequencia, lerLong(entrada), lerTexto(entrada), lerTexto(entrada),
+                lerTexto(entrada), lerTexto(entrada), LocalDate.ofEpochDay(entrada.readLong()),
+                LocalTime.ofNanoOfDay(entrada.readLong()), lerTexto(entrada), lerLong(entrada), lerLong(entrada),
+                lerLong(entrada), versao == VERSAO ? lerTexto(entrada) : null,
+                versao == VERSAO ? lerTexto(entrada) : null, true);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private static void escreverLong(DataOutputStream saida, Long valor) throws IOException {
+        saida.writeBoolean(valor != null);
+        if (valor != null) {
+            saida.writeLong(valor);
+        }
+    }
+
+    private static Long lerLong(DataInputStream entrada) throws IOException {
+        return entrada.readBoolean() ? entrada.readLong() : null;
+    }
+
+    private static void escreverTexto(DataOutputStream saida, String valor) throws IOException {
+        saida.writeBoolean(valor != null);
+        if (valor != null) {
+            saida.writeUTF(valor);
+        }
+    }
+
+    private static String lerTexto(DataInputStream entrada) throws IOException {
+        return entrada.readBoolean() ? entrada.readUTF() : null;
+    }
+}
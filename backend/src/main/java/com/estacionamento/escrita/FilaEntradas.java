@@ -0,0 +1,138 @@
+package com.estacionamento.escrita;
+
+import com.estacionamento.repository.LogEntradasRepository;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.util.unit.DataSize;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+
+/**
+ * Entradas aceitas pela escrita adiada ({@code acessos.escrita-adiada.habilitada}) e ainda não gravadas no
+ * banco. Cada entrada vai primeiro para o {@link LogEntradas} e só depois para a fila em memória, na mesma
+ * ordem das sequências, que o {@link GravadorEntradas} consome do início. Desabilitada, não abre arquivo algum.
+ */
+@Component
+public class FilaEntradas implements DisposableBean {
+
+    private final LogEntradasRepository logEntradasRepository;
+    private final boolean habilitada;
+    private final String nodo;
+    private final LogEntradas logEntradas;
+    private final Queue<EntradaPendente> pendentes = new ConcurrentLinkedQueue<>();
+    private final Object trava = new Object();
+
+    public FilaEntradas(LogEntradasRepository logEntradasRepository,
+                        @Value("${acessos.escrita-adiada.habilitada:false}") boolean habilitada,
+                        @Value("${acessos.escrita-adiada.diretorio:./dados/entradas}") String diretorio,
+                        @Value("${acessos.escrita-adiada.tamanho-segmento:64MB}") DataSize tamanhoSegmento,
+                        @Value("${acessos.escrita-adiada.nodo:local}") String nodo) {
+        this.logEntradasRepository = logEntradasRepository;
+        this.habilitada = habilitada;
+        this.nodo = nodo;
+        try {
+            this.logEntradas = habilitada
+                ? LogEntradas.abrir(Path.of(diretorio), Math.toIntExact(tamanhoSegmento.toBytes()))
+                : null;
+        } catch (IOException e) {
+            throw new UncheckedIOException("Não foi possível abrir o log de entradas em " + diretorio, e);
+        }
+    }
+
+    public boolean habilitada() {
+        return habilitada;
+    }
+
+    public int quantidadePendente() {
+        return pendentes.size();
+    }
+
+    /**
+     * Grava a entrada no log e a coloca na fila. Retorna {@code false} se o log estiver cheio; nesse caso a
+     * entrada não foi aceita e deve seguir pelo caminho síncrono.
+     */
+    public boolean anexar(EntradaPendente entrada) {
+        byte[] dados = entrada.serializar();
+        synchronized (trava) {
+            long sequencia = logEntradas.anexar(dados);
+            if (sequencia < 0) {
+                return false;
+            }
+            pendentes.add(entrada.comSequencia(sequencia, false));
+        }
+        return true;
+    }
+
+    /**
+     * Carrega na fila as entradas do log posteriores à sequência já gravada no banco. Chamado uma vez, na
+     * inicialização, antes de qualquer entrada nova.
+     */
+    public int recuperar() {
+        long gravadaAte = logEntradasRepository.ultimaSequenciaGravada(nodo);
+        int recuperadas = 0;
+        synchronized (trava) {
+            logEntradas.confirmar(gravadaAte);
+            for (EntradaPendente entrada : logEntradas.recuperadas()) {
+                if (entrada.sequencia() > gravadaAte) {
+                    pendentes.add(entrada);
+                    recuperadas++;
+                }
+            }
+        }
+        return recuperadas;
+    }
+
+    public List<EntradaPendente> proximas(int limite) {
+        List<EntradaPendente> lote = new ArrayList<>(Math.min(limite, pendentes.size()));
+        Iterator<EntradaPendente> iterador = pendentes.iterator();
+        while (lote.size() < limite && iterador.hasNext()) {
+            lote.add(iterador.next());
+        }
+        return lote;
+    }
+
+    /**
+     * Avança o checkpoint no banco; chamado dentro da transação que grava o lote.
+     */
+    public void avancarCheckpoint(long sequencia) {
+        logEntradasRepository.avancar(nodo, sequencia);
+    }
+
+    /**
+     * Retira da fila as entradas já confirmadas no banco, que devem ser as primeiras, e libera o espaço
+     * delas no log.
+     */
+    public void confirmar(List<EntradaPendente> gravadas) {
+        if (gravadas.isEmpty()) {
+            return;
+        }
+        for (int i = 0; i < gravadas.size(); i++) {
+            pendentes.poll();
+        }
+        logEntradas.confirmar(gravadas.get(gravadas.size() - 1).sequencia());
+    }
+
+    /**
+     * Abandona uma entrada que o banco recusa de forma definitiva, para que ela não bloqueie a fila nem
+     * volte na próxima inicialização.
+     */
+    public void descartar(EntradaPendente entrada) {
+        avancarCheckpoint(entrada.sequencia());
+        confirmar(List.of(entrada));
+    }
+
+    @Override
+    public void destroy() throws IOException {
+        if (logEntradas != null) {
+            logEntradas.close();
+        }
+    }
+}
@@ -0,0 +1,91 @@
+package com.estacionamento.escrita;
+
+import com.estacionamento.ocupacao.IndiceOcupacao;
+import com.estacionamento.service.AcessoService;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.SmartInitializingSingleton;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+
+/**
+ * Grava no banco, em lotes, as entradas da {@link FilaEntradas}. Na inicialização, reprocessa antes de tudo
+ * as entradas do log que não chegaram ao banco. Se um lote falha, as entradas são tentadas uma a uma: as que
+ * o banco recusa por integridade (estacionamento excluído, veículo inválido) são descartadas com log de erro;
+ * qualquer outra falha interrompe a rodada, e a fila espera a próxima.
+ */
+@Component
+public class GravadorEntradas implements SmartInitializingSingleton {
+
+    private static final Logger log = LoggerFactory.getLogger(GravadorEntradas.class);
+
+    private final FilaEntradas filaEntradas;
+    private final AcessoService acessoService;
+    private final IndiceOcupacao indiceOcupacao;
+    private final int tamanhoLote;
+
+    public GravadorEntradas(FilaEntradas filaEntradas, AcessoService acessoService, IndiceOcupacao indiceOcupacao,
+                            @Value("${acessos.escrita-adiada.tamanho-lote:500}") int tamanhoLote) {
+        this.filaEntradas = filaEntradas;
+        this.acessoService = acessoService;
+        this.indiceOcupacao = indiceOcupacao;
+        this.tamanhoLote = tamanhoLote;
+    }
+
+    @Override
+    public void afterSingletonsInstantiated() {
+        if (!filaEntradas.habilitada()) {
+            return;
+        }
+        int recuperadas = filaEntradas.recuperar();
+        if (recuperadas > 0) {
+            log.info("Reprocessando {} entradas do log que não chegaram ao banco.", recuperadas);
+            gravarPendentes();
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${acessos.escrita-adiada.intervalo:200}")
+    public void gravarPendentes() {
+        if (!filaEntradas.habilitada()) {
+            return;
+        }
+        List<EntradaPendente> lote = filaEntradas.proximas(tamanhoLote);
+        while (!lote.isEmpty()) {
+            try {
+                acessoService.gravarEntradasAdiadas(lote);
+                filaEntradas.confirmar(lote);
+            } catch (RuntimeException e) {
+                log.warn("Falha ao gravar lote de {} entradas adiadas; tentando uma a uma.", lote.size(), e);
+                if (!gravarUmaAUma(lote)) {
+                    return;
+                }
+            }
+            lote = filaEntradas.proximas(tamanhoLote);
+        }
+    }
+
+    private boolean gravarUmaAUma(List<EntradaPendente> lote) {
+        for (EntradaPendente entrada : lote) {
+            try {
+                acessoService.gravarEntradasAdiadas(List.of(entrada));
+                filaEntradas.confirmar(List.of(entrada));
+            } catch (DataIntegrityViolationException e) {
+                log.error("Entrada adiada {} da placa {} descartada: {}", entrada.sequencia(), entrada.placa(),
+                    e.getMostSpecificCause().getMessage());
+                filaEntradas.descartar(entrada);
+                if (!entrada.recuperada()) {
+                    indiceOcupacao.liberar(entrada.estacionamentoId());
+                }
+            } catch (RuntimeException e) {
+                log.warn("Gravação das entradas adiadas interrompida; {} aguardam a próxima tentativa.",
+                    filaEntradas.quantidadePendente(), e);
+                return false;
+            }
+        }
+        return true;
+    }
+}
@@ -0,0 +1,221 @@
+package com.estacionamento.escrita;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.zip.CRC32;
+
+/**
+ * Log de escrita antecipada das entradas adiadas: dois segmentos de tamanho fixo mapeados em memória
+ * ({@code entradas-0.log} e {@code entradas-1.log}), dos quais um recebe os registros por vez.
+ *
+ * <p>Cada registro é {@code [tamanho][sequência][dados][crc32]} seguido de um {@code int} zero que marca o
+ * fim do log; {@link #anexar(byte[])} só retorna depois de forçar essa faixa para o disco. As sequências
+ * de um segmento são consecutivas, então a leitura na abertura para no primeiro registro incompleto, com
+ * CRC errado ou fora de ordem.
+ *
+ * <p>{@link #confirmar(long)} informa até onde os registros já estão no banco. Quando tudo está confirmado
+ * o segmento ativo volta ao início; quando ele enche antes disso, os registros não confirmados são copiados
+ * para o outro segmento, que passa a ser o ativo. O segmento antigo só é sobrescrito na próxima troca, então
+ * uma queda no meio da cópia ainda encontra os registros nele.
+ */
+public final class LogEntradas implements Closeable {
+
+    static final String SEGMENTO = "entradas-%d.log";
+
+    private static final int CABECALHO = Integer.BYTES + Long.BYTES;
+    private static final int RODAPE = Integer.BYTES;
+    private static final int FIM = Integer.BYTES;
+
+    private final FileChannel[] canais = new FileChannel[2];
+    private final MappedByteBuffer[] segmentos = new MappedByteBuffer[2];
+    private final int capacidade;
+    private final List<EntradaPendente> recuperadas;
+
+    private int ativo;
+    private int posicao;
+    /** Deslocamento de cada registro do segmento ativo; o primeiro tem a sequência {@code sequenciaInicial}. */
+    private int[] deslocamentos = new int[1024];
+    private int quantidade;
+    private long sequenciaInicial;
+    private long ultimaSequencia;
+    private long confirmadaAte;
+
+    private LogEntradas(Path diretorio, int capacidade) throws IOException {
+        this.capacidade = capacidade;
+        Files.createDirectories(diretorio);
+        Map<Long, EntradaPendente> lidas = new TreeMap<>();
+        List<List<int[]>> cadeias = new ArrayList<>(2);
+        long[] ultimas = new long[2];
+        for (int i = 0; i < 2; i++) {
+            canais[i] = FileChannel.open(diretorio.resolve(String.format(SEGMENTO, i)),
+                StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE);
+            segmentos[i] = canais[i].map(FileChannel.MapMode.READ_WRITE, 0, capacidade);
+            List<int[]> cadeia = new ArrayList<>();
+            ultimas[i] = ler(segmentos[i], lidas, cadeia);
+            cadeias.add(cadeia);
+        }
+
+        ativo = ultimas[1] > ultimas[0] ? 1 : 0;
+        ultimaSequencia = Math.max(ultimas[0], ultimas[1]);
+        List<int[]> cadeia = cadeias.get(ativo);
+        sequenciaInicial = ultimas[ativo] - cadeia.size() + 1;
+        for (int[] registro : cadeia) {
+            registrarDeslocamento(registro[0]);
+            posicao = registro[0] + registro[1];
+        }
+        recuperadas = List.copyOf(lidas.values());
+    }
+
+    public static LogEntradas abrir(Path diretorio, int capacidade) throws IOException {
+        if (capacidade < 1024) {
+            throw new IllegalArgumentException("O segmento do log de entradas deve ter ao menos 1 KB.");
+        }
+        return new LogEntradas(diretorio, capacidade);
+    }
+
+    /**
+     * Registros válidos encontrados nos dois segmentos na abertura, em ordem de sequência e sem repetições.
+     * Inclui registros já gravados no banco; quem chama filtra pela sequência confirmada.
+     */
+    public List<EntradaPendente> recuperadas() {
+        return recuperadas;
+    }
+
+    public synchronized long ultimaSequencia() {
+        return ultimaSequencia;
+    }
+
+    /**
+     * Grava o registro e força a faixa escrita para o disco. Retorna a sequência atribuída, ou {@code -1}
+     * se não houver espaço nem copiando os registros não confirmados para o outro segmento.
+     */
+    public synchronized long anexar(byte[] dados) {
+        int tamanho = CABECALHO + dados.length + RODAPE;
+        if (tamanho + FIM > capacidade) {
+            throw new IllegalArgumentException("Registro maior que o segmento do log de entradas.");
+        }
+        if (posicao + tamanho + FIM > capacidade && !trocarSegmento(tamanho)) {
+            return -1L;
+        }
+
+        long sequencia = ultimaSequencia + 1;
+        MappedByteBuffer segmento = segmentos[ativo];
+        segmento.putInt(posicao, dados.length);
+        segmento.putLong(posicao + Integer.BYTES, sequencia);
+        segmento.put(posicao + CABECALHO, dados);
+        segmento.putInt(posicao + CABECALHO + dados.length, crc(segmento, posicao, dados.length));
+        segmento.putInt(posicao + tamanho, 0);
+        segmento.force(posicao, tamanho + FIM);
+
+        if (quantidade == 0) {
+            sequenciaInicial = sequencia;
+        }
+        registrarDeslocamento(posicao);
+        posicao += tamanho;
+        ultimaSequencia = sequencia;
+        return sequencia;
+    }
+
+    /**
+     * Marca como gravados no banco todos os registros até {@code sequencia}. Também é chamado na abertura
+     * com a sequência confirmada no banco, que pode ser maior que a do log se os segmentos foram apagados;
+     * as próximas sequências continuam depois dela.
+     */
+    public synchronized void confirmar(long sequencia) {
+        confirmadaAte = Math.max(confirmadaAte, sequencia);
+        if (confirmadaAte >= ultimaSequencia) {
+            ultimaSequencia = confirmadaAte;
+            if (posicao > 0) {
+                segmentos[ativo].putInt(0, 0);
+                segmentos[ativo].force(0, FIM);
+                posicao = 0;
+                quantidade = 0;
+            }
+        }
+    }
+
+    @Override
+    public synchronized void close() throws IOException {
+        for (FileChannel canal : canais) {
+            if (canal != null) {
+                canal.close();
+            }
+        }
+    }
+
+    private boolean trocarSegmento(int necessario) {
+        int primeiro = (int) Math.min(quantidade, Math.max(0L, confirmadaAte + 1 - sequenciaInicial));
+        int inicioCauda = primeiro < quantidade ? deslocamentos[primeiro] : posicao;
+        int tamanhoCauda = posicao - inicioCauda;
+        if (tamanhoCauda + necessario + FIM > capacidade) {
+            return false;
+        }
+
+        int outro = 1 - ativo;
+        MappedByteBuffer destino = segmentos[outro];
+        destino.put(0, segmentos[ativo], inicioCauda, tamanhoCauda);
+        destino.putInt(tamanhoCauda, 0);
+        destino.force(0, tamanhoCauda + FIM);
+
+        int restantes = quantidade - primeiro;
+        for (int i = 0; i < restantes; i++) {
+            deslocamentos[i] = deslocamentos[primeiro + i] - inicioCauda;
+        }
+        quantidade = restantes;
+        sequenciaInicial += primeiro;
+        ativo = outro;
+        posicao = tamanhoCauda;
+        return true;
+    }
+
+    private void registrarDeslocamento(int deslocamento) {
+        if (quantidade == deslocamentos.length) {
+            deslocamentos = Arrays.copyOf(deslocamentos, quantidade * 2);
+        }
+        deslocamentos[quantidade++] = deslocamento;
+    }
+
+    /**
+     * Lê a cadeia de registros válidos do início do segmento, guardando {deslocamento, tamanho} de cada um.
+     * Retorna a última sequência lida, ou zero se o segmento estiver vazio.
+     */
+    private long ler(MappedByteBuffer segmento, Map<Long, EntradaPendente> lidas, List<int[]> cadeia) {
+        int deslocamento = 0;
+        long anterior = 0L;
+        while (deslocamento + CABECALHO + RODAPE <= capacidade) {
+            int tamanhoDados = segmento.getInt(deslocamento);
+            if (tamanhoDados <= 0 || (long) deslocamento + CABECALHO + tamanhoDados + RODAPE > capacidade) {
+                break;
+            }
+            long sequencia = segmento.getLong(deslocamento + Integer.BYTES);
+            boolean foraDeOrdem = sequencia <= 0L || (anterior != 0L && sequencia != anterior + 1);
+            int crcGravado = segmento.getInt(deslocamento + CABECALHO + tamanhoDados);
+            if (foraDeOrdem || crcGravado != crc(segmento, deslocamento, tamanhoDados)) {
+                break;
+            }
+            byte[] dados = new byte[tamanhoDados];
+            segmento.get(deslocamento + CABECALHO, dados);
+            lidas.putIfAbsent(sequencia, EntradaPendente.desserializar(sequencia, dados));
+            cadeia.add(new int[]{deslocamento, CABECALHO + tamanhoDados + RODAPE});
+            deslocamento += CABECALHO + tamanhoDados + RODAPE;
+            anterior = sequencia;
+        }
+        return anterior;
+    }
+
+    private static int crc(MappedByteBuffer segmento, int deslocamento, int tamanhoDados) {
+        CRC32 crc = new CRC32();
+        crc.update(segmento.slice(deslocamento + Integer.BYTES, Long.BYTES + tamanhoDados));
+        return (int) crc.getValue();
+    }
+}
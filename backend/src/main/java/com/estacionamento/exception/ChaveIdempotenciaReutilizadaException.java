@@ -0,0 +1,11 @@
+package com.estacionamento.exception;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.ResponseStatus;
+
+@ResponseStatus(HttpStatus.UNPROCESSABLE_ENTITY)
+public class ChaveIdempotenciaReutilizadaException extends RuntimeException {
+    public ChaveIdempotenciaReutilizadaException(String message) {
+        super(message);
+    }
+}
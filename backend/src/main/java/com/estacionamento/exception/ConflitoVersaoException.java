@@ -0,0 +1,29 @@
+package com.estacionamento.exception;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.ResponseStatus;
+
+/**
+ * A atualização partiu de uma versão que não é mais a gravada: o cliente enviou uma {@code versao} antiga ou
+ * outra escrita gravou a linha antes do commit. {@link #getId()} é o ID da entidade, para responder com o
+ * estado atual dela.
+ */
+@ResponseStatus(HttpStatus.CONFLICT)
+public class ConflitoVersaoException extends RuntimeException {
+
+    private final Long id;
+
+    public ConflitoVersaoException(String message, Long id) {
+        super(message);
+        this.id = id;
+    }
+
+    public ConflitoVersaoException(String message, Long id, Throwable cause) {
+        super(message, cause);
+        this.id = id;
+    }
+
+    public Long getId() {
+        return id;
+    }
+}
@@ -0,0 +1,11 @@
+package com.estacionamento.exception;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.ResponseStatus;
+
+@ResponseStatus(HttpStatus.CONFLICT)
+public class EstacionamentoLotadoException extends RuntimeException {
+    public EstacionamentoLotadoException(String message) {
+        super(message);
+    }
+}
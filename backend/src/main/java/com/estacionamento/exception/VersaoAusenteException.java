@@ -0,0 +1,11 @@
+package com.estacionamento.exception;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.ResponseStatus;
+
+@ResponseStatus(HttpStatus.PRECONDITION_REQUIRED)
+public class VersaoAusenteException extends RuntimeException {
+    public VersaoAusenteException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,40 @@
+package com.estacionamento.faturamento;
+
+import com.estacionamento.model.Acesso;
+import com.estacionamento.model.Diaria;
+import com.estacionamento.model.Tempo;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalTime;
+
+/**
+ * Colunas de um acesso encerrado lidas pelo {@link SimuladorTarifas}: o suficiente para precificar e
+ * agrupar, com as tarifas como IDs.
+ */
+public record AcessoSimulado(
+    Long id,
+    Long estacionamentoId,
+    String tipoAcesso,
+    LocalDate dataInicio,
+    LocalTime horaInicio,
+    LocalDate dataFim,
+    LocalTime horaFim,
+    BigDecimal valorCobrado,
+    Long tempoId,
+    Long diariaId
+) {
+
+    /** Acesso transitório para o {@code MotorTarifario}, com as configurações de tarifa informadas. */
+    Acesso comTarifas(Tempo tempo, Diaria diaria) {
+        Acesso acesso = new Acesso();
+        acesso.setTipoAcesso(tipoAcesso);
+        acesso.setDataInicio(dataInicio);
+        acesso.setHoraInicio(horaInicio);
+        acesso.setDataFim(dataFim);
+        acesso.setHoraFim(horaFim);
+        acesso.setTempo(tempo);
+        acesso.setDiaria(diaria);
+        return acesso;
+    }
+}
@@ -0,0 +1,81 @@
+package com.estacionamento.faturamento;
+
+import com.estacionamento.model.Acesso;
+import com.estacionamento.repository.FaturamentoDiarioRepository;
+import org.springframework.stereotype.Component;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Mantém a tabela de {@code faturamento_diario} em dia com cada gravação de acesso. Os incrementos rodam
+ * na transação do {@code AcessoService}, então um rollback do acesso desfaz também o incremento.
+ */
+@Component
+public class AgregadorFaturamento {
+
+    private final FaturamentoDiarioRepository faturamentoDiarioRepository;
+
+    public AgregadorFaturamento(FaturamentoDiarioRepository faturamentoDiarioRepository) {
+        this.faturamentoDiarioRepository = faturamentoDiarioRepository;
+    }
+
+    public void registrar(Acesso acesso) {
+        substituir(null, Contribuicao.de(acesso));
+    }
+
+    public void estornar(Acesso acesso) {
+        substituir(Contribuicao.de(acesso), null);
+    }
+
+    /**
+     * Troca a contribuição anterior de um acesso pela atual. Quando ambas caem no mesmo bucket, aplica
+     * só a diferença de valor com um único upsert.
+     */
+    public void substituir(Contribuicao anterior, Contribuicao atual) {
+        if (anterior != null && atual != null && anterior.mesmoBucket(atual)) {
+            BigDecimal diferenca = atual.valor().subtract(anterior.valor());
+            if (diferenca.signum() != 0) {
+                acumular(atual, diferenca, 0);
+            }
+            return;
+        }
+        if (anterior != null) {
+            acumular(anterior, anterior.valor().negate(), -1);
+        }
+        if (atual != null) {
+            acumular(atual, atual.valor(), 1);
+        }
+    }
+
+    /**
+     * Agrupa os acessos de um lote por bucket antes de gravar, com um upsert por bucket.
+     */
+    public void registrarTodos(List<Acesso> acessos) {
+        Map<Chave, Contribuicao> porBucket = new LinkedHashMap<>();
+        Map<Chave, Long> quantidades = new LinkedHashMap<>();
+        for (Acesso acesso : acessos) {
+            Contribuicao contribuicao = Contribuicao.de(acesso);
+            if (contribuicao == null) {
+                continue;
+            }
+            Chave chave = new Chave(contribuicao.estacionamentoId(), contribuicao.dia(), contribuicao.tipoAcesso());
+            porBucket.merge(chave, contribuicao, (a, b) ->
+                new Contribuicao(a.estacionamentoId(), a.dia(), a.tipoAcesso(), a.valor().add(b.valor())));
+            quantidades.merge(chave, 1L, Long::sum);
+        }
+        porBucket.forEach((chave, total) -> acumular(total, total.valor(), quantidades.get(chave)));
+    }
+
+    private void acumular(Contribuicao bucket, BigDecimal valor, long quantidade) {
+        faturamentoDiarioRepository.acumular(
+            bucket.estacionamentoId(), bucket.dia(), bucket.tipoAcesso(), valor, quantidade
+        );
+    }
+
+    private record Chave(Long estacionamentoId, LocalDate dia, String tipoAcesso) {
+    }
+}
@@ -0,0 +1,30 @@
+package com.estacionamento.faturamento;
+
+import com.estacionamento.model.Acesso;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.Locale;
+import java.util.Objects;
+
+/**
+ * Parcela de um acesso no faturamento: o bucket (estacionamento, dia de saída, tipo) e o valor cobrado.
+ * Acessos sem valor cobrado ou ainda abertos não contribuem e resultam em {@code null}.
+ */
+public record Contribuicao(Long estacionamentoId, LocalDate dia, String tipoAcesso, BigDecimal valor) {
+
+    public static Contribuicao de(Acesso acesso) {
+        if (acesso == null || acesso.getValorCobrado() == null || acesso.getDataFim() == null
+            || acesso.getEstacionamento() == null || acesso.getTipoAcesso() == null) {
+            return null;
+        }
+        return new Contribuicao(acesso.getEstacionamento().getId(), acesso.getDataFim(),
+            acesso.getTipoAcesso().toUpperCase(Locale.ROOT), acesso.getValorCobrado());
+    }
+
+    boolean mesmoBucket(Contribuicao outra) {
+        return Objects.equals(estacionamentoId, outra.estacionamentoId)
+            && Objects.equals(dia, outra.dia)
+            && Objects.equals(tipoAcesso, outra.tipoAcesso);
+    }
+}
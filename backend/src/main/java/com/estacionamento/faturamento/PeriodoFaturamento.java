@@ -0,0 +1,41 @@
+package com.estacionamento.faturamento;
+
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.temporal.TemporalAdjusters;
+
+public enum PeriodoFaturamento {
+    DIA,
+    SEMANA,
+    MES;
+
+    /**
+     * Primeiro dia do período que contém {@code dia}; semanas começam na segunda-feira.
+     */
+    public LocalDate inicio(LocalDate dia) {
+        return switch (this) {
+            case DIA -> dia;
+            case SEMANA -> dia.with(TemporalAdjusters.previousOrSame(DayOfWeek.MONDAY));
+            case MES -> dia.withDayOfMonth(1);
+        };
+    }
+
+    public LocalDate fim(LocalDate inicio) {
+        return switch (this) {
+            case DIA -> inicio;
+            case SEMANA -> inicio.plusDays(6);
+            case MES -> inicio.with(TemporalAdjusters.lastDayOfMonth());
+        };
+    }
+
+    /**
+     * Janela consultada quando o cliente não informa a data inicial: 30 dias, 12 semanas ou 12 meses.
+     */
+    public LocalDate inicioPadrao(LocalDate dataFinal) {
+        return switch (this) {
+            case DIA -> dataFinal.minusDays(29);
+            case SEMANA -> inicio(dataFinal).minusWeeks(11);
+            case MES -> inicio(dataFinal).minusMonths(11);
+        };
+    }
+}
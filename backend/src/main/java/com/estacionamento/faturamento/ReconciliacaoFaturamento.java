@@ -0,0 +1,58 @@
+package com.estacionamento.faturamento;
+
+import com.estacionamento.model.FaturamentoDiario;
+import com.estacionamento.repository.FaturamentoDiarioRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.List;
+
+/**
+ * Reconstrói o {@code faturamento_diario} a partir dos acessos, corrigindo qualquer divergência dos
+ * incrementos (acessos alterados direto no banco, falhas parciais). Roda de madrugada por padrão e pode ser
+ * disparada manualmente pelo endpoint de faturamento.
+ * <p>
+ * Cada estacionamento é reconstruído na sua própria transação curta, então as saídas dos demais não esperam
+ * pela reconciliação. Dentro dela os buckets do estacionamento são apagados antes de somar os acessos: o
+ * {@code DELETE} bloqueia os buckets (e, no REPEATABLE READ do MySQL, o intervalo do estacionamento no índice
+ * único), e a soma é uma leitura consistente que não bloqueia acessos. Uma saída que chega ao
+ * {@code acumular} nesse meio espera o commit da reconciliação e soma o seu incremento por cima do valor
+ * reconstruído, que não a incluiu; uma saída que já tinha acumulado faz o {@code DELETE} esperar o commit dela
+ * e entra na soma. A reconciliação só espera por buckets e nunca por acessos, enquanto as saídas bloqueiam o
+ * acesso antes do bucket, então as duas não formam ciclo de bloqueio.
+ */
+@Component
+public class ReconciliacaoFaturamento {
+
+    private static final Logger log = LoggerFactory.getLogger(ReconciliacaoFaturamento.class);
+
+    private final FaturamentoDiarioRepository faturamentoDiarioRepository;
+    private final TransactionTemplate transacao;
+
+    public ReconciliacaoFaturamento(FaturamentoDiarioRepository faturamentoDiarioRepository,
+                                    PlatformTransactionManager transactionManager) {
+        this.faturamentoDiarioRepository = faturamentoDiarioRepository;
+        this.transacao = new TransactionTemplate(transactionManager);
+    }
+
+    @Scheduled(cron = "${faturamento.reconciliacao.cron:0 30 3 * * *}")
+    public int reconstruir() {
+        int buckets = 0;
+        for (Long estacionamentoId : faturamentoDiarioRepository.listarEstacionamentos()) {
+            buckets += transacao.execute(status -> reconstruir(estacionamentoId));
+        }
+        log.info("Faturamento diário reconstruído a partir dos acessos: {} buckets.", buckets);
+        return buckets;
+    }
+
+    private int reconstruir(Long estacionamentoId) {
+        faturamentoDiarioRepository.limpar(estacionamentoId);
+        List<FaturamentoDiario> buckets = faturamentoDiarioRepository.somarAcessos(estacionamentoId);
+        faturamentoDiarioRepository.saveAll(buckets);
+        return buckets.size();
+    }
+}
@@ -0,0 +1,247 @@
+package com.estacionamento.faturamento;
+
+import com.estacionamento.cache.CacheTarifas;
+import com.estacionamento.dto.ResultadoSimulacaoDTO;
+import com.estacionamento.dto.SimulacaoTarifaDTO;
+import com.estacionamento.exception.ObjetoNaoEncontradoException;
+import com.estacionamento.model.Diaria;
+import com.estacionamento.model.Tempo;
+import com.estacionamento.repository.AcessoRepository;
+import com.estacionamento.tarifa.CobrancaDiaria;
+import com.estacionamento.tarifa.MotorTarifario;
+import com.estacionamento.tarifa.PlanoDiaria;
+import com.estacionamento.tarifa.PlanoTempo;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Limit;
+import org.springframework.stereotype.Component;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
+import java.util.function.Predicate;
+
+/**
+ * Simulação de uma tarifa candidata sobre os acessos TEMPO e DIARIA encerrados no período, para estimar a
+ * receita por estacionamento antes de alterar {@link Tempo} ou {@link Diaria}.
+ *
+ * <p>Os acessos são lidos por cursor de ID em lotes de {@code faturamento.simulacao.tamanho-lote}, só com as
+ * colunas do cálculo, e cada lote é precificado com um stream paralelo no pool comum enquanto o próximo é
+ * lido. Em memória ficam no máximo dois lotes e os totais por estacionamento, em centavos.
+ *
+ * <p>As candidatas valem só para a simulação: são precificadas por um {@link MotorTarifario} próprio, não
+ * passam pelo {@link CacheTarifas} nem pelo motor da aplicação e nunca são gravadas. Cada acesso é
+ * precificado também pela tarifa vigente, para que a comparação não dependa de mudanças de tarifa feitas
+ * depois da cobrança.
+ */
+@Component
+public class SimuladorTarifas {
+
+    static final int MESES_PADRAO = 3;
+
+    private final AcessoRepository acessoRepository;
+    private final CacheTarifas cacheTarifas;
+    private final CobrancaDiaria cobrancaDiaria;
+    private final Duration tolerancia;
+    private final int tamanhoLote;
+
+    public SimuladorTarifas(AcessoRepository acessoRepository, CacheTarifas cacheTarifas,
+                            @Value("${tarifa.diaria.cobranca:POR_DIA}") CobrancaDiaria cobrancaDiaria,
+                            @Value("${tarifa.diaria.tolerancia:15m}") Duration tolerancia,
+                            @Value("${faturamento.simulacao.tamanho-lote:10000}") int tamanhoLote) {
+        if (tamanhoLote <= 0) {
+            throw new IllegalArgumentException("O tamanho do lote da simulação deve ser maior que zero.");
+        }
+        this.acessoRepository = acessoRepository;
+        this.cacheTarifas = cacheTarifas;
+        this.cobrancaDiaria = cobrancaDiaria;
+        this.tolerancia = tolerancia;
+        this.tamanhoLote = tamanhoLote;
+    }
+
+    public ResultadoSimulacaoDTO simular(SimulacaoTarifaDTO pedido) {
+        int meses = pedido.meses() != null ? pedido.meses() : MESES_PADRAO;
+        if (meses <= 0) {
+            throw new IllegalArgumentException("A quantidade de meses da simulação deve ser maior que zero.");
+        }
+        LocalDate fim = pedido.dataFinal() != null ? pedido.dataFinal() : LocalDate.now();
+        LocalDate inicio = pedido.dataInicial() != null ? pedido.dataInicial() : fim.minusMonths(meses);
+        if (fim.isBefore(inicio)) {
+            throw new IllegalArgumentException("A data final não pode ser anterior à data inicial.");
+        }
+
+        Map<Long, Tempo> tempos = candidatas(pedido.tempos(), Tempo::getId, cacheTarifas::buscarTempo,
+            tempo -> PlanoTempo.compilar(tempo) != null, "Tempo");
+        Map<Long, Diaria> diarias = candidatas(pedido.diarias(), Diaria::getId, cacheTarifas::buscarDiaria,
+            diaria -> PlanoDiaria.compilar(diaria) != null, "Diária");
+        if (tempos.isEmpty() && diarias.isEmpty()) {
+            throw new IllegalArgumentException("Informe ao menos uma configuração de Tempo ou Diária candidata.");
+        }
+
+        Precificacao precificacao = new Precificacao(tempos, diarias);
+        Totais totais = new Totais();
+        CompletableFuture<Totais> emCurso = null;
+        long cursor = 0L;
+        List<AcessoSimulado> lote;
+        do {
+            lote = acessoRepository.buscarLoteSimulacao(cursor, pedido.estacionamentoId(), inicio, fim,
+                Limit.of(tamanhoLote));
+            if (lote.isEmpty()) {
+                break;
+            }
+            cursor = lote.get(lote.size() - 1).id();
+            precificacao.carregarVigentes(lote);
+            if (emCurso != null) {
+                totais.juntar(emCurso.join());
+            }
+            List<AcessoSimulado> precificar = lote;
+            emCurso = CompletableFuture.supplyAsync(() -> precificacao.precificar(precificar));
+        } while (lote.size() == tamanhoLote);
+        if (emCurso != null) {
+            totais.juntar(emCurso.join());
+        }
+        return totais.resultado(inicio, fim);
+    }
+
+    private static <T> Map<Long, T> candidatas(List<T> configuracoes, Function<T, Long> id,
+                                               Function<Long, T> vigente, Predicate<T> valida, String nome) {
+        Map<Long, T> porId = new HashMap<>();
+        if (configuracoes == null) {
+            return porId;
+        }
+        for (T configuracao : configuracoes) {
+            Long idConfiguracao = id.apply(configuracao);
+            if (idConfiguracao == null) {
+                throw new IllegalArgumentException(
+                    "Informe o ID da configuração de " + nome + " que a candidata substitui.");
+            }
+            if (vigente.apply(idConfiguracao) == null) {
+                throw new ObjetoNaoEncontradoException(nome + " com ID " + idConfiguracao + " não encontrado.");
+            }
+            if (!valida.test(configuracao)) {
+                throw new IllegalArgumentException(
+                    "Configuração de " + nome + " candidata com ID " + idConfiguracao + " inválida.");
+            }
+            porId.put(idConfiguracao, configuracao);
+        }
+        return porId;
+    }
+
+    private static long centavos(BigDecimal valor) {
+        return valor != null ? valor.setScale(2, RoundingMode.HALF_UP).unscaledValue().longValueExact() : 0L;
+    }
+
+    /**
+     * Tarifas vigentes carregadas do {@link CacheTarifas} conforme os lotes chegam, e um motor para cada
+     * lado da comparação; os planos compilados ficam em cada motor, uma vez por configuração.
+     */
+    private final class Precificacao {
+
+        private final MotorTarifario motorVigente = new MotorTarifario(cobrancaDiaria, tolerancia);
+        private final MotorTarifario motorCandidato = new MotorTarifario(cobrancaDiaria, tolerancia);
+        private final Map<Long, Tempo> temposVigentes = new ConcurrentHashMap<>();
+        private final Map<Long, Diaria> diariasVigentes = new ConcurrentHashMap<>();
+        private final Map<Long, Tempo> temposCandidatos;
+        private final Map<Long, Diaria> diariasCandidatas;
+
+        Precificacao(Map<Long, Tempo> temposCandidatos, Map<Long, Diaria> diariasCandidatas) {
+            this.temposCandidatos = temposCandidatos;
+            this.diariasCandidatas = diariasCandidatas;
+        }
+
+        /** Busca de uma vez as tarifas do lote que ainda não foram vistas; roda na thread que lê os lotes. */
+        void carregarVigentes(List<AcessoSimulado> lote) {
+            Set<Long> tempos = new HashSet<>();
+            Set<Long> diarias = new HashSet<>();
+            for (AcessoSimulado acesso : lote) {
+                if (acesso.tempoId() != null && !temposVigentes.containsKey(acesso.tempoId())) {
+                    tempos.add(acesso.tempoId());
+                }
+                if (acesso.diariaId() != null && !diariasVigentes.containsKey(acesso.diariaId())) {
+                    diarias.add(acesso.diariaId());
+                }
+            }
+            if (!tempos.isEmpty()) {
+                temposVigentes.putAll(cacheTarifas.buscarTempos(tempos));
+            }
+            if (!diarias.isEmpty()) {
+                diariasVigentes.putAll(cacheTarifas.buscarDiarias(diarias));
+            }
+        }
+
+        Totais precificar(List<AcessoSimulado> lote) {
+            return lote.parallelStream().collect(Totais::new, this::somar, Totais::juntar);
+        }
+
+        private void somar(Totais totais, AcessoSimulado acesso) {
+            Tempo tempo = acesso.tempoId() != null ? temposVigentes.get(acesso.tempoId()) : null;
+            Diaria diaria = acesso.diariaId() != null ? diariasVigentes.get(acesso.diariaId()) : null;
+            Tempo tempoCandidato = acesso.tempoId() != null
+                ? temposCandidatos.getOrDefault(acesso.tempoId(), tempo) : null;
+            Diaria diariaCandidata = acesso.diariaId() != null
+                ? diariasCandidatas.getOrDefault(acesso.diariaId(), diaria) : null;
+            long vigente;
+            long simulado;
+            try {
+                vigente = motorVigente.calcularCentavos(acesso.comTarifas(tempo, diaria));
+                simulado = tempoCandidato == tempo && diariaCandidata == diaria
+                    ? vigente
+                    : motorCandidato.calcularCentavos(acesso.comTarifas(tempoCandidato, diariaCandidata));
+            } catch (RuntimeException e) {
+                totais.naoPrecificados++;
+                return;
+            }
+            totais.somar(acesso.estacionamentoId(), centavos(acesso.valorCobrado()), vigente, simulado);
+        }
+    }
+
+    /** Somas em centavos por estacionamento: acessos, cobrado, vigente e simulado. */
+    private static final class Totais {
+
+        private final Map<Long, long[]> porEstacionamento = new HashMap<>();
+        private long naoPrecificados;
+
+        void somar(Long estacionamentoId, long cobrado, long vigente, long simulado) {
+            long[] somas = porEstacionamento.computeIfAbsent(estacionamentoId, id -> new long[4]);
+            somas[0]++;
+            somas[1] += cobrado;
+            somas[2] += vigente;
+            somas[3] += simulado;
+        }
+
+        void juntar(Totais outros) {
+            outros.porEstacionamento.forEach((id, somas) -> {
+                long[] destino = porEstacionamento.computeIfAbsent(id, chave -> new long[4]);
+                for (int i = 0; i < destino.length; i++) {
+                    destino[i] += somas[i];
+                }
+            });
+            naoPrecificados += outros.naoPrecificados;
+        }
+
+        ResultadoSimulacaoDTO resultado(LocalDate inicio, LocalDate fim) {
+            long[] geral = new long[4];
+            List<ResultadoSimulacaoDTO.EstacionamentoSimulado> estacionamentos = new ArrayList<>();
+            new TreeMap<>(porEstacionamento).forEach((id, somas) -> {
+                for (int i = 0; i < geral.length; i++) {
+                    geral[i] += somas[i];
+                }
+                estacionamentos.add(new ResultadoSimulacaoDTO.EstacionamentoSimulado(id, somas[0],
+                    BigDecimal.valueOf(somas[1], 2), BigDecimal.valueOf(somas[2], 2), BigDecimal.valueOf(somas[3], 2),
+                    BigDecimal.valueOf(somas[3] - somas[2], 2)));
+            });
+            return new ResultadoSimulacaoDTO(inicio, fim, geral[0], naoPrecificados, BigDecimal.valueOf(geral[1], 2),
+                BigDecimal.valueOf(geral[2], 2), BigDecimal.valueOf(geral[3], 2), estacionamentos);
+        }
+    }
+}
@@ -0,0 +1,260 @@
+package com.estacionamento.idempotencia;
+
+import com.estacionamento.exception.ChaveIdempotenciaReutilizadaException;
+import com.estacionamento.repository.RequisicaoIdempotenteRepository;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.http.HttpStatusCode;
+import org.springframework.http.ResponseEntity;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.util.StringUtils;
+
+import java.io.UncheckedIOException;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.HexFormat;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Supplier;
+
+/**
+ * Cabeçalho {@code Idempotency-Key} das requisições das cancelas. A primeira requisição com uma chave roda
+ * em uma transação que começa reservando a chave em {@code requisicao_idempotente} e termina gravando a
+ * resposta nela, junto com o acesso; uma repetição da chave recebe a resposta gravada, com o cabeçalho
+ * {@code Idempotent-Replayed}, sem executar a operação nem as consultas dela. As respostas ficam também em
+ * um cache limitado por tamanho e por {@code idempotencia.expiracao}, então a repetição típica, logo depois
+ * de um timeout, não vai ao banco.
+ *
+ * <p>Uma repetição que chega com a original ainda em andamento espera por ela, nesta instância em memória e
+ * entre instâncias pela reserva no banco, e com o commit devolve a mesma resposta; se a original falhar, a
+ * reserva é desfeita e a repetição executa. Só respostas de sucesso são gravadas. A mesma chave com outro
+ * corpo é recusada com {@link ChaveIdempotenciaReutilizadaException}.
+ *
+ * <p>Uma operação {@link AceiteSemBanco} (a entrada adiada) não abre transação: a resposta fica só no cache
+ * e a chave segue com a requisição, para ser gravada por {@link #registrarAceita} junto com ela. Uma chave que
+ * só o banco conhece não é vista nesse caminho; a duplicata é resolvida na gravação, por {@link #gravadas}.
+ */
+@Component
+public class Idempotencia implements MeterBinder {
+
+    public static final String CABECALHO = "Idempotency-Key";
+    public static final String CABECALHO_REPETIDA = "Idempotent-Replayed";
+    static final int TAMANHO_MAXIMO_CHAVE = 100;
+
+    private static final Logger log = LoggerFactory.getLogger(Idempotencia.class);
+
+    private final RequisicaoIdempotenteRepository repositorio;
+    private final TransactionTemplate transacao;
+    private final ObjectMapper objectMapper;
+    private final Duration expiracao;
+    private final Cache<Chave, RespostaIdempotente> respostas;
+    private final Map<Chave, CompletableFuture<RespostaIdempotente>> emAndamento = new ConcurrentHashMap<>();
+
+    public Idempotencia(RequisicaoIdempotenteRepository repositorio, PlatformTransactionManager transactionManager,
+                        ObjectMapper objectMapper,
+                        @Value("${idempotencia.tamanho-maximo:10000}") long tamanhoMaximo,
+                        @Value("${idempotencia.expiracao:24h}") Duration expiracao) {
+        this.repositorio = repositorio;
+        this.transacao = new TransactionTemplate(transactionManager);
+        this.objectMapper = objectMapper;
+        this.expiracao = expiracao;
+        this.respostas = Caffeine.newBuilder()
+            .maximumSize(tamanhoMaximo)
+            .expireAfterWrite(expiracao)
+            .recordStats()
+            .build();
+    }
+
+    /**
+     * Executa {@code operacao} uma única vez por {@code chave} e {@code rota}. Sem chave, só executa.
+     *
+     * @param requisicao corpo recebido, comparado pela impressão com o da requisição original
+     * @param tipo       tipo do corpo da resposta, para reconstruí-lo a partir do JSON gravado
+     */
+    public <T> ResponseEntity<T> executar(String chave, String rota, Object requisicao, Class<T> tipo,
+                                          Supplier<ResponseEntity<T>> operacao) {
+        return executar(chave, rota, requisicao, tipo, (chaveAceita, impressao) -> null, operacao);
+    }
+
+    /**
+     * Como {@link #executar(String, String, Object, Class, Supplier)}, tentando antes {@code semBanco}; só
+     * quando ela devolve {@code null} a requisição segue pela transação com {@code operacao}.
+     */
+    public <T> ResponseEntity<T> executar(String chave, String rota, Object requisicao, Class<T> tipo,
+                                          AceiteSemBanco<T> semBanco, Supplier<ResponseEntity<T>> operacao) {
+        if (chave == null) {
+            ResponseEntity<T> aceita = semBanco.aceitar(null, null);
+            return aceita != null ? aceita : operacao.get();
+        }
+        if (!StringUtils.hasText(chave) || chave.length() > TAMANHO_MAXIMO_CHAVE) {
+            throw new IllegalArgumentException(
+                "O cabeçalho " + CABECALHO + " deve ter de 1 a " + TAMANHO_MAXIMO_CHAVE + " caracteres.");
+        }
+        Chave id = new Chave(chave, rota);
+        String impressao = impressao(requisicao);
+
+        while (true) {
+            RespostaIdempotente emCache = respostas.getIfPresent(id);
+            if (emCache != null) {
+                return repetir(id, emCache, impressao, tipo);
+            }
+            CompletableFuture<RespostaIdempotente> minha = new CompletableFuture<>();
+            CompletableFuture<RespostaIdempotente> anterior = emAndamento.putIfAbsent(id, minha);
+            if (anterior == null) {
+                try {
+                    return executarPrimeira(id, impressao, tipo, semBanco, operacao, minha);
+                } finally {
+                    emAndamento.remove(id, minha);
+                }
+            }
+            RespostaIdempotente concluida = anterior.exceptionally(falha -> null).join();
+            if (concluida != null) {
+                return repetir(id, concluida, impressao, tipo);
+            }
+        }
+    }
+
+    /**
+     * As chaves de {@code rota}, entre as informadas, já gravadas por outra requisição; usado na gravação das
+     * requisições aceitas sem o banco, para descartar as repetidas.
+     */
+    public Set<String> gravadas(String rota, Collection<String> chaves) {
+        return repositorio.buscarChaves(rota, chaves);
+    }
+
+    /**
+     * Grava, na transação corrente, a chave de uma requisição aceita sem o banco e a resposta que ela recebeu.
+     */
+    public void registrarAceita(String chave, String rota, String impressao, HttpStatusCode status, Object corpo) {
+        repositorio.gravar(chave, rota, impressao, LocalDateTime.now(), status.value(), json(corpo));
+    }
+
+    @Scheduled(cron = "${idempotencia.limpeza.cron:0 15 * * * *}")
+    public int limpar() {
+        int removidas = repositorio.removerAnteriores(LocalDateTime.now().minus(expiracao));
+        log.debug("Chaves de idempotência expiradas removidas: {}", removidas);
+        return removidas;
+    }
+
+    private <T> ResponseEntity<T> executarPrimeira(Chave id, String impressao, Class<T> tipo,
+                                                   AceiteSemBanco<T> semBanco, Supplier<ResponseEntity<T>> operacao,
+                                                   CompletableFuture<RespostaIdempotente> minha) {
+        try {
+            ResponseEntity<T> aceita = semBanco.aceitar(id.chave(), impressao);
+            if (aceita != null) {
+                RespostaIdempotente registro = new RespostaIdempotente(
+                    impressao, aceita.getStatusCode().value(), json(aceita.getBody()));
+                respostas.put(id, registro);
+                minha.complete(registro);
+                return aceita;
+            }
+            RespostaIdempotente gravada = repositorio.buscar(id.chave(), id.rota());
+            if (gravada != null) {
+                respostas.put(id, gravada);
+                minha.complete(gravada);
+                return repetir(id, gravada, impressao, tipo);
+            }
+            return executarNaTransacao(id, impressao, tipo, operacao, minha);
+        } catch (RuntimeException e) {
+            minha.completeExceptionally(e);
+            throw e;
+        }
+    }
+
+    private <T> ResponseEntity<T> executarNaTransacao(Chave id, String impressao, Class<T> tipo,
+                                                      Supplier<ResponseEntity<T>> operacao,
+                                                      CompletableFuture<RespostaIdempotente> minha) {
+        try {
+            Executada<T> executada = transacao.execute(status -> {
+                repositorio.reservar(id.chave(), id.rota(), impressao, LocalDateTime.now());
+                ResponseEntity<T> resposta = operacao.get();
+                RespostaIdempotente registro = new RespostaIdempotente(
+                    impressao, resposta.getStatusCode().value(), json(resposta.getBody()));
+                repositorio.concluir(id.chave(), id.rota(), registro.status(), registro.corpo());
+                return new Executada<>(resposta, registro);
+            });
+            respostas.put(id, executada.registro());
+            minha.complete(executada.registro());
+            return executada.resposta();
+        } catch (DuplicateKeyException e) {
+            RespostaIdempotente concorrente = repositorio.buscar(id.chave(), id.rota());
+            if (concorrente == null) {
+                throw e;
+            }
+            respostas.put(id, concorrente);
+            minha.complete(concorrente);
+            return repetir(id, concorrente, impressao, tipo);
+        }
+    }
+
+    private <T> ResponseEntity<T> repetir(Chave id, RespostaIdempotente gravada, String impressao, Class<T> tipo) {
+        if (!gravada.impressao().equals(impressao)) {
+            throw new ChaveIdempotenciaReutilizadaException("A chave " + id.chave() + " já foi usada em "
+                + id.rota() + " com outro corpo de requisição.");
+        }
+        try {
+            return ResponseEntity.status(HttpStatusCode.valueOf(gravada.status()))
+                .header(CABECALHO_REPETIDA, "true")
+                .body(objectMapper.readValue(gravada.corpo(), tipo));
+        } catch (JsonProcessingException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private String json(Object corpo) {
+        try {
+            return objectMapper.writeValueAsString(corpo);
+        } catch (JsonProcessingException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private String impressao(Object requisicao) {
+        try {
+            byte[] resumo = MessageDigest.getInstance("SHA-256").digest(objectMapper.writeValueAsBytes(requisicao));
+            return HexFormat.of().formatHex(resumo);
+        } catch (JsonProcessingException e) {
+            throw new UncheckedIOException(e);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        CaffeineCacheMetrics.monitor(registry, respostas, "idempotencia");
+    }
+
+    /**
+     * Operação que aceita a requisição sem o banco, levando junto a chave e a impressão do corpo para
+     * {@link #registrarAceita}, ou devolve {@code null} para seguir pela transação. Sem cabeçalho, recebe
+     * {@code null} nas duas.
+     */
+    @FunctionalInterface
+    public interface AceiteSemBanco<T> {
+        ResponseEntity<T> aceitar(String chave, String impressao);
+    }
+
+    private record Chave(String chave, String rota) {
+    }
+
+    private record Executada<T>(ResponseEntity<T> resposta, RespostaIdempotente registro) {
+    }
+}
@@ -0,0 +1,8 @@
+package com.estacionamento.idempotencia;
+
+/**
+ * Resposta gravada para uma chave de idempotência: a impressão do corpo da requisição original, o status e o
+ * corpo da resposta em JSON.
+ */
+public record RespostaIdempotente(String impressao, int status, String corpo) {
+}
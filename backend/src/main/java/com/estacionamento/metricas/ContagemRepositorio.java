@@ -0,0 +1,131 @@
+package com.estacionamento.metricas;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.aspectj.lang.JoinPoint;
+import org.aspectj.lang.annotation.Aspect;
+import org.aspectj.lang.annotation.Before;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.util.ClassUtils;
+import org.springframework.web.servlet.AsyncHandlerInterceptor;
+import org.springframework.web.servlet.HandlerMapping;
+
+/**
+ * Conta as chamadas aos repositórios em {@code repositorio.chamadas}, por {@code repositorio} e
+ * {@code metodo}, e quantas cada requisição HTTP fez em {@code http.server.requests.repositorio}, por
+ * {@code method} e {@code uri} (o padrão da rota, como em {@code http.server.requests}). A contagem da
+ * requisição segue a thread dela; chamadas feitas em outra thread, como no corpo assíncrono da exportação,
+ * só entram no contador geral, e a requisição assíncrona é contada no despacho que a conclui.
+ *
+ * <p>Os comandos SQL que o {@link MonitorConsultas} vê na mesma thread são somados por requisição em
+ * {@code http.server.requests.sql}, com as mesmas tags. Requisições com mais comandos que
+ * {@code consultas.por-requisicao.limite} são logadas com a rota e as duas contagens; 0 desliga o log.
+ */
+@Aspect
+@Component
+public class ContagemRepositorio implements AsyncHandlerInterceptor {
+
+    static final String CHAMADAS = "repositorio.chamadas";
+    static final String POR_REQUISICAO = "http.server.requests.repositorio";
+    static final String COMANDOS_POR_REQUISICAO = "http.server.requests.sql";
+
+    private static final Logger log = LoggerFactory.getLogger(ContagemRepositorio.class);
+
+    private static final String PACOTE = "com.estacionamento.repository";
+
+    private static final ClassValue<String> NOMES = new ClassValue<>() {
+        @Override
+        protected String computeValue(Class<?> tipo) {
+            for (Class<?> interfaceDoTipo : tipo.getInterfaces()) {
+                if (interfaceDoTipo.getPackageName().equals(PACOTE)) {
+                    return interfaceDoTipo.getSimpleName();
+                }
+            }
+            return ClassUtils.getUserClass(tipo).getSimpleName();
+        }
+    };
+
+    private final ThreadLocal<int[]> daRequisicao = new ThreadLocal<>();
+    private final MeterRegistry registry;
+    private final int limiteComandos;
+
+    public ContagemRepositorio(MeterRegistry registry,
+                               @Value("${consultas.por-requisicao.limite:0}") int limiteComandos) {
+        this.registry = registry;
+        this.limiteComandos = limiteComandos;
+    }
+
+    @Before("execution(* org.springframework.data.repository.Repository+.*(..))"
+        + " || execution(public * com.estacionamento.repository..*.*(..))")
+    public void contar(JoinPoint ponto) {
+        Counter.builder(CHAMADAS)
+            .description("Chamadas aos repositórios")
+            .tag("repositorio", NOMES.get(ponto.getThis().getClass()))
+            .tag("metodo", ponto.getSignature().getName())
+            .register(registry)
+            .increment();
+        int[] contagem = daRequisicao.get();
+        if (contagem != null) {
+            contagem[0]++;
+        }
+    }
+
+    /** Conta um comando SQL executado na requisição corrente, se houver uma. */
+    public void comandoExecutado() {
+        int[] contagem = daRequisicao.get();
+        if (contagem != null) {
+            contagem[1]++;
+        }
+    }
+
+    @Override
+    public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) {
+        daRequisicao.set(new int[2]);
+        return true;
+    }
+
+    @Override
+    public void afterConcurrentHandlingStarted(HttpServletRequest request, HttpServletResponse response,
+                                               Object handler) {
+        daRequisicao.remove();
+    }
+
+    @Override
+    public void afterCompletion(HttpServletRequest request, HttpServletResponse response, Object handler,
+                                Exception ex) {
+        int[] contagem = daRequisicao.get();
+        daRequisicao.remove();
+        if (contagem == null) {
+            return;
+        }
+        Object rota = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+        String uri = rota != null ? rota.toString() : "UNKNOWN";
+        DistributionSummary.builder(POR_REQUISICAO)
+            .description("Chamadas aos repositórios por requisição")
+            .tag("method", request.getMethod())
+            .tag("uri", uri)
+            .register(registry)
+            .record(contagem[0]);
+        DistributionSummary.builder(COMANDOS_POR_REQUISICAO)
+            .description("Comandos SQL por requisição")
+            .tag("method", request.getMethod())
+            .tag("uri", uri)
+            .register(registry)
+            .record(contagem[1]);
+        if (limiteComandos > 0 && contagem[1] > limiteComandos) {
+            log.atWarn()
+                .addKeyValue("http.method", request.getMethod())
+                .addKeyValue("http.uri", uri)
+                .addKeyValue("sql.comandos", contagem[1])
+                .addKeyValue("repositorio.chamadas", contagem[0])
+                .log("Requisição com muitos comandos SQL: {} {} executou {} comandos em {} chamadas a repositórios",
+                    request.getMethod(), uri, contagem[1], contagem[0]);
+        }
+    }
+}
@@ -0,0 +1,125 @@
+package com.estacionamento.metricas;
+
+import com.estacionamento.exception.ConflitoVersaoException;
+import com.estacionamento.exception.DescricaoEmBrancoException;
+import com.estacionamento.exception.EstacionamentoLotadoException;
+import com.estacionamento.exception.ObjetoNaoEncontradoException;
+import com.estacionamento.exception.ValorAcessoInvalidoException;
+import com.estacionamento.exception.VersaoAusenteException;
+import com.estacionamento.model.Acesso;
+import com.estacionamento.tarifa.TipoAcesso;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Tempo e contagem de cada método público do {@code AcessoService} em {@code acessos.servico}, com as tags
+ * {@code metodo}, {@code tipo} (tipo de acesso, {@code NENHUM} quando a chamada não tem um) e
+ * {@code resultado} ({@code sucesso}, {@code validacao}, {@code nao_encontrado}, {@code lotado},
+ * {@code conflito} ou {@code erro}); a contagem é o {@code _count} do timer. Roda fora da transação, então
+ * o commit e a falha dele pelo bloqueio otimista entram no tempo e no resultado. Chamadas internas do
+ * serviço não passam pelo proxy e não são medidas.
+ *
+ * <p>O cálculo de valor do {@code MotorTarifario} fica em {@code acessos.calculo.valor}, por tipo, com
+ * histograma para os percentis.
+ */
+@Aspect
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE)
+public class MedicaoAcessos {
+
+    static final String SERVICO = "acessos.servico";
+    static final String CALCULO_VALOR = "acessos.calculo.valor";
+
+    private static final String NENHUM = "NENHUM";
+    private static final String INVALIDO = "INVALIDO";
+
+    private final MeterRegistry registry;
+
+    public MedicaoAcessos(MeterRegistry registry) {
+        this.registry = registry;
+    }
+
+    @Around("execution(public * com.estacionamento.service.AcessoService.*(..))")
+    public Object medirServico(ProceedingJoinPoint ponto) throws Throwable {
+        long inicio = System.nanoTime();
+        Object resultado = null;
+        String desfecho = "sucesso";
+        try {
+            resultado = ponto.proceed();
+            return resultado;
+        } catch (Throwable e) {
+            desfecho = desfecho(e);
+            throw e;
+        } finally {
+            Timer.builder(SERVICO)
+                .description("Chamadas aos métodos públicos do AcessoService")
+                .tag("metodo", ponto.getSignature().getName())
+                .tag("tipo", tipo(ponto.getArgs(), resultado))
+                .tag("resultado", desfecho)
+                .register(registry)
+                .record(System.nanoTime() - inicio, TimeUnit.NANOSECONDS);
+        }
+    }
+
+    @Around("execution(public java.math.BigDecimal com.estacionamento.tarifa.MotorTarifario.calcularValor(..))")
+    public Object medirCalculoValor(ProceedingJoinPoint ponto) throws Throwable {
+        long inicio = System.nanoTime();
+        try {
+            return ponto.proceed();
+        } finally {
+            Timer.builder(CALCULO_VALOR)
+                .description("Cálculo do valor cobrado de um acesso")
+                .tag("tipo", tipo(ponto.getArgs(), null))
+                .publishPercentileHistogram()
+                .register(registry)
+                .record(System.nanoTime() - inicio, TimeUnit.NANOSECONDS);
+        }
+    }
+
+    private static String desfecho(Throwable e) {
+        if (e instanceof ObjetoNaoEncontradoException) {
+            return "nao_encontrado";
+        }
+        if (e instanceof EstacionamentoLotadoException) {
+            return "lotado";
+        }
+        if (e instanceof ConflitoVersaoException || e instanceof OptimisticLockingFailureException) {
+            return "conflito";
+        }
+        if (e instanceof DescricaoEmBrancoException || e instanceof IllegalArgumentException
+            || e instanceof ValorAcessoInvalidoException || e instanceof VersaoAusenteException) {
+            return "validacao";
+        }
+        return "erro";
+    }
+
+    /**
+     * Tipo do primeiro {@link Acesso} entre os argumentos ou, sem ele, do acesso retornado. Valores fora do
+     * {@link TipoAcesso} viram {@code INVALIDO}, para não abrir uma série por texto digitado.
+     */
+    private static String tipo(Object[] argumentos, Object resultado) {
+        for (Object argumento : argumentos) {
+            if (argumento instanceof Acesso acesso) {
+                return tipo(acesso);
+            }
+        }
+        return resultado instanceof Acesso acesso ? tipo(acesso) : NENHUM;
+    }
+
+    private static String tipo(Acesso acesso) {
+        if (acesso.getTipoAcesso() == null || acesso.getTipoAcesso().isBlank()) {
+            return NENHUM;
+        }
+        TipoAcesso tipo = TipoAcesso.de(acesso.getTipoAcesso().trim());
+        return tipo != null ? tipo.name() : INVALIDO;
+    }
+}
@@ -0,0 +1,91 @@
+package com.estacionamento.metricas;
+
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.Locale;
+import java.util.Objects;
+import java.util.concurrent.TimeUnit;
+import java.util.regex.Pattern;
+
+/**
+ * Log de consultas lentas, no lugar de {@code show-sql} em produção. Cada comando executado pelo
+ * {@link MonitorDataSource} entra na contagem da requisição corrente do {@link ContagemRepositorio}; os que
+ * passam de {@code consultas.lentas.limite} são logados com a impressão do SQL (literais e listas de
+ * parâmetros trocados por marcadores, para agrupar o mesmo comando), o número de binds, o tamanho do lote,
+ * a duração e o método de serviço mais externo em execução na thread. Os campos vão também como pares
+ * chave-valor, que o log estruturado do perfil {@code prod} grava como campos do JSON.
+ */
+@Aspect
+@Component
+public class MonitorConsultas {
+
+    private static final Logger log = LoggerFactory.getLogger(MonitorConsultas.class);
+
+    static final String ORIGEM_DESCONHECIDA = "desconhecida";
+
+    private static final Pattern LITERAIS = Pattern.compile("'(?:[^']|'')*'|\\b\\d+(?:\\.\\d+)?\\b");
+    private static final Pattern LISTAS = Pattern.compile("\\(\\s*\\?(?:\\s*,\\s*\\?)+\\s*\\)");
+    private static final Pattern ESPACOS = Pattern.compile("\\s+");
+
+    private final ThreadLocal<String> origem = new ThreadLocal<>();
+    private final ContagemRepositorio contagemRepositorio;
+    private final long limiteNanos;
+
+    public MonitorConsultas(ContagemRepositorio contagemRepositorio,
+                            @Value("${consultas.lentas.limite:200ms}") Duration limite) {
+        this.contagemRepositorio = contagemRepositorio;
+        this.limiteNanos = limite.toNanos();
+    }
+
+    @Around("execution(public * com.estacionamento.service..*.*(..))")
+    public Object marcarOrigem(ProceedingJoinPoint ponto) throws Throwable {
+        if (origem.get() != null) {
+            return ponto.proceed();
+        }
+        origem.set(ponto.getSignature().getDeclaringType().getSimpleName() + "." + ponto.getSignature().getName());
+        try {
+            return ponto.proceed();
+        } finally {
+            origem.remove();
+        }
+    }
+
+    /** Método de serviço que originou os comandos da thread corrente. */
+    public String origem() {
+        return Objects.requireNonNullElse(origem.get(), ORIGEM_DESCONHECIDA);
+    }
+
+    public void registrar(String sql, int binds, int lote, long duracaoNanos) {
+        contagemRepositorio.comandoExecutado();
+        if (duracaoNanos < limiteNanos) {
+            return;
+        }
+        long duracaoMs = TimeUnit.NANOSECONDS.toMillis(duracaoNanos);
+        String impressao = impressao(sql);
+        String chamador = origem();
+        log.atWarn()
+            .addKeyValue("sql.impressao", impressao)
+            .addKeyValue("sql.binds", binds)
+            .addKeyValue("sql.lote", lote)
+            .addKeyValue("sql.duracao_ms", duracaoMs)
+            .addKeyValue("sql.origem", chamador)
+            .log("Consulta lenta: {} ms, {} binds, lote {}, em {}: {}", duracaoMs, binds, lote, chamador, impressao);
+    }
+
+    /** SQL sem literais, com listas {@code IN (?, ?, ...)} de qualquer tamanho reduzidas a {@code (?+)}. */
+    public static String impressao(String sql) {
+        if (sql == null) {
+            return "";
+        }
+        String semLiterais = LITERAIS.matcher(sql).replaceAll("?");
+        String semListas = LISTAS.matcher(semLiterais).replaceAll("(?+)");
+        return ESPACOS.matcher(semListas).replaceAll(" ").trim().toLowerCase(Locale.ROOT);
+    }
+}
@@ -0,0 +1,131 @@
+package com.estacionamento.metricas;
+
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.lang.NonNull;
+import org.springframework.stereotype.Component;
+
+import javax.sql.DataSource;
+import java.io.Closeable;
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.CallableStatement;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.Statement;
+
+/**
+ * Envolve o {@link DataSource} para que cada {@code execute*} de um comando JDBC, do Hibernate, do
+ * {@code JdbcTemplate} ou do Flyway, seja medido e repassado ao {@link MonitorConsultas}. Os binds são os
+ * {@code set*(índice, valor)} feitos desde a execução anterior, somados em todas as linhas de um lote.
+ * O pool continua acessível por {@code unwrap} e é fechado pelo {@code close} no desligamento.
+ */
+@Component
+public class MonitorDataSource implements BeanPostProcessor {
+
+    private final ObjectProvider<MonitorConsultas> monitor;
+
+    public MonitorDataSource(ObjectProvider<MonitorConsultas> monitor) {
+        this.monitor = monitor;
+    }
+
+    @Override
+    public Object postProcessAfterInitialization(@NonNull Object bean, @NonNull String beanName) {
+        if (!(bean instanceof DataSource dataSource) || envolvido(bean)) {
+            return bean;
+        }
+        return envolver(dataSource, monitor.getObject());
+    }
+
+    public static DataSource envolver(DataSource dataSource, MonitorConsultas monitor) {
+        Class<?>[] interfaces = dataSource instanceof Closeable
+            ? new Class<?>[]{DataSource.class, Closeable.class}
+            : new Class<?>[]{DataSource.class};
+        return (DataSource) Proxy.newProxyInstance(MonitorDataSource.class.getClassLoader(), interfaces,
+            new DataSourceMedido(dataSource, monitor));
+    }
+
+    private static boolean envolvido(Object bean) {
+        return Proxy.isProxyClass(bean.getClass()) && Proxy.getInvocationHandler(bean) instanceof DataSourceMedido;
+    }
+
+    private static Object invocar(Object alvo, Method metodo, Object[] argumentos) throws Throwable {
+        try {
+            return metodo.invoke(alvo, argumentos);
+        } catch (InvocationTargetException e) {
+            throw e.getCause();
+        }
+    }
+
+    private record DataSourceMedido(DataSource alvo, MonitorConsultas monitor) implements InvocationHandler {
+
+        @Override
+        public Object invoke(Object proxy, Method metodo, Object[] argumentos) throws Throwable {
+            Object resultado = invocar(alvo, metodo, argumentos);
+            if (resultado instanceof Connection conexao) {
+                return Proxy.newProxyInstance(MonitorDataSource.class.getClassLoader(),
+                    new Class<?>[]{Connection.class}, new ConexaoMedida(conexao, monitor));
+            }
+            return resultado;
+        }
+    }
+
+    private record ConexaoMedida(Connection alvo, MonitorConsultas monitor) implements InvocationHandler {
+
+        @Override
+        public Object invoke(Object proxy, Method metodo, Object[] argumentos) throws Throwable {
+            Object resultado = invocar(alvo, metodo, argumentos);
+            if (!(resultado instanceof Statement comando)) {
+                return resultado;
+            }
+            Class<?> tipo = comando instanceof CallableStatement ? CallableStatement.class
+                : comando instanceof PreparedStatement ? PreparedStatement.class
+                : Statement.class;
+            String sql = argumentos != null && argumentos.length > 0 && argumentos[0] instanceof String texto
+                ? texto : null;
+            return Proxy.newProxyInstance(MonitorDataSource.class.getClassLoader(), new Class<?>[]{tipo},
+                new ComandoMedido(comando, sql, monitor));
+        }
+    }
+
+    private static final class ComandoMedido implements InvocationHandler {
+
+        private final Statement alvo;
+        private final String sql;
+        private final MonitorConsultas monitor;
+        private int binds;
+        private int lote;
+
+        ComandoMedido(Statement alvo, String sql, MonitorConsultas monitor) {
+            this.alvo = alvo;
+            this.sql = sql;
+            this.monitor = monitor;
+        }
+
+        @Override
+        public Object invoke(Object proxy, Method metodo, Object[] argumentos) throws Throwable {
+            String nome = metodo.getName();
+            if (nome.startsWith("execute")) {
+                String executado = argumentos != null && argumentos.length > 0 && argumentos[0] instanceof String texto
+                    ? texto : sql;
+                long inicio = System.nanoTime();
+                try {
+                    return invocar(alvo, metodo, argumentos);
+                } finally {
+                    monitor.registrar(executado, binds, lote, System.nanoTime() - inicio);
+                    binds = 0;
+                    lote = 0;
+                }
+            }
+            if (nome.equals("addBatch")) {
+                lote++;
+            } else if (nome.startsWith("set") && argumentos != null && argumentos.length >= 2
+                && argumentos[0] instanceof Integer) {
+                binds++;
+            }
+            return invocar(alvo, metodo, argumentos);
+        }
+    }
+}
@@ -1,5 +1,6 @@
 package com.estacionamento.model;
 
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
 import jakarta.persistence.*;
 import lombok.AllArgsConstructor;
 import lombok.Data;
@@ -15,7 +16,7 @@ import java.time.LocalTime;
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
-@EqualsAndHashCode(exclude = {"estacionamento", "veiculo", "tempo", "diaria", "mensalista"})
+@EqualsAndHashCode(exclude = {"estacionamento", "veiculo", "tempo", "diaria", "mensalista", "evento", "versao"})
 public class Acesso {
     @Id
     @GeneratedValue(strategy = GenerationType.IDENTITY)
@@ -58,4 +59,14 @@ public class Acesso {
     @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "mensalista_id")
     private Mensalista mensalista;
+
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "evento_id")
+    @JsonIgnoreProperties({"hibernateLazyInitializer", "handler"})
+    private Evento evento;
+
+    /** Bloqueio otimista: conferida e incrementada pelo Hibernate a cada UPDATE. */
+    @Version
+    @Column(name = "versao", nullable = false)
+    private Long versao;
 }
\ No newline at end of file
@@ -1,5 +1,6 @@
 package com.estacionamento.model;
 
+import com.estacionamento.tarifa.JanelaNoturna;
 import com.fasterxml.jackson.annotation.JsonBackReference;
 import jakarta.persistence.*;
 import lombok.Data;
@@ -47,19 +48,21 @@ public class DiariaNoturna {
         this.diaria = diaria;
     }
 
+    /**
+     * Uma janela que atravessa a meia-noite (22:00–06:00) é válida; só início igual ao fim não é.
+     */
     public boolean isValidTimeRange() {
-        return horaInicio != null && horaFim != null && horaInicio.isBefore(horaFim);
+        return horaInicio != null && horaFim != null && !horaInicio.equals(horaFim);
     }
 
+    /**
+     * Mesma regra usada no cálculo da diária: o horário precisa estar estritamente dentro da janela.
+     */
     public boolean isTimeInNightPeriod(LocalTime time) {
         if (!isValidTimeRange() || time == null) {
             return false;
         }
-        if (horaInicio.isBefore(horaFim)) {
-            return !time.isBefore(horaInicio) && !time.isAfter(horaFim);
-        } else {
-            return !time.isBefore(horaInicio) || !time.isAfter(horaFim);
-        }
+        return JanelaNoturna.de(horaInicio, horaFim).contem(time);
     }
 
     public BigDecimal getAdicionalNoturnoOrZero() {
@@ -19,7 +19,7 @@ import com.fasterxml.jackson.annotation.JsonIgnore;
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
-@EqualsAndHashCode(exclude = "contratantes")
+@EqualsAndHashCode(exclude = {"contratantes", "versao"})
 public class Estacionamento {
     @Id
     @GeneratedValue(strategy = GenerationType.IDENTITY)
@@ -44,6 +44,11 @@ public class Estacionamento {
     @JsonIgnore
     @ToString.Exclude
     private Set<Contratante> contratantes = new HashSet<>();
+
+    /** Bloqueio otimista: conferida e incrementada pelo Hibernate a cada UPDATE. */
+    @Version
+    @Column(name = "versao", nullable = false)
+    private Long versao;
     
     public void addContratante(Contratante contratante) {
         if (contratante != null && !this.contratantes.contains(contratante)) {
@@ -13,13 +13,14 @@ import java.util.HashSet;
 import java.util.Set;
 
 import com.fasterxml.jackson.annotation.JsonIgnore;
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
 
 @Entity
 @Table(name = "Evento")
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
-@EqualsAndHashCode(exclude = "contratantes")
+@EqualsAndHashCode(exclude = {"contratantes", "estacionamento"})
 public class Evento {
     @Id
     @GeneratedValue(strategy = GenerationType.IDENTITY)
@@ -40,9 +41,18 @@ public class Evento {
     @Column(name = "hora_fim", nullable = false)
     private LocalTime horaFim;
 
+    @Lob
     @Column(columnDefinition = "TEXT")
     private String descricao;
 
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "estacionamento_id")
+    @JsonIgnoreProperties({"hibernateLazyInitializer", "handler"})
+    private Estacionamento estacionamento;
+
+    @Column(name = "vagas_reservadas")
+    private Integer vagasReservadas;
+
        @ManyToMany(mappedBy = "eventos", fetch = FetchType.LAZY)
     @JsonIgnore
     @ToString.Exclude
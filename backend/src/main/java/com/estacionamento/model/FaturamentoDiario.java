@@ -0,0 +1,50 @@
+package com.estacionamento.model;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+/**
+ * Faturamento acumulado de um estacionamento em um dia (data de saída) para um tipo de acesso.
+ * Mantido incrementalmente pelo {@code AgregadorFaturamento} e reconstruído a partir de {@link Acesso}
+ * pela {@code ReconciliacaoFaturamento}.
+ */
+@Entity
+@Table(
+    name = "faturamento_diario",
+    uniqueConstraints = @UniqueConstraint(
+        name = "uk_faturamento_diario_bucket", columnNames = {"estacionamento_id", "dia", "tipo_acesso"}
+    )
+)
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class FaturamentoDiario {
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "estacionamento_id", nullable = false)
+    private Long estacionamentoId;
+
+    @Column(name = "dia", nullable = false)
+    private LocalDate dia;
+
+    @Column(name = "tipo_acesso", nullable = false, length = 50)
+    private String tipoAcesso;
+
+    @Column(name = "valor_total", nullable = false, precision = 14, scale = 2)
+    private BigDecimal valorTotal;
+
+    @Column(name = "quantidade", nullable = false)
+    private Long quantidade;
+
+    public FaturamentoDiario(Long estacionamentoId, LocalDate dia, String tipoAcesso, BigDecimal valorTotal,
+                             Long quantidade) {
+        this(null, estacionamentoId, dia, tipoAcesso, valorTotal, quantidade);
+    }
+}
@@ -0,0 +1,202 @@
+package com.estacionamento.ocupacao;
+
+import com.estacionamento.dto.OcupacaoDTO;
+import com.estacionamento.transacao.AposCommit;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Contagem em memória dos acessos abertos (sem data de fim) por estacionamento e, dos acessos de evento,
+ * também por evento, para que as vagas que os carros do evento já ocupam deixem de contar como reservadas.
+ * Entradas reservam a vaga na hora, com desfazimento se a transação for revertida; saídas só liberam a vaga
+ * depois do commit, assim como as mudanças de capacidade e a exclusão de um estacionamento.
+ */
+@Component
+public class IndiceOcupacao {
+
+    private final Map<Long, Ocupacao> ocupacoes = new ConcurrentHashMap<>();
+    private final Map<Long, Integer> ocupadasPorEvento = new ConcurrentHashMap<>();
+
+    public void reconstruir(Map<Long, Integer> capacidades, Map<Long, Long> acessosAbertos) {
+        reconstruir(capacidades, acessosAbertos, Map.of());
+    }
+
+    public void reconstruir(Map<Long, Integer> capacidades, Map<Long, Long> acessosAbertos,
+                            Map<Long, Long> acessosAbertosPorEvento) {
+        Map<Long, Ocupacao> reconstruidas = new ConcurrentHashMap<>();
+        capacidades.forEach((id, capacidade) -> reconstruidas.put(id, new Ocupacao(capacidade)));
+        acessosAbertos.forEach((id, total) ->
+            reconstruidas.computeIfAbsent(id, chave -> new Ocupacao(0)).ocupadas.set(total.intValue()));
+        ocupacoes.clear();
+        ocupacoes.putAll(reconstruidas);
+        ocupadasPorEvento.clear();
+        acessosAbertosPorEvento.forEach((eventoId, total) -> ocupadasPorEvento.put(eventoId, total.intValue()));
+    }
+
+    public void registrarCapacidade(Long estacionamentoId, Integer capacidade) {
+        int limite = capacidade != null ? capacidade : Integer.MAX_VALUE;
+        ocupacoes.computeIfAbsent(estacionamentoId, id -> new Ocupacao(limite)).capacidade = limite;
+    }
+
+    public void remover(Long estacionamentoId) {
+        ocupacoes.remove(estacionamentoId);
+    }
+
+    /**
+     * A nova capacidade só limita as entradas depois do commit; um cadastro revertido não entra no índice.
+     */
+    public void registrarCapacidadeAposCommit(Long estacionamentoId, Integer capacidade) {
+        AposCommit.executar(() -> registrarCapacidade(estacionamentoId, capacidade));
+    }
+
+    /**
+     * Remove depois do commit: se a exclusão for revertida, as vagas ocupadas continuam contadas, em vez de o
+     * estacionamento voltar ao índice vazio na próxima entrada.
+     */
+    public void removerAposCommit(Long estacionamentoId) {
+        AposCommit.executar(() -> remover(estacionamentoId));
+    }
+
+    public OcupacaoDTO consultar(Long estacionamentoId) {
+        Ocupacao ocupacao = ocupacoes.get(estacionamentoId);
+        if (ocupacao == null) {
+            return null;
+        }
+        int capacidade = ocupacao.capacidade;
+        int ocupadas = ocupacao.ocupadas.get();
+        return new OcupacaoDTO(estacionamentoId, capacidade, ocupadas, Math.max(capacidade - ocupadas, 0));
+    }
+
+    /** Vagas ocupadas pelos acessos abertos do evento. */
+    public int ocupadasPeloEvento(Long eventoId) {
+        return eventoId != null ? ocupadasPorEvento.getOrDefault(eventoId, 0) : 0;
+    }
+
+    /**
+     * Reserva uma vaga se ainda houver espaço. Dentro de uma transação, a reserva é desfeita caso ela
+     * seja revertida.
+     */
+    public boolean ocupar(Long estacionamentoId, int capacidade) {
+        return ocupar(estacionamentoId, capacidade, 0);
+    }
+
+    /**
+     * Como {@link #ocupar(Long, int)}, mas deixa {@code reservadas} vagas livres: a entrada só é aceita se,
+     * depois dela, ainda sobrarem as vagas reservadas para eventos.
+     */
+    public boolean ocupar(Long estacionamentoId, int capacidade, int reservadas) {
+        return ocupar(estacionamentoId, capacidade, reservadas, null);
+    }
+
+    /**
+     * Como {@link #ocupar(Long, int, int)}, contando a vaga também para o evento do acesso, quando houver.
+     */
+    public boolean ocupar(Long estacionamentoId, int capacidade, int reservadas, Long eventoId) {
+        Ocupacao ocupacao = ocupacoes.computeIfAbsent(estacionamentoId, id -> new Ocupacao(capacidade));
+        ocupacao.capacidade = capacidade;
+        int limite = capacidade - Math.max(reservadas, 0);
+        int atual;
+        do {
+            atual = ocupacao.ocupadas.get();
+            if (atual >= limite) {
+                return false;
+            }
+        } while (!ocupacao.ocupadas.compareAndSet(atual, atual + 1));
+
+        incrementarEvento(eventoId);
+        desfazerSeReverter(estacionamentoId, eventoId);
+        return true;
+    }
+
+    /**
+     * Conta uma vaga prometida antes da reconstrução do índice, como uma entrada adiada reprocessada na
+     * inicialização, mesmo acima da capacidade. Também é desfeita se a transação for revertida.
+     */
+    public void registrarOcupada(Long estacionamentoId) {
+        ocupacoes.computeIfAbsent(estacionamentoId, id -> new Ocupacao(Integer.MAX_VALUE)).ocupadas.incrementAndGet();
+        desfazerSeReverter(estacionamentoId, null);
+    }
+
+    /**
+     * Libera uma vaga. Dentro de uma transação, a liberação só acontece depois do commit.
+     */
+    public void liberar(Long estacionamentoId) {
+        liberar(estacionamentoId, null);
+    }
+
+    /** Como {@link #liberar(Long)}, descontando a vaga também do evento do acesso, quando houver. */
+    public void liberar(Long estacionamentoId, Long eventoId) {
+        AposCommit.executar(() -> {
+            decrementar(estacionamentoId);
+            decrementarEvento(eventoId);
+        });
+    }
+
+    /**
+     * Passa a vaga de um acesso que continua aberto no mesmo estacionamento de um evento para outro: o novo
+     * conta na hora, desfeito se a transação for revertida, e o anterior só deixa de contar depois do commit.
+     */
+    public void trocarEvento(Long eventoAnteriorId, Long eventoId) {
+        if (Objects.equals(eventoAnteriorId, eventoId)) {
+            return;
+        }
+        incrementarEvento(eventoId);
+        desfazerSeReverter(null, eventoId);
+        AposCommit.executar(() -> decrementarEvento(eventoAnteriorId));
+    }
+
+    private void desfazerSeReverter(Long estacionamentoId, Long eventoId) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCompletion(int status) {
+                    if (status != STATUS_COMMITTED) {
+                        decrementar(estacionamentoId);
+                        decrementarEvento(eventoId);
+                    }
+                }
+            });
+        }
+    }
+
+    private void incrementarEvento(Long eventoId) {
+        if (eventoId != null) {
+            ocupadasPorEvento.merge(eventoId, 1, Integer::sum);
+        }
+    }
+
+    private void decrementarEvento(Long eventoId) {
+        if (eventoId != null) {
+            ocupadasPorEvento.computeIfPresent(eventoId, (id, total) -> total > 1 ? total - 1 : null);
+        }
+    }
+
+    private void decrementar(Long estacionamentoId) {
+        Ocupacao ocupacao = estacionamentoId != null ? ocupacoes.get(estacionamentoId) : null;
+        if (ocupacao == null) {
+            return;
+        }
+        int atual;
+        do {
+            atual = ocupacao.ocupadas.get();
+            if (atual <= 0) {
+                return;
+            }
+        } while (!ocupacao.ocupadas.compareAndSet(atual, atual - 1));
+    }
+
+    private static final class Ocupacao {
+        private volatile int capacidade;
+        private final AtomicInteger ocupadas = new AtomicInteger();
+
+        private Ocupacao(int capacidade) {
+            this.capacidade = capacidade;
+        }
+    }
+}
@@ -0,0 +1,51 @@
+package com.estacionamento.ocupacao;
+
+import com.estacionamento.repository.AcessoRepository;
+import com.estacionamento.repository.EstacionamentoRepository;
+import org.springframework.beans.factory.SmartInitializingSingleton;
+import org.springframework.stereotype.Component;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Reconstrói o {@link IndiceOcupacao} e as {@link SessoesAbertas} a partir do banco antes de o servidor começar a aceitar requisições.
+ */
+@Component
+public class InicializadorOcupacao implements SmartInitializingSingleton {
+
+    private final IndiceOcupacao indiceOcupacao;
+    private final SessoesAbertas sessoesAbertas;
+    private final AcessoRepository acessoRepository;
+    private final EstacionamentoRepository estacionamentoRepository;
+
+    public InicializadorOcupacao(IndiceOcupacao indiceOcupacao, SessoesAbertas sessoesAbertas,
+                                 AcessoRepository acessoRepository,
+                                 EstacionamentoRepository estacionamentoRepository) {
+        this.indiceOcupacao = indiceOcupacao;
+        this.sessoesAbertas = sessoesAbertas;
+        this.acessoRepository = acessoRepository;
+        this.estacionamentoRepository = estacionamentoRepository;
+    }
+
+    @Override
+    public void afterSingletonsInstantiated() {
+        Map<Long, Integer> capacidades = new HashMap<>();
+        estacionamentoRepository.listarCapacidades()
+            .forEach(c -> capacidades.put(c.getId(), c.getCapacidade()));
+
+        Map<Long, Long> acessosAbertos = new HashMap<>();
+        acessoRepository.contarAcessosAbertosPorEstacionamento()
+            .forEach(c -> acessosAbertos.put(c.getEstacionamentoId(), c.getTotal()));
+
+        Map<Long, Long> acessosAbertosPorEvento = new HashMap<>();
+        acessoRepository.contarAcessosAbertosPorEvento()
+            .forEach(c -> acessosAbertosPorEvento.put(c.getEventoId(), c.getTotal()));
+
+        indiceOcupacao.reconstruir(capacidades, acessosAbertos, acessosAbertosPorEvento);
+
+        Map<String, Long> sessoes = new HashMap<>();
+        acessoRepository.listarSessoesAbertas().forEach(s -> sessoes.put(s.getPlaca(), s.getAcessoId()));
+        sessoesAbertas.reconstruir(sessoes);
+    }
+}
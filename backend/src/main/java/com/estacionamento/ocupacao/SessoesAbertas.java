@@ -0,0 +1,66 @@
+package com.estacionamento.ocupacao;
+
+import com.estacionamento.transacao.AposCommit;
+import org.springframework.stereotype.Component;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Mapa em memória placa → ID do acesso aberto, usado na saída pela cancela, que só conhece a placa.
+ * Entradas e saídas só são refletidas depois do commit; dentro de uma transação revertida o mapa não muda.
+ * Se a placa tiver mais de um acesso aberto, vale o mais recente.
+ */
+@Component
+public class SessoesAbertas {
+
+    private final Map<String, Long> acessoPorPlaca = new ConcurrentHashMap<>();
+    private final Map<Long, String> placaPorAcesso = new ConcurrentHashMap<>();
+
+    public Long buscarAcessoId(String placa) {
+        return placa != null ? acessoPorPlaca.get(placa) : null;
+    }
+
+    public synchronized void reconstruir(Map<String, Long> abertos) {
+        Map<Long, String> placas = new HashMap<>();
+        abertos.forEach((placa, id) -> placas.put(id, placa));
+        acessoPorPlaca.clear();
+        placaPorAcesso.clear();
+        acessoPorPlaca.putAll(abertos);
+        placaPorAcesso.putAll(placas);
+    }
+
+    public void abrirAposCommit(String placa, Long acessoId) {
+        if (placa == null || acessoId == null) {
+            return;
+        }
+        AposCommit.executar(() -> abrir(placa, acessoId));
+    }
+
+    public void encerrarAposCommit(Long acessoId) {
+        if (acessoId == null) {
+            return;
+        }
+        AposCommit.executar(() -> encerrar(acessoId));
+    }
+
+    private synchronized void abrir(String placa, Long acessoId) {
+        Long anterior = acessoPorPlaca.get(placa);
+        if (anterior != null && anterior > acessoId) {
+            return;
+        }
+        acessoPorPlaca.put(placa, acessoId);
+        placaPorAcesso.put(acessoId, placa);
+        if (anterior != null && !anterior.equals(acessoId)) {
+            placaPorAcesso.remove(anterior);
+        }
+    }
+
+    private synchronized void encerrar(Long acessoId) {
+        String placa = placaPorAcesso.remove(acessoId);
+        if (placa != null) {
+            acessoPorPlaca.remove(placa, acessoId);
+        }
+    }
+}
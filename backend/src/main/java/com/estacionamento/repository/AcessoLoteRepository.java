@@ -0,0 +1,80 @@
+package com.estacionamento.repository;
+
+import com.estacionamento.model.Acesso;
+import org.springframework.jdbc.core.BatchPreparedStatementSetter;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.support.GeneratedKeyHolder;
+import org.springframework.jdbc.support.KeyHolder;
+import org.springframework.stereotype.Repository;
+
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.sql.Types;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Inserção de acessos em lote via JDBC. Com {@code GenerationType.IDENTITY} o Hibernate executa cada
+ * {@code INSERT} na hora para obter o ID, o que desliga o batching; aqui todas as linhas vão em um único
+ * {@code executeBatch} (reescrito em um INSERT de várias linhas pelo driver com
+ * {@code rewriteBatchedStatements=true}) e os IDs gerados são lidos na mesma ordem da lista.
+ * Roda na transação JPA corrente, que expõe sua conexão ao {@link JdbcTemplate}.
+ */
+@Repository
+public class AcessoLoteRepository {
+
+    static final String INSERT = "INSERT INTO acesso (estacionamento_id, veiculo_id, data_inicio, hora_inicio, "
+        + "data_fim, hora_fim, valor_cobrado, tipo_acesso, tempo_id, diaria_id, mensalista_id, evento_id) "
+        + "VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?)";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public AcessoLoteRepository(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    public List<Long> inserir(List<Acesso> acessos) {
+        if (acessos.isEmpty()) {
+            return List.of();
+        }
+        KeyHolder chaves = new GeneratedKeyHolder();
+        jdbcTemplate.batchUpdate(
+            conexao -> conexao.prepareStatement(INSERT, Statement.RETURN_GENERATED_KEYS),
+            new BatchPreparedStatementSetter() {
+                @Override
+                public void setValues(PreparedStatement ps, int i) throws SQLException {
+                    preencher(ps, acessos.get(i));
+                }
+
+                @Override
+                public int getBatchSize() {
+                    return acessos.size();
+                }
+            },
+            chaves
+        );
+
+        List<Long> ids = new ArrayList<>(acessos.size());
+        for (Map<String, Object> chave : chaves.getKeyList()) {
+            ids.add(((Number) chave.values().iterator().next()).longValue());
+        }
+        return ids;
+    }
+
+    private static void preencher(PreparedStatement ps, Acesso acesso) throws SQLException {
+        ps.setLong(1, acesso.getEstacionamento().getId());
+        ps.setLong(2, acesso.getVeiculo().getId());
+        ps.setObject(3, acesso.getDataInicio(), Types.DATE);
+        ps.setObject(4, acesso.getHoraInicio(), Types.TIME);
+        ps.setObject(5, acesso.getDataFim(), Types.DATE);
+        ps.setObject(6, acesso.getHoraFim(), Types.TIME);
+        ps.setObject(7, acesso.getValorCobrado(), Types.DECIMAL);
+        ps.setString(8, acesso.getTipoAcesso());
+        ps.setObject(9, acesso.getTempo() != null ? acesso.getTempo().getId() : null, Types.BIGINT);
+        ps.setObject(10, acesso.getDiaria() != null ? acesso.getDiaria().getId() : null, Types.BIGINT);
+        ps.setObject(11, acesso.getMensalista() != null ? acesso.getMensalista().getId() : null, Types.BIGINT);
+        ps.setObject(12, acesso.getEvento() != null ? acesso.getEvento().getId() : null, Types.BIGINT);
+    }
+}
@@ -1,10 +1,119 @@
 package com.estacionamento.repository;
 
+import com.estacionamento.dto.AcessoDTO;
+import com.estacionamento.dto.AcessoResumoDTO;
+import com.estacionamento.faturamento.AcessoSimulado;
 import com.estacionamento.model.Acesso;
+import jakarta.persistence.LockModeType;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Optional;
+import java.util.stream.Stream;
+
 @Repository
 public interface AcessoRepository extends JpaRepository<Acesso, Long> {
 
-}
\ No newline at end of file
+    String SELECT_RESUMO = "SELECT new com.estacionamento.dto.AcessoResumoDTO("
+        + "a.id, a.estacionamento.id, v.placa, a.tipoAcesso, a.dataInicio, a.horaInicio, "
+        + "a.dataFim, a.horaFim, a.valorCobrado) FROM Acesso a JOIN a.veiculo v ";
+
+    String FILTROS = "(:estacionamentoId IS NULL OR a.estacionamento.id = :estacionamentoId) "
+        + "AND (:placa IS NULL OR v.placa = :placa) "
+        + "AND (:tipoAcesso IS NULL OR a.tipoAcesso = :tipoAcesso) "
+        + "AND (:dataInicial IS NULL OR a.dataInicio >= :dataInicial) "
+        + "AND (:dataFinal IS NULL OR a.dataInicio <= :dataFinal) ";
+
+    /**
+     * Sinaliza ao MySQL Connector/J que o resultado deve ser lido linha a linha em vez de carregado inteiro.
+     */
+    String FETCH_SIZE_STREAMING = "-2147483648";
+
+    @Query("SELECT a.estacionamento.id AS estacionamentoId, COUNT(a) AS total FROM Acesso a "
+        + "WHERE a.dataFim IS NULL GROUP BY a.estacionamento.id")
+    List<AcessosAbertos> contarAcessosAbertosPorEstacionamento();
+
+    @Query("SELECT a.evento.id AS eventoId, COUNT(a) AS total FROM Acesso a "
+        + "WHERE a.dataFim IS NULL AND a.evento IS NOT NULL GROUP BY a.evento.id")
+    List<AcessosAbertosDoEvento> contarAcessosAbertosPorEvento();
+
+    @Query("SELECT v.placa AS placa, MAX(a.id) AS acessoId FROM Acesso a JOIN a.veiculo v "
+        + "WHERE a.dataFim IS NULL GROUP BY v.placa")
+    List<SessaoAberta> listarSessoesAbertas();
+
+    /** Detalhe do acesso em uma consulta; os IDs das associações opcionais saem das próprias colunas. */
+    @Query("SELECT new com.estacionamento.dto.AcessoDTO(a.id, a.estacionamento.id, v.id, v.placa, a.tipoAcesso, "
+        + "a.dataInicio, a.horaInicio, a.dataFim, a.horaFim, a.valorCobrado, a.tempo.id, a.diaria.id, "
+        + "a.mensalista.id, a.evento.id, a.versao) FROM Acesso a JOIN a.veiculo v WHERE a.id = :id")
+    Optional<AcessoDTO> buscarDetalhe(@Param("id") Long id);
+
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT a FROM Acesso a WHERE a.id = :id")
+    Optional<Acesso> buscarPorIdComBloqueio(@Param("id") Long id);
+
+    /**
+     * Caminho de reserva da saída por placa quando o acesso não está em {@link
+     * com.estacionamento.ocupacao.SessoesAbertas}; usa o índice (veiculo_id, data_fim).
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    Optional<Acesso> findFirstByVeiculoPlacaAndDataFimIsNullOrderByIdDesc(String placa);
+
+    @Query(SELECT_RESUMO + "WHERE a.id > :cursor AND " + FILTROS + "ORDER BY a.id")
+    List<AcessoResumoDTO> buscarPagina(@Param("cursor") Long cursor,
+                                       @Param("estacionamentoId") Long estacionamentoId,
+                                       @Param("placa") String placa,
+                                       @Param("tipoAcesso") String tipoAcesso,
+                                       @Param("dataInicial") LocalDate dataInicial,
+                                       @Param("dataFinal") LocalDate dataFinal,
+                                       Limit limite);
+
+    /** Lote de acessos TEMPO e DIARIA encerrados no período, por cursor de ID, para o simulador de tarifas. */
+    @Query("SELECT new com.estacionamento.faturamento.AcessoSimulado(a.id, a.estacionamento.id, a.tipoAcesso, "
+        + "a.dataInicio, a.horaInicio, a.dataFim, a.horaFim, a.valorCobrado, a.tempo.id, a.diaria.id) "
+        + "FROM Acesso a WHERE a.id > :cursor AND a.dataFim BETWEEN :dataInicial AND :dataFinal "
+        + "AND a.horaFim IS NOT NULL AND UPPER(a.tipoAcesso) IN ('TEMPO', 'DIARIA') "
+        + "AND (:estacionamentoId IS NULL OR a.estacionamento.id = :estacionamentoId) ORDER BY a.id")
+    List<AcessoSimulado> buscarLoteSimulacao(@Param("cursor") Long cursor,
+                                             @Param("estacionamentoId") Long estacionamentoId,
+                                             @Param("dataInicial") LocalDate dataInicial,
+                                             @Param("dataFinal") LocalDate dataFinal,
+                                             Limit limite);
+
+    @QueryHints({
+        @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = FETCH_SIZE_STREAMING),
+        @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    @Query(SELECT_RESUMO + "WHERE " + FILTROS + "ORDER BY a.id")
+    Stream<AcessoResumoDTO> exportar(@Param("estacionamentoId") Long estacionamentoId,
+                                     @Param("placa") String placa,
+                                     @Param("tipoAcesso") String tipoAcesso,
+                                     @Param("dataInicial") LocalDate dataInicial,
+                                     @Param("dataFinal") LocalDate dataFinal);
+
+    interface AcessosAbertos {
+        Long getEstacionamentoId();
+
+        Long getTotal();
+    }
+
+    interface AcessosAbertosDoEvento {
+        Long getEventoId();
+
+        Long getTotal();
+    }
+
+    interface SessaoAberta {
+        String getPlaca();
+
+        Long getAcessoId();
+    }
+}
@@ -1,15 +1,32 @@
 package com.estacionamento.repository;
 
+import com.estacionamento.dto.ContratanteResumoDTO;
 import com.estacionamento.model.Contratante;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
 import org.springframework.stereotype.Repository;
 
+import java.util.List;
 import java.util.Optional;
 
 @Repository
 public interface ContratanteRepository extends JpaRepository<Contratante, Long> {
 
+    String SELECT_RESUMO = "SELECT new com.estacionamento.dto.ContratanteResumoDTO("
+        + "c.id, c.nome, c.cpfCnpj, c.email, c.telefone) FROM Contratante c";
+
     Optional<Contratante> findByCpfCnpj(String cpfCnpj);
 
     Optional<Contratante> findByEmail(String email);
-}
\ No newline at end of file
+
+    @Query(value = SELECT_RESUMO, countQuery = "SELECT COUNT(c) FROM Contratante c")
+    Page<ContratanteResumoDTO> listarResumos(Pageable pagina);
+
+    /**
+     * Carga do {@code IndiceContratantes} na inicialização.
+     */
+    @Query(SELECT_RESUMO)
+    List<ContratanteResumoDTO> listarTodosResumos();
+}
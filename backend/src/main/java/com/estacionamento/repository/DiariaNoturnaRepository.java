@@ -1,10 +1,18 @@
 package com.estacionamento.repository;
 
+import com.estacionamento.dto.DiariaNoturnaResumoDTO;
 import com.estacionamento.model.DiariaNoturna;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
 import org.springframework.stereotype.Repository;
 
 @Repository
 public interface DiariaNoturnaRepository extends JpaRepository<DiariaNoturna, Long> {
 
-}
\ No newline at end of file
+    @Query(value = "SELECT new com.estacionamento.dto.DiariaNoturnaResumoDTO("
+        + "n.id, n.horaInicio, n.horaFim, n.adicionalNoturno) FROM DiariaNoturna n",
+        countQuery = "SELECT COUNT(n) FROM DiariaNoturna n")
+    Page<DiariaNoturnaResumoDTO> listarResumos(Pageable pagina);
+}
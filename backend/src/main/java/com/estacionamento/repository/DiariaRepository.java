@@ -1,9 +1,23 @@
 package com.estacionamento.repository;
 
+import com.estacionamento.dto.DiariaResumoDTO;
 import com.estacionamento.model.Diaria;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
 import org.springframework.stereotype.Repository;
 
+import java.util.List;
+
 @Repository
 public interface DiariaRepository extends JpaRepository<Diaria, Long> {
-}
\ No newline at end of file
+
+    @Query("SELECT d FROM Diaria d LEFT JOIN FETCH d.diariaNoturna")
+    List<Diaria> listarComDiariaNoturna();
+
+    @Query(value = "SELECT new com.estacionamento.dto.DiariaResumoDTO("
+        + "d.id, d.tipo, d.valor, d.descricao, n.adicionalNoturno) FROM Diaria d LEFT JOIN d.diariaNoturna n",
+        countQuery = "SELECT COUNT(d) FROM Diaria d")
+    Page<DiariaResumoDTO> listarResumos(Pageable pagina);
+}
@@ -1,12 +1,31 @@
 package com.estacionamento.repository;
 
+import com.estacionamento.dto.EstacionamentoResumoDTO;
 import com.estacionamento.model.Estacionamento;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
 import org.springframework.stereotype.Repository;
 
+import java.util.List;
 import java.util.Optional;
 
 @Repository
 public interface EstacionamentoRepository extends JpaRepository<Estacionamento, Long> {
     Optional<Estacionamento> findByNome(String nome);
-}
\ No newline at end of file
+
+    @Query("SELECT e.id AS id, e.capacidade AS capacidade FROM Estacionamento e")
+    List<CapacidadeEstacionamento> listarCapacidades();
+
+    @Query(value = "SELECT new com.estacionamento.dto.EstacionamentoResumoDTO("
+        + "e.id, e.nome, e.endereco, e.capacidade, e.horaAbertura, e.horaFechamento) FROM Estacionamento e",
+        countQuery = "SELECT COUNT(e) FROM Estacionamento e")
+    Page<EstacionamentoResumoDTO> listarResumos(Pageable pagina);
+
+    interface CapacidadeEstacionamento {
+        Long getId();
+
+        Integer getCapacidade();
+    }
+}
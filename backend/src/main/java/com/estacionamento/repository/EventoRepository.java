@@ -1,10 +1,34 @@
 package com.estacionamento.repository;
 
+import com.estacionamento.dto.EventoDTO;
+import com.estacionamento.dto.EventoResumoDTO;
 import com.estacionamento.model.Evento;
+import com.estacionamento.reserva.Reserva;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.List;
+import java.util.Optional;
+
 @Repository
 public interface EventoRepository extends JpaRepository<Evento, Long> {
-    
-}
\ No newline at end of file
+
+    @Query(value = "SELECT new com.estacionamento.dto.EventoResumoDTO("
+        + "e.id, e.nomeEvento, e.dataInicio, e.horaInicio, e.dataFim, e.horaFim) FROM Evento e",
+        countQuery = "SELECT COUNT(e) FROM Evento e")
+    Page<EventoResumoDTO> listarResumos(Pageable pagina);
+
+    @Query("SELECT new com.estacionamento.dto.EventoDTO(e.id, e.nomeEvento, e.descricao, e.dataInicio, "
+        + "e.horaInicio, e.dataFim, e.horaFim, e.vagasReservadas, est.id, est.nome) "
+        + "FROM Evento e LEFT JOIN e.estacionamento est WHERE e.id = :id")
+    Optional<EventoDTO> buscarDetalhe(@Param("id") Long id);
+
+    @Query("SELECT new com.estacionamento.reserva.Reserva(e.id, e.estacionamento.id, e.dataInicio, e.horaInicio, "
+        + "e.dataFim, e.horaFim, e.vagasReservadas) FROM Evento e "
+        + "WHERE e.estacionamento IS NOT NULL AND e.vagasReservadas > 0")
+    List<Reserva> listarReservas();
+}
@@ -0,0 +1,51 @@
+package com.estacionamento.repository;
+
+import com.estacionamento.model.FaturamentoDiario;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.List;
+
+@Repository
+public interface FaturamentoDiarioRepository extends JpaRepository<FaturamentoDiario, Long> {
+
+    List<FaturamentoDiario> findByEstacionamentoIdAndDiaBetweenOrderByDia(
+        Long estacionamentoId, LocalDate dataInicial, LocalDate dataFinal
+    );
+
+    /**
+     * Soma {@code valor} e {@code quantidade} ao bucket, criando-o se ainda não existir. O upsert é atômico
+     * no MySQL, então saídas simultâneas no mesmo estacionamento e dia não perdem incrementos.
+     */
+    @Modifying
+    @Query(value = "INSERT INTO faturamento_diario (estacionamento_id, dia, tipo_acesso, valor_total, quantidade) "
+        + "VALUES (:estacionamentoId, :dia, :tipoAcesso, :valor, :quantidade) "
+        + "ON DUPLICATE KEY UPDATE valor_total = valor_total + :valor, quantidade = quantidade + :quantidade",
+        nativeQuery = true)
+    void acumular(@Param("estacionamentoId") Long estacionamentoId,
+                  @Param("dia") LocalDate dia,
+                  @Param("tipoAcesso") String tipoAcesso,
+                  @Param("valor") BigDecimal valor,
+                  @Param("quantidade") long quantidade);
+
+    /** Estacionamentos com faturamento a reconstruir: os cadastrados e os removidos que ainda têm buckets. */
+    @Query(value = "SELECT id FROM estacionamento UNION SELECT estacionamento_id FROM faturamento_diario",
+        nativeQuery = true)
+    List<Long> listarEstacionamentos();
+
+    @Modifying
+    @Query(value = "DELETE FROM faturamento_diario WHERE estacionamento_id = :estacionamentoId", nativeQuery = true)
+    int limpar(@Param("estacionamentoId") Long estacionamentoId);
+
+    /** Buckets do estacionamento calculados a partir dos acessos encerrados, sem bloquear os acessos. */
+    @Query("SELECT new com.estacionamento.model.FaturamentoDiario(a.estacionamento.id, a.dataFim, "
+        + "UPPER(a.tipoAcesso), SUM(a.valorCobrado), COUNT(a)) FROM Acesso a "
+        + "WHERE a.estacionamento.id = :estacionamentoId AND a.valorCobrado IS NOT NULL AND a.dataFim IS NOT NULL "
+        + "GROUP BY a.estacionamento.id, a.dataFim, UPPER(a.tipoAcesso)")
+    List<FaturamentoDiario> somarAcessos(@Param("estacionamentoId") Long estacionamentoId);
+}
@@ -0,0 +1,31 @@
+package com.estacionamento.repository;
+
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+
+/**
+ * Última sequência do log de entradas já gravada em {@code acesso}, por nó da aplicação. O avanço roda na
+ * transação do lote de entradas, então sequência e acessos são confirmados juntos.
+ */
+@Repository
+public class LogEntradasRepository {
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public LogEntradasRepository(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    public long ultimaSequenciaGravada(String nodo) {
+        List<Long> sequencias = jdbcTemplate.queryForList(
+            "SELECT ultima_sequencia FROM log_entradas WHERE nodo = ?", Long.class, nodo);
+        return sequencias.isEmpty() ? 0L : sequencias.get(0);
+    }
+
+    public void avancar(String nodo, long sequencia) {
+        jdbcTemplate.update("INSERT INTO log_entradas (nodo, ultima_sequencia) VALUES (?, ?) "
+            + "ON DUPLICATE KEY UPDATE ultima_sequencia = GREATEST(ultima_sequencia, ?)", nodo, sequencia, sequencia);
+    }
+}
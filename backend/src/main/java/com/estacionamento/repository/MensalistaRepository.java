@@ -1,10 +1,18 @@
 package com.estacionamento.repository;
 
+import com.estacionamento.dto.MensalistaResumoDTO;
 import com.estacionamento.model.Mensalista;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
 import org.springframework.stereotype.Repository;
 
 @Repository
 public interface MensalistaRepository extends JpaRepository<Mensalista, Long> {
 
+    @Query(value = "SELECT new com.estacionamento.dto.MensalistaResumoDTO("
+        + "m.id, m.valor, m.periodoMeses, m.descricao) FROM Mensalista m",
+        countQuery = "SELECT COUNT(m) FROM Mensalista m")
+    Page<MensalistaResumoDTO> listarResumos(Pageable pagina);
 }
@@ -0,0 +1,78 @@
+package com.estacionamento.repository;
+
+import com.estacionamento.idempotencia.RespostaIdempotente;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Tabela {@code requisicao_idempotente}. {@link #reservar} e {@link #concluir} rodam na transação da
+ * requisição, como o {@link AcessoLoteRepository}; {@link #buscar} só devolve respostas já concluídas.
+ */
+@Repository
+public class RequisicaoIdempotenteRepository {
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public RequisicaoIdempotenteRepository(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    public RespostaIdempotente buscar(String chave, String rota) {
+        List<RespostaIdempotente> respostas = jdbcTemplate.query(
+            "SELECT impressao, status, resposta FROM requisicao_idempotente "
+                + "WHERE chave = ? AND rota = ? AND status IS NOT NULL",
+            (linha, numero) -> new RespostaIdempotente(
+                linha.getString("impressao"), linha.getInt("status"), linha.getString("resposta")),
+            chave, rota);
+        return respostas.isEmpty() ? null : respostas.get(0);
+    }
+
+    /**
+     * Insere a chave sem resposta. Com a mesma chave reservada por outra transação ainda aberta, o INSERT
+     * espera por ela e, se ela for confirmada, falha com {@code DuplicateKeyException}.
+     */
+    public void reservar(String chave, String rota, String impressao, LocalDateTime criadaEm) {
+        jdbcTemplate.update("INSERT INTO requisicao_idempotente (chave, rota, impressao, criada_em) "
+            + "VALUES (?, ?, ?, ?)", chave, rota, impressao, criadaEm);
+    }
+
+    /**
+     * Insere a chave já com a resposta, para as entradas adiadas, que chegam aqui na transação do lote. Com a
+     * chave gravada por outra requisição, falha com {@code DuplicateKeyException}.
+     */
+    public void gravar(String chave, String rota, String impressao, LocalDateTime criadaEm, int status,
+                       String resposta) {
+        jdbcTemplate.update("INSERT INTO requisicao_idempotente (chave, rota, impressao, status, resposta, "
+            + "criada_em) VALUES (?, ?, ?, ?, ?, ?)", chave, rota, impressao, status, resposta, criadaEm);
+    }
+
+    /** As chaves de {@code rota}, entre as informadas, que já estão na tabela. */
+    public Set<String> buscarChaves(String rota, Collection<String> chaves) {
+        if (chaves.isEmpty()) {
+            return Set.of();
+        }
+        List<Object> parametros = new ArrayList<>(chaves.size() + 1);
+        parametros.add(rota);
+        parametros.addAll(chaves);
+        return new HashSet<>(jdbcTemplate.queryForList("SELECT chave FROM requisicao_idempotente WHERE rota = ? "
+            + "AND chave IN (" + String.join(", ", Collections.nCopies(chaves.size(), "?")) + ")",
+            String.class, parametros.toArray()));
+    }
+
+    public void concluir(String chave, String rota, int status, String resposta) {
+        jdbcTemplate.update("UPDATE requisicao_idempotente SET status = ?, resposta = ? "
+            + "WHERE chave = ? AND rota = ?", status, resposta, chave, rota);
+    }
+
+    public int removerAnteriores(LocalDateTime limite) {
+        return jdbcTemplate.update("DELETE FROM requisicao_idempotente WHERE criada_em < ?", limite);
+    }
+}
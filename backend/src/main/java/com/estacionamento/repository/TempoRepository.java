@@ -1,10 +1,18 @@
 package com.estacionamento.repository;
 
+import com.estacionamento.dto.TempoResumoDTO;
 import com.estacionamento.model.Tempo;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
 import org.springframework.stereotype.Repository;
 
 @Repository
 public interface TempoRepository extends JpaRepository<Tempo, Long> {
-    
-}
\ No newline at end of file
+
+    @Query(value = "SELECT new com.estacionamento.dto.TempoResumoDTO("
+        + "t.id, t.duracao, t.valorFracao, t.desconto) FROM Tempo t",
+        countQuery = "SELECT COUNT(t) FROM Tempo t")
+    Page<TempoResumoDTO> listarResumos(Pageable pagina);
+}
@@ -0,0 +1,47 @@
+package com.estacionamento.repository;
+
+import com.estacionamento.model.Veiculo;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+
+/**
+ * Cadastro em lote dos veículos novos de um lote de acessos: um único INSERT de várias linhas com
+ * {@code ON DUPLICATE KEY}, como o {@link VeiculoRepository#inserirSeAusente} faz para uma placa. Placas que
+ * outra transação já gravou são ignoradas (esperando o commit dela, se ainda estiver aberta). As linhas vão
+ * em ordem de placa, para que dois lotes concorrentes bloqueiem as mesmas placas na mesma ordem. Roda na
+ * transação JPA corrente, como o {@link AcessoLoteRepository}.
+ */
+@Repository
+public class VeiculoLoteRepository {
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public VeiculoLoteRepository(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    public void inserirSeAusentes(Collection<Veiculo> veiculos) {
+        if (veiculos.isEmpty()) {
+            return;
+        }
+        List<Veiculo> ordenados = new ArrayList<>(veiculos);
+        ordenados.sort(Comparator.comparing(Veiculo::getPlaca));
+
+        List<Object> parametros = new ArrayList<>(ordenados.size() * 4);
+        for (Veiculo veiculo : ordenados) {
+            parametros.add(veiculo.getPlaca());
+            parametros.add(veiculo.getMarca());
+            parametros.add(veiculo.getModelo());
+            parametros.add(veiculo.getCor());
+        }
+        jdbcTemplate.update("INSERT INTO veiculo (placa, marca, modelo, cor) VALUES "
+            + String.join(", ", Collections.nCopies(ordenados.size(), "(?, ?, ?, ?)"))
+            + " ON DUPLICATE KEY UPDATE id = id", parametros.toArray());
+    }
+}
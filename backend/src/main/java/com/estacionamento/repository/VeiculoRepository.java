@@ -1,14 +1,54 @@
 package com.estacionamento.repository;
 
+import com.estacionamento.dto.VeiculoResumoDTO;
 import com.estacionamento.model.Veiculo;
+import jakarta.persistence.LockModeType;
 
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
 
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 @Repository
 public interface VeiculoRepository extends JpaRepository<Veiculo, Long> {
 
     Optional<Veiculo> findByPlaca(String placa);
-}
\ No newline at end of file
+
+    List<Veiculo> findByPlacaIn(Collection<String> placas);
+
+    /**
+     * Grava o veículo se a placa ainda não existir; se outra transação já gravou a placa, não faz nada
+     * (aguardando o commit dela, se ainda estiver aberta) em vez de lançar violação da chave única.
+     */
+    @Modifying
+    @Query(value = "INSERT INTO veiculo (placa, marca, modelo, cor) VALUES (:placa, :marca, :modelo, :cor) "
+        + "ON DUPLICATE KEY UPDATE id = id", nativeQuery = true)
+    void inserirSeAusente(@Param("placa") String placa, @Param("marca") String marca,
+                          @Param("modelo") String modelo, @Param("cor") String cor);
+
+    /**
+     * Leitura com {@code FOR SHARE}: enxerga a versão confirmada mais recente da linha, e não o snapshot
+     * da transação, então encontra um veículo gravado por outra transação depois do início desta.
+     */
+    @Lock(LockModeType.PESSIMISTIC_READ)
+    @Query("SELECT v FROM Veiculo v WHERE v.placa = :placa")
+    Optional<Veiculo> buscarPorPlacaComBloqueio(@Param("placa") String placa);
+
+    /** Como {@link #buscarPorPlacaComBloqueio}, para várias placas em uma consulta. */
+    @Lock(LockModeType.PESSIMISTIC_READ)
+    @Query("SELECT v FROM Veiculo v WHERE v.placa IN :placas")
+    List<Veiculo> buscarPorPlacasComBloqueio(@Param("placas") Collection<String> placas);
+
+    @Query(value = "SELECT new com.estacionamento.dto.VeiculoResumoDTO("
+        + "v.id, v.placa, v.marca, v.modelo, v.cor) FROM Veiculo v",
+        countQuery = "SELECT COUNT(v) FROM Veiculo v")
+    Page<VeiculoResumoDTO> listarResumos(Pageable pagina);
+}
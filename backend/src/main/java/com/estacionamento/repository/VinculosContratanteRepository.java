@@ -0,0 +1,102 @@
+package com.estacionamento.repository;
+
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Substitui os vínculos entre contratantes e estacionamentos ou eventos direto nas tabelas de junção, a
+ * partir de qualquer um dos lados. Pelo mapeamento, cada vínculo novo ou removido vira um INSERT ou DELETE
+ * próprio, e cada contratante tocado ainda carrega a sua coleção. Aqui a diferença entre os vínculos atuais
+ * e os pedidos é calculada uma vez: os removidos saem em um único DELETE com IN e os novos entram em um único
+ * {@code executeBatch} (um INSERT de várias linhas com {@code rewriteBatchedStatements=true}). Roda na
+ * transação JPA corrente, como o {@link AcessoLoteRepository}; as coleções mapeadas dos contratantes
+ * envolvidos não devem ter sido carregadas nem alteradas na mesma transação.
+ */
+@Repository
+public class VinculosContratanteRepository {
+
+    private static final Juncao ESTACIONAMENTOS_DO_CONTRATANTE =
+        new Juncao("estacionamento_contratante", "contratante_id", "estacionamento_id");
+    private static final Juncao CONTRATANTES_DO_ESTACIONAMENTO =
+        new Juncao("estacionamento_contratante", "estacionamento_id", "contratante_id");
+    private static final Juncao EVENTOS_DO_CONTRATANTE =
+        new Juncao("contratante_evento", "contratante_id", "evento_id");
+    private static final Juncao CONTRATANTES_DO_EVENTO =
+        new Juncao("contratante_evento", "evento_id", "contratante_id");
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public VinculosContratanteRepository(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    public void substituirEstacionamentos(Long contratanteId, Collection<Long> estacionamentoIds) {
+        substituir(ESTACIONAMENTOS_DO_CONTRATANTE, contratanteId, estacionamentoIds);
+    }
+
+    public void substituirEventos(Long contratanteId, Collection<Long> eventoIds) {
+        substituir(EVENTOS_DO_CONTRATANTE, contratanteId, eventoIds);
+    }
+
+    public void substituirContratantesDoEstacionamento(Long estacionamentoId, Collection<Long> contratanteIds) {
+        substituir(CONTRATANTES_DO_ESTACIONAMENTO, estacionamentoId, contratanteIds);
+    }
+
+    public void substituirContratantesDoEvento(Long eventoId, Collection<Long> contratanteIds) {
+        substituir(CONTRATANTES_DO_EVENTO, eventoId, contratanteIds);
+    }
+
+    /** Desfaz todos os vínculos do estacionamento com um único DELETE, antes de excluí-lo. */
+    public void removerEstacionamento(Long estacionamentoId) {
+        remover(CONTRATANTES_DO_ESTACIONAMENTO, estacionamentoId);
+    }
+
+    /** Desfaz todos os vínculos do evento com um único DELETE, antes de excluí-lo. */
+    public void removerEvento(Long eventoId) {
+        remover(CONTRATANTES_DO_EVENTO, eventoId);
+    }
+
+    private void substituir(Juncao juncao, Long donoId, Collection<Long> ids) {
+        Set<Long> atuais = new LinkedHashSet<>(jdbcTemplate.queryForList(
+            "SELECT " + juncao.vinculado() + " FROM " + juncao.tabela() + " WHERE " + juncao.dono() + " = ?",
+            Long.class, donoId));
+        Set<Long> pedidos = new LinkedHashSet<>(ids);
+
+        List<Long> removidos = new ArrayList<>(atuais);
+        removidos.removeAll(pedidos);
+        List<Long> novos = new ArrayList<>(pedidos);
+        novos.removeAll(atuais);
+
+        if (!removidos.isEmpty()) {
+            List<Object> parametros = new ArrayList<>(removidos.size() + 1);
+            parametros.add(donoId);
+            parametros.addAll(removidos);
+            jdbcTemplate.update("DELETE FROM " + juncao.tabela() + " WHERE " + juncao.dono() + " = ? AND "
+                + juncao.vinculado() + " IN (" + String.join(", ", Collections.nCopies(removidos.size(), "?")) + ")",
+                parametros.toArray());
+        }
+        if (!novos.isEmpty()) {
+            List<Object[]> linhas = new ArrayList<>(novos.size());
+            for (Long id : novos) {
+                linhas.add(new Object[]{donoId, id});
+            }
+            jdbcTemplate.batchUpdate("INSERT INTO " + juncao.tabela() + " (" + juncao.dono() + ", "
+                + juncao.vinculado() + ") VALUES (?, ?)", linhas);
+        }
+    }
+
+    private void remover(Juncao juncao, Long donoId) {
+        jdbcTemplate.update("DELETE FROM " + juncao.tabela() + " WHERE " + juncao.dono() + " = ?", donoId);
+    }
+
+    /** Tabela de junção vista a partir de {@code dono}, o lado cujos vínculos são substituídos. */
+    private record Juncao(String tabela, String dono, String vinculado) {
+    }
+}
@@ -0,0 +1,74 @@
+package com.estacionamento.reserva;
+
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.TreeMap;
+import java.util.function.ToIntFunction;
+
+/**
+ * Vagas reservadas ao longo do tempo em um estacionamento, como uma função em degraus: {@code instantes}
+ * são as bordas das reservas em ordem e {@code reservadas[i]} vale de {@code instantes[i]} até a borda
+ * seguinte. A consulta é uma busca binária, O(log n) no número de reservas; a agenda é imutável e
+ * recalculada a cada mudança nas reservas do estacionamento, que são raras perto das entradas.
+ * {@code reservas} guarda as próprias reservas para descontar delas as vagas que os carros de cada evento
+ * já ocupam, o que só é preciso quando o degrau do instante não é zero.
+ */
+final class AgendaReservas {
+
+    static final AgendaReservas VAZIA = new AgendaReservas(new long[0], new int[0], new Reserva[0]);
+
+    private final long[] instantes;
+    private final int[] reservadas;
+    private final Reserva[] reservas;
+
+    private AgendaReservas(long[] instantes, int[] reservadas, Reserva[] reservas) {
+        this.instantes = instantes;
+        this.reservadas = reservadas;
+        this.reservas = reservas;
+    }
+
+    static AgendaReservas de(Collection<Reserva> reservas) {
+        TreeMap<Long, Integer> variacoes = new TreeMap<>();
+        for (Reserva reserva : reservas) {
+            if (reserva.fim().isAfter(reserva.inicio())) {
+                variacoes.merge(segundos(reserva.inicio()), reserva.vagas(), Integer::sum);
+                variacoes.merge(segundos(reserva.fim()), -reserva.vagas(), Integer::sum);
+            }
+        }
+        long[] instantes = new long[variacoes.size()];
+        int[] reservadas = new int[variacoes.size()];
+        int i = 0;
+        int acumulado = 0;
+        for (var variacao : variacoes.entrySet()) {
+            acumulado += variacao.getValue();
+            instantes[i] = variacao.getKey();
+            reservadas[i++] = acumulado;
+        }
+        return new AgendaReservas(instantes, reservadas, reservas.toArray(Reserva[]::new));
+    }
+
+    int reservadasEm(LocalDateTime instante) {
+        int posicao = Arrays.binarySearch(instantes, segundos(instante));
+        int borda = posicao >= 0 ? posicao : -posicao - 2;
+        return borda >= 0 ? reservadas[borda] : 0;
+    }
+
+    int livresEm(LocalDateTime instante, ToIntFunction<Long> ocupadasPeloEvento) {
+        if (reservadasEm(instante) == 0) {
+            return 0;
+        }
+        int livres = 0;
+        for (Reserva reserva : reservas) {
+            if (reserva.cobre(instante)) {
+                livres += Math.max(0, reserva.vagas() - ocupadasPeloEvento.applyAsInt(reserva.eventoId()));
+            }
+        }
+        return livres;
+    }
+
+    private static long segundos(LocalDateTime instante) {
+        return instante.toEpochSecond(ZoneOffset.UTC);
+    }
+}
@@ -0,0 +1,25 @@
+package com.estacionamento.reserva;
+
+import com.estacionamento.repository.EventoRepository;
+import org.springframework.beans.factory.SmartInitializingSingleton;
+import org.springframework.stereotype.Component;
+
+/**
+ * Carrega as {@link ReservasVagas} a partir do banco antes de o servidor começar a aceitar requisições.
+ */
+@Component
+public class InicializadorReservas implements SmartInitializingSingleton {
+
+    private final ReservasVagas reservasVagas;
+    private final EventoRepository eventoRepository;
+
+    public InicializadorReservas(ReservasVagas reservasVagas, EventoRepository eventoRepository) {
+        this.reservasVagas = reservasVagas;
+        this.eventoRepository = eventoRepository;
+    }
+
+    @Override
+    public void afterSingletonsInstantiated() {
+        reservasVagas.reconstruir(eventoRepository.listarReservas());
+    }
+}
@@ -0,0 +1,36 @@
+package com.estacionamento.reserva;
+
+import com.estacionamento.model.Evento;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+
+/**
+ * Vagas que um evento reserva em um estacionamento, válidas de {@code inicio} (inclusive) até {@code fim}
+ * (exclusive).
+ */
+public record Reserva(Long eventoId, Long estacionamentoId, LocalDateTime inicio, LocalDateTime fim, int vagas) {
+
+    public Reserva(Long eventoId, Long estacionamentoId, LocalDate dataInicio, LocalTime horaInicio,
+                   LocalDate dataFim, LocalTime horaFim, Integer vagas) {
+        this(eventoId, estacionamentoId, LocalDateTime.of(dataInicio, horaInicio),
+            LocalDateTime.of(dataFim, horaFim), vagas);
+    }
+
+    /**
+     * Reserva do evento, ou {@code null} quando ele não reserva vagas.
+     */
+    public static Reserva de(Evento evento) {
+        if (evento.getEstacionamento() == null || evento.getVagasReservadas() == null
+            || evento.getVagasReservadas() <= 0) {
+            return null;
+        }
+        return new Reserva(evento.getId(), evento.getEstacionamento().getId(), evento.getDataInicio(),
+            evento.getHoraInicio(), evento.getDataFim(), evento.getHoraFim(), evento.getVagasReservadas());
+    }
+
+    public boolean cobre(LocalDateTime instante) {
+        return !instante.isBefore(inicio) && instante.isBefore(fim);
+    }
+}
@@ -0,0 +1,116 @@
+package com.estacionamento.reserva;
+
+import com.estacionamento.transacao.AposCommit;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.ToIntFunction;
+
+/**
+ * Reservas de vagas dos eventos, em memória, com uma {@link AgendaReservas} por estacionamento para que a
+ * entrada saiba em O(log n) quantas vagas estão reservadas no seu instante.
+ *
+ * <p>Mantido pelo {@code EventoService} depois do commit de cada escrita e carregado na inicialização pelo
+ * {@link InicializadorReservas}. As leituras não bloqueiam; as escritas são serializadas e trocam a agenda
+ * do estacionamento afetado por uma nova.
+ */
+@Component
+public class ReservasVagas {
+
+    private final Map<Long, Reserva> porEvento = new ConcurrentHashMap<>();
+    private final Map<Long, Map<Long, Reserva>> porEstacionamento = new HashMap<>();
+    private final Map<Long, AgendaReservas> agendas = new ConcurrentHashMap<>();
+
+    public int reservadas(Long estacionamentoId, LocalDateTime instante) {
+        return agendas.getOrDefault(estacionamentoId, AgendaReservas.VAZIA).reservadasEm(instante);
+    }
+
+    /**
+     * Vagas reservadas no instante que os carros dos próprios eventos ainda não ocupam: cada reserva conta
+     * {@code max(0, vagas - ocupadasPeloEvento)}, já que um carro do evento dentro do estacionamento ocupa
+     * uma das vagas reservadas para ele, e não uma vaga comum.
+     */
+    public int reservadas(Long estacionamentoId, LocalDateTime instante, ToIntFunction<Long> ocupadasPeloEvento) {
+        return agendas.getOrDefault(estacionamentoId, AgendaReservas.VAZIA).livresEm(instante, ocupadasPeloEvento);
+    }
+
+    public Reserva buscarPorEvento(Long eventoId) {
+        return eventoId != null ? porEvento.get(eventoId) : null;
+    }
+
+    /**
+     * Substitui a reserva do evento. Com {@code reserva} nula, o evento deixa de reservar vagas.
+     */
+    public synchronized void registrar(Long eventoId, Reserva reserva) {
+        remover(eventoId);
+        if (reserva == null) {
+            return;
+        }
+        porEvento.put(eventoId, reserva);
+        porEstacionamento.computeIfAbsent(reserva.estacionamentoId(), id -> new HashMap<>()).put(eventoId, reserva);
+        recalcular(reserva.estacionamentoId());
+    }
+
+    public synchronized void remover(Long eventoId) {
+        Reserva anterior = porEvento.remove(eventoId);
+        if (anterior == null) {
+            return;
+        }
+        Map<Long, Reserva> doEstacionamento = porEstacionamento.get(anterior.estacionamentoId());
+        doEstacionamento.remove(eventoId);
+        if (doEstacionamento.isEmpty()) {
+            porEstacionamento.remove(anterior.estacionamentoId());
+        }
+        recalcular(anterior.estacionamentoId());
+    }
+
+    public synchronized void removerEstacionamento(Long estacionamentoId) {
+        Map<Long, Reserva> doEstacionamento = porEstacionamento.remove(estacionamentoId);
+        if (doEstacionamento != null) {
+            doEstacionamento.keySet().forEach(porEvento::remove);
+        }
+        agendas.remove(estacionamentoId);
+    }
+
+    public synchronized void reconstruir(Collection<Reserva> reservas) {
+        porEvento.clear();
+        porEstacionamento.clear();
+        agendas.clear();
+        for (Reserva reserva : reservas) {
+            porEvento.put(reserva.eventoId(), reserva);
+            porEstacionamento.computeIfAbsent(reserva.estacionamentoId(), id -> new HashMap<>())
+                .put(reserva.eventoId(), reserva);
+        }
+        porEstacionamento.keySet().forEach(this::recalcular);
+    }
+
+    /** As vagas só ficam presas para entradas comuns depois que o evento estiver gravado. */
+    public void registrarAposCommit(Long eventoId, Reserva reserva) {
+        AposCommit.executar(() -> registrar(eventoId, reserva));
+    }
+
+    public void removerAposCommit(Long eventoId) {
+        AposCommit.executar(() -> remover(eventoId));
+    }
+
+    /**
+     * Descarta as reservas do estacionamento só depois do commit da exclusão; revertida, os eventos dele
+     * continuam segurando as vagas.
+     */
+    public void removerEstacionamentoAposCommit(Long estacionamentoId) {
+        AposCommit.executar(() -> removerEstacionamento(estacionamentoId));
+    }
+
+    private void recalcular(Long estacionamentoId) {
+        Map<Long, Reserva> doEstacionamento = porEstacionamento.get(estacionamentoId);
+        if (doEstacionamento == null) {
+            agendas.remove(estacionamentoId);
+        } else {
+            agendas.put(estacionamentoId, AgendaReservas.de(doEstacionamento.values()));
+        }
+    }
+}
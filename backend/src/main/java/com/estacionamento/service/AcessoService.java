@@ -1,52 +1,129 @@
 package com.estacionamento.service;
 
+import com.estacionamento.cache.CachePlacas;
+import com.estacionamento.cache.CacheTarifas;
+import com.estacionamento.dto.AcessoDTO;
+import com.estacionamento.dto.AcessoResumoDTO;
+import com.estacionamento.dto.FiltroAcesso;
+import com.estacionamento.dto.ItemLoteDTO;
+import com.estacionamento.dto.OcupacaoDTO;
+import com.estacionamento.dto.PaginaDTO;
+import com.estacionamento.dto.ResultadoLoteDTO;
+import com.estacionamento.escrita.EntradaPendente;
+import com.estacionamento.escrita.FilaEntradas;
 import com.estacionamento.exception.DescricaoEmBrancoException;
+import com.estacionamento.exception.EstacionamentoLotadoException;
 import com.estacionamento.exception.ObjetoNaoEncontradoException;
+import com.estacionamento.faturamento.AgregadorFaturamento;
+import com.estacionamento.faturamento.Contribuicao;
+import com.estacionamento.idempotencia.Idempotencia;
 import com.estacionamento.model.*;
+import com.estacionamento.ocupacao.IndiceOcupacao;
+import com.estacionamento.ocupacao.SessoesAbertas;
 import com.estacionamento.repository.*;
+import com.estacionamento.reserva.Reserva;
+import com.estacionamento.reserva.ReservasVagas;
+import com.estacionamento.tarifa.MotorTarifario;
+import com.estacionamento.tarifa.TipoAcesso;
+import org.springframework.data.domain.Limit;
+import org.springframework.http.HttpStatus;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 import org.springframework.util.StringUtils;
 
 import java.math.BigDecimal;
-import java.time.Duration;
+import java.time.LocalDate;
 import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.Set;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.stream.Stream;
 
 @Service
 public class AcessoService {
 
+    public static final int LIMITE_PADRAO = 50;
+    public static final int LIMITE_MAXIMO = 500;
+    public static final int LIMITE_LOTE = 1000;
+
     private final AcessoRepository acessoRepository;
+    private final AcessoLoteRepository acessoLoteRepository;
     private final EstacionamentoRepository estacionamentoRepository;
     private final VeiculoRepository veiculoRepository;
-    private final TempoRepository tempoRepository;
-    private final DiariaRepository diariaRepository;
-    private final MensalistaRepository mensalistaRepository;
-
-    public AcessoService(AcessoRepository acessoRepository, EstacionamentoRepository estacionamentoRepository,
-                         VeiculoRepository veiculoRepository, TempoRepository tempoRepository,
-                         DiariaRepository diariaRepository, MensalistaRepository mensalistaRepository) {
+    private final VeiculoLoteRepository veiculoLoteRepository;
+    private final CacheTarifas cacheTarifas;
+    private final MotorTarifario motorTarifario;
+    private final IndiceOcupacao indiceOcupacao;
+    private final SessoesAbertas sessoesAbertas;
+    private final CachePlacas cachePlacas;
+    private final AgregadorFaturamento agregadorFaturamento;
+    private final FilaEntradas filaEntradas;
+    private final ReservasVagas reservasVagas;
+    private final EventoRepository eventoRepository;
+    private final Idempotencia idempotencia;
+
+    public AcessoService(AcessoRepository acessoRepository, AcessoLoteRepository acessoLoteRepository,
+                         EstacionamentoRepository estacionamentoRepository,
+                         VeiculoRepository veiculoRepository, VeiculoLoteRepository veiculoLoteRepository,
+                         CacheTarifas cacheTarifas,
+                         MotorTarifario motorTarifario, IndiceOcupacao indiceOcupacao,
+                         SessoesAbertas sessoesAbertas, CachePlacas cachePlacas,
+                         AgregadorFaturamento agregadorFaturamento, FilaEntradas filaEntradas,
+                         ReservasVagas reservasVagas, EventoRepository eventoRepository,
+                         Idempotencia idempotencia) {
         this.acessoRepository = acessoRepository;
+        this.acessoLoteRepository = acessoLoteRepository;
         this.estacionamentoRepository = estacionamentoRepository;
         this.veiculoRepository = veiculoRepository;
-        this.tempoRepository = tempoRepository;
-        this.diariaRepository = diariaRepository;
-        this.mensalistaRepository = mensalistaRepository;
+        this.veiculoLoteRepository = veiculoLoteRepository;
+        this.cacheTarifas = cacheTarifas;
+        this.motorTarifario = motorTarifario;
+        this.indiceOcupacao = indiceOcupacao;
+        this.sessoesAbertas = sessoesAbertas;
+        this.cachePlacas = cachePlacas;
+        this.agregadorFaturamento = agregadorFaturamento;
+        this.filaEntradas = filaEntradas;
+        this.reservasVagas = reservasVagas;
+        this.eventoRepository = eventoRepository;
+        this.idempotencia = idempotencia;
     }
 
     @Transactional
     public Acesso criarAcesso(Acesso acesso) {
         validarAcesso(acesso);
+        // Acesso novo começa sem versão; com uma versão vinda no JSON o save faria merge em vez de persist.
+        acesso.setVersao(null);
+
+        // Como na entrada adiada, a vaga sai do índice antes de qualquer consulta: com o estacionamento lotado
+        // a entrada é recusada sem ir ao banco. Sem o estacionamento no índice, a vaga é ocupada mais abaixo.
+        boolean vagaOcupada = false;
+        OcupacaoDTO ocupacao = indiceOcupacao.consultar(acesso.getEstacionamento().getId());
+        if (ocupacao != null && acesso.getDataFim() == null) {
+            validarEvento(acesso.getEvento(), ocupacao.estacionamentoId());
+            ocuparVaga(ocupacao.estacionamentoId(), ocupacao.capacidade(), vagasReservadasPara(acesso),
+                eventoIdDe(acesso));
+            vagaOcupada = true;
+        }
 
         Estacionamento estacionamento = estacionamentoRepository.findById(acesso.getEstacionamento().getId())
                 .orElseThrow(() -> new ObjetoNaoEncontradoException(
                         "Estacionamento com ID " + acesso.getEstacionamento().getId() + " não encontrado."
                 ));
         acesso.setEstacionamento(estacionamento);
+        acesso.setEvento(resolverEvento(acesso.getEvento(), estacionamento.getId()));
 
-        Veiculo veiculo = veiculoRepository.findByPlaca(acesso.getVeiculo().getPlaca())
-                .orElseGet(() -> veiculoRepository.save(acesso.getVeiculo()));
-        acesso.setVeiculo(veiculo);
+        String placa = acesso.getVeiculo().getPlaca();
+        acesso.setVeiculo(resolverVeiculo(acesso.getVeiculo()));
 
         if (acesso.getTipoAcesso() == null || acesso.getTipoAcesso().isEmpty()) {
             throw new DescricaoEmBrancoException("Tipo de acesso não pode estar em branco.");
@@ -59,7 +136,7 @@ public class AcessoService {
                         "Tempo associado ao acesso não pode ser nulo para tipo TEMPO."
                     );
                 }
-                Tempo tempo = tempoRepository.findById(acesso.getTempo().getId())
+                Tempo tempo = Optional.ofNullable(cacheTarifas.buscarTempo(acesso.getTempo().getId()))
                         .orElseThrow(() -> new ObjetoNaoEncontradoException(
                                 "Tempo com ID " + acesso.getTempo().getId() + " não encontrado."
                         ));
@@ -72,16 +149,12 @@ public class AcessoService {
                     );
                 }
                 
-                Diaria diariaDoBanco = diariaRepository.findById(acesso.getDiaria().getId())
+                Diaria diariaDoBanco = Optional.ofNullable(cacheTarifas.buscarDiaria(acesso.getDiaria().getId()))
                         .orElseThrow(() -> new ObjetoNaoEncontradoException(
                                 "Diaria com ID " + acesso.getDiaria().getId() + " não encontrada."
                         ));
 
-                if (acesso.getDiaria().getDiariaNoturna() != null) {
-                    diariaDoBanco.setDiariaNoturna(acesso.getDiaria().getDiariaNoturna());
-                }
-                
-                acesso.setDiaria(diariaDoBanco);
+                acesso.setDiaria(comDiariaNoturna(diariaDoBanco, acesso.getDiaria().getDiariaNoturna()));
                 break;
             case "MENSALISTA":
                 if (acesso.getMensalista() == null || acesso.getMensalista().getId() == null) {
@@ -89,7 +162,8 @@ public class AcessoService {
                         "Mensalista associado ao acesso não pode ser nulo para tipo MENSALISTA."
                     );
                 }
-                Mensalista mensalista = mensalistaRepository.findById(acesso.getMensalista().getId())
+                Mensalista mensalista = Optional.ofNullable(
+                        cacheTarifas.buscarMensalista(acesso.getMensalista().getId()))
                         .orElseThrow(() -> new ObjetoNaoEncontradoException(
                                 "Mensalista com ID " + acesso.getMensalista().getId() + " não encontrado."
                         ));
@@ -103,24 +177,455 @@ public class AcessoService {
             acesso.setValorCobrado(calcularValor(acesso));
         }
 
-        return acessoRepository.save(acesso);
+        if (acesso.getDataFim() == null && !vagaOcupada) {
+            ocuparVaga(estacionamento, vagasReservadasPara(acesso), eventoIdDe(acesso));
+        }
+
+        Acesso salvo = acessoRepository.save(acesso);
+        if (salvo.getDataFim() == null) {
+            sessoesAbertas.abrirAposCommit(placa, salvo.getId());
+        }
+        agregadorFaturamento.registrar(salvo);
+        return salvo;
+    }
+
+    /**
+     * Modo de escrita adiada de {@link #criarAcesso} para entradas sem saída: valida contra o
+     * {@link IndiceOcupacao} e o {@link CacheTarifas}, reserva a vaga e grava a entrada no log local, sem
+     * transação nem conexão com o banco. O acesso devolvido é o da entrada gravada no log, sem ID; o
+     * {@code GravadorEntradas} o insere em lote logo depois. Retorna {@code null} quando o modo está desligado,
+     * o acesso já tem saída ou o log está cheio, casos em que o chamador segue com {@link #criarAcesso}, assim
+     * como entradas de evento. Até a gravação, a saída pela placa ainda não encontra o acesso.
+     */
+    public Acesso registrarEntradaAdiada(Acesso acesso) {
+        return registrarEntradaAdiada(acesso, null, null);
+    }
+
+    /**
+     * Como {@link #registrarEntradaAdiada(Acesso)}, levando no log a {@code Idempotency-Key} e a impressão do
+     * corpo, que {@link #gravarEntradasAdiadas} grava junto com o acesso.
+     */
+    public Acesso registrarEntradaAdiada(Acesso acesso, String chaveIdempotencia, String impressao) {
+        if (!filaEntradas.habilitada() || acesso.getDataFim() != null || acesso.getHoraFim() != null
+            || acesso.getEvento() != null) {
+            return null;
+        }
+        validarAcesso(acesso);
+        TipoAcesso tipo = validarTipoAcesso(acesso);
+
+        Long estacionamentoId = acesso.getEstacionamento().getId();
+        OcupacaoDTO ocupacao = indiceOcupacao.consultar(estacionamentoId);
+        if (ocupacao == null) {
+            throw new ObjetoNaoEncontradoException("Estacionamento com ID " + estacionamentoId + " não encontrado.");
+        }
+        acesso.setTempo(tipo == TipoAcesso.TEMPO
+            ? Optional.ofNullable(cacheTarifas.buscarTempo(acesso.getTempo().getId()))
+                .orElseThrow(() -> new ObjetoNaoEncontradoException(
+                    "Tempo com ID " + acesso.getTempo().getId() + " não encontrado."))
+            : null);
+        acesso.setDiaria(tipo == TipoAcesso.DIARIA
+            ? Optional.ofNullable(cacheTarifas.buscarDiaria(acesso.getDiaria().getId()))
+                .orElseThrow(() -> new ObjetoNaoEncontradoException(
+                    "Diaria com ID " + acesso.getDiaria().getId() + " não encontrada."))
+            : null);
+        acesso.setMensalista(tipo == TipoAcesso.MENSALISTA
+            ? Optional.ofNullable(cacheTarifas.buscarMensalista(acesso.getMensalista().getId()))
+                .orElseThrow(() -> new ObjetoNaoEncontradoException(
+                    "Mensalista com ID " + acesso.getMensalista().getId() + " não encontrado."))
+            : null);
+
+        ocuparVaga(estacionamentoId, ocupacao.capacidade(), vagasReservadasPara(acesso));
+        EntradaPendente entrada = EntradaPendente.de(acesso).comIdempotencia(chaveIdempotencia, impressao);
+        if (!filaEntradas.anexar(entrada)) {
+            indiceOcupacao.liberar(estacionamentoId);
+            return null;
+        }
+        return entrada.paraAcesso();
+    }
+
+    /**
+     * Grava em um único batch as entradas aceitas por {@link #registrarEntradaAdiada} e avança o checkpoint
+     * do log na mesma transação. As vagas já foram reservadas na aceitação, exceto nas entradas reprocessadas
+     * do log na inicialização.
+     *
+     * <p>As entradas com {@code Idempotency-Key} gravam a chave com a resposta 202 que receberam. Se a chave já
+     * está gravada, por uma repetição que seguiu pelo caminho síncrono, por outra instância ou por uma cópia
+     * anterior no próprio log, a entrada é descartada e devolve a vaga.
+     */
+    @Transactional
+    public List<Acesso> gravarEntradasAdiadas(List<EntradaPendente> entradas) {
+        List<EntradaPendente> novas = semChavesGravadas(entradas);
+        List<Acesso> acessos = new ArrayList<>(novas.size());
+        for (EntradaPendente entrada : novas) {
+            acessos.add(entrada.paraAcesso());
+        }
+        if (!acessos.isEmpty()) {
+            Map<String, Veiculo> veiculos = carregarVeiculos(acessos);
+            for (int i = 0; i < acessos.size(); i++) {
+                EntradaPendente entrada = novas.get(i);
+                acessos.get(i).setEstacionamento(
+                    estacionamentoRepository.getReferenceById(entrada.estacionamentoId()));
+                acessos.get(i).setVeiculo(veiculos.get(entrada.placa()));
+                if (entrada.recuperada()) {
+                    indiceOcupacao.registrarOcupada(entrada.estacionamentoId());
+                }
+            }
+
+            List<Long> ids = acessoLoteRepository.inserir(acessos);
+            for (int j = 0; j < acessos.size(); j++) {
+                EntradaPendente entrada = novas.get(j);
+                acessos.get(j).setId(ids.get(j));
+                sessoesAbertas.abrirAposCommit(entrada.placa(), ids.get(j));
+                if (entrada.chaveIdempotencia() != null) {
+                    idempotencia.registrarAceita(entrada.chaveIdempotencia(), EntradaPendente.ROTA,
+                        entrada.impressao(), HttpStatus.ACCEPTED, AcessoDTO.de(entrada.paraAcesso()));
+                }
+            }
+        }
+        filaEntradas.avancarCheckpoint(entradas.get(entradas.size() - 1).sequencia());
+        return acessos;
+    }
+
+    private List<EntradaPendente> semChavesGravadas(List<EntradaPendente> entradas) {
+        List<String> chaves = entradas.stream()
+            .map(EntradaPendente::chaveIdempotencia)
+            .filter(Objects::nonNull)
+            .toList();
+        if (chaves.isEmpty()) {
+            return entradas;
+        }
+        Set<String> gravadas = new HashSet<>(idempotencia.gravadas(EntradaPendente.ROTA, chaves));
+        List<EntradaPendente> novas = new ArrayList<>(entradas.size());
+        for (EntradaPendente entrada : entradas) {
+            if (entrada.chaveIdempotencia() == null || gravadas.add(entrada.chaveIdempotencia())) {
+                novas.add(entrada);
+            } else if (!entrada.recuperada()) {
+                indiceOcupacao.liberar(entrada.estacionamentoId());
+            }
+        }
+        return novas;
+    }
+
+    /**
+     * Encerra o acesso aberto da placa informada, que é tudo o que a cancela conhece na saída. O ID vem de
+     * {@link SessoesAbertas}; só quando a placa não está lá (ou o acesso já foi encerrado por outra saída)
+     * o banco é consultado pelo índice (veiculo_id, data_fim). A linha é lida com bloqueio, para que duas
+     * saídas simultâneas da mesma placa não liberem a vaga duas vezes.
+     */
+    @Transactional
+    public Acesso encerrarPorPlaca(String placa, LocalDate dataFim, LocalTime horaFim) {
+        if (!StringUtils.hasText(placa)) {
+            throw new DescricaoEmBrancoException("Placa do veículo não pode estar em branco.");
+        }
+        Long id = sessoesAbertas.buscarAcessoId(placa);
+        Acesso acesso = Optional.ofNullable(id)
+            .flatMap(acessoRepository::buscarPorIdComBloqueio)
+            .filter(a -> a.getDataFim() == null)
+            .or(() -> acessoRepository.findFirstByVeiculoPlacaAndDataFimIsNullOrderByIdDesc(placa))
+            .orElseThrow(() -> new ObjetoNaoEncontradoException(
+                "Nenhum acesso aberto encontrado para a placa " + placa + "."
+            ));
+
+        LocalDateTime agora = LocalDateTime.now();
+        acesso.setDataFim(dataFim != null ? dataFim : agora.toLocalDate());
+        acesso.setHoraFim(horaFim != null ? horaFim : agora.toLocalTime());
+        LocalDateTime entrada = LocalDateTime.of(acesso.getDataInicio(), acesso.getHoraInicio());
+        if (LocalDateTime.of(acesso.getDataFim(), acesso.getHoraFim()).isBefore(entrada)) {
+            throw new IllegalArgumentException("Data/hora de saída não pode ser anterior à data/hora de entrada.");
+        }
+
+        // As tarifas vêm do CacheTarifas em vez dos proxies preguiçosos do acesso, sem consultas extras.
+        if (acesso.getTempo() != null) {
+            acesso.setTempo(Objects.requireNonNullElse(
+                cacheTarifas.buscarTempo(acesso.getTempo().getId()), acesso.getTempo()));
+        }
+        if (acesso.getDiaria() != null) {
+            acesso.setDiaria(Objects.requireNonNullElse(
+                cacheTarifas.buscarDiaria(acesso.getDiaria().getId()), acesso.getDiaria()));
+        }
+        acesso.setValorCobrado(calcularValor(acesso));
+
+        Acesso salvo = acessoRepository.save(acesso);
+        indiceOcupacao.liberar(salvo.getEstacionamento().getId(), eventoIdDe(salvo));
+        sessoesAbertas.encerrarAposCommit(salvo.getId());
+        agregadorFaturamento.registrar(salvo);
+        return salvo;
+    }
+
+    /**
+     * Registra um lote de acessos reenviado pelas cancelas. As referências de todos os itens são carregadas
+     * com uma consulta por tipo e as linhas válidas são gravadas em um único batch JDBC. Itens inválidos
+     * (campos em branco, referências inexistentes, estacionamento lotado) são recusados individualmente,
+     * sem impedir a gravação dos demais; o resultado segue a ordem do lote. Os veículos só são resolvidos
+     * depois da validação e da vaga, para que um item recusado não deixe o seu veículo cadastrado.
+     */
+    @Transactional
+    public ResultadoLoteDTO registrarLote(List<Acesso> acessos) {
+        if (acessos == null || acessos.isEmpty()) {
+            throw new IllegalArgumentException("O lote de acessos não pode estar vazio.");
+        }
+        if (acessos.size() > LIMITE_LOTE) {
+            throw new IllegalArgumentException("O lote de acessos não pode ter mais de " + LIMITE_LOTE + " itens.");
+        }
+
+        Map<Long, Estacionamento> estacionamentos = carregarPorId(acessos, Acesso::getEstacionamento,
+            Estacionamento::getId, estacionamentoRepository::findAllById);
+        Map<Long, Tempo> tempos = cacheTarifas.buscarTempos(idsReferenciados(acessos, Acesso::getTempo, Tempo::getId));
+        Map<Long, Diaria> diarias = cacheTarifas.buscarDiarias(
+            idsReferenciados(acessos, Acesso::getDiaria, Diaria::getId));
+        Map<Long, Mensalista> mensalistas = cacheTarifas.buscarMensalistas(
+            idsReferenciados(acessos, Acesso::getMensalista, Mensalista::getId));
+
+        ItemLoteDTO[] itens = new ItemLoteDTO[acessos.size()];
+        List<Acesso> aceitos = new ArrayList<>(acessos.size());
+        List<Integer> indicesAceitos = new ArrayList<>(acessos.size());
+        List<String> placasAceitas = new ArrayList<>(acessos.size());
+        for (int i = 0; i < acessos.size(); i++) {
+            Acesso acesso = acessos.get(i);
+            try {
+                String placa = acesso != null && acesso.getVeiculo() != null ? acesso.getVeiculo().getPlaca() : null;
+                prepararItemDoLote(acesso, estacionamentos, tempos, diarias, mensalistas);
+                aceitos.add(acesso);
+                indicesAceitos.add(i);
+                placasAceitas.add(placa);
+            } catch (DescricaoEmBrancoException | ObjetoNaoEncontradoException | EstacionamentoLotadoException
+                     | IllegalArgumentException | IllegalStateException e) {
+                itens[i] = ItemLoteDTO.falha(i, e.getMessage());
+            }
+        }
+
+        Map<String, Veiculo> veiculos = carregarVeiculos(aceitos);
+        for (int j = 0; j < aceitos.size(); j++) {
+            aceitos.get(j).setVeiculo(veiculos.get(placasAceitas.get(j)));
+        }
+
+        List<Long> ids = acessoLoteRepository.inserir(aceitos);
+        for (int j = 0; j < aceitos.size(); j++) {
+            aceitos.get(j).setId(ids.get(j));
+            itens[indicesAceitos.get(j)] = ItemLoteDTO.sucesso(indicesAceitos.get(j), ids.get(j));
+            if (aceitos.get(j).getDataFim() == null) {
+                sessoesAbertas.abrirAposCommit(placasAceitas.get(j), ids.get(j));
+            }
+        }
+        agregadorFaturamento.registrarTodos(aceitos);
+        return new ResultadoLoteDTO(aceitos.size(), acessos.size() - aceitos.size(), List.of(itens));
+    }
+
+    private void prepararItemDoLote(Acesso acesso, Map<Long, Estacionamento> estacionamentos,
+                                    Map<Long, Tempo> tempos, Map<Long, Diaria> diarias,
+                                    Map<Long, Mensalista> mensalistas) {
+        if (acesso == null) {
+            throw new DescricaoEmBrancoException("Acesso não pode ser nulo.");
+        }
+        validarAcesso(acesso);
+        TipoAcesso tipo = validarTipoAcesso(acesso);
+
+        Long estacionamentoId = acesso.getEstacionamento().getId();
+        acesso.setEstacionamento(buscarNoLote(estacionamentos, estacionamentoId,
+            "Estacionamento com ID " + estacionamentoId + " não encontrado."));
+        validarEvento(acesso.getEvento(), estacionamentoId);
+
+        acesso.setTempo(tipo == TipoAcesso.TEMPO
+            ? buscarNoLote(tempos, acesso.getTempo().getId(),
+                "Tempo com ID " + acesso.getTempo().getId() + " não encontrado.")
+            : null);
+        acesso.setDiaria(tipo == TipoAcesso.DIARIA
+            ? buscarNoLote(diarias, acesso.getDiaria().getId(),
+                "Diaria com ID " + acesso.getDiaria().getId() + " não encontrada.")
+            : null);
+        acesso.setMensalista(tipo == TipoAcesso.MENSALISTA
+            ? buscarNoLote(mensalistas, acesso.getMensalista().getId(),
+                "Mensalista com ID " + acesso.getMensalista().getId() + " não encontrado.")
+            : null);
+
+        acesso.setValorCobrado(acesso.getDataFim() != null && acesso.getHoraFim() != null
+            ? calcularValor(acesso) : null);
+        if (acesso.getDataFim() == null) {
+            ocuparVaga(acesso.getEstacionamento(), vagasReservadasPara(acesso), eventoIdDe(acesso));
+        }
+    }
+
+    private TipoAcesso validarTipoAcesso(Acesso acesso) {
+        if (!StringUtils.hasText(acesso.getTipoAcesso())) {
+            throw new DescricaoEmBrancoException("Tipo de acesso não pode estar em branco.");
+        }
+        TipoAcesso tipo = TipoAcesso.de(acesso.getTipoAcesso());
+        if (tipo == null) {
+            throw new IllegalArgumentException("Tipo de acesso inválido: " + acesso.getTipoAcesso());
+        }
+        if (tipo == TipoAcesso.TEMPO && (acesso.getTempo() == null || acesso.getTempo().getId() == null)) {
+            throw new DescricaoEmBrancoException("Tempo associado ao acesso não pode ser nulo para tipo TEMPO.");
+        }
+        if (tipo == TipoAcesso.DIARIA && (acesso.getDiaria() == null || acesso.getDiaria().getId() == null)) {
+            throw new DescricaoEmBrancoException("Diaria associada ao acesso não pode ser nula para tipo DIARIA.");
+        }
+        if (tipo == TipoAcesso.MENSALISTA
+            && (acesso.getMensalista() == null || acesso.getMensalista().getId() == null)) {
+            throw new DescricaoEmBrancoException(
+                "Mensalista associado ao acesso não pode ser nulo para tipo MENSALISTA."
+            );
+        }
+        return tipo;
+    }
+
+    private static <T> T buscarNoLote(Map<Long, T> carregados, Long id, String mensagem) {
+        T entidade = carregados.get(id);
+        if (entidade == null) {
+            throw new ObjetoNaoEncontradoException(mensagem);
+        }
+        return entidade;
+    }
+
+    private static <T> Map<Long, T> carregarPorId(List<Acesso> acessos, Function<Acesso, T> referencia,
+                                                  Function<T, Long> id,
+                                                  Function<Set<Long>, ? extends Iterable<T>> buscarTodos) {
+        Set<Long> ids = idsReferenciados(acessos, referencia, id);
+        Map<Long, T> carregados = new HashMap<>();
+        if (!ids.isEmpty()) {
+            buscarTodos.apply(ids).forEach(entidade -> carregados.put(id.apply(entidade), entidade));
+        }
+        return carregados;
+    }
+
+    private static <T> Set<Long> idsReferenciados(List<Acesso> acessos, Function<Acesso, T> referencia,
+                                                  Function<T, Long> id) {
+        Set<Long> ids = new HashSet<>();
+        for (Acesso acesso : acessos) {
+            T ref = acesso != null ? referencia.apply(acesso) : null;
+            if (ref != null && id.apply(ref) != null) {
+                ids.add(id.apply(ref));
+            }
+        }
+        return ids;
+    }
+
+    /**
+     * A {@link Diaria} vem do {@link CacheTarifas} e é compartilhada entre requisições; quando o acesso traz
+     * uma janela noturna própria, ela é aplicada a uma cópia em vez de alterar a entrada do cache.
+     */
+    private static Diaria comDiariaNoturna(Diaria diaria, DiariaNoturna diariaNoturna) {
+        if (diariaNoturna == null) {
+            return diaria;
+        }
+        Diaria copia = new Diaria(diaria.getId(), diaria.getValor(), diaria.getTipo(), diaria.getDescricao(), null);
+        copia.setDiariaNoturna(diariaNoturna);
+        return copia;
+    }
+
+    /**
+     * Placas já conhecidas pelo {@link CachePlacas} viram referências sem consulta; as demais são buscadas
+     * com um único IN. As placas ainda sem cadastro entram juntas em um único upsert de várias linhas e são
+     * relidas com {@code FOR SHARE} em outro IN, que enxerga também as gravadas por transações concorrentes.
+     * Recebe só acessos já aceitos, para não cadastrar veículos de itens recusados.
+     */
+    private Map<String, Veiculo> carregarVeiculos(List<Acesso> acessos) {
+        Map<String, Veiculo> porPlaca = new HashMap<>();
+        Map<String, Veiculo> pendentes = new HashMap<>();
+        for (Acesso acesso : acessos) {
+            if (acesso == null || acesso.getVeiculo() == null || !StringUtils.hasText(acesso.getVeiculo().getPlaca())) {
+                continue;
+            }
+            String placa = acesso.getVeiculo().getPlaca();
+            Long id = cachePlacas.buscarId(placa);
+            if (id != null) {
+                porPlaca.putIfAbsent(placa, veiculoRepository.getReferenceById(id));
+            } else {
+                pendentes.putIfAbsent(placa, acesso.getVeiculo());
+            }
+        }
+        if (pendentes.isEmpty()) {
+            return porPlaca;
+        }
+
+        Collection<String> placas = pendentes.keySet();
+        long marca = cachePlacas.marca();
+        for (Veiculo veiculo : veiculoRepository.findByPlacaIn(placas)) {
+            porPlaca.put(veiculo.getPlaca(), veiculo);
+            cachePlacas.registrarLidaAposCommit(veiculo.getPlaca(), veiculo.getId(), marca);
+        }
+        pendentes.keySet().removeAll(porPlaca.keySet());
+        if (pendentes.isEmpty()) {
+            return porPlaca;
+        }
+
+        veiculoLoteRepository.inserirSeAusentes(pendentes.values());
+        for (Veiculo veiculo : veiculoRepository.buscarPorPlacasComBloqueio(pendentes.keySet())) {
+            porPlaca.put(veiculo.getPlaca(), veiculo);
+            cachePlacas.registrarLidaAposCommit(veiculo.getPlaca(), veiculo.getId(), marca);
+        }
+        for (String placa : pendentes.keySet()) {
+            if (!porPlaca.containsKey(placa)) {
+                throw new IllegalStateException("Veículo com placa " + placa + " não foi gravado.");
+            }
+        }
+        return porPlaca;
     }
 
-    public Acesso buscarAcessoPorId(Long id) {
-        return acessoRepository.findById(id)
+    public AcessoDTO buscarAcessoPorId(Long id) {
+        return acessoRepository.buscarDetalhe(id)
                 .orElseThrow(() -> new ObjetoNaoEncontradoException("Acesso com ID " + id + " não encontrado."));
     }
 
-    public List<Acesso> listarTodosAcessos() {
-        return acessoRepository.findAll();
+    @Transactional(readOnly = true)
+    public PaginaDTO<AcessoResumoDTO> listarAcessos(FiltroAcesso filtro, Long cursor, Integer limite) {
+        validarFiltro(filtro);
+        int tamanho = limite != null ? limite : LIMITE_PADRAO;
+        if (tamanho <= 0) {
+            throw new IllegalArgumentException("O limite da página deve ser maior que zero.");
+        }
+        tamanho = Math.min(tamanho, LIMITE_MAXIMO);
+
+        List<AcessoResumoDTO> itens = acessoRepository.buscarPagina(
+            cursor != null ? cursor : 0L, filtro.estacionamentoId(), filtro.placa(),
+            normalizarTipoAcesso(filtro.tipoAcesso()), filtro.dataInicial(), filtro.dataFinal(),
+            Limit.of(tamanho + 1)
+        );
+
+        if (itens.size() <= tamanho) {
+            return new PaginaDTO<>(itens, null);
+        }
+        List<AcessoResumoDTO> pagina = itens.subList(0, tamanho);
+        return new PaginaDTO<>(pagina, pagina.get(tamanho - 1).id());
+    }
+
+    @Transactional(readOnly = true)
+    public void exportarAcessos(FiltroAcesso filtro, Consumer<AcessoResumoDTO> consumidor) {
+        validarFiltro(filtro);
+        try (Stream<AcessoResumoDTO> acessos = acessoRepository.exportar(
+            filtro.estacionamentoId(), filtro.placa(), normalizarTipoAcesso(filtro.tipoAcesso()),
+            filtro.dataInicial(), filtro.dataFinal())) {
+            acessos.forEach(consumidor);
+        }
+    }
+
+    private void validarFiltro(FiltroAcesso filtro) {
+        if (filtro.dataInicial() != null && filtro.dataFinal() != null
+            && filtro.dataFinal().isBefore(filtro.dataInicial())) {
+            throw new IllegalArgumentException("A data final do filtro não pode ser anterior à data inicial.");
+        }
+    }
+
+    private String normalizarTipoAcesso(String tipoAcesso) {
+        return StringUtils.hasText(tipoAcesso) ? tipoAcesso.trim().toUpperCase(Locale.ROOT) : null;
     }
 
+    /**
+     * Substitui o acesso pelo payload, que precisa trazer a {@code versao} lida antes ({@link Versoes}). Uma
+     * escrita concorrente que grave primeiro faz o commit falhar no bloqueio otimista; a atualização não é
+     * refeita, porque o payload foi montado sobre o estado antigo.
+     */
     @Transactional
     public Acesso atualizarAcesso(Long id, Acesso acessoAtualizado) {
         Acesso acessoExistente = acessoRepository.findById(id)
                 .orElseThrow(() -> new ObjetoNaoEncontradoException(
                         "Acesso com ID " + id + " não encontrado para atualização."
                 ));
+        Versoes.conferir(acessoAtualizado.getVersao(), acessoExistente.getVersao(), id, "Acesso");
+        Long estacionamentoAnteriorId = acessoExistente.getEstacionamento() != null
+            ? acessoExistente.getEstacionamento().getId() : null;
+        Long eventoAnteriorId = eventoIdDe(acessoExistente);
+        boolean estavaAberto = acessoExistente.getDataFim() == null;
+        Contribuicao faturamentoAnterior = Contribuicao.de(acessoExistente);
 
         validarAcesso(acessoAtualizado);
 
@@ -129,10 +634,10 @@ public class AcessoService {
                         "Estacionamento com ID " + acessoAtualizado.getEstacionamento().getId() + " não encontrado."
                 ));
         acessoExistente.setEstacionamento(estacionamento);
+        acessoExistente.setEvento(resolverEvento(acessoAtualizado.getEvento(), estacionamento.getId()));
 
-        Veiculo veiculo = veiculoRepository.findByPlaca(acessoAtualizado.getVeiculo().getPlaca())
-                .orElseGet(() -> veiculoRepository.save(acessoAtualizado.getVeiculo()));
-        acessoExistente.setVeiculo(veiculo);
+        String placa = acessoAtualizado.getVeiculo().getPlaca();
+        acessoExistente.setVeiculo(resolverVeiculo(acessoAtualizado.getVeiculo()));
 
         acessoExistente.setDataInicio(acessoAtualizado.getDataInicio());
         acessoExistente.setHoraInicio(acessoAtualizado.getHoraInicio());
@@ -151,7 +656,7 @@ public class AcessoService {
                         "Tempo associado ao acesso não pode ser nulo para tipo TEMPO."
                     );
                 }
-                Tempo tempo = tempoRepository.findById(acessoAtualizado.getTempo().getId())
+                Tempo tempo = Optional.ofNullable(cacheTarifas.buscarTempo(acessoAtualizado.getTempo().getId()))
                         .orElseThrow(() -> new ObjetoNaoEncontradoException(
                                 "Tempo com ID " + acessoAtualizado.getTempo().getId() + " não encontrado."
                         ));
@@ -163,15 +668,13 @@ public class AcessoService {
                         "Diaria associada ao acesso não pode ser nula para tipo DIARIA."
                     );
                 }
-                Diaria diariaDoBancoAtualizado = diariaRepository.findById(acessoAtualizado.getDiaria().getId())
+                Diaria diariaDoBancoAtualizado = Optional.ofNullable(
+                        cacheTarifas.buscarDiaria(acessoAtualizado.getDiaria().getId()))
                         .orElseThrow(() -> new ObjetoNaoEncontradoException(
                                 "Diaria com ID " + acessoAtualizado.getDiaria().getId() + " não encontrada."));
 
-                if (acessoAtualizado.getDiaria().getDiariaNoturna() != null) {
-                    diariaDoBancoAtualizado.setDiariaNoturna(acessoAtualizado.getDiaria().getDiariaNoturna());
-                }
-                
-                acessoExistente.setDiaria(diariaDoBancoAtualizado);
+                acessoExistente.setDiaria(
+                    comDiariaNoturna(diariaDoBancoAtualizado, acessoAtualizado.getDiaria().getDiariaNoturna()));
                 break;
             case "MENSALISTA":
                 if (acessoAtualizado.getMensalista() == null || acessoAtualizado.getMensalista().getId() == null) {
@@ -179,7 +682,8 @@ public class AcessoService {
                         "Mensalista associado ao acesso não pode ser nulo para tipo MENSALISTA."
                     );
                 }
-                Mensalista mensalista = mensalistaRepository.findById(acessoAtualizado.getMensalista().getId())
+                Mensalista mensalista = Optional.ofNullable(
+                        cacheTarifas.buscarMensalista(acessoAtualizado.getMensalista().getId()))
                         .orElseThrow(() -> new ObjetoNaoEncontradoException(
                                 "Mensalista com ID " + acessoAtualizado.getMensalista().getId() + " não encontrado."
                         ));
@@ -195,7 +699,27 @@ public class AcessoService {
             acessoExistente.setValorCobrado(null);
         }
 
-        return acessoRepository.save(acessoExistente);
+        boolean continuaAberto = acessoExistente.getDataFim() == null;
+        boolean mesmoEstacionamento = Objects.equals(estacionamentoAnteriorId, estacionamento.getId());
+        if (continuaAberto && !(estavaAberto && mesmoEstacionamento)) {
+            ocuparVaga(estacionamento, vagasReservadasPara(acessoExistente), eventoIdDe(acessoExistente));
+        }
+        if (estavaAberto && !(continuaAberto && mesmoEstacionamento)) {
+            indiceOcupacao.liberar(estacionamentoAnteriorId, eventoAnteriorId);
+        }
+        if (estavaAberto && continuaAberto && mesmoEstacionamento) {
+            indiceOcupacao.trocarEvento(eventoAnteriorId, eventoIdDe(acessoExistente));
+        }
+
+        Acesso salvo = acessoRepository.save(acessoExistente);
+        if (estavaAberto) {
+            sessoesAbertas.encerrarAposCommit(salvo.getId());
+        }
+        if (continuaAberto) {
+            sessoesAbertas.abrirAposCommit(placa, salvo.getId());
+        }
+        agregadorFaturamento.substituir(faturamentoAnterior, Contribuicao.de(salvo));
+        return salvo;
     }
 
     @Transactional
@@ -204,7 +728,100 @@ public class AcessoService {
                 .orElseThrow(() -> new ObjetoNaoEncontradoException(
                         "Acesso com ID " + id + " não encontrado para exclusão."
                 ));
+        if (acesso.getDataFim() == null) {
+            indiceOcupacao.liberar(acesso.getEstacionamento().getId(), eventoIdDe(acesso));
+            sessoesAbertas.encerrarAposCommit(acesso.getId());
+        }
         acessoRepository.delete(acesso);
+        agregadorFaturamento.estornar(acesso);
+    }
+
+    /**
+     * Busca o veículo pela placa, consultando o {@link CachePlacas} antes do banco. Um veículo novo é gravado
+     * com um upsert na própria conexão do acesso: se outra entrada gravou a mesma placa ao mesmo tempo, o
+     * upsert espera por ela em vez de violar a chave única, e a leitura com bloqueio enxerga a linha já
+     * confirmada. Não abre uma segunda conexão, o que com threads virtuais poderia esgotar o pool.
+     */
+    private Veiculo resolverVeiculo(Veiculo veiculo) {
+        String placa = veiculo.getPlaca();
+        Long id = cachePlacas.buscarId(placa);
+        if (id != null) {
+            return veiculoRepository.getReferenceById(id);
+        }
+
+        long marca = cachePlacas.marca();
+        Optional<Veiculo> existente = veiculoRepository.findByPlaca(placa);
+        if (existente.isPresent()) {
+            cachePlacas.registrarLidaAposCommit(placa, existente.get().getId(), marca);
+            return existente.get();
+        }
+
+        veiculoRepository.inserirSeAusente(placa, veiculo.getMarca(), veiculo.getModelo(), veiculo.getCor());
+        Veiculo resolvido = veiculoRepository.buscarPorPlacaComBloqueio(placa)
+            .orElseThrow(() -> new IllegalStateException("Veículo com placa " + placa + " não foi gravado."));
+        cachePlacas.registrarLidaAposCommit(placa, resolvido.getId(), marca);
+        return resolvido;
+    }
+
+    /**
+     * Referência ao evento informado no acesso, que precisa reservar vagas no estacionamento do acesso.
+     */
+    private Evento resolverEvento(Evento evento, Long estacionamentoId) {
+        if (evento == null || evento.getId() == null) {
+            return null;
+        }
+        validarEvento(evento, estacionamentoId);
+        return eventoRepository.getReferenceById(evento.getId());
+    }
+
+    private void validarEvento(Evento evento, Long estacionamentoId) {
+        if (evento == null || evento.getId() == null) {
+            return;
+        }
+        Reserva reserva = reservasVagas.buscarPorEvento(evento.getId());
+        if (reserva == null || !reserva.estacionamentoId().equals(estacionamentoId)) {
+            throw new IllegalArgumentException("Evento com ID " + evento.getId()
+                + " não reserva vagas no estacionamento com ID " + estacionamentoId + ".");
+        }
+    }
+
+    /**
+     * Vagas reservadas para eventos no instante da entrada que o acesso não pode ocupar. Um acesso do evento
+     * dono da reserva, dentro da janela dele, pode ocupar todas as vagas do estacionamento. As vagas que os
+     * carros de um evento já ocupam saem da reserva dele, porque esses carros já contam como ocupadas.
+     */
+    private int vagasReservadasPara(Acesso acesso) {
+        Long estacionamentoId = acesso.getEstacionamento().getId();
+        LocalDateTime entrada = LocalDateTime.of(acesso.getDataInicio(), acesso.getHoraInicio());
+        Reserva doEvento = acesso.getEvento() != null
+            ? reservasVagas.buscarPorEvento(acesso.getEvento().getId()) : null;
+        if (doEvento != null && doEvento.estacionamentoId().equals(estacionamentoId) && doEvento.cobre(entrada)) {
+            return 0;
+        }
+        return reservasVagas.reservadas(estacionamentoId, entrada, indiceOcupacao::ocupadasPeloEvento);
+    }
+
+    private static Long eventoIdDe(Acesso acesso) {
+        return acesso.getEvento() != null ? acesso.getEvento().getId() : null;
+    }
+
+    private void ocuparVaga(Estacionamento estacionamento, int reservadas, Long eventoId) {
+        int capacidade = estacionamento.getCapacidade() != null ? estacionamento.getCapacidade() : Integer.MAX_VALUE;
+        ocuparVaga(estacionamento.getId(), capacidade, reservadas, eventoId);
+    }
+
+    private void ocuparVaga(Long estacionamentoId, int capacidade, int reservadas) {
+        ocuparVaga(estacionamentoId, capacidade, reservadas, null);
+    }
+
+    private void ocuparVaga(Long estacionamentoId, int capacidade, int reservadas, Long eventoId) {
+        if (!indiceOcupacao.ocupar(estacionamentoId, capacidade, reservadas, eventoId)) {
+            throw new EstacionamentoLotadoException(reservadas > 0
+                ? "Estacionamento com ID " + estacionamentoId + " está lotado (vagas reservadas para eventos: "
+                    + reservadas + ")."
+                : "Estacionamento com ID " + estacionamentoId + " está lotado."
+            );
+        }
     }
 
     private void validarAcesso(Acesso acesso) {
@@ -228,86 +845,7 @@ public class AcessoService {
         }
     }
 
-    private LocalDateTime getEntrada(Acesso acesso) {
-        return LocalDateTime.of(acesso.getDataInicio(), acesso.getHoraInicio());
-    }
-
-    private LocalDateTime getSaida(Acesso acesso) {
-        if (acesso.getDataFim() == null || acesso.getHoraFim() == null) {
-            return null;
-        }
-        return LocalDateTime.of(acesso.getDataFim(), acesso.getHoraFim());
-    }
-
-    @SuppressWarnings({ "deprecation", "null" })
     public BigDecimal calcularValor(Acesso acesso) {
-        LocalDateTime saida = getSaida(acesso);
-        if (saida == null) {
-            return BigDecimal.ZERO;
-        }
-
-        LocalDateTime entrada = getEntrada(acesso);
-        Duration duracao = Duration.between(entrada, saida);
-        long minutos = duracao.toMinutes();
-
-        switch (acesso.getTipoAcesso().toUpperCase()) {
-            case "TEMPO":
-                if (acesso.getTempo() == null) {
-                    throw new IllegalStateException("Configuração de Tempo não encontrada para este acesso.");
-                }
-                long duracaoFracaoMinutos = (
-                    acesso.getTempo().getDuracao().getHour() * 60L) + acesso.getTempo().getDuracao().getMinute();
-                if (duracaoFracaoMinutos <= 0) {
-                    throw new IllegalStateException("Duração da fração de tempo deve ser maior que zero.");
-                }
-
-                BigDecimal valorTotalTempo = BigDecimal.ZERO;
-                if (minutos > 0) {
-                    long numFracoes = (long) Math.ceil((double) minutos / duracaoFracaoMinutos);
-                    valorTotalTempo = acesso.getTempo().getValorFracao().multiply(BigDecimal.valueOf(numFracoes));
-                }
-
-                if (acesso.getTempo().getDesconto() !=
-                null && acesso.getTempo().getDesconto().compareTo(BigDecimal.ZERO) > 0) {
-                    BigDecimal desconto =
-                    valorTotalTempo.multiply(
-                        acesso.getTempo().getDesconto().divide(BigDecimal.valueOf(100), BigDecimal.ROUND_HALF_UP)
-                    );
-                    valorTotalTempo = valorTotalTempo.subtract(desconto);
-                }
-                return valorTotalTempo.setScale(2, BigDecimal.ROUND_HALF_UP);
-
-            case "DIARIA":
-                if (acesso.getDiaria() == null) {
-                    throw new IllegalStateException("Configuração de Diária não encontrada para este acesso.");
-                }
-
-                BigDecimal valorDiaria = acesso.getDiaria().getValor();
-                if (valorDiaria == null) {
-                    throw new IllegalStateException("Valor da Diária não pode ser nulo.");
-                }
-
-                DiariaNoturna diariaNoturna = acesso.getDiaria().getDiariaNoturna();
-                if (diariaNoturna != null && diariaNoturna.getAdicionalNoturno() != null) {
-                    if ((diariaNoturna.getHoraInicio().isBefore(diariaNoturna.getHoraFim()) &&
-                         saida.toLocalTime().isAfter(diariaNoturna.getHoraInicio()) &&
-                         saida.toLocalTime().isBefore(diariaNoturna.getHoraFim())) ||
-                        (diariaNoturna.getHoraInicio().isAfter(diariaNoturna.getHoraFim()) &&
-                         (saida.toLocalTime().isAfter(diariaNoturna.getHoraInicio()) ||
-                          saida.toLocalTime().isBefore(diariaNoturna.getHoraFim())))
-                    ) {
-                        return valorDiaria.add(diariaNoturna.getAdicionalNoturno()).setScale(
-                            2, BigDecimal.ROUND_HALF_UP
-                        );
-                    }
-                }
-                return valorDiaria.setScale(2, BigDecimal.ROUND_HALF_UP);
-
-            case "MENSALISTA":
-                return BigDecimal.ZERO.setScale(2, BigDecimal.ROUND_HALF_UP);
-
-            default:
-                return BigDecimal.ZERO.setScale(2, BigDecimal.ROUND_HALF_UP);
-        }
+        return motorTarifario.calcularValor(acesso);
     }
 }
\ No newline at end of file
@@ -0,0 +1,59 @@
+package com.estacionamento.service;
+
+import com.estacionamento.exception.DescricaoEmBrancoException;
+import com.estacionamento.exception.ObjetoNaoEncontradoException;
+
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Resolve as referências de um relacionamento muitos-para-muitos vindas no payload com uma única consulta
+ * por IN, em vez de um {@code findById} por elemento. As exceções seguem a ordem do payload: a primeira
+ * referência sem ID ou inexistente é a que aparece na mensagem, como no carregamento um a um.
+ */
+final class Associacoes {
+
+    private Associacoes() {
+    }
+
+    static <T> Set<T> carregar(Collection<T> referencias, Function<T, Long> id,
+                               Function<Set<Long>, ? extends Iterable<T>> buscarTodos,
+                               String mensagemIdNulo, Function<Long, String> mensagemNaoEncontrado) {
+        Set<T> gerenciados = new HashSet<>();
+        if (referencias == null || referencias.isEmpty()) {
+            return gerenciados;
+        }
+
+        Set<Long> ids = new LinkedHashSet<>();
+        for (T referencia : referencias) {
+            Long idReferencia = id.apply(referencia);
+            if (idReferencia == null) {
+                throw new DescricaoEmBrancoException(mensagemIdNulo);
+            }
+            ids.add(idReferencia);
+        }
+
+        Map<Long, T> encontrados = new HashMap<>();
+        for (T entidade : buscarTodos.apply(ids)) {
+            encontrados.put(id.apply(entidade), entidade);
+        }
+        for (Long idReferencia : ids) {
+            T entidade = encontrados.get(idReferencia);
+            if (entidade == null) {
+                throw new ObjetoNaoEncontradoException(mensagemNaoEncontrado.apply(idReferencia));
+            }
+            gerenciados.add(entidade);
+        }
+        return gerenciados;
+    }
+
+    static <T> Set<Long> ids(Set<T> entidades, Function<T, Long> id) {
+        return entidades.stream().map(id).collect(Collectors.toSet());
+    }
+}
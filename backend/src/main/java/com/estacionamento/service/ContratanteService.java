@@ -1,5 +1,8 @@
 package com.estacionamento.service;
 
+import com.estacionamento.busca.IndiceContratantes;
+import com.estacionamento.dto.ContratanteResumoDTO;
+import com.estacionamento.dto.PaginaListagemDTO;
 import com.estacionamento.exception.DescricaoEmBrancoException;
 import com.estacionamento.exception.ObjetoNaoEncontradoException;
 import com.estacionamento.model.Contratante;
@@ -8,6 +11,7 @@ import com.estacionamento.model.Evento;
 import com.estacionamento.repository.ContratanteRepository;
 import com.estacionamento.repository.EstacionamentoRepository;
 import com.estacionamento.repository.EventoRepository;
+import com.estacionamento.repository.VinculosContratanteRepository;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 import org.springframework.util.StringUtils;
@@ -16,21 +20,28 @@ import java.util.HashSet;
 import java.util.List;
 import java.util.Optional;
 import java.util.Set;
-import java.util.stream.Collectors;
 
 @Service
 public class ContratanteService {
 
+    private static final Set<String> CAMPOS_ORDENAVEIS = Set.of("nome", "cpfCnpj", "email");
+
     private final ContratanteRepository contratanteRepository;
     private final EstacionamentoRepository estacionamentoRepository;
     private final EventoRepository eventoRepository;
+    private final IndiceContratantes indiceContratantes;
+    private final VinculosContratanteRepository vinculosContratanteRepository;
 
     public ContratanteService(ContratanteRepository contratanteRepository,
                               EstacionamentoRepository estacionamentoRepository,
-                              EventoRepository eventoRepository) {
+                              EventoRepository eventoRepository,
+                              IndiceContratantes indiceContratantes,
+                              VinculosContratanteRepository vinculosContratanteRepository) {
         this.contratanteRepository = contratanteRepository;
         this.estacionamentoRepository = estacionamentoRepository;
         this.eventoRepository = eventoRepository;
+        this.indiceContratantes = indiceContratantes;
+        this.vinculosContratanteRepository = vinculosContratanteRepository;
     }
 
     @Transactional
@@ -52,45 +63,14 @@ public class ContratanteService {
             );
         }
 
-        Set<Estacionamento> managedEstacionamentos = new HashSet<>();
-        if (contratante.getEstacionamentos() != null && !contratante.getEstacionamentos().isEmpty()) {
-            for (Estacionamento e : contratante.getEstacionamentos()) {
-                if (e.getId() != null) {
-                    Estacionamento estacionamento = estacionamentoRepository.findById(e.getId())
-                                    .orElseThrow(() -> new ObjetoNaoEncontradoException(
-                                        "Estacionamento com ID " + e.getId() + " não encontrado para associação."
-                                    ));
-                    managedEstacionamentos.add(estacionamento);
-                } else {
-                    throw new DescricaoEmBrancoException(
-                        "ID do estacionamento não pode ser nulo ao associar a um contratante existente."
-                    );
-                }
-            }
-        }
+        Set<Estacionamento> managedEstacionamentos = carregarEstacionamentos(contratante.getEstacionamentos());
+        Set<Evento> managedEventos = carregarEventos(contratante.getEventos());
         contratante.setEstacionamentos(new HashSet<>());
-        managedEstacionamentos.forEach(contratante::addEstacionamento);
-
-        Set<Evento> managedEventos = new HashSet<>();
-        if (contratante.getEventos() != null && !contratante.getEventos().isEmpty()) {
-            for (Evento ev : contratante.getEventos()) {
-                if (ev.getId() != null) {
-                    Evento evento = eventoRepository.findById(ev.getId())
-                                    .orElseThrow(() -> new ObjetoNaoEncontradoException(
-                                        "Evento com ID " + ev.getId() + " não encontrado para associação."
-                                    ));
-                    managedEventos.add(evento);
-                } else {
-                    throw new DescricaoEmBrancoException(
-                        "ID do evento não pode ser nulo ao associar a um contratante existente."
-                    );
-                }
-            }
-        }
         contratante.setEventos(new HashSet<>());
-        managedEventos.forEach(contratante::addEvento);
 
         Contratante savedContratante = contratanteRepository.save(contratante);
+        vincular(savedContratante.getId(), managedEstacionamentos, managedEventos);
+        indiceContratantes.registrarAposCommit(resumo(savedContratante));
 
         return savedContratante;
     }
@@ -100,8 +80,24 @@ public class ContratanteService {
                 .orElseThrow(() -> new ObjetoNaoEncontradoException("Contratante com ID " + id + " não encontrado."));
     }
 
-    public List<Contratante> listarTodosContratantes() {
-        return contratanteRepository.findAll();
+    public PaginaListagemDTO<ContratanteResumoDTO> listarContratantes(Integer pagina, Integer tamanho, String ordem) {
+        return PaginaListagemDTO.de(contratanteRepository.listarResumos(
+            Paginacao.requisicao(pagina, tamanho, ordem, CAMPOS_ORDENAVEIS)));
+    }
+
+    /**
+     * Busca para o atendente por prefixo do nome ou trecho do CPF/CNPJ ou telefone, servida pelo
+     * {@link IndiceContratantes} sem consulta ao banco.
+     */
+    public List<ContratanteResumoDTO> buscarContratantes(String termo, Integer limite) {
+        if (!StringUtils.hasText(termo)) {
+            throw new DescricaoEmBrancoException("O termo de busca não pode estar em branco.");
+        }
+        int tamanho = limite != null ? limite : IndiceContratantes.LIMITE_PADRAO;
+        if (tamanho <= 0) {
+            throw new IllegalArgumentException("O limite da busca deve ser maior que zero.");
+        }
+        return indiceContratantes.buscar(termo, Math.min(tamanho, IndiceContratantes.LIMITE_MAXIMO));
     }
 
     @Transactional
@@ -134,45 +130,12 @@ public class ContratanteService {
         contratanteExistente.setEmail(contratanteAtualizadoPayload.getEmail());
         contratanteExistente.setTelefone(contratanteAtualizadoPayload.getTelefone());
 
-        Set<Long> novosEstacionamentoIdsNoPayload = contratanteAtualizadoPayload.getEstacionamentos() != null ?
-            contratanteAtualizadoPayload.getEstacionamentos().stream()
-                .map(Estacionamento::getId)
-                .collect(Collectors.toSet()) : new HashSet<>();
-
-        new HashSet<>(contratanteExistente.getEstacionamentos()).forEach(estAntigo -> {
-            if (!novosEstacionamentoIdsNoPayload.contains(estAntigo.getId())) {
-                contratanteExistente.removeEstacionamento(estAntigo);
-            }
-        });
-
-        for (Long estId : novosEstacionamentoIdsNoPayload) {
-            Estacionamento estacionamentoManaged = estacionamentoRepository.findById(estId)
-                    .orElseThrow(() -> new ObjetoNaoEncontradoException(
-                        "Estacionamento com ID " + estId + " não encontrado para associação."
-                    ));
-            contratanteExistente.addEstacionamento(estacionamentoManaged);
-        }
-
-        Set<Long> novosEventoIdsNoPayload = contratanteAtualizadoPayload.getEventos() != null ?
-            contratanteAtualizadoPayload.getEventos().stream()
-                .map(Evento::getId)
-                .collect(Collectors.toSet()) : new HashSet<>();
-
-        new HashSet<>(contratanteExistente.getEventos()).forEach(evtAntigo -> {
-            if (!novosEventoIdsNoPayload.contains(evtAntigo.getId())) {
-                contratanteExistente.removeEvento(evtAntigo);
-            }
-        });
-
-        for (Long evtId : novosEventoIdsNoPayload) {
-            Evento eventoManaged = eventoRepository.findById(evtId)
-                    .orElseThrow(() -> new ObjetoNaoEncontradoException(
-                        "Evento com ID " + evtId + " não encontrado para associação."
-                    ));
-            contratanteExistente.addEvento(eventoManaged);
-        }
+        vincular(id, carregarEstacionamentos(contratanteAtualizadoPayload.getEstacionamentos()),
+            carregarEventos(contratanteAtualizadoPayload.getEventos()));
 
-        return contratanteRepository.save(contratanteExistente);
+        Contratante salvo = contratanteRepository.save(contratanteExistente);
+        indiceContratantes.registrarAposCommit(resumo(salvo));
+        return salvo;
     }
 
     @Transactional
@@ -191,6 +154,39 @@ public class ContratanteService {
         );
 
         contratanteRepository.delete(contratante);
+        indiceContratantes.removerAposCommit(id);
+    }
+
+    /**
+     * Grava os vínculos do contratante como a lista pedida, com a diferença para os atuais aplicada em lote
+     * pelo {@link VinculosContratanteRepository}. As coleções mapeadas do contratante e as inversas dos
+     * estacionamentos e eventos não são tocadas, então nenhuma delas é carregada.
+     */
+    private void vincular(Long contratanteId, Set<Estacionamento> estacionamentos, Set<Evento> eventos) {
+        vinculosContratanteRepository.substituirEstacionamentos(contratanteId,
+            Associacoes.ids(estacionamentos, Estacionamento::getId));
+        vinculosContratanteRepository.substituirEventos(contratanteId, Associacoes.ids(eventos, Evento::getId));
+    }
+
+    private Set<Estacionamento> carregarEstacionamentos(Set<Estacionamento> estacionamentos) {
+        return Associacoes.carregar(
+            estacionamentos, Estacionamento::getId, estacionamentoRepository::findAllById,
+            "ID do estacionamento não pode ser nulo ao associar a um contratante existente.",
+            estacionamentoId -> "Estacionamento com ID " + estacionamentoId + " não encontrado para associação."
+        );
+    }
+
+    private Set<Evento> carregarEventos(Set<Evento> eventos) {
+        return Associacoes.carregar(
+            eventos, Evento::getId, eventoRepository::findAllById,
+            "ID do evento não pode ser nulo ao associar a um contratante existente.",
+            eventoId -> "Evento com ID " + eventoId + " não encontrado para associação."
+        );
+    }
+
+    private static ContratanteResumoDTO resumo(Contratante contratante) {
+        return new ContratanteResumoDTO(contratante.getId(), contratante.getNome(), contratante.getCpfCnpj(),
+            contratante.getEmail(), contratante.getTelefone());
     }
 
     private void validarContratante(Contratante contratante) {
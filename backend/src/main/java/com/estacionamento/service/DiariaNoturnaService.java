@@ -1,23 +1,34 @@
 package com.estacionamento.service;
 
+import com.estacionamento.cache.CacheTarifas;
+import com.estacionamento.dto.DiariaNoturnaResumoDTO;
+import com.estacionamento.dto.PaginaListagemDTO;
 import com.estacionamento.exception.DescricaoEmBrancoException;
 import com.estacionamento.exception.ObjetoNaoEncontradoException;
 import com.estacionamento.model.DiariaNoturna;
 import com.estacionamento.repository.DiariaNoturnaRepository;
+import com.estacionamento.tarifa.MotorTarifario;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.math.BigDecimal;
 import java.math.RoundingMode;
-import java.util.List;
+import java.util.Set;
 
 @Service
 public class DiariaNoturnaService {
 
+    private static final Set<String> CAMPOS_ORDENAVEIS = Set.of("horaInicio", "adicionalNoturno");
+
     private final DiariaNoturnaRepository diariaNoturnaRepository;
+    private final MotorTarifario motorTarifario;
+    private final CacheTarifas cacheTarifas;
 
-    public DiariaNoturnaService(DiariaNoturnaRepository diariaNoturnaRepository) {
+    public DiariaNoturnaService(DiariaNoturnaRepository diariaNoturnaRepository, MotorTarifario motorTarifario,
+                                CacheTarifas cacheTarifas) {
         this.diariaNoturnaRepository = diariaNoturnaRepository;
+        this.motorTarifario = motorTarifario;
+        this.cacheTarifas = cacheTarifas;
     }
 
     public DiariaNoturna buscarDiariaNoturnaPorId(Long id) {
@@ -27,8 +38,11 @@ public class DiariaNoturnaService {
                 ));
     }
 
-    public List<DiariaNoturna> listarTodasDiariasNoturnas() {
-        return diariaNoturnaRepository.findAll();
+    public PaginaListagemDTO<DiariaNoturnaResumoDTO> listarDiariasNoturnas(
+        Integer pagina, Integer tamanho, String ordem
+    ) {
+        return PaginaListagemDTO.de(diariaNoturnaRepository.listarResumos(
+            Paginacao.requisicao(pagina, tamanho, ordem, CAMPOS_ORDENAVEIS)));
     }
 
     @Transactional
@@ -60,7 +74,10 @@ public class DiariaNoturnaService {
         diariaNoturnaExistente.setAdicionalNoturno(diariaNoturnaAtualizada.getAdicionalNoturno().setScale(
             2, RoundingMode.HALF_UP));
 
-        return diariaNoturnaRepository.save(diariaNoturnaExistente);
+        DiariaNoturna diariaNoturnaSalva = diariaNoturnaRepository.save(diariaNoturnaExistente);
+        motorTarifario.invalidarDiaria(id);
+        cacheTarifas.invalidarDiaria(id);
+        return diariaNoturnaSalva;
     }
 
     public void deletarDiariaNoturna(Long id) {
@@ -70,5 +87,7 @@ public class DiariaNoturnaService {
             );
         }
         diariaNoturnaRepository.deleteById(id);
+        motorTarifario.invalidarDiaria(id);
+        cacheTarifas.invalidarDiaria(id);
     }
 }
\ No newline at end of file
@@ -1,28 +1,40 @@
 package com.estacionamento.service;
 
+import com.estacionamento.cache.CacheTarifas;
+import com.estacionamento.dto.DiariaResumoDTO;
+import com.estacionamento.dto.PaginaListagemDTO;
 import com.estacionamento.exception.DescricaoEmBrancoException;
 import com.estacionamento.exception.ObjetoNaoEncontradoException;
 import com.estacionamento.model.Diaria;
 import com.estacionamento.model.DiariaNoturna;
 import com.estacionamento.repository.DiariaNoturnaRepository;
 import com.estacionamento.repository.DiariaRepository;
+import com.estacionamento.tarifa.MotorTarifario;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 import org.springframework.util.StringUtils;
 
 import java.math.BigDecimal;
-import java.util.List;
+import java.util.Set;
 
 @Service
 public class DiariaService {
 
+    private static final Set<String> CAMPOS_ORDENAVEIS = Set.of("tipo", "valor");
+
     private final DiariaRepository diariaRepository;
     private final DiariaNoturnaRepository diariaNoturnaRepository;
+    private final MotorTarifario motorTarifario;
+    private final CacheTarifas cacheTarifas;
 
     public DiariaService(DiariaRepository diariaRepository,
-                         DiariaNoturnaRepository diariaNoturnaRepository) {
+                         DiariaNoturnaRepository diariaNoturnaRepository,
+                         MotorTarifario motorTarifario,
+                         CacheTarifas cacheTarifas) {
         this.diariaRepository = diariaRepository;
         this.diariaNoturnaRepository = diariaNoturnaRepository;
+        this.motorTarifario = motorTarifario;
+        this.cacheTarifas = cacheTarifas;
     }
 
     @Transactional
@@ -54,11 +66,13 @@ public class DiariaService {
             diaria.getDiariaNoturna().setDiaria(savedDiaria);
             diariaNoturnaRepository.save(diaria.getDiariaNoturna());
         }
+        cacheTarifas.invalidarDiaria(savedDiaria.getId());
         return savedDiaria;
     }
 
-    public List<Diaria> listarTodasDiarias() {
-        return diariaRepository.findAll();
+    public PaginaListagemDTO<DiariaResumoDTO> listarDiarias(Integer pagina, Integer tamanho, String ordem) {
+        return PaginaListagemDTO.de(diariaRepository.listarResumos(
+            Paginacao.requisicao(pagina, tamanho, ordem, CAMPOS_ORDENAVEIS)));
     }
 
     public Diaria buscarDiariaPorId(Long id) {
@@ -119,7 +133,10 @@ public class DiariaService {
             }
         }
 
-        return diariaRepository.save(diariaExistente);
+        Diaria diariaSalva = diariaRepository.save(diariaExistente);
+        motorTarifario.invalidarDiaria(id);
+        cacheTarifas.invalidarDiaria(id);
+        return diariaSalva;
     }
 
     @Transactional
@@ -129,5 +146,7 @@ public class DiariaService {
                     "Diária com ID " + id + " não encontrada para exclusão."));
 
         diariaRepository.delete(diaria);
+        motorTarifario.invalidarDiaria(id);
+        cacheTarifas.invalidarDiaria(id);
     }
 }
\ No newline at end of file
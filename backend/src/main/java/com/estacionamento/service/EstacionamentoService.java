@@ -1,30 +1,44 @@
 package com.estacionamento.service;
 
+import com.estacionamento.dto.EstacionamentoResumoDTO;
+import com.estacionamento.dto.OcupacaoDTO;
+import com.estacionamento.dto.PaginaListagemDTO;
 import com.estacionamento.exception.DescricaoEmBrancoException;
 import com.estacionamento.exception.ObjetoNaoEncontradoException;
 import com.estacionamento.model.Contratante;
 import com.estacionamento.model.Estacionamento;
+import com.estacionamento.ocupacao.IndiceOcupacao;
 import com.estacionamento.repository.ContratanteRepository;
 import com.estacionamento.repository.EstacionamentoRepository;
+import com.estacionamento.repository.VinculosContratanteRepository;
+import com.estacionamento.reserva.ReservasVagas;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 import org.springframework.util.StringUtils;
 
-import java.util.HashSet;
-import java.util.List;
 import java.util.Optional;
 import java.util.Set;
 
 @Service
 public class EstacionamentoService {
 
+    private static final Set<String> CAMPOS_ORDENAVEIS = Set.of("nome", "capacidade");
+
     private final EstacionamentoRepository estacionamentoRepository;
     private final ContratanteRepository contratanteRepository;
+    private final IndiceOcupacao indiceOcupacao;
+    private final ReservasVagas reservasVagas;
+    private final VinculosContratanteRepository vinculosContratanteRepository;
 
     public EstacionamentoService(
-        EstacionamentoRepository estacionamentoRepository, ContratanteRepository contratanteRepository) {
+        EstacionamentoRepository estacionamentoRepository, ContratanteRepository contratanteRepository,
+        IndiceOcupacao indiceOcupacao, ReservasVagas reservasVagas,
+        VinculosContratanteRepository vinculosContratanteRepository) {
         this.estacionamentoRepository = estacionamentoRepository;
         this.contratanteRepository = contratanteRepository;
+        this.indiceOcupacao = indiceOcupacao;
+        this.reservasVagas = reservasVagas;
+        this.vinculosContratanteRepository = vinculosContratanteRepository;
     }
 
     @Transactional
@@ -56,27 +70,18 @@ public class EstacionamentoService {
             );
         }
 
-        Set<Contratante> managedContratantes = new HashSet<>();
-        if (estacionamento.getContratantes() != null && !estacionamento.getContratantes().isEmpty()) {
-            for (Contratante c : estacionamento.getContratantes()) {
-                if (c.getId() != null) {
-                    Contratante contratante = contratanteRepository.findById(c.getId())
-                            .orElseThrow(() -> new ObjetoNaoEncontradoException(
-                                "Contratante com ID " + c.getId() + " não encontrado."
-                            ));
-                    managedContratantes.add(contratante);
-                } else {
-                    throw new DescricaoEmBrancoException(
-                        "ID do contratante não pode ser nulo ao associar a um estacionamento existente."
-                    );
-                }
-            }
-        }
+        Set<Contratante> managedContratantes = Associacoes.carregar(
+            estacionamento.getContratantes(), Contratante::getId, contratanteRepository::findAllById,
+            "ID do contratante não pode ser nulo ao associar a um estacionamento existente.",
+            contratanteId -> "Contratante com ID " + contratanteId + " não encontrado."
+        );
         estacionamento.setContratantes(managedContratantes);
+        estacionamento.setVersao(null);
 
         Estacionamento savedEstacionamento = estacionamentoRepository.save(estacionamento);
-        savedEstacionamento.getContratantes().forEach(contratante -> 
-        contratante.getEstacionamentos().add(savedEstacionamento));
+        vincular(savedEstacionamento.getId(), managedContratantes);
+        indiceOcupacao.registrarCapacidadeAposCommit(
+            savedEstacionamento.getId(), savedEstacionamento.getCapacidade());
 
         return savedEstacionamento;
     }
@@ -88,16 +93,36 @@ public class EstacionamentoService {
                 ));
     }
 
-    public List<Estacionamento> listarTodosEstacionamentos() {
-        return estacionamentoRepository.findAll();
+    public OcupacaoDTO buscarOcupacao(Long id) {
+        OcupacaoDTO ocupacao = indiceOcupacao.consultar(id);
+        if (ocupacao != null) {
+            return ocupacao;
+        }
+        Estacionamento estacionamento = buscarEstacionamentoPorId(id);
+        indiceOcupacao.registrarCapacidade(id, estacionamento.getCapacidade());
+        return indiceOcupacao.consultar(id);
+    }
+
+    public PaginaListagemDTO<EstacionamentoResumoDTO> listarEstacionamentos(
+        Integer pagina, Integer tamanho, String ordem
+    ) {
+        return PaginaListagemDTO.de(estacionamentoRepository.listarResumos(
+            Paginacao.requisicao(pagina, tamanho, ordem, CAMPOS_ORDENAVEIS)));
     }
 
+    /**
+     * Substitui o estacionamento pelo payload, que precisa trazer a {@code versao} lida antes ({@link Versoes}). Uma
+     * escrita concorrente que grave primeiro faz o commit falhar no bloqueio otimista; a atualização não é
+     * refeita, porque o payload foi montado sobre o estado antigo.
+     */
     @Transactional
     public Estacionamento atualizarEstacionamento(Long id, Estacionamento estacionamentoAtualizado) {
         Estacionamento estacionamentoExistente = estacionamentoRepository.findById(id)
                 .orElseThrow(() -> new ObjetoNaoEncontradoException(
                     "Estacionamento com ID " + id + " não encontrado para atualização."
                 ));
+        Versoes.conferir(estacionamentoAtualizado.getVersao(), estacionamentoExistente.getVersao(), id,
+            "Estacionamento");
 
         if (!StringUtils.hasText(estacionamentoAtualizado.getNome())) {
             throw new DescricaoEmBrancoException("O nome do estacionamento não pode estar em branco na atualização.");
@@ -138,33 +163,15 @@ public class EstacionamentoService {
         estacionamentoExistente.setHoraAbertura(estacionamentoAtualizado.getHoraAbertura());
         estacionamentoExistente.setHoraFechamento(estacionamentoAtualizado.getHoraFechamento());
 
-        Set<Contratante> newManagedContratantes = new HashSet<>();
-        if (estacionamentoAtualizado.getContratantes() != null) {
-            for (Contratante c : estacionamentoAtualizado.getContratantes()) {
-                if (c.getId() != null) {
-                    Contratante contratante = contratanteRepository.findById(c.getId())
-                            .orElseThrow(() -> new ObjetoNaoEncontradoException(
-                                "Contratante com ID " + c.getId() + " não encontrado para associação."
-                            ));
-                    newManagedContratantes.add(contratante);
-                } else {
-                    throw new DescricaoEmBrancoException(
-                        "ID do contratante não pode ser nulo ao associar a um estacionamento existente."
-                    );
-                }
-            }
-        }
-
-        Set<Contratante> contratantesParaRemover = new HashSet<>(estacionamentoExistente.getContratantes());
-        contratantesParaRemover.removeAll(newManagedContratantes);
-        contratantesParaRemover.forEach(contratante -> contratante.removeEstacionamento(estacionamentoExistente));
+        Set<Contratante> newManagedContratantes = Associacoes.carregar(
+            estacionamentoAtualizado.getContratantes(), Contratante::getId, contratanteRepository::findAllById,
+            "ID do contratante não pode ser nulo ao associar a um estacionamento existente.",
+            contratanteId -> "Contratante com ID " + contratanteId + " não encontrado para associação."
+        );
 
-        newManagedContratantes.forEach(contratante -> {
-            if (!estacionamentoExistente.getContratantes().contains(contratante)) {
-                contratante.addEstacionamento(estacionamentoExistente);
-            }
-        });
+        vincular(id, newManagedContratantes);
         estacionamentoExistente.setContratantes(newManagedContratantes);
+        indiceOcupacao.registrarCapacidadeAposCommit(id, estacionamentoExistente.getCapacidade());
 
         return estacionamentoRepository.save(estacionamentoExistente);
     }
@@ -176,9 +183,18 @@ public class EstacionamentoService {
                     "Estacionamento com ID " + id + " não encontrado para exclusão."
                 ));
 
-        Set<Contratante> contratantesCopia = new HashSet<>(estacionamento.getContratantes());
-        contratantesCopia.forEach(contratante -> contratante.removeEstacionamento(estacionamento));
-
+        vinculosContratanteRepository.removerEstacionamento(id);
         estacionamentoRepository.delete(estacionamento);
+        indiceOcupacao.removerAposCommit(id);
+        reservasVagas.removerEstacionamentoAposCommit(id);
+    }
+
+    /**
+     * Grava os contratantes do estacionamento pelo {@link VinculosContratanteRepository}, sem carregar a
+     * coleção de estacionamentos de cada contratante, que é o lado dono do vínculo no mapeamento.
+     */
+    private void vincular(Long estacionamentoId, Set<Contratante> contratantes) {
+        vinculosContratanteRepository.substituirContratantesDoEstacionamento(estacionamentoId,
+            Associacoes.ids(contratantes, Contratante::getId));
     }
 }
@@ -1,29 +1,45 @@
 package com.estacionamento.service;
 
+import com.estacionamento.dto.EventoDTO;
+import com.estacionamento.dto.EventoResumoDTO;
+import com.estacionamento.dto.PaginaListagemDTO;
 import com.estacionamento.exception.DescricaoEmBrancoException;
 import com.estacionamento.exception.ObjetoNaoEncontradoException;
 import com.estacionamento.model.Contratante;
+import com.estacionamento.model.Estacionamento;
 import com.estacionamento.model.Evento;
 import com.estacionamento.repository.ContratanteRepository;
+import com.estacionamento.repository.EstacionamentoRepository;
 import com.estacionamento.repository.EventoRepository;
+import com.estacionamento.repository.VinculosContratanteRepository;
+import com.estacionamento.reserva.Reserva;
+import com.estacionamento.reserva.ReservasVagas;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 import org.springframework.util.StringUtils;
 
 import java.time.LocalDateTime;
-import java.util.HashSet;
-import java.util.List;
 import java.util.Set;
 
 @Service
 public class EventoService {
 
+    private static final Set<String> CAMPOS_ORDENAVEIS = Set.of("nomeEvento", "dataInicio");
+
     private final EventoRepository eventoRepository;
     private final ContratanteRepository contratanteRepository;
+    private final EstacionamentoRepository estacionamentoRepository;
+    private final ReservasVagas reservasVagas;
+    private final VinculosContratanteRepository vinculosContratanteRepository;
 
-    public EventoService(EventoRepository eventoRepository, ContratanteRepository contratanteRepository) {
+    public EventoService(EventoRepository eventoRepository, ContratanteRepository contratanteRepository,
+                         EstacionamentoRepository estacionamentoRepository, ReservasVagas reservasVagas,
+                         VinculosContratanteRepository vinculosContratanteRepository) {
         this.eventoRepository = eventoRepository;
         this.contratanteRepository = contratanteRepository;
+        this.estacionamentoRepository = estacionamentoRepository;
+        this.reservasVagas = reservasVagas;
+        this.vinculosContratanteRepository = vinculosContratanteRepository;
     }
 
     @Transactional
@@ -53,37 +69,29 @@ public class EventoService {
             );
         }
 
-        Set<Contratante> managedContratantes = new HashSet<>();
-        if (evento.getContratantes() != null && !evento.getContratantes().isEmpty()) {
-            for (Contratante c : evento.getContratantes()) {
-                if (c.getId() != null) {
-                    Contratante contratante = contratanteRepository.findById(c.getId())
-                            .orElseThrow(() -> new ObjetoNaoEncontradoException(
-                                "Contratante com ID " + c.getId() + " não encontrado."
-                            ));
-                    managedContratantes.add(contratante);
-                } else {
-                    throw new DescricaoEmBrancoException(
-                        "ID do contratante não pode ser nulo ao associar a um evento existente."
-                );
-                }
-            }
-        }
+        Set<Contratante> managedContratantes = Associacoes.carregar(
+            evento.getContratantes(), Contratante::getId, contratanteRepository::findAllById,
+            "ID do contratante não pode ser nulo ao associar a um evento existente.",
+            contratanteId -> "Contratante com ID " + contratanteId + " não encontrado."
+        );
         evento.setContratantes(managedContratantes);
+        aplicarReserva(evento, evento);
 
         Evento savedEvento = eventoRepository.save(evento);
-        savedEvento.getContratantes().forEach(contratante -> contratante.getEventos().add(savedEvento));
+        vincular(savedEvento.getId(), managedContratantes);
+        reservasVagas.registrarAposCommit(savedEvento.getId(), Reserva.de(savedEvento));
 
         return savedEvento;
     }
 
-    public Evento buscarEventoPorId(Long id) {
-        return eventoRepository.findById(id)
+    public EventoDTO buscarEventoPorId(Long id) {
+        return eventoRepository.buscarDetalhe(id)
                 .orElseThrow(() -> new ObjetoNaoEncontradoException("Evento com ID " + id + " não encontrado."));
     }
 
-    public List<Evento> listarTodosEventos() {
-        return eventoRepository.findAll();
+    public PaginaListagemDTO<EventoResumoDTO> listarEventos(Integer pagina, Integer tamanho, String ordem) {
+        return PaginaListagemDTO.de(eventoRepository.listarResumos(
+            Paginacao.requisicao(pagina, tamanho, ordem, CAMPOS_ORDENAVEIS)));
     }
 
     @Transactional
@@ -119,35 +127,19 @@ public class EventoService {
         eventoExistente.setDataInicio(eventoAtualizado.getDataInicio());
         eventoExistente.setDataFim(eventoAtualizado.getDataFim());
 
-        Set<Contratante> newManagedContratantes = new HashSet<>();
-        if (eventoAtualizado.getContratantes() != null) {
-            for (Contratante c : eventoAtualizado.getContratantes()) {
-                if (c.getId() != null) {
-                    Contratante contratante = contratanteRepository.findById(c.getId())
-                            .orElseThrow(() -> new ObjetoNaoEncontradoException(
-                                "Contratante com ID " + c.getId() + " não encontrado para associação."
-                            ));
-                    newManagedContratantes.add(contratante);
-                } else {
-                    throw new DescricaoEmBrancoException(
-                        "ID do contratante não pode ser nulo ao associar a um evento existente."
-                    );
-                }
-            }
-        }
-
-        Set<Contratante> contratantesParaRemover = new HashSet<>(eventoExistente.getContratantes());
-        contratantesParaRemover.removeAll(newManagedContratantes);
-        contratantesParaRemover.forEach(contratante -> contratante.removeEvento(eventoExistente));
+        Set<Contratante> newManagedContratantes = Associacoes.carregar(
+            eventoAtualizado.getContratantes(), Contratante::getId, contratanteRepository::findAllById,
+            "ID do contratante não pode ser nulo ao associar a um evento existente.",
+            contratanteId -> "Contratante com ID " + contratanteId + " não encontrado para associação."
+        );
 
-        newManagedContratantes.forEach(contratante -> {
-            if (!eventoExistente.getContratantes().contains(contratante)) {
-                contratante.addEvento(eventoExistente);
-            }
-        });
+        vincular(id, newManagedContratantes);
         eventoExistente.setContratantes(newManagedContratantes);
+        aplicarReserva(eventoExistente, eventoAtualizado);
 
-        return eventoRepository.save(eventoExistente);
+        Evento salvo = eventoRepository.save(eventoExistente);
+        reservasVagas.registrarAposCommit(salvo.getId(), Reserva.de(salvo));
+        return salvo;
     }
 
     @Transactional
@@ -157,9 +149,47 @@ public class EventoService {
                     "Evento com ID " + id + " não encontrado para exclusão."
                 ));
 
-        Set<Contratante> contratantesCopia = new HashSet<>(evento.getContratantes());
-        contratantesCopia.forEach(contratante -> contratante.removeEvento(evento));
-
+        vinculosContratanteRepository.removerEvento(id);
         eventoRepository.delete(evento);
+        reservasVagas.removerAposCommit(id);
+    }
+
+    /**
+     * Grava os contratantes do evento pelo {@link VinculosContratanteRepository}, sem carregar a coleção de
+     * eventos de cada contratante, que é o lado dono do vínculo no mapeamento.
+     */
+    private void vincular(Long eventoId, Set<Contratante> contratantes) {
+        vinculosContratanteRepository.substituirContratantesDoEvento(eventoId,
+            Associacoes.ids(contratantes, Contratante::getId));
+    }
+
+    /**
+     * Copia para {@code destino} o estacionamento e as vagas reservadas de {@code origem}. Vagas reservadas
+     * exigem um estacionamento existente e não podem passar da capacidade dele.
+     */
+    private void aplicarReserva(Evento destino, Evento origem) {
+        Integer vagas = origem.getVagasReservadas();
+        if (vagas != null && vagas < 0) {
+            throw new IllegalArgumentException("As vagas reservadas do evento não podem ser negativas.");
+        }
+        Estacionamento estacionamento = null;
+        if (origem.getEstacionamento() != null && origem.getEstacionamento().getId() != null) {
+            Long estacionamentoId = origem.getEstacionamento().getId();
+            estacionamento = estacionamentoRepository.findById(estacionamentoId)
+                .orElseThrow(() -> new ObjetoNaoEncontradoException(
+                    "Estacionamento com ID " + estacionamentoId + " não encontrado."));
+        }
+        if (vagas != null && vagas > 0) {
+            if (estacionamento == null) {
+                throw new DescricaoEmBrancoException(
+                    "O estacionamento do evento não pode ser nulo quando há vagas reservadas.");
+            }
+            if (estacionamento.getCapacidade() != null && vagas > estacionamento.getCapacidade()) {
+                throw new IllegalArgumentException(
+                    "As vagas reservadas do evento não podem passar da capacidade do estacionamento.");
+            }
+        }
+        destino.setEstacionamento(estacionamento);
+        destino.setVagasReservadas(vagas);
     }
 }
\ No newline at end of file
@@ -0,0 +1,71 @@
+package com.estacionamento.service;
+
+import com.estacionamento.dto.FaturamentoPeriodoDTO;
+import com.estacionamento.exception.ObjetoNaoEncontradoException;
+import com.estacionamento.faturamento.PeriodoFaturamento;
+import com.estacionamento.model.FaturamentoDiario;
+import com.estacionamento.repository.EstacionamentoRepository;
+import com.estacionamento.repository.FaturamentoDiarioRepository;
+import org.springframework.stereotype.Service;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+@Service
+public class FaturamentoService {
+
+    private final FaturamentoDiarioRepository faturamentoDiarioRepository;
+    private final EstacionamentoRepository estacionamentoRepository;
+
+    public FaturamentoService(FaturamentoDiarioRepository faturamentoDiarioRepository,
+                              EstacionamentoRepository estacionamentoRepository) {
+        this.faturamentoDiarioRepository = faturamentoDiarioRepository;
+        this.estacionamentoRepository = estacionamentoRepository;
+    }
+
+    /**
+     * Faturamento do estacionamento agrupado por dia, semana ou mês, lido dos buckets diários: o custo
+     * depende do número de dias no intervalo, não do número de acessos.
+     */
+    public List<FaturamentoPeriodoDTO> consultar(Long estacionamentoId, PeriodoFaturamento periodo,
+                                                 LocalDate dataInicial, LocalDate dataFinal) {
+        if (!estacionamentoRepository.existsById(estacionamentoId)) {
+            throw new ObjetoNaoEncontradoException("Estacionamento com ID " + estacionamentoId + " não encontrado.");
+        }
+        PeriodoFaturamento agrupamento = periodo != null ? periodo : PeriodoFaturamento.DIA;
+        LocalDate fim = dataFinal != null ? dataFinal : LocalDate.now();
+        LocalDate inicio = dataInicial != null ? dataInicial : agrupamento.inicioPadrao(fim);
+        if (fim.isBefore(inicio)) {
+            throw new IllegalArgumentException("A data final não pode ser anterior à data inicial.");
+        }
+
+        Map<LocalDate, Acumulado> porPeriodo = new TreeMap<>();
+        for (FaturamentoDiario bucket : faturamentoDiarioRepository.findByEstacionamentoIdAndDiaBetweenOrderByDia(
+            estacionamentoId, inicio, fim)) {
+            porPeriodo.computeIfAbsent(agrupamento.inicio(bucket.getDia()), d -> new Acumulado()).somar(bucket);
+        }
+
+        List<FaturamentoPeriodoDTO> resultado = new ArrayList<>(porPeriodo.size());
+        porPeriodo.forEach((inicioPeriodo, acumulado) -> resultado.add(new FaturamentoPeriodoDTO(
+            inicioPeriodo, agrupamento.fim(inicioPeriodo), acumulado.valorTotal, acumulado.quantidade,
+            acumulado.porTipoAcesso
+        )));
+        return resultado;
+    }
+
+    private static final class Acumulado {
+        private BigDecimal valorTotal = BigDecimal.ZERO;
+        private long quantidade;
+        private final Map<String, BigDecimal> porTipoAcesso = new TreeMap<>();
+
+        void somar(FaturamentoDiario bucket) {
+            valorTotal = valorTotal.add(bucket.getValorTotal());
+            quantidade += bucket.getQuantidade();
+            porTipoAcesso.merge(bucket.getTipoAcesso(), bucket.getValorTotal(), BigDecimal::add);
+        }
+    }
+}
@@ -1,5 +1,8 @@
 package com.estacionamento.service;
 
+import com.estacionamento.cache.CacheTarifas;
+import com.estacionamento.dto.MensalistaResumoDTO;
+import com.estacionamento.dto.PaginaListagemDTO;
 import com.estacionamento.exception.DescricaoEmBrancoException;
 import com.estacionamento.exception.ObjetoNaoEncontradoException;
 import com.estacionamento.model.Mensalista;
@@ -8,15 +11,19 @@ import org.springframework.stereotype.Service;
 
 import java.math.BigDecimal;
 import java.math.RoundingMode;
-import java.util.List;
+import java.util.Set;
 
 @Service
 public class MensalistaService {
 
+    private static final Set<String> CAMPOS_ORDENAVEIS = Set.of("valor", "periodoMeses");
+
     private final MensalistaRepository mensalistaRepository;
+    private final CacheTarifas cacheTarifas;
 
-    public MensalistaService(MensalistaRepository mensalistaRepository) {
+    public MensalistaService(MensalistaRepository mensalistaRepository, CacheTarifas cacheTarifas) {
         this.mensalistaRepository = mensalistaRepository;
+        this.cacheTarifas = cacheTarifas;
     }
 
     public Mensalista criarMensalista(Mensalista mensalista) {
@@ -29,7 +36,9 @@ public class MensalistaService {
 
         mensalista.setValor(mensalista.getValor().setScale(2, RoundingMode.HALF_UP));
 
-        return mensalistaRepository.save(mensalista);
+        Mensalista mensalistaSalvo = mensalistaRepository.save(mensalista);
+        cacheTarifas.invalidarMensalista(mensalistaSalvo.getId());
+        return mensalistaSalvo;
     }
 
     public Mensalista buscarMensalistaPorId(Long id) {
@@ -39,8 +48,9 @@ public class MensalistaService {
                 ));
     }
 
-    public List<Mensalista> listarTodosMensalistas() {
-        return mensalistaRepository.findAll();
+    public PaginaListagemDTO<MensalistaResumoDTO> listarMensalistas(Integer pagina, Integer tamanho, String ordem) {
+        return PaginaListagemDTO.de(mensalistaRepository.listarResumos(
+            Paginacao.requisicao(pagina, tamanho, ordem, CAMPOS_ORDENAVEIS)));
     }
 
     public Mensalista atualizarMensalista(Long id, Mensalista mensalistaAtualizado) {
@@ -61,7 +71,9 @@ public class MensalistaService {
         mensalistaExistente.setPeriodoMeses(mensalistaAtualizado.getPeriodoMeses());
         mensalistaExistente.setDescricao(mensalistaAtualizado.getDescricao());
 
-        return mensalistaRepository.save(mensalistaExistente);
+        Mensalista mensalistaSalvo = mensalistaRepository.save(mensalistaExistente);
+        cacheTarifas.invalidarMensalista(id);
+        return mensalistaSalvo;
     }
 
     public void deletarMensalista(Long id) {
@@ -71,5 +83,6 @@ public class MensalistaService {
             );
         }
         mensalistaRepository.deleteById(id);
+        cacheTarifas.invalidarMensalista(id);
     }
 }
\ No newline at end of file
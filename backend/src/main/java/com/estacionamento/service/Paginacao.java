@@ -0,0 +1,57 @@
+package com.estacionamento.service;
+
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+
+import java.util.Set;
+
+/**
+ * Monta o {@link Pageable} das listagens dos cadastros a partir dos parâmetros da requisição. {@code ordem}
+ * é {@code campo} ou {@code campo,desc}, restrito aos campos exibidos na listagem; o ID entra sempre como
+ * desempate para que a mesma linha não apareça em duas páginas. Tamanhos acima de {@link #TAMANHO_MAXIMO}
+ * são reduzidos a ele, como o {@code limite} da listagem de acessos.
+ */
+public final class Paginacao {
+
+    public static final int TAMANHO_PADRAO = 20;
+    public static final int TAMANHO_MAXIMO = 100;
+
+    private static final String ID = "id";
+
+    private Paginacao() {
+    }
+
+    public static Pageable requisicao(Integer pagina, Integer tamanho, String ordem, Set<String> camposOrdenaveis) {
+        int numero = pagina != null ? pagina : 0;
+        if (numero < 0) {
+            throw new IllegalArgumentException("A página deve ser maior ou igual a zero.");
+        }
+        int itensPorPagina = tamanho != null ? tamanho : TAMANHO_PADRAO;
+        if (itensPorPagina <= 0) {
+            throw new IllegalArgumentException("O tamanho da página deve ser maior que zero.");
+        }
+        return PageRequest.of(numero, Math.min(itensPorPagina, TAMANHO_MAXIMO), ordenacao(ordem, camposOrdenaveis));
+    }
+
+    private static Sort ordenacao(String ordem, Set<String> camposOrdenaveis) {
+        if (ordem == null || ordem.isBlank()) {
+            return Sort.by(ID);
+        }
+        String[] partes = ordem.split(",", -1);
+        if (partes.length > 2) {
+            throw new IllegalArgumentException("Ordem inválida: " + ordem);
+        }
+        String campo = partes[0].trim();
+        if (!campo.equals(ID) && !camposOrdenaveis.contains(campo)) {
+            throw new IllegalArgumentException("Não é possível ordenar por '" + campo + "'.");
+        }
+        Sort.Direction direcao = Sort.Direction.ASC;
+        if (partes.length == 2) {
+            direcao = Sort.Direction.fromOptionalString(partes[1].trim())
+                .orElseThrow(() -> new IllegalArgumentException("Direção de ordem inválida: " + partes[1].trim()));
+        }
+        Sort sort = Sort.by(direcao, campo);
+        return campo.equals(ID) ? sort : sort.and(Sort.by(ID));
+    }
+}
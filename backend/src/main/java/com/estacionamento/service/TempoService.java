@@ -1,22 +1,33 @@
 package com.estacionamento.service;
 
+import com.estacionamento.cache.CacheTarifas;
+import com.estacionamento.dto.PaginaListagemDTO;
+import com.estacionamento.dto.TempoResumoDTO;
 import com.estacionamento.exception.DescricaoEmBrancoException;
 import com.estacionamento.exception.ObjetoNaoEncontradoException;
 import com.estacionamento.model.Tempo;
 import com.estacionamento.repository.TempoRepository;
+import com.estacionamento.tarifa.MotorTarifario;
 import org.springframework.stereotype.Service;
 
 import java.math.BigDecimal;
 import java.math.RoundingMode;
-import java.util.List;
+import java.util.Set;
 
 @Service
 public class TempoService {
 
+    private static final Set<String> CAMPOS_ORDENAVEIS = Set.of("duracao", "valorFracao");
+
     private final TempoRepository tempoRepository;
+    private final MotorTarifario motorTarifario;
+    private final CacheTarifas cacheTarifas;
 
-    public TempoService(TempoRepository tempoRepository) {
+    public TempoService(TempoRepository tempoRepository, MotorTarifario motorTarifario,
+                        CacheTarifas cacheTarifas) {
         this.tempoRepository = tempoRepository;
+        this.motorTarifario = motorTarifario;
+        this.cacheTarifas = cacheTarifas;
     }
 
     public Tempo criarTempo(Tempo tempo) {
@@ -33,7 +44,9 @@ public class TempoService {
             tempo.setDesconto(BigDecimal.ZERO);
         }
 
-        return tempoRepository.save(tempo);
+        Tempo tempoSalvo = tempoRepository.save(tempo);
+        cacheTarifas.invalidarTempo(tempoSalvo.getId());
+        return tempoSalvo;
     }
 
     public Tempo buscarTempoPorId(Long id) {
@@ -43,8 +56,9 @@ public class TempoService {
                 ));
     }
 
-    public List<Tempo> listarTodosTempos() {
-        return tempoRepository.findAll();
+    public PaginaListagemDTO<TempoResumoDTO> listarTempos(Integer pagina, Integer tamanho, String ordem) {
+        return PaginaListagemDTO.de(tempoRepository.listarResumos(
+            Paginacao.requisicao(pagina, tamanho, ordem, CAMPOS_ORDENAVEIS)));
     }
 
     public Tempo atualizarTempo(Long id, Tempo tempoAtualizado) {
@@ -68,7 +82,10 @@ public class TempoService {
             tempoExistente.setDesconto(BigDecimal.ZERO);
         }
 
-        return tempoRepository.save(tempoExistente);
+        Tempo tempoSalvo = tempoRepository.save(tempoExistente);
+        motorTarifario.invalidarTempo(id);
+        cacheTarifas.invalidarTempo(id);
+        return tempoSalvo;
     }
 
     public void deletarTempo(Long id) {
@@ -78,5 +95,7 @@ public class TempoService {
             );
         }
         tempoRepository.deleteById(id);
+        motorTarifario.invalidarTempo(id);
+        cacheTarifas.invalidarTempo(id);
     }
 }
\ No newline at end of file
@@ -1,22 +1,30 @@
 package com.estacionamento.service;
 
+import com.estacionamento.cache.CachePlacas;
+import com.estacionamento.dto.PaginaListagemDTO;
+import com.estacionamento.dto.VeiculoResumoDTO;
 import com.estacionamento.exception.DescricaoEmBrancoException;
 import com.estacionamento.exception.ObjetoNaoEncontradoException;
 import com.estacionamento.model.Veiculo;
 import com.estacionamento.repository.VeiculoRepository;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 import org.springframework.util.StringUtils;
 
-import java.util.List;
 import java.util.Optional;
+import java.util.Set;
 
 @Service
 public class VeiculoService {
 
+    private static final Set<String> CAMPOS_ORDENAVEIS = Set.of("placa", "marca", "modelo");
+
     private final VeiculoRepository veiculoRepository;
+    private final CachePlacas cachePlacas;
 
-    public VeiculoService(VeiculoRepository veiculoRepository) {
+    public VeiculoService(VeiculoRepository veiculoRepository, CachePlacas cachePlacas) {
         this.veiculoRepository = veiculoRepository;
+        this.cachePlacas = cachePlacas;
     }
 
     public Veiculo criarVeiculo(Veiculo veiculo) {
@@ -24,11 +32,13 @@ public class VeiculoService {
             throw new DescricaoEmBrancoException("A placa do veículo não pode estar em branco.");
         }
 
-        if (veiculoRepository.findByPlaca(veiculo.getPlaca()).isPresent()) {
+        if (buscarIdPorPlaca(veiculo.getPlaca()) != null) {
             throw new IllegalArgumentException("Já existe um veículo cadastrado com a placa: " + veiculo.getPlaca());
         }
 
-        return veiculoRepository.save(veiculo);
+        Veiculo salvo = veiculoRepository.save(veiculo);
+        cachePlacas.registrar(salvo.getPlaca(), salvo.getId());
+        return salvo;
     }
 
     public Veiculo buscarVeiculoPorId(Long id) {
@@ -36,10 +46,12 @@ public class VeiculoService {
                 .orElseThrow(() -> new ObjetoNaoEncontradoException("Veículo com ID " + id + " não encontrado."));
     }
 
-    public List<Veiculo> listarTodosVeiculos() {
-        return veiculoRepository.findAll();
+    public PaginaListagemDTO<VeiculoResumoDTO> listarVeiculos(Integer pagina, Integer tamanho, String ordem) {
+        return PaginaListagemDTO.de(veiculoRepository.listarResumos(
+            Paginacao.requisicao(pagina, tamanho, ordem, CAMPOS_ORDENAVEIS)));
     }
 
+    @Transactional
     public Veiculo atualizarVeiculo(Long id, Veiculo veiculoAtualizado) {
         Veiculo veiculoExistente = veiculoRepository.findById(id)
                 .orElseThrow(() -> new ObjetoNaoEncontradoException(
@@ -50,25 +62,44 @@ public class VeiculoService {
             throw new DescricaoEmBrancoException("A placa do veículo não pode estar em branco.");
         }
 
-        Optional<Veiculo> veiculoComMesmaPlaca = veiculoRepository.findByPlaca(veiculoAtualizado.getPlaca());
-        if (veiculoComMesmaPlaca.isPresent() && !veiculoComMesmaPlaca.get().getId().equals(id)) {
+        Long idComMesmaPlaca = buscarIdPorPlaca(veiculoAtualizado.getPlaca());
+        if (idComMesmaPlaca != null && !idComMesmaPlaca.equals(id)) {
             throw new IllegalArgumentException(
                 "Já existe outro veículo cadastrado com a placa: " + veiculoAtualizado.getPlaca()
             );
         }
 
+        String placaAnterior = veiculoExistente.getPlaca();
         veiculoExistente.setPlaca(veiculoAtualizado.getPlaca());
         veiculoExistente.setMarca(veiculoAtualizado.getMarca());
         veiculoExistente.setModelo(veiculoAtualizado.getModelo());
         veiculoExistente.setCor(veiculoAtualizado.getCor());
 
-        return veiculoRepository.save(veiculoExistente);
+        Veiculo salvo = veiculoRepository.save(veiculoExistente);
+        if (!salvo.getPlaca().equals(placaAnterior)) {
+            cachePlacas.invalidarAposCommit(placaAnterior);
+        }
+        cachePlacas.registrarAposCommit(salvo.getPlaca(), salvo.getId());
+        return salvo;
     }
 
+    @Transactional
     public void deletarVeiculo(Long id) {
         if (!veiculoRepository.existsById(id)) {
             throw new ObjetoNaoEncontradoException("Veículo com ID " + id + " não encontrado para exclusão.");
         }
         veiculoRepository.deleteById(id);
+        cachePlacas.invalidarIdAposCommit(id);
+    }
+
+    private Long buscarIdPorPlaca(String placa) {
+        Long id = cachePlacas.buscarId(placa);
+        if (id != null) {
+            return id;
+        }
+        long marca = cachePlacas.marca();
+        Optional<Veiculo> veiculo = veiculoRepository.findByPlaca(placa);
+        veiculo.ifPresent(v -> cachePlacas.registrarLidaAposCommit(placa, v.getId(), marca));
+        return veiculo.map(Veiculo::getId).orElse(null);
     }
 }
\ No newline at end of file
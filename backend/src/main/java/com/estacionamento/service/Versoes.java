@@ -0,0 +1,28 @@
+package com.estacionamento.service;
+
+import com.estacionamento.exception.ConflitoVersaoException;
+import com.estacionamento.exception.VersaoAusenteException;
+
+import java.util.Objects;
+
+/**
+ * Confere a {@code versao} enviada no payload de uma atualização com a gravada. A versão é obrigatória: sem
+ * ela a substituição completa sobrescreveria, sem aviso, o que outra escrita gravou depois da leitura do
+ * cliente. Uma escrita que passe daqui e perca a corrida até o commit falha no bloqueio otimista.
+ */
+final class Versoes {
+
+    private Versoes() {
+    }
+
+    static void conferir(Long enviada, Long atual, Long id, String entidade) {
+        if (enviada == null) {
+            throw new VersaoAusenteException("A atualização de " + entidade + " com ID " + id
+                + " precisa da versao lida antes; busque o registro e reenvie com ela.");
+        }
+        if (!Objects.equals(enviada, atual)) {
+            throw new ConflitoVersaoException(entidade + " com ID " + id + " está na versão " + atual
+                + ", mas a atualização partiu da versão " + enviada + ".", id);
+        }
+    }
+}
@@ -0,0 +1,135 @@
+package com.estacionamento.tarifa;
+
+import com.estacionamento.model.Acesso;
+import com.estacionamento.model.DiariaNoturna;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+
+/**
+ * Cálculo tarifário original em BigDecimal. Usado pelo {@link MotorTarifario} quando uma configuração
+ * não cabe em um plano compilado e como referência de equivalência nos testes.
+ *
+ * <p>{@link #calcularValor(Acesso)} é a cobrança {@link CobrancaDiaria#UNICA};
+ * {@link #calcularValorDiariaPorDia(Acesso, long)} percorre a permanência dia a dia para a
+ * {@link CobrancaDiaria#POR_DIA}.
+ */
+public final class CalculoTarifarioReferencia {
+
+    private CalculoTarifarioReferencia() {
+    }
+
+    public static BigDecimal calcularValor(Acesso acesso) {
+        if (acesso.getDataFim() == null || acesso.getHoraFim() == null) {
+            return BigDecimal.ZERO;
+        }
+        LocalDateTime saida = LocalDateTime.of(acesso.getDataFim(), acesso.getHoraFim());
+        LocalDateTime entrada = LocalDateTime.of(acesso.getDataInicio(), acesso.getHoraInicio());
+        long minutos = Duration.between(entrada, saida).toMinutes();
+
+        switch (acesso.getTipoAcesso().toUpperCase()) {
+            case "TEMPO":
+                if (acesso.getTempo() == null) {
+                    throw new IllegalStateException("Configuração de Tempo não encontrada para este acesso.");
+                }
+                long duracaoFracaoMinutos = (
+                    acesso.getTempo().getDuracao().getHour() * 60L) + acesso.getTempo().getDuracao().getMinute();
+                if (duracaoFracaoMinutos <= 0) {
+                    throw new IllegalStateException("Duração da fração de tempo deve ser maior que zero.");
+                }
+
+                BigDecimal valorTotalTempo = BigDecimal.ZERO;
+                if (minutos > 0) {
+                    long numFracoes = (long) Math.ceil((double) minutos / duracaoFracaoMinutos);
+                    valorTotalTempo = acesso.getTempo().getValorFracao().multiply(BigDecimal.valueOf(numFracoes));
+                }
+
+                if (acesso.getTempo().getDesconto() != null
+                    && acesso.getTempo().getDesconto().compareTo(BigDecimal.ZERO) > 0) {
+                    BigDecimal desconto = valorTotalTempo.multiply(
+                        acesso.getTempo().getDesconto().divide(BigDecimal.valueOf(100), RoundingMode.HALF_UP)
+                    );
+                    valorTotalTempo = valorTotalTempo.subtract(desconto);
+                }
+                return valorTotalTempo.setScale(2, RoundingMode.HALF_UP);
+
+            case "DIARIA":
+                if (acesso.getDiaria() == null) {
+                    throw new IllegalStateException("Configuração de Diária não encontrada para este acesso.");
+                }
+
+                BigDecimal valorDiaria = acesso.getDiaria().getValor();
+                if (valorDiaria == null) {
+                    throw new IllegalStateException("Valor da Diária não pode ser nulo.");
+                }
+
+                DiariaNoturna diariaNoturna = acesso.getDiaria().getDiariaNoturna();
+                if (diariaNoturna != null && diariaNoturna.getAdicionalNoturno() != null) {
+                    if ((diariaNoturna.getHoraInicio().isBefore(diariaNoturna.getHoraFim())
+                         && saida.toLocalTime().isAfter(diariaNoturna.getHoraInicio())
+                         && saida.toLocalTime().isBefore(diariaNoturna.getHoraFim()))
+                        || (diariaNoturna.getHoraInicio().isAfter(diariaNoturna.getHoraFim())
+                         && (saida.toLocalTime().isAfter(diariaNoturna.getHoraInicio())
+                          || saida.toLocalTime().isBefore(diariaNoturna.getHoraFim())))
+                    ) {
+                        return valorDiaria.add(diariaNoturna.getAdicionalNoturno()).setScale(2, RoundingMode.HALF_UP);
+                    }
+                }
+                return valorDiaria.setScale(2, RoundingMode.HALF_UP);
+
+            default:
+                return BigDecimal.ZERO.setScale(2, RoundingMode.HALF_UP);
+        }
+    }
+
+    /**
+     * Uma diária a cada 24 horas iniciadas e um adicional noturno por noite com ao menos um minuto dentro da
+     * permanência. A entrada é truncada ao minuto e a tolerância é descontada da saída.
+     */
+    public static BigDecimal calcularValorDiariaPorDia(Acesso acesso, long toleranciaMinutos) {
+        if (acesso.getDataFim() == null || acesso.getHoraFim() == null) {
+            return BigDecimal.ZERO;
+        }
+        if (acesso.getDiaria() == null) {
+            throw new IllegalStateException("Configuração de Diária não encontrada para este acesso.");
+        }
+        BigDecimal valorDiaria = acesso.getDiaria().getValor();
+        if (valorDiaria == null) {
+            throw new IllegalStateException("Valor da Diária não pode ser nulo.");
+        }
+
+        LocalDateTime entrada = LocalDateTime.of(acesso.getDataInicio(), acesso.getHoraInicio());
+        LocalDateTime saida = LocalDateTime.of(acesso.getDataFim(), acesso.getHoraFim());
+        long minutos = Math.max(0L, Duration.between(entrada, saida).toMinutes() - toleranciaMinutos);
+        LocalDateTime inicio = entrada.truncatedTo(ChronoUnit.MINUTES);
+        LocalDateTime fim = inicio.plusMinutes(minutos);
+
+        long dias = 1;
+        while (minutos > dias * 24 * 60) {
+            dias++;
+        }
+        BigDecimal total = valorDiaria.multiply(BigDecimal.valueOf(dias));
+
+        DiariaNoturna diariaNoturna = acesso.getDiaria().getDiariaNoturna();
+        if (minutos > 0 && diariaNoturna != null && diariaNoturna.getAdicionalNoturno() != null
+            && !diariaNoturna.getHoraInicio().equals(diariaNoturna.getHoraFim())) {
+            long noites = 0;
+            for (LocalDate dia = inicio.toLocalDate().minusDays(1); !dia.isAfter(fim.toLocalDate());
+                 dia = dia.plusDays(1)) {
+                LocalDateTime comeco = dia.atTime(diariaNoturna.getHoraInicio());
+                LocalDateTime termino = diariaNoturna.getHoraInicio().isBefore(diariaNoturna.getHoraFim())
+                    ? dia.atTime(diariaNoturna.getHoraFim())
+                    : dia.plusDays(1).atTime(diariaNoturna.getHoraFim());
+                if (comeco.isBefore(fim) && termino.isAfter(inicio)) {
+                    noites++;
+                }
+            }
+            total = total.add(diariaNoturna.getAdicionalNoturno().multiply(BigDecimal.valueOf(noites)));
+        }
+        return total.setScale(2, RoundingMode.HALF_UP);
+    }
+}
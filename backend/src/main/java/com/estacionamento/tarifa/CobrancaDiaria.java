@@ -0,0 +1,14 @@
+package com.estacionamento.tarifa;
+
+/**
+ * Como o {@link MotorTarifario} cobra acessos do tipo DIARIA ({@code tarifa.diaria.cobranca}).
+ */
+public enum CobrancaDiaria {
+    /** Uma única diária por acesso, com adicional noturno se a saída cair dentro da janela noturna. */
+    UNICA,
+    /**
+     * Uma diária por período de 24 horas iniciado e um adicional noturno por noite em que o veículo ficou no
+     * estacionamento, descontada a tolerância da saída.
+     */
+    POR_DIA
+}
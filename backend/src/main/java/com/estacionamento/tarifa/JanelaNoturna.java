@@ -0,0 +1,129 @@
+package com.estacionamento.tarifa;
+
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Janela noturna de uma {@code DiariaNoturna} pré-computada como um mapa de 1440 bits, um por minuto do dia.
+ *
+ * <p>A janela cobre os minutos de {@code inicio} (inclusive) até {@code fim} (exclusive), dando a volta na
+ * meia-noite quando {@code inicio} é posterior a {@code fim}; {@code inicio == fim} é uma janela vazia. Um
+ * instante pertence à janela quando está estritamente entre {@code inicio} e {@code fim}, que é a regra do
+ * {@link CalculoTarifarioReferencia} para a hora de saída: os próprios limites não contam.
+ *
+ * <p>Só trabalha com minutos inteiros; horários com segundos são truncados ao minuto. As instâncias são
+ * imutáveis e compartilhadas por {@link #de(LocalTime, LocalTime)}.
+ */
+public final class JanelaNoturna {
+
+    public static final int MINUTOS_POR_DIA = 1440;
+
+    private static final Map<Integer, JanelaNoturna> JANELAS = new ConcurrentHashMap<>();
+
+    private final int inicio;
+    private final int fim;
+    private final long[] bits = new long[(MINUTOS_POR_DIA + 63) / 64];
+    /** {@code acumulado[m]} é a quantidade de minutos noturnos em {@code [0, m)}. */
+    private final int[] acumulado = new int[MINUTOS_POR_DIA + 1];
+
+    private JanelaNoturna(int inicio, int fim) {
+        this.inicio = inicio;
+        this.fim = fim;
+        for (int minuto = 0; minuto < MINUTOS_POR_DIA; minuto++) {
+            boolean noturno = inicio < fim
+                ? minuto >= inicio && minuto < fim
+                : inicio > fim && (minuto >= inicio || minuto < fim);
+            if (noturno) {
+                bits[minuto >>> 6] |= 1L << minuto;
+            }
+            acumulado[minuto + 1] = acumulado[minuto] + (noturno ? 1 : 0);
+        }
+    }
+
+    public static JanelaNoturna de(LocalTime inicio, LocalTime fim) {
+        int minutoInicio = inicio.toSecondOfDay() / 60;
+        int minutoFim = fim.toSecondOfDay() / 60;
+        return JANELAS.computeIfAbsent(minutoInicio * MINUTOS_POR_DIA + minutoFim,
+            chave -> new JanelaNoturna(minutoInicio, minutoFim));
+    }
+
+    /**
+     * Indica se os horários caem exatamente em um minuto, caso em que a janela os representa sem perda.
+     */
+    public static boolean alinhadaAoMinuto(LocalTime inicio, LocalTime fim) {
+        return inicio.getSecond() == 0 && inicio.getNano() == 0 && fim.getSecond() == 0 && fim.getNano() == 0;
+    }
+
+    public int inicio() {
+        return inicio;
+    }
+
+    public int fim() {
+        return fim;
+    }
+
+    public boolean vazia() {
+        return inicio == fim;
+    }
+
+    public int minutosPorDia() {
+        return acumulado[MINUTOS_POR_DIA];
+    }
+
+    public boolean contemMinuto(int minutoDoDia) {
+        return (bits[minutoDoDia >>> 6] & (1L << minutoDoDia)) != 0;
+    }
+
+    /**
+     * Um instante exatamente no começo de um minuto só está dentro da janela se o minuto anterior também
+     * estiver; caso contrário ele é o limite {@code inicio} ou {@code fim}.
+     */
+    public boolean contem(LocalTime horario) {
+        int segundoDoDia = horario.toSecondOfDay();
+        int minuto = segundoDoDia / 60;
+        if (segundoDoDia % 60 == 0 && horario.getNano() == 0) {
+            return contemMinuto(minuto) && contemMinuto(minuto == 0 ? MINUTOS_POR_DIA - 1 : minuto - 1);
+        }
+        return contemMinuto(minuto);
+    }
+
+    /**
+     * Quantidade de minutos noturnos em {@code [minutoInicial, minutoFinal)}, com os minutos contados a partir
+     * de uma meia-noite qualquer (por exemplo, {@code epochDay * 1440 + minuto do dia}).
+     */
+    public long minutosNoturnos(long minutoInicial, long minutoFinal) {
+        if (minutoFinal <= minutoInicial) {
+            return 0L;
+        }
+        long dias = Math.floorDiv(minutoFinal, MINUTOS_POR_DIA) - Math.floorDiv(minutoInicial, MINUTOS_POR_DIA);
+        return dias * minutosPorDia()
+            + acumulado[(int) Math.floorMod(minutoFinal, MINUTOS_POR_DIA)]
+            - acumulado[(int) Math.floorMod(minutoInicial, MINUTOS_POR_DIA)];
+    }
+
+    /**
+     * Quantidade de noites (ocorrências diárias da janela, cada uma começando em {@code inicio} e durando
+     * {@link #minutosPorDia()} minutos) que têm ao menos um minuto em {@code [minutoInicial, minutoFinal)}. Uma
+     * noite que atravessa a meia-noite conta uma vez só.
+     */
+    public long noitesCruzadas(long minutoInicial, long minutoFinal) {
+        if (minutoFinal <= minutoInicial || vazia()) {
+            return 0L;
+        }
+        long primeira = Math.floorDiv(minutoInicial - inicio - minutosPorDia(), MINUTOS_POR_DIA) + 1;
+        long ultima = Math.floorDiv(minutoFinal - inicio - 1, MINUTOS_POR_DIA);
+        return Math.max(0L, ultima - primeira + 1);
+    }
+
+    /**
+     * Minutos noturnos de uma permanência que pode atravessar vários dias; entrada e saída são truncadas
+     * ao minuto.
+     */
+    public long minutosNoturnos(LocalDate dataInicio, LocalTime horaInicio, LocalDate dataFim, LocalTime horaFim) {
+        return minutosNoturnos(
+            dataInicio.toEpochDay() * MINUTOS_POR_DIA + horaInicio.toSecondOfDay() / 60,
+            dataFim.toEpochDay() * MINUTOS_POR_DIA + horaFim.toSecondOfDay() / 60);
+    }
+}
@@ -0,0 +1,187 @@
+package com.estacionamento.tarifa;
+
+import com.estacionamento.model.Acesso;
+import com.estacionamento.model.Diaria;
+import com.estacionamento.model.Tempo;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Calcula o valor de um acesso a partir de planos tarifários compilados uma única vez por configuração.
+ * Os planos são guardados por ID e conferidos contra a entidade recebida antes do uso, então uma
+ * configuração alterada é recompilada mesmo antes da invalidação explícita feita pelos serviços.
+ *
+ * <p>Acessos do tipo DIARIA seguem {@code tarifa.diaria.cobranca} (padrão {@link CobrancaDiaria#POR_DIA}) com
+ * a tolerância de {@code tarifa.diaria.tolerancia} descontada da saída; dias e noites são contados em forma
+ * fechada, sem percorrer a permanência.
+ */
+@Component
+public class MotorTarifario {
+
+    private static final long SEGUNDOS_POR_DIA = 86_400L;
+    private static final long NAO_COMPILADO = Long.MIN_VALUE;
+
+    private final Map<Long, PlanoTempo> planosTempo = new ConcurrentHashMap<>();
+    private final Map<Long, PlanoDiaria> planosDiaria = new ConcurrentHashMap<>();
+    private final CobrancaDiaria cobrancaDiaria;
+    private final long toleranciaMinutos;
+
+    public MotorTarifario() {
+        this(CobrancaDiaria.POR_DIA, Duration.ofMinutes(15));
+    }
+
+    @Autowired
+    public MotorTarifario(@Value("${tarifa.diaria.cobranca:POR_DIA}") CobrancaDiaria cobrancaDiaria,
+                          @Value("${tarifa.diaria.tolerancia:15m}") Duration tolerancia) {
+        if (tolerancia.isNegative()) {
+            throw new IllegalArgumentException("Tolerância da diária não pode ser negativa.");
+        }
+        this.cobrancaDiaria = cobrancaDiaria;
+        this.toleranciaMinutos = tolerancia.toMinutes();
+    }
+
+    public BigDecimal calcularValor(Acesso acesso) {
+        if (acesso.getDataFim() == null || acesso.getHoraFim() == null) {
+            return BigDecimal.ZERO;
+        }
+        long centavos = calcularCentavosCompilados(acesso);
+        if (centavos == NAO_COMPILADO) {
+            return calcularPelaReferencia(acesso);
+        }
+        return BigDecimal.valueOf(centavos, 2);
+    }
+
+    public long calcularCentavos(Acesso acesso) {
+        if (acesso.getDataFim() == null || acesso.getHoraFim() == null) {
+            return 0L;
+        }
+        long centavos = calcularCentavosCompilados(acesso);
+        if (centavos == NAO_COMPILADO) {
+            return calcularPelaReferencia(acesso).unscaledValue().longValueExact();
+        }
+        return centavos;
+    }
+
+    public void invalidarTempo(Long id) {
+        if (id != null) {
+            planosTempo.remove(id);
+        }
+    }
+
+    public void invalidarDiaria(Long id) {
+        if (id != null) {
+            planosDiaria.remove(id);
+        }
+    }
+
+    public void invalidarTodos() {
+        planosTempo.clear();
+        planosDiaria.clear();
+    }
+
+    private long calcularCentavosCompilados(Acesso acesso) {
+        long minutos = minutosDePermanencia(acesso);
+
+        TipoAcesso tipo = TipoAcesso.de(acesso.getTipoAcesso());
+        if (tipo == TipoAcesso.TEMPO) {
+            if (acesso.getTempo() == null) {
+                throw new IllegalStateException("Configuração de Tempo não encontrada para este acesso.");
+            }
+            PlanoTempo plano = planoTempo(acesso.getTempo());
+            if (plano == null) {
+                return NAO_COMPILADO;
+            }
+            try {
+                return plano.calcularCentavos(minutos);
+            } catch (ArithmeticException e) {
+                return NAO_COMPILADO;
+            }
+        }
+        if (tipo == TipoAcesso.DIARIA) {
+            if (acesso.getDiaria() == null) {
+                throw new IllegalStateException("Configuração de Diária não encontrada para este acesso.");
+            }
+            PlanoDiaria plano = planoDiaria(acesso.getDiaria());
+            if (plano == null) {
+                return NAO_COMPILADO;
+            }
+            if (cobrancaDiaria == CobrancaDiaria.UNICA) {
+                return plano.calcularCentavos(acesso.getHoraFim());
+            }
+            if (!plano.centavosExatos()) {
+                return NAO_COMPILADO;
+            }
+            long minutoEntrada = acesso.getDataInicio().toEpochDay() * JanelaNoturna.MINUTOS_POR_DIA
+                + acesso.getHoraInicio().toSecondOfDay() / 60;
+            try {
+                return plano.calcularCentavosPorDia(minutoEntrada,
+                    minutoEntrada + Math.max(0L, minutos - toleranciaMinutos));
+            } catch (ArithmeticException e) {
+                return NAO_COMPILADO;
+            }
+        }
+        return 0L;
+    }
+
+    private BigDecimal calcularPelaReferencia(Acesso acesso) {
+        if (cobrancaDiaria == CobrancaDiaria.POR_DIA && TipoAcesso.de(acesso.getTipoAcesso()) == TipoAcesso.DIARIA) {
+            return CalculoTarifarioReferencia.calcularValorDiariaPorDia(acesso, toleranciaMinutos);
+        }
+        return CalculoTarifarioReferencia.calcularValor(acesso);
+    }
+
+    private PlanoTempo planoTempo(Tempo tempo) {
+        Long id = tempo.getId();
+        if (id != null) {
+            PlanoTempo plano = planosTempo.get(id);
+            if (plano != null && plano.corresponde(tempo)) {
+                return plano;
+            }
+        }
+        PlanoTempo plano = PlanoTempo.compilar(tempo);
+        if (plano != null && id != null) {
+            planosTempo.put(id, plano);
+        }
+        return plano;
+    }
+
+    private PlanoDiaria planoDiaria(Diaria diaria) {
+        Long id = diaria.getId();
+        if (id != null) {
+            PlanoDiaria plano = planosDiaria.get(id);
+            if (plano != null && plano.corresponde(diaria)) {
+                return plano;
+            }
+        }
+        PlanoDiaria plano = PlanoDiaria.compilar(diaria);
+        if (plano != null && id != null) {
+            planosDiaria.put(id, plano);
+        }
+        return plano;
+    }
+
+    /**
+     * Equivalente a {@code Duration.between(entrada, saida).toMinutes()}, sem criar {@code LocalDateTime}.
+     */
+    static long minutosDePermanencia(Acesso acesso) {
+        LocalDate dataInicio = acesso.getDataInicio();
+        LocalTime horaInicio = acesso.getHoraInicio();
+        LocalDate dataFim = acesso.getDataFim();
+        LocalTime horaFim = acesso.getHoraFim();
+
+        long segundos = (dataFim.toEpochDay() - dataInicio.toEpochDay()) * SEGUNDOS_POR_DIA
+            + horaFim.toSecondOfDay() - horaInicio.toSecondOfDay();
+        if (horaFim.getNano() < horaInicio.getNano()) {
+            segundos--;
+        }
+        return segundos / 60;
+    }
+}
@@ -0,0 +1,104 @@
+package com.estacionamento.tarifa;
+
+import com.estacionamento.model.Diaria;
+import com.estacionamento.model.DiariaNoturna;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.time.LocalTime;
+import java.util.Objects;
+
+/**
+ * Configuração de {@link Diaria} pré-compilada: valores já arredondados em centavos e a janela noturna
+ * como {@link JanelaNoturna}, para testar a hora de saída sem criar objetos.
+ *
+ * <p>A cobrança {@link CobrancaDiaria#POR_DIA} multiplica os valores pela quantidade de dias e noites, o que
+ * só é exato quando {@code centavosExatos}; caso contrário o chamador usa o {@link CalculoTarifarioReferencia}.
+ */
+public record PlanoDiaria(
+    BigDecimal valor,
+    BigDecimal adicionalNoturno,
+    LocalTime horaInicioNoturna,
+    LocalTime horaFimNoturna,
+    long valorCentavos,
+    long valorComAdicionalCentavos,
+    long adicionalCentavos,
+    boolean centavosExatos,
+    JanelaNoturna janela
+) {
+
+    /**
+     * Retorna {@code null} quando a configuração não pode ser representada em centavos inteiros ou a janela
+     * noturna tem segundos; nesses casos o chamador recorre ao {@link CalculoTarifarioReferencia}.
+     */
+    public static PlanoDiaria compilar(Diaria diaria) {
+        BigDecimal valor = diaria.getValor();
+        if (valor == null) {
+            return null;
+        }
+        DiariaNoturna diariaNoturna = diaria.getDiariaNoturna();
+        BigDecimal adicional = diariaNoturna != null ? diariaNoturna.getAdicionalNoturno() : null;
+        LocalTime inicio = adicional != null ? diariaNoturna.getHoraInicio() : null;
+        LocalTime fim = adicional != null ? diariaNoturna.getHoraFim() : null;
+        if (adicional != null && (inicio == null || fim == null || !JanelaNoturna.alinhadaAoMinuto(inicio, fim))) {
+            return null;
+        }
+
+        BigDecimal valorArredondado = valor.setScale(2, RoundingMode.HALF_UP);
+        BigDecimal valorComAdicional = adicional != null
+            ? valor.add(adicional).setScale(2, RoundingMode.HALF_UP)
+            : valorArredondado;
+        if (valorArredondado.unscaledValue().bitLength() > 63 || valorComAdicional.unscaledValue().bitLength() > 63) {
+            return null;
+        }
+
+        BigDecimal adicionalArredondado = adicional != null
+            ? adicional.setScale(2, RoundingMode.HALF_UP)
+            : BigDecimal.ZERO.setScale(2);
+        if (adicionalArredondado.unscaledValue().bitLength() > 63) {
+            return null;
+        }
+        boolean centavosExatos = valorArredondado.compareTo(valor) == 0
+            && (adicional == null || adicionalArredondado.compareTo(adicional) == 0);
+
+        return new PlanoDiaria(valor, adicional, inicio, fim,
+            valorArredondado.unscaledValue().longValue(),
+            valorComAdicional.unscaledValue().longValue(),
+            adicionalArredondado.unscaledValue().longValue(),
+            centavosExatos,
+            adicional != null ? JanelaNoturna.de(inicio, fim) : null);
+    }
+
+    public boolean corresponde(Diaria diaria) {
+        if (!Objects.equals(valor, diaria.getValor())) {
+            return false;
+        }
+        DiariaNoturna diariaNoturna = diaria.getDiariaNoturna();
+        BigDecimal adicional = diariaNoturna != null ? diariaNoturna.getAdicionalNoturno() : null;
+        if (!Objects.equals(adicionalNoturno, adicional)) {
+            return false;
+        }
+        return adicional == null
+            || (Objects.equals(horaInicioNoturna, diariaNoturna.getHoraInicio())
+                && Objects.equals(horaFimNoturna, diariaNoturna.getHoraFim()));
+    }
+
+    public long calcularCentavos(LocalTime horaSaida) {
+        if (janela == null) {
+            return valorCentavos;
+        }
+        return janela.contem(horaSaida) ? valorComAdicionalCentavos : valorCentavos;
+    }
+
+    /**
+     * Cobrança {@link CobrancaDiaria#POR_DIA} de uma permanência em {@code [minutoEntrada, minutoSaida)}, com
+     * a tolerância já descontada da saída: uma diária por 1440 minutos iniciados (no mínimo uma) e um adicional
+     * por noite cruzada. Lança {@link ArithmeticException} se o total não couber em um {@code long}.
+     */
+    public long calcularCentavosPorDia(long minutoEntrada, long minutoSaida) {
+        long minutos = Math.max(0L, minutoSaida - minutoEntrada);
+        long dias = Math.max(1L, Math.ceilDiv(minutos, JanelaNoturna.MINUTOS_POR_DIA));
+        long noites = janela != null ? janela.noitesCruzadas(minutoEntrada, minutoSaida) : 0L;
+        return Math.addExact(Math.multiplyExact(dias, valorCentavos), Math.multiplyExact(noites, adicionalCentavos));
+    }
+}
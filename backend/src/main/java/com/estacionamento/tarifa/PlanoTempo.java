@@ -0,0 +1,97 @@
+package com.estacionamento.tarifa;
+
+import com.estacionamento.model.Tempo;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.time.LocalTime;
+import java.util.Objects;
+
+/**
+ * Configuração de {@link Tempo} pré-compilada: o valor líquido de cada fração (já com o desconto aplicado)
+ * fica guardado como inteiro escalado, de modo que o preço de uma permanência é uma multiplicação e um
+ * arredondamento HALF_UP em {@code long}.
+ */
+public record PlanoTempo(
+    LocalTime duracao,
+    BigDecimal valorFracao,
+    BigDecimal desconto,
+    long duracaoFracaoMinutos,
+    long valorLiquidoFracao,
+    int casasExcedentes
+) {
+
+    private static final int MAX_CASAS_EXCEDENTES = 18;
+    private static final long[] POTENCIAS_DE_DEZ = new long[MAX_CASAS_EXCEDENTES + 1];
+
+    static {
+        POTENCIAS_DE_DEZ[0] = 1L;
+        for (int i = 1; i < POTENCIAS_DE_DEZ.length; i++) {
+            POTENCIAS_DE_DEZ[i] = POTENCIAS_DE_DEZ[i - 1] * 10L;
+        }
+    }
+
+    /**
+     * Retorna {@code null} quando a configuração não pode ser representada em centavos inteiros
+     * (campos nulos, duração zerada ou valores fora da faixa de {@code long}); nesses casos o chamador
+     * recorre ao {@link CalculoTarifarioReferencia}, que preserva as mensagens de erro originais.
+     */
+    public static PlanoTempo compilar(Tempo tempo) {
+        LocalTime duracao = tempo.getDuracao();
+        BigDecimal valorFracao = tempo.getValorFracao();
+        if (duracao == null || valorFracao == null) {
+            return null;
+        }
+        long duracaoFracaoMinutos = duracao.getHour() * 60L + duracao.getMinute();
+        if (duracaoFracaoMinutos <= 0) {
+            return null;
+        }
+
+        BigDecimal desconto = tempo.getDesconto();
+        BigDecimal valorLiquido = valorFracao;
+        if (desconto != null && desconto.compareTo(BigDecimal.ZERO) > 0) {
+            BigDecimal taxa = desconto.divide(BigDecimal.valueOf(100), RoundingMode.HALF_UP);
+            valorLiquido = valorFracao.multiply(BigDecimal.ONE.subtract(taxa));
+        }
+        if (valorLiquido.scale() < 2) {
+            valorLiquido = valorLiquido.setScale(2);
+        }
+
+        int casasExcedentes = valorLiquido.scale() - 2;
+        if (casasExcedentes > MAX_CASAS_EXCEDENTES || valorLiquido.unscaledValue().bitLength() > 63) {
+            return null;
+        }
+        return new PlanoTempo(duracao, valorFracao, desconto, duracaoFracaoMinutos,
+            valorLiquido.unscaledValue().longValue(), casasExcedentes);
+    }
+
+    public boolean corresponde(Tempo tempo) {
+        return Objects.equals(duracao, tempo.getDuracao())
+            && Objects.equals(valorFracao, tempo.getValorFracao())
+            && Objects.equals(desconto, tempo.getDesconto());
+    }
+
+    /**
+     * @throws ArithmeticException se o total não couber em {@code long}.
+     */
+    public long calcularCentavos(long minutos) {
+        if (minutos <= 0) {
+            return 0L;
+        }
+        long fracoes = (minutos + duracaoFracaoMinutos - 1) / duracaoFracaoMinutos;
+        return arredondarMeioParaCima(Math.multiplyExact(fracoes, valorLiquidoFracao), casasExcedentes);
+    }
+
+    static long arredondarMeioParaCima(long valor, int casas) {
+        if (casas == 0) {
+            return valor;
+        }
+        long divisor = POTENCIAS_DE_DEZ[casas];
+        long quociente = valor / divisor;
+        long resto = Math.abs(valor % divisor);
+        if (resto >= divisor - resto) {
+            quociente += valor < 0 ? -1 : 1;
+        }
+        return quociente;
+    }
+}
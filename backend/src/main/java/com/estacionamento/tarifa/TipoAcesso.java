@@ -0,0 +1,21 @@
+package com.estacionamento.tarifa;
+
+public enum TipoAcesso {
+    TEMPO,
+    DIARIA,
+    MENSALISTA;
+
+    private static final TipoAcesso[] VALORES = values();
+
+    public static TipoAcesso de(String tipoAcesso) {
+        if (tipoAcesso == null) {
+            throw new NullPointerException("Tipo de acesso não pode ser nulo.");
+        }
+        for (TipoAcesso tipo : VALORES) {
+            if (tipo.name().equalsIgnoreCase(tipoAcesso)) {
+                return tipo;
+            }
+        }
+        return null;
+    }
+}
@@ -0,0 +1,27 @@
+package com.estacionamento.transacao;
+
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * Adia para depois do commit da transação corrente as escritas nos índices e caches em memória, que não
+ * são revertidas junto com o banco. Sem transação ativa, a ação roda na hora.
+ */
+public final class AposCommit {
+
+    private AposCommit() {
+    }
+
+    public static void executar(Runnable acao) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            acao.run();
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                acao.run();
+            }
+        });
+    }
+}
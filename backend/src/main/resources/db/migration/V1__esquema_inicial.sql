@@ -0,0 +1,107 @@
+-- Esquema que o ddl-auto=update criava a partir do mapeamento JPA antes das migrações. Bancos criados assim
+-- entram nesta versão como baseline (spring.flyway.baseline-on-migrate) e recebem só as seguintes.
+
+CREATE TABLE estacionamento (
+    id BIGINT AUTO_INCREMENT PRIMARY KEY,
+    nome VARCHAR(100) NOT NULL,
+    endereco VARCHAR(255) NOT NULL,
+    capacidade INT NOT NULL,
+    hora_abertura TIME NOT NULL,
+    hora_fechamento TIME NOT NULL,
+    CONSTRAINT uk_estacionamento_nome UNIQUE (nome)
+);
+
+CREATE TABLE contratante (
+    id BIGINT AUTO_INCREMENT PRIMARY KEY,
+    nome VARCHAR(100) NOT NULL,
+    cpf_cnpj VARCHAR(20) NOT NULL,
+    email VARCHAR(100) NOT NULL,
+    telefone VARCHAR(20),
+    CONSTRAINT uk_contratante_cpf_cnpj UNIQUE (cpf_cnpj),
+    CONSTRAINT uk_contratante_email UNIQUE (email)
+);
+
+CREATE TABLE veiculo (
+    id BIGINT AUTO_INCREMENT PRIMARY KEY,
+    placa VARCHAR(10) NOT NULL,
+    marca VARCHAR(50) NOT NULL,
+    modelo VARCHAR(50) NOT NULL,
+    cor VARCHAR(50),
+    CONSTRAINT uk_veiculo_placa UNIQUE (placa)
+);
+
+CREATE TABLE evento (
+    id BIGINT AUTO_INCREMENT PRIMARY KEY,
+    nome_evento VARCHAR(100) NOT NULL,
+    data_inicio DATE NOT NULL,
+    hora_inicio TIME NOT NULL,
+    data_fim DATE NOT NULL,
+    hora_fim TIME NOT NULL,
+    descricao TEXT
+);
+
+CREATE TABLE tempo (
+    id BIGINT AUTO_INCREMENT PRIMARY KEY,
+    duracao TIME NOT NULL,
+    valor_fracao DECIMAL(10,2) NOT NULL,
+    desconto DECIMAL(10,2)
+);
+
+CREATE TABLE diaria (
+    id BIGINT AUTO_INCREMENT PRIMARY KEY,
+    valor DECIMAL(10,2) NOT NULL,
+    tipo VARCHAR(50) NOT NULL,
+    descricao VARCHAR(255),
+    CONSTRAINT uk_diaria_tipo UNIQUE (tipo)
+);
+
+CREATE TABLE diaria_noturna (
+    id BIGINT PRIMARY KEY,
+    hora_inicio TIME NOT NULL,
+    hora_fim TIME NOT NULL,
+    adicional_noturno DECIMAL(10,2),
+    CONSTRAINT fk_diaria_noturna_diaria FOREIGN KEY (id) REFERENCES diaria (id)
+);
+
+CREATE TABLE mensalista (
+    id BIGINT AUTO_INCREMENT PRIMARY KEY,
+    valor DECIMAL(10,2) NOT NULL,
+    periodo_meses INT NOT NULL,
+    descricao VARCHAR(255)
+);
+
+CREATE TABLE acesso (
+    id BIGINT AUTO_INCREMENT PRIMARY KEY,
+    estacionamento_id BIGINT NOT NULL,
+    veiculo_id BIGINT NOT NULL,
+    data_inicio DATE NOT NULL,
+    hora_inicio TIME NOT NULL,
+    data_fim DATE,
+    hora_fim TIME,
+    valor_cobrado DECIMAL(10,2),
+    tipo_acesso VARCHAR(50) NOT NULL,
+    tempo_id BIGINT,
+    diaria_id BIGINT,
+    mensalista_id BIGINT,
+    CONSTRAINT fk_acesso_estacionamento FOREIGN KEY (estacionamento_id) REFERENCES estacionamento (id),
+    CONSTRAINT fk_acesso_veiculo FOREIGN KEY (veiculo_id) REFERENCES veiculo (id),
+    CONSTRAINT fk_acesso_tempo FOREIGN KEY (tempo_id) REFERENCES tempo (id),
+    CONSTRAINT fk_acesso_diaria FOREIGN KEY (diaria_id) REFERENCES diaria (id),
+    CONSTRAINT fk_acesso_mensalista FOREIGN KEY (mensalista_id) REFERENCES mensalista (id)
+);
+
+CREATE TABLE estacionamento_contratante (
+    contratante_id BIGINT NOT NULL,
+    estacionamento_id BIGINT NOT NULL,
+    PRIMARY KEY (contratante_id, estacionamento_id),
+    CONSTRAINT fk_ec_contratante FOREIGN KEY (contratante_id) REFERENCES contratante (id),
+    CONSTRAINT fk_ec_estacionamento FOREIGN KEY (estacionamento_id) REFERENCES estacionamento (id)
+);
+
+CREATE TABLE contratante_evento (
+    contratante_id BIGINT NOT NULL,
+    evento_id BIGINT NOT NULL,
+    PRIMARY KEY (contratante_id, evento_id),
+    CONSTRAINT fk_ce_contratante FOREIGN KEY (contratante_id) REFERENCES contratante (id),
+    CONSTRAINT fk_ce_evento FOREIGN KEY (evento_id) REFERENCES evento (id)
+);
@@ -0,0 +1,9 @@
+-- Índices dos caminhos de consulta de acesso:
+--  * (estacionamento_id, data_fim): acessos abertos por estacionamento na inicialização e reconstrução
+--    do faturamento diário;
+--  * (veiculo_id, data_fim): saída pela placa quando o acesso não está nas sessões abertas em memória;
+--  * (data_inicio) e (tipo_acesso): filtros da listagem paginada e da exportação.
+CREATE INDEX idx_acesso_estacionamento_data_fim ON acesso (estacionamento_id, data_fim);
+CREATE INDEX idx_acesso_veiculo_data_fim ON acesso (veiculo_id, data_fim);
+CREATE INDEX idx_acesso_data_inicio ON acesso (data_inicio);
+CREATE INDEX idx_acesso_tipo_acesso ON acesso (tipo_acesso);
@@ -0,0 +1,6 @@
+-- Checkpoint da escrita adiada de entradas (acessos.escrita-adiada): última sequência do log local de cada
+-- nó já gravada em acesso. Na inicialização, só os registros do log depois dela são reprocessados.
+CREATE TABLE log_entradas (
+    nodo VARCHAR(100) NOT NULL PRIMARY KEY,
+    ultima_sequencia BIGINT NOT NULL
+);
@@ -0,0 +1,10 @@
+-- Reserva de vagas para eventos: durante a janela do evento, vagas_reservadas vagas do estacionamento
+-- ficam fora do alcance das entradas comuns e só os acessos marcados com o evento podem ocupá-las.
+ALTER TABLE evento ADD COLUMN estacionamento_id BIGINT;
+ALTER TABLE evento ADD COLUMN vagas_reservadas INT;
+ALTER TABLE evento ADD CONSTRAINT fk_evento_estacionamento
+    FOREIGN KEY (estacionamento_id) REFERENCES estacionamento (id) ON DELETE SET NULL;
+
+ALTER TABLE acesso ADD COLUMN evento_id BIGINT;
+ALTER TABLE acesso ADD CONSTRAINT fk_acesso_evento
+    FOREIGN KEY (evento_id) REFERENCES evento (id) ON DELETE SET NULL;
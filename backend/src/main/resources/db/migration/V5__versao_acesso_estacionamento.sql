@@ -0,0 +1,4 @@
+-- Versão para o bloqueio otimista (@Version) de acesso e estacionamento: cada UPDATE do Hibernate confere e
+-- incrementa a coluna. As linhas existentes e as gravadas por JDBC (lote, escrita adiada) começam em 0.
+ALTER TABLE acesso ADD COLUMN versao BIGINT NOT NULL DEFAULT 0;
+ALTER TABLE estacionamento ADD COLUMN versao BIGINT NOT NULL DEFAULT 0;
@@ -0,0 +1,14 @@
+-- Respostas de POST /api/acessos, /saida e /lote com cabeçalho Idempotency-Key. A linha é inserida na mesma
+-- transação do acesso, antes dele: uma repetição concorrente da mesma chave espera na chave primária e, com o
+-- commit da primeira, lê a resposta dela em vez de gravar outro acesso. Linhas mais antigas que
+-- idempotencia.expiracao são apagadas pela limpeza agendada.
+CREATE TABLE requisicao_idempotente (
+    chave VARCHAR(100) NOT NULL,
+    rota VARCHAR(50) NOT NULL,
+    impressao CHAR(64) NOT NULL,
+    status INT,
+    resposta TEXT,
+    criada_em DATETIME NOT NULL,
+    PRIMARY KEY (chave, rota)
+);
+CREATE INDEX idx_requisicao_idempotente_criada_em ON requisicao_idempotente (criada_em);
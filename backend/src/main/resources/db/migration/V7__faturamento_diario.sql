@@ -0,0 +1,19 @@
+-- Faturamento por estacionamento, dia de saída e tipo de acesso, mantido pelo AgregadorFaturamento a cada
+-- saída. Um banco que já tenha a tabela (criada pelo ddl-auto=update) a mantém; nos dois casos o conteúdo
+-- é refeito a partir dos acessos encerrados, com a mesma consulta da ReconciliacaoFaturamento.
+CREATE TABLE IF NOT EXISTS faturamento_diario (
+    id BIGINT AUTO_INCREMENT PRIMARY KEY,
+    estacionamento_id BIGINT NOT NULL,
+    dia DATE NOT NULL,
+    tipo_acesso VARCHAR(50) NOT NULL,
+    valor_total DECIMAL(14,2) NOT NULL,
+    quantidade BIGINT NOT NULL,
+    CONSTRAINT uk_faturamento_diario_bucket UNIQUE (estacionamento_id, dia, tipo_acesso)
+);
+
+DELETE FROM faturamento_diario;
+
+INSERT INTO faturamento_diario (estacionamento_id, dia, tipo_acesso, valor_total, quantidade)
+SELECT estacionamento_id, data_fim, UPPER(tipo_acesso), SUM(valor_cobrado), COUNT(*) FROM acesso
+WHERE valor_cobrado IS NOT NULL AND data_fim IS NOT NULL
+GROUP BY estacionamento_id, data_fim, UPPER(tipo_acesso);
@@ -0,0 +1,87 @@
+package com.estacionamento_tppe.busca;
+
+import com.estacionamento.busca.IndiceContratantes;
+import com.estacionamento.dto.ContratanteResumoDTO;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class IndiceContratantesTest {
+
+    private IndiceContratantes indice;
+
+    private final ContratanteResumoDTO joao = new ContratanteResumoDTO(
+        1L, "João da Silva", "123.456.789-09", "joao@email.com", "(61) 98765-4321");
+    private final ContratanteResumoDTO jose = new ContratanteResumoDTO(
+        2L, "José Souza", "98.765.432/0001-10", "jose@email.com", "61 3333-1234");
+    private final ContratanteResumoDTO ana = new ContratanteResumoDTO(
+        3L, "Ana Sílvia Araújo", "111.222.333-44", "ana@email.com", null);
+
+    @BeforeEach
+    void setUp() {
+        indice = new IndiceContratantes();
+        indice.reconstruir(List.of(joao, jose, ana));
+    }
+
+    private List<Long> ids(String termo) {
+        return indice.buscar(termo, 10).stream().map(ContratanteResumoDTO::id).sorted().toList();
+    }
+
+    @Test
+    @DisplayName("Deve encontrar pelo prefixo de qualquer palavra do nome, sem diferenciar acentos e maiúsculas")
+    void deveBuscarPorPrefixoDoNomeSemAcentos() {
+        assertEquals(List.of(1L, 2L), ids("jo"));
+        assertEquals(List.of(1L, 2L), ids("JÓ"));
+        assertEquals(List.of(1L, 3L), ids("sil"));
+        assertEquals(List.of(3L), ids("araujo"));
+        assertEquals(List.of(), ids("ilva"));
+    }
+
+    @Test
+    @DisplayName("Deve exigir que todas as palavras digitadas casem com o nome")
+    void deveCombinarPalavrasDoNome() {
+        assertEquals(List.of(1L), ids("jo sil"));
+        assertEquals(List.of(1L), ids("silva joão"));
+        assertEquals(List.of(), ids("jose silva"));
+    }
+
+    @Test
+    @DisplayName("Deve encontrar por qualquer trecho dos dígitos do CPF/CNPJ ou do telefone, ignorando a máscara")
+    void deveBuscarPorDigitosDoDocumentoETelefone() {
+        assertEquals(List.of(1L), ids("123.456"));
+        assertEquals(List.of(1L), ids("12345678909"));
+        assertEquals(List.of(2L), ids("98765432000"));
+        assertEquals(List.of(1L), ids("98765-4321"));
+        assertEquals(List.of(2L), ids("3333"));
+        assertEquals(List.of(2L), ids("(61) 3"));
+    }
+
+    @Test
+    @DisplayName("Deve ignorar termos de menos de três dígitos e respeitar o limite")
+    void deveIgnorarTermoCurtoERespeitarLimite() {
+        assertEquals(List.of(), ids("12"));
+        assertEquals(1, indice.buscar("jo", 1).size());
+        assertEquals(List.of(), indice.buscar("jo", 0));
+    }
+
+    @Test
+    @DisplayName("Deve refletir atualização e remoção sem deixar termos antigos")
+    void deveAtualizarERemover() {
+        indice.registrar(new ContratanteResumoDTO(1L, "Maria Lima", "123.456.789-09", "maria@email.com", null));
+
+        assertEquals(List.of(2L), ids("jo"));
+        assertEquals(List.of(1L), ids("mar"));
+        assertEquals(List.of(), ids("4321"));
+
+        indice.remover(1L);
+
+        assertEquals(List.of(), ids("mar"));
+        assertEquals(List.of(), ids("123456"));
+        assertEquals(2, indice.tamanho());
+    }
+}
@@ -0,0 +1,141 @@
+package com.estacionamento_tppe.escrita;
+
+import com.estacionamento.escrita.EntradaPendente;
+import com.estacionamento.escrita.LogEntradas;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class LogEntradasTest {
+
+    private static final int CAPACIDADE = 4096;
+
+    @TempDir
+    Path diretorio;
+
+    private static EntradaPendente entrada(int i) {
+        return new EntradaPendente(0L, 1L, "ABC" + (1000 + i), "Fiat", "Uno", i % 2 == 0 ? null : "Preto",
+            LocalDate.of(2024, 7, 1), LocalTime.of(8, 0).plusSeconds(i), "TEMPO", 1L, null, null, null, null,
+            false);
+    }
+
+    private static List<Long> sequencias(LogEntradas log) {
+        return log.recuperadas().stream().map(EntradaPendente::sequencia).toList();
+    }
+
+    @Test
+    @DisplayName("Deve recuperar as entradas anexadas ao reabrir o log e continuar a sequência")
+    void deveRecuperarEntradasAoReabrir() throws IOException {
+        try (LogEntradas log = LogEntradas.abrir(diretorio, CAPACIDADE)) {
+            for (int i = 1; i <= 3; i++) {
+                assertEquals(i, log.anexar(entrada(i).serializar()));
+            }
+        }
+
+        try (LogEntradas log = LogEntradas.abrir(diretorio, CAPACIDADE)) {
+            assertEquals(List.of(1L, 2L, 3L), sequencias(log));
+            assertEquals(entrada(2).comSequencia(2L, true), log.recuperadas().get(1));
+            assertEquals(4L, log.anexar(entrada(4).serializar()));
+        }
+    }
+
+    @Test
+    @DisplayName("Deve ignorar o registro com CRC errado no fim do log")
+    void deveIgnorarRegistroCorrompido() throws IOException {
+        int tamanhoPrimeiro;
+        try (LogEntradas log = LogEntradas.abrir(diretorio, CAPACIDADE)) {
+            byte[] dados = entrada(1).serializar();
+            tamanhoPrimeiro = Integer.BYTES + Long.BYTES + dados.length + Integer.BYTES;
+            log.anexar(dados);
+            log.anexar(entrada(2).serializar());
+        }
+        Path segmento = diretorio.resolve("entradas-0.log");
+        byte[] conteudo = Files.readAllBytes(segmento);
+        conteudo[tamanhoPrimeiro + 20] ^= 0x5A;
+        Files.write(segmento, conteudo);
+
+        try (LogEntradas log = LogEntradas.abrir(diretorio, CAPACIDADE)) {
+            assertEquals(List.of(1L), sequencias(log));
+            assertEquals(2L, log.anexar(entrada(3).serializar()));
+        }
+    }
+
+    @Test
+    @DisplayName("Deve voltar ao início quando tudo foi confirmado e seguir depois da sequência confirmada")
+    void deveVoltarAoInicioQuandoTudoConfirmado() throws IOException {
+        try (LogEntradas log = LogEntradas.abrir(diretorio, CAPACIDADE)) {
+            log.anexar(entrada(1).serializar());
+            log.anexar(entrada(2).serializar());
+            log.confirmar(2L);
+        }
+
+        try (LogEntradas log = LogEntradas.abrir(diretorio, CAPACIDADE)) {
+            assertTrue(log.recuperadas().isEmpty());
+            log.confirmar(2L);
+            assertEquals(3L, log.anexar(entrada(3).serializar()));
+        }
+    }
+
+    @Test
+    @DisplayName("Deve levar só as entradas não confirmadas para o outro segmento quando o ativo enche")
+    void deveTrocarDeSegmentoComEntradasNaoConfirmadas() throws IOException {
+        long ultima = 0;
+        try (LogEntradas log = LogEntradas.abrir(diretorio, CAPACIDADE)) {
+            for (int i = 1; i <= 200; i++) {
+                ultima = log.anexar(entrada(i).serializar());
+                assertEquals(i, ultima);
+                if (i % 10 == 0) {
+                    log.confirmar(i - 5L);
+                }
+            }
+        }
+
+        try (LogEntradas log = LogEntradas.abrir(diretorio, CAPACIDADE)) {
+            List<Long> pendentes = sequencias(log).stream().filter(s -> s > 195L).toList();
+            assertEquals(List.of(196L, 197L, 198L, 199L, 200L), pendentes);
+            assertEquals(ultima, log.ultimaSequencia());
+        }
+    }
+
+    @Test
+    @DisplayName("Deve recusar a entrada quando nem a troca de segmento libera espaço, sem perder as anteriores")
+    void deveRecusarQuandoLogCheio() throws IOException {
+        long aceitas = 0;
+        try (LogEntradas log = LogEntradas.abrir(diretorio, CAPACIDADE)) {
+            while (log.anexar(entrada((int) aceitas + 1).serializar()) > 0) {
+                aceitas++;
+            }
+            assertTrue(aceitas > 10);
+            assertEquals(-1L, log.anexar(entrada(0).serializar()));
+        }
+
+        try (LogEntradas log = LogEntradas.abrir(diretorio, CAPACIDADE)) {
+            assertEquals(aceitas, log.recuperadas().size());
+            assertEquals(aceitas, log.ultimaSequencia());
+        }
+    }
+
+    @Test
+    @DisplayName("Deve recuperar a chave de idempotência da entrada e ler registros gravados antes dela")
+    void deveRecuperarChaveDeIdempotencia() {
+        EntradaPendente comChave = entrada(1).comIdempotencia("cancela-3-000123", "ab".repeat(32));
+        assertEquals(comChave.comSequencia(5L, true),
+            EntradaPendente.desserializar(5L, comChave.serializar()));
+
+        byte[] semChave = entrada(2).serializar();
+        byte[] versaoAnterior = Arrays.copyOf(semChave, semChave.length - 2);
+        versaoAnterior[0] = 1;
+        assertEquals(entrada(2).comSequencia(6L, true), EntradaPendente.desserializar(6L, versaoAnterior));
+    }
+}
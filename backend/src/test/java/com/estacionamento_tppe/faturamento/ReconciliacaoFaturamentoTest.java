@@ -0,0 +1,78 @@
+package com.estacionamento_tppe.faturamento;
+
+import com.estacionamento.faturamento.ReconciliacaoFaturamento;
+import com.estacionamento.model.FaturamentoDiario;
+import com.estacionamento.repository.FaturamentoDiarioRepository;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InOrder;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionStatus;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class ReconciliacaoFaturamentoTest {
+
+    @Mock
+    private FaturamentoDiarioRepository faturamentoDiarioRepository;
+    @Mock
+    private PlatformTransactionManager transactionManager;
+    @Mock
+    private TransactionStatus transacao;
+
+    private ReconciliacaoFaturamento reconciliacao;
+
+    @BeforeEach
+    void setUp() {
+        when(transactionManager.getTransaction(any())).thenReturn(transacao);
+        reconciliacao = new ReconciliacaoFaturamento(faturamentoDiarioRepository, transactionManager);
+    }
+
+    @Test
+    @DisplayName("Deve reconstruir cada estacionamento na sua transação, apagando os buckets antes de somar")
+    void deveReconstruirPorEstacionamento() {
+        List<FaturamentoDiario> doPrimeiro = List.of(
+            new FaturamentoDiario(1L, LocalDate.of(2024, 7, 1), "TEMPO", new BigDecimal("18.00"), 2L),
+            new FaturamentoDiario(1L, LocalDate.of(2024, 7, 1), "DIARIA", new BigDecimal("55.00"), 1L)
+        );
+        when(faturamentoDiarioRepository.listarEstacionamentos()).thenReturn(List.of(1L, 2L));
+        when(faturamentoDiarioRepository.somarAcessos(1L)).thenReturn(doPrimeiro);
+        when(faturamentoDiarioRepository.somarAcessos(2L)).thenReturn(List.of());
+
+        assertEquals(2, reconciliacao.reconstruir());
+
+        InOrder ordem = inOrder(transactionManager, faturamentoDiarioRepository);
+        for (Long estacionamentoId : List.of(1L, 2L)) {
+            ordem.verify(transactionManager).getTransaction(any());
+            ordem.verify(faturamentoDiarioRepository).limpar(estacionamentoId);
+            ordem.verify(faturamentoDiarioRepository).somarAcessos(estacionamentoId);
+            ordem.verify(faturamentoDiarioRepository).saveAll(anyList());
+            ordem.verify(transactionManager).commit(transacao);
+        }
+        verify(faturamentoDiarioRepository).saveAll(doPrimeiro);
+    }
+
+    @Test
+    @DisplayName("Deve manter os estacionamentos já reconstruídos quando um deles falha")
+    void deveDesfazerSoOEstacionamentoQueFalhou() {
+        when(faturamentoDiarioRepository.listarEstacionamentos()).thenReturn(List.of(1L, 2L));
+        when(faturamentoDiarioRepository.somarAcessos(1L)).thenReturn(List.of());
+        when(faturamentoDiarioRepository.somarAcessos(2L)).thenThrow(new IllegalStateException("Falha no banco."));
+
+        assertThrows(IllegalStateException.class, () -> reconciliacao.reconstruir());
+
+        verify(transactionManager, times(1)).commit(transacao);
+        verify(transactionManager, times(1)).rollback(transacao);
+    }
+}
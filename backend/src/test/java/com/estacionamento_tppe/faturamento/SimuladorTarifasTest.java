@@ -0,0 +1,133 @@
+package com.estacionamento_tppe.faturamento;
+
+import com.estacionamento.cache.CacheTarifas;
+import com.estacionamento.dto.ResultadoSimulacaoDTO;
+import com.estacionamento.dto.SimulacaoTarifaDTO;
+import com.estacionamento.exception.ObjetoNaoEncontradoException;
+import com.estacionamento.faturamento.AcessoSimulado;
+import com.estacionamento.faturamento.SimuladorTarifas;
+import com.estacionamento.model.Tempo;
+import com.estacionamento.repository.AcessoRepository;
+import com.estacionamento.tarifa.CobrancaDiaria;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.Limit;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class SimuladorTarifasTest {
+
+    private static final LocalDate INICIO = LocalDate.of(2024, 7, 1);
+    private static final LocalDate FIM = LocalDate.of(2024, 9, 30);
+    private static final LocalDate DIA = LocalDate.of(2024, 8, 5);
+
+    @Mock
+    private AcessoRepository acessoRepository;
+    @Mock
+    private CacheTarifas cacheTarifas;
+
+    private SimuladorTarifas simulador;
+    private Tempo tempoVigente;
+    private Tempo tempoOutro;
+
+    @BeforeEach
+    void setUp() {
+        simulador = new SimuladorTarifas(acessoRepository, cacheTarifas, CobrancaDiaria.POR_DIA,
+            Duration.ofMinutes(15), 2);
+        tempoVigente = new Tempo(1L, LocalTime.of(0, 15), new BigDecimal("10.00"), null);
+        tempoOutro = new Tempo(2L, LocalTime.of(0, 15), new BigDecimal("4.00"), null);
+    }
+
+    private static AcessoSimulado acesso(long id, long estacionamentoId, int minutos, String cobrado, Long tempoId) {
+        LocalTime entrada = LocalTime.of(9, 0);
+        return new AcessoSimulado(id, estacionamentoId, "TEMPO", DIA, entrada, DIA, entrada.plusMinutes(minutos),
+            new BigDecimal(cobrado), tempoId, null);
+    }
+
+    private static SimulacaoTarifaDTO pedido(Integer meses, List<Tempo> tempos) {
+        return new SimulacaoTarifaDTO(null, INICIO, FIM, meses, tempos, null);
+    }
+
+    @Test
+    @DisplayName("Deve somar por estacionamento o cobrado, o vigente e o simulado lendo os acessos em lotes")
+    void deveSimularPorEstacionamentoEmLotes() {
+        Tempo candidato = new Tempo(1L, LocalTime.of(0, 15), new BigDecimal("5.00"), null);
+        when(cacheTarifas.buscarTempo(1L)).thenReturn(tempoVigente);
+        when(cacheTarifas.buscarTempos(anyCollection())).thenReturn(Map.of(1L, tempoVigente, 2L, tempoOutro));
+        when(acessoRepository.buscarLoteSimulacao(eq(0L), isNull(), eq(INICIO), eq(FIM), any(Limit.class)))
+            .thenReturn(List.of(acesso(1L, 1L, 60, "36.00", 1L), acesso(2L, 2L, 30, "8.00", 2L)));
+        when(acessoRepository.buscarLoteSimulacao(eq(2L), isNull(), eq(INICIO), eq(FIM), any(Limit.class)))
+            .thenReturn(List.of(acesso(3L, 1L, 30, "20.00", 1L), acesso(4L, 1L, 30, "20.00", 9L)));
+        when(acessoRepository.buscarLoteSimulacao(eq(4L), isNull(), eq(INICIO), eq(FIM), any(Limit.class)))
+            .thenReturn(List.of());
+
+        ResultadoSimulacaoDTO resultado = simulador.simular(pedido(null, List.of(candidato)));
+
+        assertEquals(3L, resultado.acessos());
+        assertEquals(1L, resultado.acessosNaoPrecificados());
+        assertEquals(new BigDecimal("64.00"), resultado.valorCobrado());
+        assertEquals(new BigDecimal("68.00"), resultado.valorVigente());
+        assertEquals(new BigDecimal("38.00"), resultado.valorSimulado());
+        assertEquals(List.of(
+            new ResultadoSimulacaoDTO.EstacionamentoSimulado(1L, 2L, new BigDecimal("56.00"),
+                new BigDecimal("60.00"), new BigDecimal("30.00"), new BigDecimal("-30.00")),
+            new ResultadoSimulacaoDTO.EstacionamentoSimulado(2L, 1L, new BigDecimal("8.00"),
+                new BigDecimal("8.00"), new BigDecimal("8.00"), new BigDecimal("0.00"))
+        ), resultado.estacionamentos());
+        assertEquals(new BigDecimal("10.00"), tempoVigente.getValorFracao());
+        verify(acessoRepository, times(3)).buscarLoteSimulacao(any(), isNull(), eq(INICIO), eq(FIM),
+            eq(Limit.of(2)));
+    }
+
+    @Test
+    @DisplayName("Deve usar os últimos meses até a data final quando a data inicial não é informada")
+    void deveUsarMesesQuandoSemDataInicial() {
+        when(cacheTarifas.buscarTempo(1L)).thenReturn(tempoVigente);
+        when(acessoRepository.buscarLoteSimulacao(eq(0L), eq(7L), eq(LocalDate.of(2024, 3, 30)), eq(FIM),
+            any(Limit.class))).thenReturn(List.of());
+
+        ResultadoSimulacaoDTO resultado = simulador.simular(
+            new SimulacaoTarifaDTO(7L, null, FIM, 6, List.of(tempoVigente), null));
+
+        assertEquals(LocalDate.of(2024, 3, 30), resultado.dataInicial());
+        assertEquals(0L, resultado.acessos());
+        assertEquals(new BigDecimal("0.00"), resultado.valorSimulado());
+        assertTrue(resultado.estacionamentos().isEmpty());
+    }
+
+    @Test
+    @DisplayName("Deve recusar pedidos sem candidata, com candidata inexistente ou inválida e com período inválido")
+    void deveValidarPedido() {
+        when(cacheTarifas.buscarTempo(1L)).thenReturn(tempoVigente);
+        when(cacheTarifas.buscarTempo(5L)).thenReturn(null);
+
+        assertThrows(IllegalArgumentException.class, () -> simulador.simular(pedido(null, null)));
+        assertThrows(IllegalArgumentException.class, () -> simulador.simular(pedido(0, List.of(tempoVigente))));
+        assertThrows(IllegalArgumentException.class, () -> simulador.simular(
+            new SimulacaoTarifaDTO(null, FIM, INICIO, null, List.of(tempoVigente), null)));
+        assertThrows(IllegalArgumentException.class, () -> simulador.simular(
+            pedido(null, List.of(new Tempo(null, LocalTime.of(0, 15), BigDecimal.ONE, null)))));
+        assertThrows(IllegalArgumentException.class, () -> simulador.simular(
+            pedido(null, List.of(new Tempo(1L, LocalTime.MIDNIGHT, BigDecimal.ONE, null)))));
+        assertThrows(ObjetoNaoEncontradoException.class, () -> simulador.simular(
+            pedido(null, List.of(new Tempo(5L, LocalTime.of(0, 15), BigDecimal.ONE, null)))));
+        verifyNoInteractions(acessoRepository);
+    }
+}
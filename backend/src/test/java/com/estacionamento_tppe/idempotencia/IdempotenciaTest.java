@@ -0,0 +1,238 @@
+package com.estacionamento_tppe.idempotencia;
+
+import com.estacionamento.exception.ChaveIdempotenciaReutilizadaException;
+import com.estacionamento.idempotencia.Idempotencia;
+import com.estacionamento.repository.RequisicaoIdempotenteRepository;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.flywaydb.core.Flyway;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class IdempotenciaTest {
+
+    private static final String URL =
+        "jdbc:h2:mem:idempotencia;MODE=MySQL;DATABASE_TO_LOWER=TRUE;DB_CLOSE_DELAY=-1";
+    private static final String ROTA = "POST /api/acessos/saida";
+
+    private JdbcTemplate jdbcTemplate;
+    private RequisicaoIdempotenteRepository repositorio;
+    private DataSourceTransactionManager transactionManager;
+    private Idempotencia idempotencia;
+    private AtomicInteger execucoes;
+
+    @BeforeEach
+    void setUp() {
+        Flyway flyway = Flyway.configure().dataSource(URL, "sa", "").locations("classpath:db/migration")
+            .cleanDisabled(false).load();
+        flyway.clean();
+        flyway.migrate();
+
+        DriverManagerDataSource dataSource = new DriverManagerDataSource(URL, "sa", "");
+        jdbcTemplate = new JdbcTemplate(dataSource);
+        repositorio = new RequisicaoIdempotenteRepository(jdbcTemplate);
+        transactionManager = new DataSourceTransactionManager(dataSource);
+        idempotencia = novaIdempotencia();
+        execucoes = new AtomicInteger();
+    }
+
+    private Idempotencia novaIdempotencia() {
+        return new Idempotencia(repositorio, transactionManager, new ObjectMapper(), 100, Duration.ofHours(24));
+    }
+
+    /** Saída que grava uma linha na transação corrente, como o acesso encerrado pelo serviço. */
+    private ResponseEntity<Resposta> encerrar(Saida saida) {
+        int execucao = execucoes.incrementAndGet();
+        jdbcTemplate.update("INSERT INTO log_entradas (nodo, ultima_sequencia) VALUES (?, ?)",
+            saida.placa() + "-" + execucao, execucao);
+        return new ResponseEntity<>(new Resposta((long) execucao, saida.placa()), HttpStatus.CREATED);
+    }
+
+    private int linhas(String tabela) {
+        return jdbcTemplate.queryForObject("SELECT COUNT(*) FROM " + tabela, Integer.class);
+    }
+
+    @Test
+    @DisplayName("Deve executar a primeira requisição da chave e devolver a resposta dela nas repetições")
+    void deveRepetirRespostaGravada() {
+        Saida saida = new Saida("ABC1234", "cancela-3");
+
+        ResponseEntity<Resposta> original = idempotencia.executar("k-1", ROTA, saida, Resposta.class,
+            () -> encerrar(saida));
+        ResponseEntity<Resposta> repetida = idempotencia.executar("k-1", ROTA, new Saida("ABC1234", "cancela-3"),
+            Resposta.class, () -> encerrar(saida));
+
+        assertEquals(1, execucoes.get());
+        assertEquals(HttpStatus.CREATED, repetida.getStatusCode());
+        assertEquals(original.getBody(), repetida.getBody());
+        assertNull(original.getHeaders().getFirst(Idempotencia.CABECALHO_REPETIDA));
+        assertEquals("true", repetida.getHeaders().getFirst(Idempotencia.CABECALHO_REPETIDA));
+        assertEquals(1, linhas("log_entradas"));
+    }
+
+    @Test
+    @DisplayName("Deve repetir a partir da tabela quando a resposta não está no cache da instância")
+    void deveRepetirRespostaDaTabela() {
+        Saida saida = new Saida("ABC1234", "cancela-3");
+        idempotencia.executar("k-1", ROTA, saida, Resposta.class, () -> encerrar(saida));
+
+        ResponseEntity<Resposta> repetida = novaIdempotencia().executar("k-1", ROTA, saida, Resposta.class,
+            () -> encerrar(saida));
+
+        assertEquals(1, execucoes.get());
+        assertEquals(new Resposta(1L, "ABC1234"), repetida.getBody());
+        assertEquals("true", repetida.getHeaders().getFirst(Idempotencia.CABECALHO_REPETIDA));
+    }
+
+    @Test
+    @DisplayName("Deve tratar a mesma chave em outra rota como outra requisição")
+    void deveSepararChavesPorRota() {
+        Saida saida = new Saida("ABC1234", "cancela-3");
+        idempotencia.executar("k-1", ROTA, saida, Resposta.class, () -> encerrar(saida));
+        idempotencia.executar("k-1", "POST /api/acessos", saida, Resposta.class, () -> encerrar(saida));
+
+        assertEquals(2, execucoes.get());
+        assertEquals(2, linhas("requisicao_idempotente"));
+    }
+
+    @Test
+    @DisplayName("Deve aceitar e repetir a entrada anexada ao log sem o banco, mesmo com ele fora do ar")
+    void deveAceitarSemBancoMesmoComFalhaDoBanco() {
+        jdbcTemplate.execute("DROP TABLE requisicao_idempotente");
+        Saida entrada = new Saida("ABC1234", "cancela-3");
+        List<String> anexadas = new ArrayList<>();
+        Idempotencia.AceiteSemBanco<Resposta> anexar = (chave, impressao) -> {
+            anexadas.add(chave + ":" + impressao);
+            return new ResponseEntity<>(new Resposta(null, entrada.placa()), HttpStatus.ACCEPTED);
+        };
+
+        ResponseEntity<Resposta> aceita = idempotencia.executar("k-1", ROTA, entrada, Resposta.class, anexar,
+            () -> fail("A entrada aceita pelo log não deve abrir transação."));
+        ResponseEntity<Resposta> repetida = idempotencia.executar("k-1", ROTA, entrada, Resposta.class, anexar,
+            () -> fail("A repetição não deve abrir transação."));
+
+        assertEquals(1, anexadas.size());
+        assertTrue(anexadas.get(0).startsWith("k-1:"));
+        assertEquals(HttpStatus.ACCEPTED, repetida.getStatusCode());
+        assertEquals(aceita.getBody(), repetida.getBody());
+        assertEquals("true", repetida.getHeaders().getFirst(Idempotencia.CABECALHO_REPETIDA));
+    }
+
+    @Test
+    @DisplayName("Deve anexar uma única vez quando as repetições chegam com a original ainda em andamento")
+    void deveEsperarPelaOriginalEmAndamento() throws Exception {
+        Saida entrada = new Saida("ABC1234", "cancela-3");
+        CountDownLatch anexando = new CountDownLatch(1);
+        CountDownLatch liberar = new CountDownLatch(1);
+        Idempotencia.AceiteSemBanco<Resposta> anexar = (chave, impressao) -> {
+            execucoes.incrementAndGet();
+            anexando.countDown();
+            try {
+                liberar.await();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            return new ResponseEntity<>(new Resposta(null, entrada.placa()), HttpStatus.ACCEPTED);
+        };
+        ExecutorService executor = Executors.newFixedThreadPool(4);
+        try {
+            List<Future<ResponseEntity<Resposta>>> respostas = new ArrayList<>();
+            for (int i = 0; i < 4; i++) {
+                respostas.add(executor.submit(() -> idempotencia.executar("k-1", ROTA, entrada, Resposta.class,
+                    anexar, () -> fail("A entrada aceita pelo log não deve abrir transação."))));
+                if (i == 0) {
+                    anexando.await();
+                }
+            }
+            liberar.countDown();
+            for (Future<ResponseEntity<Resposta>> resposta : respostas) {
+                assertEquals(HttpStatus.ACCEPTED, resposta.get(5, TimeUnit.SECONDS).getStatusCode());
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+        assertEquals(1, execucoes.get());
+        assertEquals(0, linhas("requisicao_idempotente"));
+    }
+
+    @Test
+    @DisplayName("Deve recusar a mesma chave com outro corpo sem executar a operação")
+    void deveRecusarChaveComOutroCorpo() {
+        Saida saida = new Saida("ABC1234", "cancela-3");
+        idempotencia.executar("k-1", ROTA, saida, Resposta.class, () -> encerrar(saida));
+
+        Saida outra = new Saida("XYZ9876", "cancela-3");
+        assertThrows(ChaveIdempotenciaReutilizadaException.class,
+            () -> idempotencia.executar("k-1", ROTA, outra, Resposta.class, () -> encerrar(outra)));
+        assertEquals(1, execucoes.get());
+    }
+
+    @Test
+    @DisplayName("Deve desfazer a reserva da chave e o que a operação gravou quando ela falha")
+    void deveDesfazerReservaQuandoOperacaoFalha() {
+        Saida saida = new Saida("ABC1234", "cancela-3");
+
+        assertThrows(IllegalStateException.class, () -> idempotencia.executar("k-1", ROTA, saida, Resposta.class,
+            () -> {
+                encerrar(saida);
+                throw new IllegalStateException("Falha depois de gravar.");
+            }));
+        assertEquals(0, linhas("requisicao_idempotente"));
+        assertEquals(0, linhas("log_entradas"));
+
+        ResponseEntity<Resposta> nova = idempotencia.executar("k-1", ROTA, saida, Resposta.class,
+            () -> encerrar(saida));
+        assertEquals(new Resposta(2L, "ABC1234"), nova.getBody());
+        assertEquals(1, linhas("requisicao_idempotente"));
+    }
+
+    @Test
+    @DisplayName("Sem chave deve executar sempre, e com chave em branco ou longa demais deve recusar")
+    void deveExecutarSemChaveERecusarChaveInvalida() {
+        Saida saida = new Saida("ABC1234", "cancela-3");
+        idempotencia.executar(null, ROTA, saida, Resposta.class, () -> encerrar(saida));
+        idempotencia.executar(null, ROTA, saida, Resposta.class, () -> encerrar(saida));
+
+        assertEquals(2, execucoes.get());
+        assertEquals(0, linhas("requisicao_idempotente"));
+        assertThrows(IllegalArgumentException.class,
+            () -> idempotencia.executar(" ", ROTA, saida, Resposta.class, () -> encerrar(saida)));
+        assertThrows(IllegalArgumentException.class,
+            () -> idempotencia.executar("k".repeat(101), ROTA, saida, Resposta.class, () -> encerrar(saida)));
+    }
+
+    @Test
+    @DisplayName("Deve remover da tabela só as chaves mais antigas que a expiração")
+    void deveLimparChavesExpiradas() {
+        repositorio.reservar("antiga", ROTA, "0".repeat(64), LocalDateTime.now().minusHours(25));
+        repositorio.reservar("recente", ROTA, "0".repeat(64), LocalDateTime.now().minusHours(1));
+
+        assertEquals(1, idempotencia.limpar());
+        assertEquals(1, linhas("requisicao_idempotente"));
+    }
+
+    record Saida(String placa, String cancela) {
+    }
+
+    record Resposta(Long id, String placa) {
+    }
+}
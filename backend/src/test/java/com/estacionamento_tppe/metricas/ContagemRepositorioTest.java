@@ -0,0 +1,91 @@
+package com.estacionamento_tppe.metricas;
+
+import com.estacionamento.metricas.ContagemRepositorio;
+import com.estacionamento.repository.EventoRepository;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.aspectj.lang.JoinPoint;
+import org.aspectj.lang.Signature;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.web.servlet.HandlerMapping;
+
+import java.lang.reflect.Proxy;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class ContagemRepositorioTest {
+
+    @Mock
+    private JoinPoint ponto;
+    @Mock
+    private Signature assinatura;
+
+    private SimpleMeterRegistry registry;
+    private ContagemRepositorio contagem;
+
+    @BeforeEach
+    void setUp() {
+        registry = new SimpleMeterRegistry();
+        contagem = new ContagemRepositorio(registry, 0);
+        Object eventoRepository = Proxy.newProxyInstance(getClass().getClassLoader(),
+            new Class<?>[]{EventoRepository.class}, (proxy, metodo, argumentos) -> null);
+        when(ponto.getThis()).thenReturn(eventoRepository);
+        when(ponto.getSignature()).thenReturn(assinatura);
+        when(assinatura.getName()).thenReturn("findById");
+    }
+
+    @Test
+    @DisplayName("Deve contar as chamadas por repositório e registrar os totais de cada requisição pela rota")
+    void deveContarChamadasPorRequisicao() {
+        MockHttpServletRequest requisicao = new MockHttpServletRequest("GET", "/api/eventos/7");
+        MockHttpServletResponse resposta = new MockHttpServletResponse();
+
+        contagem.preHandle(requisicao, resposta, new Object());
+        contagem.contar(ponto);
+        contagem.contar(ponto);
+        contagem.contar(ponto);
+        contagem.comandoExecutado();
+        contagem.comandoExecutado();
+        requisicao.setAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE, "/api/eventos/{id}");
+        contagem.afterCompletion(requisicao, resposta, new Object(), null);
+        contagem.contar(ponto);
+        contagem.comandoExecutado();
+
+        DistributionSummary porRequisicao = registry.get("http.server.requests.repositorio")
+            .tags("method", "GET", "uri", "/api/eventos/{id}")
+            .summary();
+        assertEquals(1, porRequisicao.count());
+        assertEquals(3.0, porRequisicao.totalAmount());
+        assertEquals(2.0, registry.get("http.server.requests.sql")
+            .tags("method", "GET", "uri", "/api/eventos/{id}")
+            .summary().totalAmount());
+        assertEquals(4.0, registry.get("repositorio.chamadas")
+            .tags("repositorio", "EventoRepository", "metodo", "findById")
+            .counter().count());
+    }
+
+    @Test
+    @DisplayName("Deve descartar a contagem quando a requisição passa a ser assíncrona")
+    void deveDescartarContagemAoIniciarProcessamentoAssincrono() {
+        MockHttpServletRequest requisicao = new MockHttpServletRequest("GET", "/api/acessos/exportacao");
+        MockHttpServletResponse resposta = new MockHttpServletResponse();
+
+        contagem.preHandle(requisicao, resposta, new Object());
+        contagem.contar(ponto);
+        contagem.afterConcurrentHandlingStarted(requisicao, resposta, new Object());
+        contagem.afterCompletion(requisicao, resposta, new Object(), null);
+
+        assertNull(registry.find("http.server.requests.repositorio").summary());
+        assertEquals(1.0, registry.get("repositorio.chamadas").counter().count());
+    }
+}
@@ -0,0 +1,101 @@
+package com.estacionamento_tppe.metricas;
+
+import com.estacionamento.exception.DescricaoEmBrancoException;
+import com.estacionamento.exception.EstacionamentoLotadoException;
+import com.estacionamento.exception.ObjetoNaoEncontradoException;
+import com.estacionamento.metricas.MedicaoAcessos;
+import com.estacionamento.model.Acesso;
+
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.Signature;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.math.BigDecimal;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class MedicaoAcessosTest {
+
+    @Mock
+    private ProceedingJoinPoint ponto;
+    @Mock
+    private Signature assinatura;
+
+    private SimpleMeterRegistry registry;
+    private MedicaoAcessos medicao;
+
+    @BeforeEach
+    void setUp() {
+        registry = new SimpleMeterRegistry();
+        medicao = new MedicaoAcessos(registry);
+    }
+
+    private Timer servico(String metodo, String tipo, String resultado) {
+        return registry.get("acessos.servico")
+            .tags("metodo", metodo, "tipo", tipo, "resultado", resultado)
+            .timer();
+    }
+
+    @Test
+    @DisplayName("Deve medir a chamada com o tipo do acesso recebido e resultado sucesso")
+    void deveMedirChamadaComTipoDoAcesso() throws Throwable {
+        Acesso acesso = new Acesso();
+        acesso.setTipoAcesso("tempo");
+        when(ponto.getSignature()).thenReturn(assinatura);
+        when(assinatura.getName()).thenReturn("criarAcesso");
+        when(ponto.getArgs()).thenReturn(new Object[]{acesso});
+        when(ponto.proceed()).thenReturn(acesso);
+
+        assertSame(acesso, medicao.medirServico(ponto));
+        medicao.medirServico(ponto);
+
+        assertEquals(2, servico("criarAcesso", "TEMPO", "sucesso").count());
+    }
+
+    @Test
+    @DisplayName("Deve classificar as exceções do serviço no resultado e repassá-las")
+    void deveClassificarExcecoes() throws Throwable {
+        Acesso invalido = new Acesso();
+        invalido.setTipoAcesso("PERNOITE");
+        when(ponto.getSignature()).thenReturn(assinatura);
+        when(assinatura.getName()).thenReturn("encerrarPorPlaca");
+        when(ponto.getArgs()).thenReturn(new Object[]{"ABC1234"}, new Object[]{"ABC1234"},
+            new Object[]{invalido});
+        ObjetoNaoEncontradoException naoEncontrado = new ObjetoNaoEncontradoException("não encontrado");
+        when(ponto.proceed()).thenThrow(naoEncontrado, new EstacionamentoLotadoException("lotado"),
+            new DescricaoEmBrancoException("em branco"));
+
+        assertSame(naoEncontrado, assertThrows(ObjetoNaoEncontradoException.class,
+            () -> medicao.medirServico(ponto)));
+        assertThrows(EstacionamentoLotadoException.class, () -> medicao.medirServico(ponto));
+        assertThrows(DescricaoEmBrancoException.class, () -> medicao.medirServico(ponto));
+
+        assertEquals(1, servico("encerrarPorPlaca", "NENHUM", "nao_encontrado").count());
+        assertEquals(1, servico("encerrarPorPlaca", "NENHUM", "lotado").count());
+        assertEquals(1, servico("encerrarPorPlaca", "INVALIDO", "validacao").count());
+    }
+
+    @Test
+    @DisplayName("Deve registrar o cálculo de valor por tipo com histograma")
+    void deveRegistrarHistogramaDoCalculoDeValor() throws Throwable {
+        Acesso acesso = new Acesso();
+        acesso.setTipoAcesso("DIARIA");
+        when(ponto.getArgs()).thenReturn(new Object[]{acesso});
+        when(ponto.proceed()).thenReturn(new BigDecimal("55.00"));
+
+        assertEquals(new BigDecimal("55.00"), medicao.medirCalculoValor(ponto));
+
+        Timer calculo = registry.get("acessos.calculo.valor").tag("tipo", "DIARIA").timer();
+        assertEquals(1, calculo.count());
+        assertTrue(calculo.takeSnapshot().histogramCounts().length > 0);
+    }
+}
@@ -0,0 +1,111 @@
+package com.estacionamento_tppe.metricas;
+
+import com.estacionamento.metricas.ContagemRepositorio;
+import com.estacionamento.metricas.MonitorConsultas;
+import com.estacionamento.metricas.MonitorDataSource;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.Signature;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.web.servlet.HandlerMapping;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.Duration;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class MonitorConsultasTest {
+
+    @Mock
+    private ProceedingJoinPoint ponto;
+    @Mock
+    private Signature assinatura;
+
+    private SimpleMeterRegistry registry;
+    private ContagemRepositorio contagem;
+    private MonitorConsultas monitor;
+
+    @BeforeEach
+    void setUp() {
+        registry = new SimpleMeterRegistry();
+        contagem = new ContagemRepositorio(registry, 0);
+        monitor = spy(new MonitorConsultas(contagem, Duration.ofMillis(200)));
+    }
+
+    @Test
+    @DisplayName("Deve reduzir o SQL a uma impressão sem literais e com listas IN de qualquer tamanho iguais")
+    void deveGerarImpressaoDoSql() {
+        assertEquals("select * from acesso where placa = ? and id in (?+)",
+            MonitorConsultas.impressao("SELECT *\n  FROM acesso WHERE placa = 'ABC''1' AND id IN (?, ?, ?)"));
+        assertEquals(MonitorConsultas.impressao("delete from t where c = ? and x in (?, ?)"),
+            MonitorConsultas.impressao("DELETE FROM t WHERE c = 42 AND x IN (?,?,?,?)"));
+        assertEquals("select t1_0.id from tempo t1_0 where t1_0.valor > ?",
+            MonitorConsultas.impressao("select t1_0.id from tempo t1_0 where t1_0.valor > 10.5"));
+    }
+
+    @Test
+    @DisplayName("Deve atribuir os comandos ao método de serviço mais externo da thread")
+    void deveMarcarOrigemMaisExterna() throws Throwable {
+        doReturn(AcessoServiceFalso.class).when(assinatura).getDeclaringType();
+        when(assinatura.getName()).thenReturn("criarAcesso");
+        when(ponto.getSignature()).thenReturn(assinatura);
+        when(ponto.proceed()).thenAnswer(invocacao -> monitor.origem());
+
+        assertEquals("AcessoServiceFalso.criarAcesso", monitor.marcarOrigem(ponto));
+        assertEquals("desconhecida", monitor.origem());
+    }
+
+    @Test
+    @DisplayName("Deve medir cada execução com os binds e o lote e somar os comandos na requisição")
+    void deveMedirComandosDoDataSource() throws SQLException {
+        DataSource dataSource = MonitorDataSource.envolver(new DriverManagerDataSource(
+            "jdbc:h2:mem:monitor;MODE=MySQL;DB_CLOSE_DELAY=-1", "sa", ""), monitor);
+        MockHttpServletRequest requisicao = new MockHttpServletRequest("POST", "/api/acessos");
+        MockHttpServletResponse resposta = new MockHttpServletResponse();
+
+        contagem.preHandle(requisicao, resposta, new Object());
+        try (Connection conexao = dataSource.getConnection();
+             Statement comando = conexao.createStatement()) {
+            comando.execute("CREATE TABLE placa (id INT, texto VARCHAR(10))");
+            try (PreparedStatement insercao = conexao.prepareStatement("INSERT INTO placa VALUES (?, ?)")) {
+                for (int i = 0; i < 3; i++) {
+                    insercao.setInt(1, i);
+                    insercao.setString(2, "P" + i);
+                    insercao.addBatch();
+                }
+                insercao.executeBatch();
+                insercao.setInt(1, 9);
+                insercao.setString(2, "P9");
+                insercao.executeUpdate();
+            }
+        }
+        requisicao.setAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE, "/api/acessos");
+        contagem.afterCompletion(requisicao, resposta, new Object(), null);
+
+        verify(monitor).registrar(eq("CREATE TABLE placa (id INT, texto VARCHAR(10))"), eq(0), eq(0), anyLong());
+        verify(monitor).registrar(eq("INSERT INTO placa VALUES (?, ?)"), eq(6), eq(3), anyLong());
+        verify(monitor).registrar(eq("INSERT INTO placa VALUES (?, ?)"), eq(2), eq(0), anyLong());
+        assertEquals(3.0, registry.get("http.server.requests.sql").tags("uri", "/api/acessos")
+            .summary().totalAmount());
+    }
+
+    private static final class AcessoServiceFalso {
+    }
+}
@@ -0,0 +1,59 @@
+package com.estacionamento_tppe.migracao;
+
+import com.estacionamento.model.Acesso;
+import com.estacionamento.model.FaturamentoDiario;
+
+import jakarta.persistence.EntityManager;
+import org.flywaydb.core.Flyway;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.domain.EntityScan;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.test.context.ContextConfiguration;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DataJpaTest(properties = {
+    "spring.datasource.url=jdbc:h2:mem:mapeamento;MODE=MySQL;DATABASE_TO_LOWER=TRUE;DB_CLOSE_DELAY=-1",
+    "spring.datasource.driver-class-name=org.h2.Driver",
+    "spring.datasource.username=sa",
+    "spring.datasource.password=",
+    "spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.H2Dialect",
+    "spring.jpa.hibernate.ddl-auto=validate",
+    "spring.data.jpa.repositories.enabled=false"
+})
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@ContextConfiguration(classes = MapeamentoEsquemaTest.Configuracao.class)
+class MapeamentoEsquemaTest {
+
+    @Autowired
+    private Flyway flyway;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @Test
+    @DisplayName("Deve validar o mapeamento JPA contra o esquema migrado e gravar por ele")
+    void deveValidarMapeamentoContraEsquemaMigrado() {
+        assertEquals("7", flyway.info().current().getVersion().getVersion());
+
+        FaturamentoDiario bucket = new FaturamentoDiario(null, 1L, LocalDate.of(2024, 7, 1), "TEMPO",
+            new BigDecimal("18.00"), 1L);
+        entityManager.persist(bucket);
+        entityManager.flush();
+        entityManager.clear();
+
+        assertEquals(bucket, entityManager.find(FaturamentoDiario.class, bucket.getId()));
+    }
+
+    @Configuration
+    @EntityScan(basePackageClasses = Acesso.class)
+    static class Configuracao {
+    }
+}
@@ -0,0 +1,125 @@
+package com.estacionamento_tppe.migracao;
+
+import org.flywaydb.core.Flyway;
+import org.flywaydb.core.api.output.MigrateResult;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.jdbc.datasource.init.ScriptUtils;
+
+import java.math.BigDecimal;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.LocalDate;
+import java.util.HashSet;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class MigracoesTest {
+
+    private static String url(String banco) {
+        return "jdbc:h2:mem:" + banco + ";MODE=MySQL;DATABASE_TO_LOWER=TRUE;DB_CLOSE_DELAY=-1";
+    }
+
+    private static Flyway flyway(String banco, boolean baseline) {
+        return Flyway.configure()
+            .dataSource(url(banco), "sa", "")
+            .locations("classpath:db/migration")
+            .baselineOnMigrate(baseline)
+            .baselineVersion("1")
+            .load();
+    }
+
+    private static Set<String> indices(String banco, String tabela) throws SQLException {
+        Set<String> nomes = new HashSet<>();
+        try (Connection conexao = DriverManager.getConnection(url(banco), "sa", "");
+             ResultSet resultado = conexao.getMetaData().getIndexInfo(null, null, tabela, false, false)) {
+            while (resultado.next()) {
+                if (resultado.getString("INDEX_NAME") != null) {
+                    nomes.add(resultado.getString("INDEX_NAME").toLowerCase());
+                }
+            }
+        }
+        return nomes;
+    }
+
+    @Test
+    @DisplayName("Deve criar o esquema e os índices de acesso a partir de um banco vazio")
+    void deveCriarEsquemaEIndicesEmBancoVazio() throws SQLException {
+        MigrateResult resultado = flyway("vazio", false).migrate();
+
+        assertTrue(resultado.success);
+        assertEquals(7, resultado.migrationsExecuted);
+        assertTrue(indices("vazio", "acesso").containsAll(Set.of(
+            "idx_acesso_estacionamento_data_fim", "idx_acesso_veiculo_data_fim",
+            "idx_acesso_data_inicio", "idx_acesso_tipo_acesso"
+        )));
+        assertEquals(0, flyway("vazio", false).migrate().migrationsExecuted);
+    }
+
+    @Test
+    @DisplayName("Deve aceitar os comandos de escrita do AcessoLoteRepository e do faturamento no esquema migrado")
+    void deveAceitarEscritasNoEsquemaMigrado() throws SQLException {
+        flyway("escritas", false).migrate();
+
+        try (Connection conexao = DriverManager.getConnection(url("escritas"), "sa", "");
+             Statement comando = conexao.createStatement()) {
+            comando.executeUpdate("INSERT INTO estacionamento (nome, endereco, capacidade, hora_abertura, "
+                + "hora_fechamento) VALUES ('Central', 'Rua A', 10, '08:00', '22:00')");
+            comando.executeUpdate("INSERT INTO veiculo (placa, marca, modelo) VALUES ('ABC1234', 'Fiat', 'Uno')");
+            comando.executeUpdate("INSERT INTO acesso (estacionamento_id, veiculo_id, data_inicio, hora_inicio, "
+                + "tipo_acesso) VALUES (1, 1, '2024-07-01', '09:00', 'MENSALISTA')");
+            comando.executeUpdate("INSERT INTO faturamento_diario (estacionamento_id, dia, tipo_acesso, valor_total, "
+                + "quantidade) VALUES (1, '2024-07-01', 'TEMPO', 18.00, 1)");
+            comando.executeUpdate("INSERT INTO log_entradas (nodo, ultima_sequencia) VALUES ('local', 42)");
+            comando.executeUpdate("INSERT INTO evento (nome_evento, data_inicio, hora_inicio, data_fim, hora_fim, "
+                + "estacionamento_id, vagas_reservadas) VALUES ('Show', '2024-07-01', '18:00', '2024-07-01', "
+                + "'23:00', 1, 5)");
+            comando.executeUpdate("INSERT INTO acesso (estacionamento_id, veiculo_id, data_inicio, hora_inicio, "
+                + "tipo_acesso, evento_id) VALUES (1, 1, '2024-07-01', '19:00', 'TEMPO', 1)");
+            try (ResultSet versoes = comando.executeQuery("SELECT COUNT(*) FROM acesso WHERE versao = 0")) {
+                versoes.next();
+                assertEquals(2, versoes.getInt(1));
+            }
+
+            assertThrows(SQLException.class, () -> comando.executeUpdate(
+                "INSERT INTO veiculo (placa, marca, modelo) VALUES ('ABC1234', 'Fiat', 'Mobi')"));
+            assertThrows(SQLException.class, () -> comando.executeUpdate(
+                "INSERT INTO log_entradas (nodo, ultima_sequencia) VALUES ('local', 43)"));
+            assertThrows(SQLException.class, () -> comando.executeUpdate(
+                "INSERT INTO acesso (estacionamento_id, veiculo_id, data_inicio, hora_inicio, tipo_acesso) "
+                    + "VALUES (99, 1, '2024-07-01', '09:00', 'TEMPO')"));
+        }
+    }
+
+    @Test
+    @DisplayName("Deve aplicar só as migrações posteriores à inicial em um banco criado pelo ddl-auto")
+    void deveAplicarSoMigracoesPosterioresEmBancoExistente() throws SQLException {
+        try (Connection conexao = DriverManager.getConnection(url("existente"), "sa", "")) {
+            ScriptUtils.executeSqlScript(conexao, new ClassPathResource("migracao/esquema_ddl_auto.sql"));
+        }
+
+        MigrateResult resultado = flyway("existente", true).migrate();
+
+        assertTrue(resultado.success);
+        assertEquals(6, resultado.migrationsExecuted);
+        assertEquals("7", resultado.targetSchemaVersion);
+        assertTrue(indices("existente", "acesso").contains("idx_acesso_veiculo_data_fim"));
+        try (Connection conexao = DriverManager.getConnection(url("existente"), "sa", "");
+             Statement comando = conexao.createStatement();
+             ResultSet bucket = comando.executeQuery("SELECT estacionamento_id, dia, tipo_acesso, valor_total, "
+                 + "quantidade FROM faturamento_diario")) {
+            assertTrue(bucket.next());
+            assertEquals(1L, bucket.getLong("estacionamento_id"));
+            assertEquals(LocalDate.of(2024, 7, 1), bucket.getObject("dia", LocalDate.class));
+            assertEquals("TEMPO", bucket.getString("tipo_acesso"));
+            assertEquals(0, new BigDecimal("18.00").compareTo(bucket.getBigDecimal("valor_total")));
+            assertEquals(2, bucket.getLong("quantidade"));
+            assertFalse(bucket.next());
+        }
+    }
+}
@@ -0,0 +1,63 @@
+package com.estacionamento_tppe.repository;
+
+import com.estacionamento.model.Veiculo;
+import com.estacionamento.repository.VeiculoLoteRepository;
+
+import org.flywaydb.core.Flyway;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class VeiculoLoteRepositoryTest {
+
+    private static final String URL = "jdbc:h2:mem:veiculos;MODE=MySQL;DATABASE_TO_LOWER=TRUE;DB_CLOSE_DELAY=-1";
+
+    private JdbcTemplate jdbcTemplate;
+    private VeiculoLoteRepository repositorio;
+
+    @BeforeEach
+    void setUp() {
+        Flyway flyway = Flyway.configure().dataSource(URL, "sa", "").locations("classpath:db/migration")
+            .cleanDisabled(false).load();
+        flyway.clean();
+        flyway.migrate();
+
+        jdbcTemplate = new JdbcTemplate(new DriverManagerDataSource(URL, "sa", ""));
+        jdbcTemplate.update(
+            "INSERT INTO veiculo (placa, marca, modelo, cor) VALUES ('ABC1234', 'Fiat', 'Uno', 'Preto')");
+        repositorio = new VeiculoLoteRepository(jdbcTemplate);
+    }
+
+    @Test
+    @DisplayName("Deve gravar só as placas ausentes, mantendo as já cadastradas como estão")
+    void deveGravarSoAsPlacasAusentes() {
+        Long idExistente = jdbcTemplate.queryForObject("SELECT id FROM veiculo WHERE placa = 'ABC1234'", Long.class);
+
+        repositorio.inserirSeAusentes(List.of(
+            new Veiculo(null, "NEW0002", "VW", "Gol", null),
+            new Veiculo(null, "ABC1234", "Ford", "Ka", "Branco"),
+            new Veiculo(null, "NEW0001", "Fiat", "Mobi", "Branco")
+        ));
+
+        assertEquals(List.of("ABC1234", "NEW0001", "NEW0002"),
+            jdbcTemplate.queryForList("SELECT placa FROM veiculo ORDER BY placa", String.class));
+        assertEquals(idExistente,
+            jdbcTemplate.queryForObject("SELECT id FROM veiculo WHERE placa = 'ABC1234'", Long.class));
+        assertEquals("Uno", jdbcTemplate.queryForObject("SELECT modelo FROM veiculo WHERE placa = 'ABC1234'",
+            String.class));
+    }
+
+    @Test
+    @DisplayName("Não deve ir ao banco sem veículos para gravar")
+    void naoDeveGravarListaVazia() {
+        repositorio.inserirSeAusentes(List.of());
+
+        assertEquals(1, jdbcTemplate.queryForObject("SELECT COUNT(*) FROM veiculo", Integer.class));
+    }
+}
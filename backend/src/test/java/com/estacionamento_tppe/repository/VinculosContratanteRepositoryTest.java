@@ -0,0 +1,203 @@
+package com.estacionamento_tppe.repository;
+
+import com.estacionamento.repository.VinculosContratanteRepository;
+
+import org.flywaydb.core.Flyway;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.SingleConnectionDataSource;
+
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Collectors;
+import java.util.stream.LongStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class VinculosContratanteRepositoryTest {
+
+    private static final String URL = "jdbc:h2:mem:vinculos;MODE=MySQL;DATABASE_TO_LOWER=TRUE;DB_CLOSE_DELAY=-1";
+
+    private JdbcTemplate jdbcTemplate;
+    private VinculosContratanteRepository repositorio;
+    private int idasAoBanco;
+    private int linhasEmLote;
+
+    @BeforeEach
+    void setUp() throws SQLException {
+        Flyway flyway = Flyway.configure().dataSource(URL, "sa", "").locations("classpath:db/migration")
+            .cleanDisabled(false).load();
+        flyway.clean();
+        flyway.migrate();
+
+        Connection conexao = DriverManager.getConnection(URL, "sa", "");
+        try (PreparedStatement comando = conexao.prepareStatement("INSERT INTO estacionamento (nome, endereco, "
+            + "capacidade, hora_abertura, hora_fechamento) VALUES (?, 'Rua A', 10, '08:00', '22:00')")) {
+            for (int i = 1; i <= 750; i++) {
+                comando.setString(1, "E" + i);
+                comando.addBatch();
+            }
+            comando.executeBatch();
+        }
+        try (Statement comando = conexao.createStatement()) {
+            comando.executeUpdate(
+                "INSERT INTO contratante (nome, cpf_cnpj, email) VALUES ('Empresa', '123', 'e@x.com')");
+            comando.executeUpdate("INSERT INTO evento (nome_evento, data_inicio, hora_inicio, data_fim, hora_fim) "
+                + "VALUES ('Show', '2024-07-10', '18:00', '2024-07-10', '23:00')");
+        }
+        try (PreparedStatement comando = conexao.prepareStatement(
+            "INSERT INTO contratante (nome, cpf_cnpj, email) VALUES (?, ?, ?)")) {
+            for (int i = 2; i <= 401; i++) {
+                comando.setString(1, "C" + i);
+                comando.setString(2, "doc-" + i);
+                comando.setString(3, "c" + i + "@x.com");
+                comando.addBatch();
+            }
+            comando.executeBatch();
+        }
+
+        jdbcTemplate = new JdbcTemplate(new SingleConnectionDataSource(contando(conexao), true));
+        repositorio = new VinculosContratanteRepository(jdbcTemplate);
+    }
+
+    /** Conta os comandos que vão ao banco e as linhas acumuladas em lote pelos PreparedStatement. */
+    private Connection contando(Connection conexao) {
+        return (Connection) Proxy.newProxyInstance(getClass().getClassLoader(), new Class<?>[]{Connection.class},
+            (proxy, metodo, args) -> {
+                Object resultado = invocar(conexao, metodo, args);
+                if (resultado instanceof PreparedStatement comando) {
+                    return Proxy.newProxyInstance(getClass().getClassLoader(),
+                        new Class<?>[]{PreparedStatement.class}, (p, m, a) -> {
+                            switch (m.getName()) {
+                                case "executeQuery", "executeUpdate", "execute", "executeBatch" -> idasAoBanco++;
+                                case "addBatch" -> linhasEmLote++;
+                                default -> { }
+                            }
+                            return invocar(comando, m, a);
+                        });
+                }
+                return resultado;
+            });
+    }
+
+    private static Object invocar(Object alvo, Method metodo, Object[] args) throws Throwable {
+        try {
+            return metodo.invoke(alvo, args);
+        } catch (InvocationTargetException e) {
+            throw e.getCause();
+        }
+    }
+
+    private static Set<Long> intervalo(long inicio, long fim) {
+        return LongStream.rangeClosed(inicio, fim).boxed().collect(Collectors.toSet());
+    }
+
+    private Set<Long> vinculados() {
+        List<Long> ids = jdbcTemplate.queryForList(
+            "SELECT estacionamento_id FROM estacionamento_contratante WHERE contratante_id = 1", Long.class);
+        return new HashSet<>(ids);
+    }
+
+    private Set<Long> contratantesDe(String tabela, String coluna, long id) {
+        List<Long> ids = jdbcTemplate.queryForList(
+            "SELECT contratante_id FROM " + tabela + " WHERE " + coluna + " = ?", Long.class, id);
+        return new HashSet<>(ids);
+    }
+
+    @Test
+    @DisplayName("Deve gravar 500 vínculos novos com uma consulta e um único lote")
+    void deveGravarQuinhentosVinculosEmUmLote() {
+        repositorio.substituirEstacionamentos(1L, intervalo(1, 500));
+
+        assertEquals(2, idasAoBanco);
+        assertEquals(500, linhasEmLote);
+        assertEquals(intervalo(1, 500), vinculados());
+    }
+
+    @Test
+    @DisplayName("Deve trocar metade dos 500 vínculos com uma consulta, um DELETE e um lote de INSERT")
+    void deveAplicarDiferencaComTresComandos() {
+        repositorio.substituirEstacionamentos(1L, intervalo(1, 500));
+        idasAoBanco = 0;
+        linhasEmLote = 0;
+
+        repositorio.substituirEstacionamentos(1L, intervalo(251, 750));
+
+        assertEquals(3, idasAoBanco);
+        assertEquals(250, linhasEmLote);
+        assertEquals(intervalo(251, 750), vinculados());
+    }
+
+    @Test
+    @DisplayName("Deve só consultar quando os vínculos pedidos já são os atuais")
+    void deveSoConsultarSemDiferenca() {
+        repositorio.substituirEstacionamentos(1L, intervalo(1, 500));
+        idasAoBanco = 0;
+        linhasEmLote = 0;
+
+        repositorio.substituirEstacionamentos(1L, intervalo(1, 500));
+        repositorio.substituirEventos(1L, Set.of());
+
+        assertEquals(2, idasAoBanco);
+        assertEquals(0, linhasEmLote);
+    }
+
+    @Test
+    @DisplayName("Deve trocar os contratantes de um estacionamento sem um comando por contratante")
+    void deveAplicarDiferencaPeloEstacionamento() {
+        repositorio.substituirContratantesDoEstacionamento(1L, intervalo(2, 301));
+
+        assertEquals(2, idasAoBanco);
+        assertEquals(300, linhasEmLote);
+        idasAoBanco = 0;
+        linhasEmLote = 0;
+
+        repositorio.substituirContratantesDoEstacionamento(1L, intervalo(152, 401));
+
+        assertEquals(3, idasAoBanco);
+        assertEquals(100, linhasEmLote);
+        assertEquals(intervalo(152, 401), contratantesDe("estacionamento_contratante", "estacionamento_id", 1));
+    }
+
+    @Test
+    @DisplayName("Deve trocar os contratantes de um evento sem um comando por contratante")
+    void deveAplicarDiferencaPeloEvento() {
+        repositorio.substituirContratantesDoEvento(1L, intervalo(1, 400));
+        idasAoBanco = 0;
+        linhasEmLote = 0;
+
+        repositorio.substituirContratantesDoEvento(1L, intervalo(201, 401));
+
+        assertEquals(3, idasAoBanco);
+        assertEquals(1, linhasEmLote);
+        assertEquals(intervalo(201, 401), contratantesDe("contratante_evento", "evento_id", 1));
+    }
+
+    @Test
+    @DisplayName("Deve desfazer todos os vínculos de um estacionamento com um único DELETE")
+    void deveRemoverVinculosDoEstacionamentoComUmComando() {
+        repositorio.substituirContratantesDoEstacionamento(1L, intervalo(1, 300));
+        repositorio.substituirContratantesDoEstacionamento(2L, intervalo(1, 10));
+        repositorio.substituirContratantesDoEvento(1L, intervalo(1, 300));
+        idasAoBanco = 0;
+
+        repositorio.removerEstacionamento(1L);
+        repositorio.removerEvento(1L);
+
+        assertEquals(2, idasAoBanco);
+        assertEquals(Set.of(), contratantesDe("estacionamento_contratante", "estacionamento_id", 1));
+        assertEquals(Set.of(), contratantesDe("contratante_evento", "evento_id", 1));
+        assertEquals(intervalo(1, 10), contratantesDe("estacionamento_contratante", "estacionamento_id", 2));
+    }
+}
@@ -0,0 +1,78 @@
+package com.estacionamento_tppe.reserva;
+
+import com.estacionamento.reserva.Reserva;
+import com.estacionamento.reserva.ReservasVagas;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ReservasVagasTest {
+
+    private ReservasVagas reservasVagas;
+
+    private static LocalDateTime em(int dia, int hora) {
+        return LocalDateTime.of(2024, 7, dia, hora, 0);
+    }
+
+    @BeforeEach
+    void setUp() {
+        reservasVagas = new ReservasVagas();
+        reservasVagas.reconstruir(List.of(
+            new Reserva(1L, 10L, em(10, 8), em(10, 18), 20),
+            new Reserva(2L, 10L, em(10, 14), em(11, 2), 5),
+            new Reserva(3L, 20L, em(10, 8), em(10, 18), 7)
+        ));
+    }
+
+    @Test
+    @DisplayName("Deve somar as reservas que cobrem o instante, com início inclusive e fim exclusive")
+    void deveSomarReservasQueCobremOInstante() {
+        assertEquals(0, reservasVagas.reservadas(10L, em(10, 7)));
+        assertEquals(20, reservasVagas.reservadas(10L, em(10, 8)));
+        assertEquals(20, reservasVagas.reservadas(10L, em(10, 13).plusMinutes(59)));
+        assertEquals(25, reservasVagas.reservadas(10L, em(10, 14)));
+        assertEquals(5, reservasVagas.reservadas(10L, em(10, 18)));
+        assertEquals(5, reservasVagas.reservadas(10L, em(11, 1)));
+        assertEquals(0, reservasVagas.reservadas(10L, em(11, 2)));
+    }
+
+    @Test
+    @DisplayName("Deve manter as reservas de cada estacionamento separadas")
+    void deveSepararPorEstacionamento() {
+        assertEquals(7, reservasVagas.reservadas(20L, em(10, 15)));
+        assertEquals(0, reservasVagas.reservadas(30L, em(10, 15)));
+    }
+
+    @Test
+    @DisplayName("Deve substituir a reserva do evento, inclusive ao trocar de estacionamento, e removê-la")
+    void deveSubstituirERemoverReserva() {
+        reservasVagas.registrar(1L, new Reserva(1L, 20L, em(10, 8), em(10, 12), 3));
+
+        assertEquals(0, reservasVagas.reservadas(10L, em(10, 9)));
+        assertEquals(10, reservasVagas.reservadas(20L, em(10, 9)));
+        assertEquals(20L, reservasVagas.buscarPorEvento(1L).estacionamentoId());
+
+        reservasVagas.registrar(2L, null);
+        reservasVagas.remover(3L);
+
+        assertNull(reservasVagas.buscarPorEvento(2L));
+        assertEquals(0, reservasVagas.reservadas(10L, em(10, 15)));
+        assertEquals(3, reservasVagas.reservadas(20L, em(10, 9)));
+    }
+
+    @Test
+    @DisplayName("Deve descartar as reservas do estacionamento excluído")
+    void deveRemoverEstacionamento() {
+        reservasVagas.removerEstacionamento(10L);
+
+        assertEquals(0, reservasVagas.reservadas(10L, em(10, 15)));
+        assertNull(reservasVagas.buscarPorEvento(1L));
+        assertEquals(7, reservasVagas.reservadas(20L, em(10, 15)));
+    }
+}
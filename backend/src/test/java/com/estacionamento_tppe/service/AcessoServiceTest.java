@@ -1,26 +1,58 @@
 package com.estacionamento_tppe.service;
 
+import com.estacionamento.cache.CachePlacas;
+import com.estacionamento.cache.CacheTarifas;
+import com.estacionamento.dto.AcessoDTO;
+import com.estacionamento.dto.AcessoResumoDTO;
+import com.estacionamento.dto.FiltroAcesso;
+import com.estacionamento.dto.PaginaDTO;
+import com.estacionamento.dto.ResultadoLoteDTO;
+import com.estacionamento.escrita.EntradaPendente;
+import com.estacionamento.escrita.FilaEntradas;
+import com.estacionamento.exception.ConflitoVersaoException;
 import com.estacionamento.exception.DescricaoEmBrancoException;
+import com.estacionamento.exception.EstacionamentoLotadoException;
 import com.estacionamento.exception.ObjetoNaoEncontradoException;
+import com.estacionamento.exception.VersaoAusenteException;
+import com.estacionamento.faturamento.AgregadorFaturamento;
+import com.estacionamento.faturamento.Contribuicao;
+import com.estacionamento.idempotencia.Idempotencia;
 import com.estacionamento.model.*;
+import com.estacionamento.ocupacao.IndiceOcupacao;
+import com.estacionamento.ocupacao.SessoesAbertas;
 import com.estacionamento.repository.*;
+import com.estacionamento.reserva.Reserva;
+import com.estacionamento.reserva.ReservasVagas;
 import com.estacionamento.service.AcessoService;
+import com.estacionamento.tarifa.MotorTarifario;
 
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
-import org.mockito.InjectMocks;
+import org.mockito.ArgumentCaptor;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.Limit;
+import org.springframework.http.HttpStatus;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.transaction.support.TransactionTemplate;
 
 import java.math.BigDecimal;
 import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.Duration;
 import java.time.LocalTime;
 import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
 import java.util.Optional;
 import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.any;
@@ -32,17 +64,38 @@ class AcessoServiceTest {
     @Mock
     private AcessoRepository acessoRepository;
     @Mock
+    private AcessoLoteRepository acessoLoteRepository;
+    @Mock
     private EstacionamentoRepository estacionamentoRepository;
     @Mock
     private VeiculoRepository veiculoRepository;
     @Mock
+    private VeiculoLoteRepository veiculoLoteRepository;
+    @Mock
     private TempoRepository tempoRepository;
     @Mock
     private DiariaRepository diariaRepository;
     @Mock
     private MensalistaRepository mensalistaRepository;
+    @Spy
+    private MotorTarifario motorTarifario = new MotorTarifario();
+    @Spy
+    private IndiceOcupacao indiceOcupacao = new IndiceOcupacao();
+    @Spy
+    private SessoesAbertas sessoesAbertas = new SessoesAbertas();
+    @Spy
+    private CachePlacas cachePlacas = new CachePlacas(100, Duration.ofMinutes(5));
+    @Mock
+    private AgregadorFaturamento agregadorFaturamento;
+    @Mock
+    private FilaEntradas filaEntradas;
+    @Spy
+    private ReservasVagas reservasVagas = new ReservasVagas();
+    @Mock
+    private EventoRepository eventoRepository;
+    @Mock
+    private Idempotencia idempotencia;
 
-    @InjectMocks
     private AcessoService acessoService;
 
     private Estacionamento estacionamentoPadrao;
@@ -57,7 +110,7 @@ class AcessoServiceTest {
     @BeforeEach
     void setUp() {
         estacionamentoPadrao = new Estacionamento(1L, "Estacionamento Central", "Rua A, 123", 100,
-                LocalTime.of(8, 0), LocalTime.of(22, 0), new HashSet<>());
+                LocalTime.of(8, 0), LocalTime.of(22, 0), new HashSet<>(), 0L);
         veiculoPadrao = new Veiculo(1L, "ABC1234", "Fiat", "Uno", "Preto");
         tempoPadrao = new Tempo(1L, LocalTime.of(0, 15), BigDecimal.valueOf(10.00), BigDecimal.valueOf(10.0));
 
@@ -84,6 +137,12 @@ class AcessoServiceTest {
             acessoRepository, estacionamentoRepository, veiculoRepository, 
             tempoRepository, diariaRepository, mensalistaRepository
         );
+
+        CacheTarifas cacheTarifas = new CacheTarifas(tempoRepository, diariaRepository, mensalistaRepository,
+            100, Duration.ofMinutes(5));
+        acessoService = new AcessoService(acessoRepository, acessoLoteRepository, estacionamentoRepository,
+            veiculoRepository, veiculoLoteRepository, cacheTarifas, motorTarifario, indiceOcupacao, sessoesAbertas,
+            cachePlacas, agregadorFaturamento, filaEntradas, reservasVagas, eventoRepository, idempotencia);
     }
 
     @Test
@@ -159,6 +218,390 @@ class AcessoServiceTest {
         verify(acessoRepository, times(1)).save(acessoValido);
     }
 
+    @Test
+    @DisplayName("Deve lançar EstacionamentoLotadoException quando a capacidade já foi atingida")
+    void deveLancarExcecaoQuandoEstacionamentoLotado() {
+        estacionamentoPadrao.setCapacidade(1);
+        lenient().when(estacionamentoRepository.findById(estacionamentoPadrao.getId())).thenReturn(Optional.of(
+            estacionamentoPadrao)
+        );
+        lenient().when(veiculoRepository.findByPlaca(veiculoPadrao.getPlaca())).thenReturn(Optional.of(veiculoPadrao));
+        lenient().when(veiculoRepository.getReferenceById(veiculoPadrao.getId())).thenReturn(veiculoPadrao);
+        lenient().when(tempoRepository.findById(tempoPadrao.getId())).thenReturn(Optional.of(tempoPadrao));
+        when(acessoRepository.save(any(Acesso.class))).thenReturn(acessoValido);
+
+        acessoService.criarAcesso(acessoValido);
+        assertEquals(0, indiceOcupacao.consultar(estacionamentoPadrao.getId()).vagasLivres());
+
+        assertThrows(EstacionamentoLotadoException.class, () -> acessoService.criarAcesso(acessoValido));
+        verify(acessoRepository, times(1)).save(any(Acesso.class));
+    }
+
+    @Test
+    @DisplayName("Deve recusar a entrada no estacionamento lotado pelo índice, sem consultar o banco")
+    void deveRecusarEntradaLotadaSemConsultarOBanco() {
+        indiceOcupacao.reconstruir(Map.of(estacionamentoPadrao.getId(), 1), Map.of(estacionamentoPadrao.getId(), 1L));
+
+        assertThrows(EstacionamentoLotadoException.class, () -> acessoService.criarAcesso(acessoValido));
+        verifyNoInteractions(estacionamentoRepository, veiculoRepository, tempoRepository, acessoRepository);
+        assertEquals(1, indiceOcupacao.consultar(estacionamentoPadrao.getId()).vagasOcupadas());
+    }
+
+    private Acesso entradaAs(LocalTime hora, Evento evento) {
+        Acesso entrada = new Acesso();
+        entrada.setEstacionamento(new Estacionamento(1L, null, null, null, null, null, null, null));
+        entrada.setVeiculo(new Veiculo(null, veiculoPadrao.getPlaca(), null, null, null));
+        entrada.setDataInicio(LocalDate.of(2024, 7, 1));
+        entrada.setHoraInicio(hora);
+        entrada.setTipoAcesso("TEMPO");
+        entrada.setTempo(tempoPadrao);
+        entrada.setEvento(evento);
+        return entrada;
+    }
+
+    @Test
+    @DisplayName("Deve deixar livres as vagas reservadas para o evento e aceitá-las só para acessos do evento")
+    void deveReservarVagasDoEventoNaEntrada() {
+        estacionamentoPadrao.setCapacidade(2);
+        Evento show = new Evento();
+        show.setId(7L);
+        reservasVagas.registrar(7L, new Reserva(7L, 1L, LocalDateTime.of(2024, 7, 1, 8, 0),
+            LocalDateTime.of(2024, 7, 1, 12, 0), 1));
+        when(estacionamentoRepository.findById(1L)).thenReturn(Optional.of(estacionamentoPadrao));
+        when(veiculoRepository.findByPlaca(veiculoPadrao.getPlaca())).thenReturn(Optional.of(veiculoPadrao));
+        lenient().when(veiculoRepository.getReferenceById(veiculoPadrao.getId())).thenReturn(veiculoPadrao);
+        when(tempoRepository.findById(tempoPadrao.getId())).thenReturn(Optional.of(tempoPadrao));
+        when(eventoRepository.getReferenceById(7L)).thenReturn(show);
+        when(acessoRepository.save(any(Acesso.class))).thenAnswer(invocacao -> invocacao.getArgument(0));
+
+        acessoService.criarAcesso(entradaAs(LocalTime.of(9, 0), null));
+        EstacionamentoLotadoException lotado = assertThrows(EstacionamentoLotadoException.class,
+            () -> acessoService.criarAcesso(entradaAs(LocalTime.of(9, 30), null)));
+        Acesso doEvento = acessoService.criarAcesso(entradaAs(LocalTime.of(9, 30), show));
+
+        assertSame(show, doEvento.getEvento());
+        assertTrue(lotado.getMessage().contains("vagas reservadas para eventos: 1"));
+        assertEquals(0, indiceOcupacao.consultar(1L).vagasLivres());
+        verify(acessoRepository, times(2)).save(any(Acesso.class));
+    }
+
+    @Test
+    @DisplayName("Deve descontar da reserva as vagas já ocupadas pelos carros do evento")
+    void deveDescontarDaReservaAsVagasOcupadasPeloEvento() {
+        estacionamentoPadrao.setCapacidade(3);
+        Evento show = new Evento();
+        show.setId(7L);
+        reservasVagas.registrar(7L, new Reserva(7L, 1L, LocalDateTime.of(2024, 7, 1, 8, 0),
+            LocalDateTime.of(2024, 7, 1, 12, 0), 2));
+        when(estacionamentoRepository.findById(1L)).thenReturn(Optional.of(estacionamentoPadrao));
+        when(veiculoRepository.findByPlaca(veiculoPadrao.getPlaca())).thenReturn(Optional.of(veiculoPadrao));
+        lenient().when(veiculoRepository.getReferenceById(veiculoPadrao.getId())).thenReturn(veiculoPadrao);
+        when(tempoRepository.findById(tempoPadrao.getId())).thenReturn(Optional.of(tempoPadrao));
+        when(eventoRepository.getReferenceById(7L)).thenReturn(show);
+        when(acessoRepository.save(any(Acesso.class))).thenAnswer(invocacao -> invocacao.getArgument(0));
+
+        acessoService.criarAcesso(entradaAs(LocalTime.of(9, 0), show));
+        acessoService.criarAcesso(entradaAs(LocalTime.of(9, 30), null));
+        EstacionamentoLotadoException lotado = assertThrows(EstacionamentoLotadoException.class,
+            () -> acessoService.criarAcesso(entradaAs(LocalTime.of(10, 0), null)));
+
+        assertEquals(1, indiceOcupacao.ocupadasPeloEvento(7L));
+        assertTrue(lotado.getMessage().contains("vagas reservadas para eventos: 1"));
+        assertEquals(1, indiceOcupacao.consultar(1L).vagasLivres());
+        verify(acessoRepository, times(2)).save(any(Acesso.class));
+    }
+
+    @Test
+    @DisplayName("Deve recusar acesso de evento que não reserva vagas no estacionamento")
+    void deveRecusarEventoSemReservaNoEstacionamento() {
+        Evento outro = new Evento();
+        outro.setId(8L);
+        reservasVagas.registrar(8L, new Reserva(8L, 2L, LocalDateTime.of(2024, 7, 1, 8, 0),
+            LocalDateTime.of(2024, 7, 1, 12, 0), 1));
+        when(estacionamentoRepository.findById(1L)).thenReturn(Optional.of(estacionamentoPadrao));
+
+        assertThrows(IllegalArgumentException.class,
+            () -> acessoService.criarAcesso(entradaAs(LocalTime.of(9, 0), outro)));
+        verify(acessoRepository, never()).save(any(Acesso.class));
+        verifyNoInteractions(eventoRepository);
+    }
+
+    @Test
+    @DisplayName("Deve reutilizar o ID em cache da placa sem consultar o repositório novamente")
+    void deveReutilizarPlacaEmCache() {
+        when(estacionamentoRepository.findById(estacionamentoPadrao.getId())).thenReturn(Optional.of(
+            estacionamentoPadrao)
+        );
+        when(veiculoRepository.findByPlaca(veiculoPadrao.getPlaca())).thenReturn(Optional.of(veiculoPadrao));
+        when(veiculoRepository.getReferenceById(veiculoPadrao.getId())).thenReturn(veiculoPadrao);
+        when(tempoRepository.findById(tempoPadrao.getId())).thenReturn(Optional.of(tempoPadrao));
+        when(acessoRepository.save(any(Acesso.class))).thenAnswer(i -> i.getArguments()[0]);
+
+        acessoService.criarAcesso(acessoValido);
+        Acesso salvo = acessoService.criarAcesso(acessoValido);
+
+        assertSame(veiculoPadrao, salvo.getVeiculo());
+        verify(veiculoRepository, times(1)).findByPlaca(veiculoPadrao.getPlaca());
+        verify(veiculoRepository, times(1)).getReferenceById(veiculoPadrao.getId());
+    }
+
+    @Test
+    @DisplayName("Não deve registrar no cache a placa lida antes de uma invalidação concorrente")
+    void naoDeveRegistrarPlacaLidaAntesDeInvalidacao() {
+        when(estacionamentoRepository.findById(estacionamentoPadrao.getId())).thenReturn(Optional.of(
+            estacionamentoPadrao)
+        );
+        when(veiculoRepository.findByPlaca(veiculoPadrao.getPlaca())).thenReturn(Optional.of(veiculoPadrao));
+        when(tempoRepository.findById(tempoPadrao.getId())).thenReturn(Optional.of(tempoPadrao));
+        when(acessoRepository.save(any(Acesso.class))).thenAnswer(i -> {
+            assertNull(cachePlacas.buscarId(veiculoPadrao.getPlaca()));
+            cachePlacas.invalidarId(veiculoPadrao.getId());
+            return i.getArguments()[0];
+        });
+
+        transacao().executeWithoutResult(status -> acessoService.criarAcesso(acessoValido));
+
+        assertNull(cachePlacas.buscarId(veiculoPadrao.getPlaca()));
+    }
+
+    @Test
+    @DisplayName("Deve ler a Diária do cache de tarifas sem alterar a entrada compartilhada")
+    void deveLerDiariaDoCacheSemAlterarEntrada() {
+        Diaria diariaCadastrada = new Diaria(2L, BigDecimal.valueOf(50.00), "DIARIA_COMUM", "Diária normal", null);
+        DiariaNoturna janelaDoAcesso = new DiariaNoturna(
+            2L, LocalTime.of(22, 0), LocalTime.of(6, 0), BigDecimal.valueOf(5.00), null
+        );
+        acessoValido.setTipoAcesso("DIARIA");
+        acessoValido.setTempo(null);
+        acessoValido.setDiaria(new Diaria(2L, null, null, null, janelaDoAcesso));
+        acessoValido.setDataFim(LocalDate.of(2024, 7, 1));
+        acessoValido.setHoraFim(LocalTime.of(23, 0, 1));
+
+        when(estacionamentoRepository.findById(estacionamentoPadrao.getId())).thenReturn(Optional.of(
+            estacionamentoPadrao)
+        );
+        when(veiculoRepository.findByPlaca(veiculoPadrao.getPlaca())).thenReturn(Optional.of(veiculoPadrao));
+        lenient().when(veiculoRepository.getReferenceById(veiculoPadrao.getId())).thenReturn(veiculoPadrao);
+        when(diariaRepository.findById(2L)).thenReturn(Optional.of(diariaCadastrada));
+        when(acessoRepository.save(any(Acesso.class))).thenAnswer(invocation -> {
+            Acesso a = invocation.getArgument(0);
+            a.setValorCobrado(acessoService.calcularValor(a));
+            return a;
+        });
+
+        Acesso comJanela = acessoService.criarAcesso(acessoValido);
+
+        Acesso semJanela = new Acesso();
+        semJanela.setEstacionamento(estacionamentoPadrao);
+        semJanela.setVeiculo(veiculoPadrao);
+        semJanela.setDataInicio(LocalDate.of(2024, 7, 1));
+        semJanela.setHoraInicio(LocalTime.of(9, 0));
+        semJanela.setDataFim(LocalDate.of(2024, 7, 1));
+        semJanela.setHoraFim(LocalTime.of(23, 0, 1));
+        semJanela.setTipoAcesso("DIARIA");
+        semJanela.setDiaria(new Diaria(2L, null, null, null, null));
+        Acesso salvoSemJanela = acessoService.criarAcesso(semJanela);
+
+        assertEquals(new BigDecimal("55.00"), comJanela.getValorCobrado());
+        assertEquals(new BigDecimal("50.00"), salvoSemJanela.getValorCobrado());
+        assertSame(diariaCadastrada, salvoSemJanela.getDiaria());
+        assertNull(diariaCadastrada.getDiariaNoturna());
+        verify(diariaRepository, times(1)).findById(2L);
+    }
+
+    @Test
+    @DisplayName("Deve gravar veículo novo com upsert e relê-lo com bloqueio, sem consultar o snapshot")
+    void deveGravarVeiculoNovoComUpsertERelerComBloqueio() {
+        Veiculo novo = new Veiculo(null, "NEW0001", "Fiat", "Mobi", "Branco");
+        Veiculo gravadoPorOutraEntrada = new Veiculo(7L, "NEW0001", "Fiat", "Mobi", "Branco");
+        acessoValido.setVeiculo(novo);
+
+        when(estacionamentoRepository.findById(estacionamentoPadrao.getId())).thenReturn(Optional.of(
+            estacionamentoPadrao)
+        );
+        when(veiculoRepository.findByPlaca("NEW0001")).thenReturn(Optional.empty());
+        when(veiculoRepository.buscarPorPlacaComBloqueio("NEW0001")).thenReturn(Optional.of(gravadoPorOutraEntrada));
+        when(tempoRepository.findById(tempoPadrao.getId())).thenReturn(Optional.of(tempoPadrao));
+        when(acessoRepository.save(any(Acesso.class))).thenAnswer(i -> i.getArguments()[0]);
+
+        Acesso salvo = acessoService.criarAcesso(acessoValido);
+
+        assertSame(gravadoPorOutraEntrada, salvo.getVeiculo());
+        assertEquals(7L, cachePlacas.buscarId("NEW0001"));
+        verify(veiculoRepository).inserirSeAusente("NEW0001", "Fiat", "Mobi", "Branco");
+        verify(veiculoRepository, never()).save(any(Veiculo.class));
+    }
+
+    @Test
+    @DisplayName("Deve registrar um lote carregando as referências uma vez e recusando itens inválidos")
+    void deveRegistrarLoteComResultadoPorItem() {
+        Acesso semEstacionamentoValido = new Acesso();
+        semEstacionamentoValido.setEstacionamento(new Estacionamento(99L, null, null, null, null, null, null, null));
+        semEstacionamentoValido.setVeiculo(veiculoPadrao);
+        semEstacionamentoValido.setDataInicio(LocalDate.of(2024, 7, 1));
+        semEstacionamentoValido.setHoraInicio(LocalTime.of(9, 30));
+        semEstacionamentoValido.setTipoAcesso("TEMPO");
+        semEstacionamentoValido.setTempo(tempoPadrao);
+
+        Acesso semTipo = new Acesso();
+        semTipo.setEstacionamento(estacionamentoPadrao);
+        semTipo.setVeiculo(veiculoPadrao);
+        semTipo.setDataInicio(LocalDate.of(2024, 7, 1));
+        semTipo.setHoraInicio(LocalTime.of(9, 45));
+
+        acessoValido.setDataFim(LocalDate.of(2024, 7, 1));
+        acessoValido.setHoraFim(LocalTime.of(10, 7, 1));
+
+        when(estacionamentoRepository.findAllById(Set.of(1L, 99L))).thenReturn(List.of(estacionamentoPadrao));
+        when(tempoRepository.findAllById(Set.of(tempoPadrao.getId()))).thenReturn(List.of(tempoPadrao));
+        when(veiculoRepository.findByPlacaIn(Set.of(veiculoPadrao.getPlaca()))).thenReturn(List.of(veiculoPadrao));
+        when(acessoLoteRepository.inserir(List.of(acessoValido))).thenReturn(List.of(42L));
+
+        ResultadoLoteDTO resultado = acessoService.registrarLote(
+            List.of(acessoValido, semEstacionamentoValido, semTipo)
+        );
+
+        assertEquals(1, resultado.registrados());
+        assertEquals(2, resultado.recusados());
+        assertEquals(42L, resultado.itens().get(0).id());
+        assertEquals(new BigDecimal("36.00"), acessoValido.getValorCobrado());
+        assertEquals("Estacionamento com ID 99 não encontrado.", resultado.itens().get(1).erro());
+        assertEquals("Tipo de acesso não pode estar em branco.", resultado.itens().get(2).erro());
+        verify(agregadorFaturamento).registrarTodos(List.of(acessoValido));
+        verify(veiculoRepository, never()).findByPlaca(anyString());
+        verify(estacionamentoRepository, never()).findById(anyLong());
+        verify(acessoRepository, never()).save(any(Acesso.class));
+    }
+
+    @Test
+    @DisplayName("Deve cadastrar os veículos novos do lote em um upsert, só depois de recusar os itens inválidos")
+    @SuppressWarnings("unchecked")
+    void deveCadastrarVeiculosNovosDoLoteDepoisDaValidacao() {
+        estacionamentoPadrao.setCapacidade(1);
+        Acesso primeiro = entradaComVeiculoNovo("NEW0001", LocalTime.of(9, 0));
+        Acesso lotado = entradaComVeiculoNovo("NEW0002", LocalTime.of(9, 5));
+        Acesso semTipo = entradaComVeiculoNovo("NEW0003", LocalTime.of(9, 10));
+        semTipo.setTipoAcesso(null);
+        Veiculo gravado = new Veiculo(7L, "NEW0001", "Fiat", "Mobi", "Branco");
+
+        when(estacionamentoRepository.findAllById(Set.of(1L))).thenReturn(List.of(estacionamentoPadrao));
+        when(tempoRepository.findAllById(Set.of(tempoPadrao.getId()))).thenReturn(List.of(tempoPadrao));
+        when(veiculoRepository.findByPlacaIn(Set.of("NEW0001"))).thenReturn(List.of());
+        when(veiculoRepository.buscarPorPlacasComBloqueio(Set.of("NEW0001"))).thenReturn(List.of(gravado));
+        when(acessoLoteRepository.inserir(List.of(primeiro))).thenReturn(List.of(42L));
+
+        ResultadoLoteDTO resultado = acessoService.registrarLote(List.of(primeiro, lotado, semTipo));
+
+        assertEquals(1, resultado.registrados());
+        assertSame(gravado, primeiro.getVeiculo());
+        assertEquals(7L, cachePlacas.buscarId("NEW0001"));
+        ArgumentCaptor<Collection<Veiculo>> inseridos = ArgumentCaptor.forClass(Collection.class);
+        verify(veiculoLoteRepository).inserirSeAusentes(inseridos.capture());
+        assertEquals(List.of("NEW0001"), inseridos.getValue().stream().map(Veiculo::getPlaca).toList());
+        verify(veiculoRepository, never()).inserirSeAusente(anyString(), anyString(), anyString(), anyString());
+        verify(veiculoRepository, never()).buscarPorPlacaComBloqueio(anyString());
+    }
+
+    private Acesso entradaComVeiculoNovo(String placa, LocalTime hora) {
+        Acesso acesso = new Acesso();
+        acesso.setEstacionamento(estacionamentoPadrao);
+        acesso.setVeiculo(new Veiculo(null, placa, "Fiat", "Mobi", "Branco"));
+        acesso.setDataInicio(LocalDate.of(2024, 7, 1));
+        acesso.setHoraInicio(hora);
+        acesso.setTipoAcesso("TEMPO");
+        acesso.setTempo(tempoPadrao);
+        return acesso;
+    }
+
+    @Test
+    @DisplayName("Deve recusar lote vazio ou acima do limite")
+    void deveRecusarLoteVazioOuAcimaDoLimite() {
+        assertThrows(IllegalArgumentException.class, () -> acessoService.registrarLote(List.of()));
+        assertThrows(IllegalArgumentException.class, () ->
+            acessoService.registrarLote(Collections.nCopies(AcessoService.LIMITE_LOTE + 1, acessoValido)));
+        verifyNoInteractions(acessoLoteRepository);
+    }
+
+    @Test
+    @DisplayName("Deve liberar a vaga ao registrar a saída de um acesso aberto")
+    void deveLiberarVagaAoRegistrarSaida() {
+        indiceOcupacao.reconstruir(Map.of(estacionamentoPadrao.getId(), 100), Map.of(estacionamentoPadrao.getId(), 1L));
+        acessoValido.setVersao(0L);
+
+        Acesso acessoAtualizado = new Acesso();
+        acessoAtualizado.setVersao(0L);
+        acessoAtualizado.setEstacionamento(estacionamentoPadrao);
+        acessoAtualizado.setVeiculo(veiculoPadrao);
+        acessoAtualizado.setDataInicio(acessoValido.getDataInicio());
+        acessoAtualizado.setHoraInicio(acessoValido.getHoraInicio());
+        acessoAtualizado.setDataFim(acessoValido.getDataInicio());
+        acessoAtualizado.setHoraFim(LocalTime.of(10, 0));
+        acessoAtualizado.setTipoAcesso("TEMPO");
+        acessoAtualizado.setTempo(tempoPadrao);
+
+        when(acessoRepository.findById(1L)).thenReturn(Optional.of(acessoValido));
+        when(estacionamentoRepository.findById(estacionamentoPadrao.getId())).thenReturn(Optional.of(
+            estacionamentoPadrao)
+        );
+        when(veiculoRepository.findByPlaca(veiculoPadrao.getPlaca())).thenReturn(Optional.of(veiculoPadrao));
+        when(tempoRepository.findById(tempoPadrao.getId())).thenReturn(Optional.of(tempoPadrao));
+        when(acessoRepository.save(any(Acesso.class))).thenAnswer(i -> i.getArguments()[0]);
+
+        acessoService.atualizarAcesso(1L, acessoAtualizado);
+
+        assertEquals(0, indiceOcupacao.consultar(estacionamentoPadrao.getId()).vagasOcupadas());
+        verify(agregadorFaturamento).substituir(null, new Contribuicao(
+            estacionamentoPadrao.getId(), acessoValido.getDataInicio(), "TEMPO", new BigDecimal("36.00")
+        ));
+    }
+
+    @Test
+    @DisplayName("Deve encerrar pela placa o acesso aberto registrado na entrada, com uma leitura por ID")
+    void deveEncerrarPorPlacaAcessoAbertoNaEntrada() {
+        when(estacionamentoRepository.findById(estacionamentoPadrao.getId())).thenReturn(Optional.of(
+            estacionamentoPadrao)
+        );
+        when(veiculoRepository.findByPlaca(veiculoPadrao.getPlaca())).thenReturn(Optional.of(veiculoPadrao));
+        when(tempoRepository.findById(tempoPadrao.getId())).thenReturn(Optional.of(tempoPadrao));
+        when(acessoRepository.save(any(Acesso.class))).thenAnswer(i -> i.getArguments()[0]);
+        acessoService.criarAcesso(acessoValido);
+        assertEquals(1, indiceOcupacao.consultar(estacionamentoPadrao.getId()).vagasOcupadas());
+
+        when(acessoRepository.buscarPorIdComBloqueio(1L)).thenReturn(Optional.of(acessoValido));
+        Acesso encerrado = acessoService.encerrarPorPlaca(
+            veiculoPadrao.getPlaca(), LocalDate.of(2024, 7, 1), LocalTime.of(10, 7, 1)
+        );
+
+        assertEquals(new BigDecimal("36.00"), encerrado.getValorCobrado());
+        assertEquals(0, indiceOcupacao.consultar(estacionamentoPadrao.getId()).vagasOcupadas());
+        assertNull(sessoesAbertas.buscarAcessoId(veiculoPadrao.getPlaca()));
+        verify(acessoRepository, never()).findFirstByVeiculoPlacaAndDataFimIsNullOrderByIdDesc(anyString());
+        verify(agregadorFaturamento).registrar(encerrado);
+    }
+
+    @Test
+    @DisplayName("Deve consultar o banco pela placa quando ela não está nas sessões abertas")
+    void deveConsultarBancoQuandoPlacaNaoEstaNasSessoes() {
+        when(acessoRepository.findFirstByVeiculoPlacaAndDataFimIsNullOrderByIdDesc("XYZ9999"))
+            .thenReturn(Optional.empty());
+        when(acessoRepository.findFirstByVeiculoPlacaAndDataFimIsNullOrderByIdDesc(veiculoPadrao.getPlaca()))
+            .thenReturn(Optional.of(acessoValido));
+        when(tempoRepository.findById(tempoPadrao.getId())).thenReturn(Optional.of(tempoPadrao));
+        when(acessoRepository.save(any(Acesso.class))).thenAnswer(i -> i.getArguments()[0]);
+
+        assertThrows(ObjetoNaoEncontradoException.class, () -> acessoService.encerrarPorPlaca("XYZ9999", null, null));
+        assertThrows(IllegalArgumentException.class, () -> acessoService.encerrarPorPlaca(
+            veiculoPadrao.getPlaca(), LocalDate.of(2024, 6, 30), LocalTime.of(10, 0)
+        ));
+
+        Acesso encerrado = acessoService.encerrarPorPlaca(
+            veiculoPadrao.getPlaca(), LocalDate.of(2024, 7, 1), LocalTime.of(9, 30)
+        );
+
+        assertEquals(new BigDecimal("18.00"), encerrado.getValorCobrado());
+        verify(acessoRepository, never()).buscarPorIdComBloqueio(anyLong());
+    }
+
     @Test
     @DisplayName("Deve lançar DescricaoEmBrancoException se estacionamento for nulo")
     void deveLancarExcecaoSeEstacionamentoForNulo() {
@@ -196,37 +639,69 @@ class AcessoServiceTest {
     }
 
     @Test
-    @DisplayName("Deve retornar acesso por ID quando encontrado")
+    @DisplayName("Deve retornar o detalhe do acesso por ID pela projeção, sem carregar a entidade")
     void deveRetornarAcessoPorIdQuandoEncontrado() {
-        when(acessoRepository.findById(1L)).thenReturn(Optional.of(acessoValido));
+        when(acessoRepository.buscarDetalhe(1L)).thenReturn(Optional.of(AcessoDTO.de(acessoValido)));
 
-        Acesso encontrado = acessoService.buscarAcessoPorId(1L);
+        AcessoDTO encontrado = acessoService.buscarAcessoPorId(1L);
 
         assertNotNull(encontrado);
-        assertEquals(1L, encontrado.getId());
-        verify(acessoRepository, times(1)).findById(1L);
+        assertEquals(1L, encontrado.id());
+        assertEquals(acessoValido.getVeiculo().getPlaca(), encontrado.placa());
+        assertEquals(acessoValido.getEstacionamento().getId(), encontrado.estacionamentoId());
+        assertNull(encontrado.eventoId());
+        verify(acessoRepository, never()).findById(any());
     }
 
     @Test
     @DisplayName("Deve lançar ObjetoNaoEncontradoException ao buscar acesso por ID inexistente")
     void deveLancarExcecaoAoBuscarAcessoPorIdInexistente() {
-        when(acessoRepository.findById(99L)).thenReturn(Optional.empty());
+        when(acessoRepository.buscarDetalhe(99L)).thenReturn(Optional.empty());
 
         assertThrows(ObjetoNaoEncontradoException.class, () -> acessoService.buscarAcessoPorId(99L));
-        verify(acessoRepository, times(1)).findById(99L);
+        verify(acessoRepository, times(1)).buscarDetalhe(99L);
     }
 
     @Test
-    @DisplayName("Deve listar todos os acessos")
-    void deveListarTodosAcessos() {
-        List<Acesso> acessos = Arrays.asList(acessoValido, new Acesso());
-        when(acessoRepository.findAll()).thenReturn(acessos);
+    @DisplayName("Deve listar acessos por cursor e informar o próximo cursor quando há mais itens")
+    void deveListarAcessosPorCursor() {
+        List<AcessoResumoDTO> resultado = Arrays.asList(
+            new AcessoResumoDTO(11L, 1L, "ABC1234", "TEMPO", null, null, null, null, null),
+            new AcessoResumoDTO(12L, 1L, "ABC1234", "TEMPO", null, null, null, null, null),
+            new AcessoResumoDTO(13L, 1L, "ABC1234", "TEMPO", null, null, null, null, null)
+        );
+        FiltroAcesso filtro = new FiltroAcesso(1L, "ABC1234", "tempo", null, null);
+        when(acessoRepository.buscarPagina(10L, 1L, "ABC1234", "TEMPO", null, null, Limit.of(3)))
+            .thenReturn(resultado);
+
+        PaginaDTO<AcessoResumoDTO> pagina = acessoService.listarAcessos(filtro, 10L, 2);
+
+        assertEquals(2, pagina.itens().size());
+        assertEquals(12L, pagina.proximoCursor());
+        verify(acessoRepository, never()).findAll();
+    }
+
+    @Test
+    @DisplayName("Deve retornar a última página sem próximo cursor")
+    void deveRetornarUltimaPaginaSemProximoCursor() {
+        List<AcessoResumoDTO> resultado = List.of(
+            new AcessoResumoDTO(11L, 1L, "ABC1234", "TEMPO", null, null, null, null, null)
+        );
+        when(acessoRepository.buscarPagina(0L, null, null, null, null, null,
+            Limit.of(AcessoService.LIMITE_PADRAO + 1))).thenReturn(resultado);
 
-        List<Acesso> lista = acessoService.listarTodosAcessos();
+        PaginaDTO<AcessoResumoDTO> pagina = acessoService.listarAcessos(FiltroAcesso.vazio(), null, null);
 
-        assertNotNull(lista);
-        assertEquals(2, lista.size());
-        verify(acessoRepository, times(1)).findAll();
+        assertEquals(1, pagina.itens().size());
+        assertNull(pagina.proximoCursor());
+    }
+
+    @Test
+    @DisplayName("Deve lançar IllegalArgumentException se a data final do filtro for anterior à inicial")
+    void deveLancarExcecaoSeFiltroComDatasInvertidas() {
+        FiltroAcesso filtro = new FiltroAcesso(null, null, null, LocalDate.of(2024, 7, 2), LocalDate.of(2024, 7, 1));
+
+        assertThrows(IllegalArgumentException.class, () -> acessoService.listarAcessos(filtro, null, null));
     }
 
     @SuppressWarnings("deprecation")
@@ -241,8 +716,10 @@ class AcessoServiceTest {
         acessoExistente.setHoraInicio(LocalTime.of(9, 0, 0));
         acessoExistente.setTipoAcesso("TEMPO");
         acessoExistente.setTempo(tempoPadrao);
+        acessoExistente.setVersao(0L);
 
         Acesso acessoAtualizado = new Acesso();
+        acessoAtualizado.setVersao(0L);
         acessoAtualizado.setEstacionamento(estacionamentoPadrao);
         acessoAtualizado.setVeiculo(new Veiculo(2L, "DEF5678", "VW", "Gol", "Azul"));
         acessoAtualizado.setDataInicio(LocalDate.of(2024, 7, 1));
@@ -291,6 +768,47 @@ class AcessoServiceTest {
         verify(acessoRepository, never()).save(any(Acesso.class));
     }
 
+    @Test
+    @DisplayName("Deve recusar com ConflitoVersaoException a atualização que parte de uma versão antiga")
+    void deveRecusarAtualizacaoDeVersaoAntiga() {
+        Acesso acessoExistente = new Acesso();
+        acessoExistente.setId(1L);
+        acessoExistente.setVersao(3L);
+        Acesso acessoAtualizado = new Acesso();
+        acessoAtualizado.setVersao(2L);
+        acessoAtualizado.setEstacionamento(estacionamentoPadrao);
+        acessoAtualizado.setVeiculo(veiculoPadrao);
+        acessoAtualizado.setTipoAcesso("TEMPO");
+        acessoAtualizado.setTempo(tempoPadrao);
+
+        when(acessoRepository.findById(1L)).thenReturn(Optional.of(acessoExistente));
+
+        ConflitoVersaoException conflito = assertThrows(ConflitoVersaoException.class,
+            () -> acessoService.atualizarAcesso(1L, acessoAtualizado));
+        assertEquals(1L, conflito.getId());
+        verify(acessoRepository, never()).save(any(Acesso.class));
+        verifyNoInteractions(estacionamentoRepository);
+    }
+
+    @Test
+    @DisplayName("Deve recusar com VersaoAusenteException a atualização sem a versão lida antes")
+    void deveExigirVersaoNaAtualizacao() {
+        Acesso acessoExistente = new Acesso();
+        acessoExistente.setId(1L);
+        acessoExistente.setVersao(3L);
+        Acesso acessoAtualizado = new Acesso();
+        acessoAtualizado.setEstacionamento(estacionamentoPadrao);
+        acessoAtualizado.setVeiculo(veiculoPadrao);
+        acessoAtualizado.setTipoAcesso("TEMPO");
+        acessoAtualizado.setTempo(tempoPadrao);
+
+        when(acessoRepository.findById(1L)).thenReturn(Optional.of(acessoExistente));
+
+        assertThrows(VersaoAusenteException.class, () -> acessoService.atualizarAcesso(1L, acessoAtualizado));
+        verify(acessoRepository, never()).save(any(Acesso.class));
+        verifyNoInteractions(estacionamentoRepository);
+    }
+
     @Test
     @DisplayName("Deve lançar IllegalArgumentException se hora de saída for anterior à entrada na atualização")
     void deveLancarExcecaoSeSaidaAnteriorAEntradaNaAtualizacao() {
@@ -302,8 +820,10 @@ class AcessoServiceTest {
         acessoExistente.setHoraInicio(LocalTime.of(9, 0, 0));
         acessoExistente.setTipoAcesso("TEMPO");
         acessoExistente.setTempo(tempoPadrao);
+        acessoExistente.setVersao(0L);
 
         Acesso acessoAtualizado = new Acesso();
+        acessoAtualizado.setVersao(0L);
         acessoAtualizado.setEstacionamento(estacionamentoPadrao);
 acessoAtualizado.setVeiculo(veiculoPadrao);
         acessoAtualizado.setDataInicio(LocalDate.of(2024, 7, 1));
@@ -324,6 +844,94 @@ acessoAtualizado.setVeiculo(veiculoPadrao);
         verify(acessoRepository, never()).save(any(Acesso.class));
     }
 
+    @Test
+    @DisplayName("Deve aceitar entrada adiada pelo log, reservando a vaga sem consultar nem gravar no banco")
+    void deveAceitarEntradaAdiadaPeloLog() {
+        indiceOcupacao.registrarCapacidade(estacionamentoPadrao.getId(), 100);
+        when(filaEntradas.habilitada()).thenReturn(true);
+        when(filaEntradas.anexar(any(EntradaPendente.class))).thenReturn(true);
+        when(tempoRepository.findById(tempoPadrao.getId())).thenReturn(Optional.of(tempoPadrao));
+        acessoValido.setId(null);
+
+        Acesso aceito = acessoService.registrarEntradaAdiada(acessoValido);
+
+        ArgumentCaptor<EntradaPendente> entrada = ArgumentCaptor.forClass(EntradaPendente.class);
+        verify(filaEntradas).anexar(entrada.capture());
+        assertEquals(AcessoDTO.de(entrada.getValue().paraAcesso()), AcessoDTO.de(aceito));
+        assertNull(aceito.getId());
+        assertEquals("ABC1234", entrada.getValue().placa());
+        assertEquals(1L, entrada.getValue().tempoId());
+        assertEquals(1, indiceOcupacao.consultar(1L).vagasOcupadas());
+        verifyNoInteractions(estacionamentoRepository, acessoRepository, acessoLoteRepository);
+    }
+
+    @Test
+    @DisplayName("Deve devolver a vaga e seguir pelo caminho síncrono quando o log de entradas está cheio")
+    void deveSeguirCaminhoSincronoComLogCheio() {
+        indiceOcupacao.registrarCapacidade(estacionamentoPadrao.getId(), 100);
+        when(filaEntradas.habilitada()).thenReturn(true);
+        when(filaEntradas.anexar(any(EntradaPendente.class))).thenReturn(false);
+        when(tempoRepository.findById(tempoPadrao.getId())).thenReturn(Optional.of(tempoPadrao));
+
+        assertNull(acessoService.registrarEntradaAdiada(acessoValido));
+        assertEquals(0, indiceOcupacao.consultar(1L).vagasOcupadas());
+
+        acessoValido.setDataFim(LocalDate.of(2024, 7, 1));
+        acessoValido.setHoraFim(LocalTime.of(10, 0));
+        assertNull(acessoService.registrarEntradaAdiada(acessoValido));
+        verify(filaEntradas, times(1)).anexar(any(EntradaPendente.class));
+    }
+
+    @Test
+    @DisplayName("Deve gravar entradas adiadas em um batch, abrir as sessões e avançar o checkpoint do log")
+    void deveGravarEntradasAdiadasEmBatch() {
+        EntradaPendente aceita = new EntradaPendente(7L, 1L, "ABC1234", "Fiat", "Uno", "Preto",
+            LocalDate.of(2024, 7, 1), LocalTime.of(8, 0), "TEMPO", 1L, null, null, null, null, false);
+        EntradaPendente recuperada = new EntradaPendente(8L, 1L, "XYZ9876", "VW", "Gol", null,
+            LocalDate.of(2024, 7, 1), LocalTime.of(8, 1), "MENSALISTA", null, null, 3L, null, null, true);
+        Veiculo outroVeiculo = new Veiculo(2L, "XYZ9876", "VW", "Gol", null);
+        when(veiculoRepository.findByPlacaIn(any())).thenReturn(List.of(veiculoPadrao, outroVeiculo));
+        when(estacionamentoRepository.getReferenceById(1L)).thenReturn(estacionamentoPadrao);
+        when(acessoLoteRepository.inserir(any())).thenReturn(List.of(10L, 11L));
+
+        List<Acesso> gravados = acessoService.gravarEntradasAdiadas(List.of(aceita, recuperada));
+
+        assertEquals(List.of(10L, 11L), gravados.stream().map(Acesso::getId).toList());
+        assertSame(veiculoPadrao, gravados.get(0).getVeiculo());
+        assertSame(outroVeiculo, gravados.get(1).getVeiculo());
+        assertEquals(3L, gravados.get(1).getMensalista().getId());
+        assertEquals(11L, sessoesAbertas.buscarAcessoId("XYZ9876"));
+        assertEquals(1, indiceOcupacao.consultar(1L).vagasOcupadas());
+        verify(filaEntradas).avancarCheckpoint(8L);
+    }
+
+    @Test
+    @DisplayName("Deve gravar a chave das entradas adiadas no lote e descartar as já gravadas, devolvendo a vaga")
+    void deveResolverChavesDeIdempotenciaNaGravacao() {
+        indiceOcupacao.registrarCapacidade(1L, 100);
+        indiceOcupacao.ocupar(1L, 100);
+        indiceOcupacao.ocupar(1L, 100);
+        indiceOcupacao.ocupar(1L, 100);
+        EntradaPendente nova = new EntradaPendente(7L, 1L, "ABC1234", "Fiat", "Uno", "Preto",
+            LocalDate.of(2024, 7, 1), LocalTime.of(8, 0), "TEMPO", 1L, null, null, "k-7", "a".repeat(64), false);
+        EntradaPendente jaGravada = new EntradaPendente(8L, 1L, "XYZ9876", "VW", "Gol", null,
+            LocalDate.of(2024, 7, 1), LocalTime.of(8, 1), "TEMPO", 1L, null, null, "k-1", "b".repeat(64), false);
+        EntradaPendente copia = nova.comSequencia(9L, false);
+        when(idempotencia.gravadas(EntradaPendente.ROTA, List.of("k-7", "k-1", "k-7"))).thenReturn(Set.of("k-1"));
+        when(veiculoRepository.findByPlacaIn(any())).thenReturn(List.of(veiculoPadrao));
+        when(estacionamentoRepository.getReferenceById(1L)).thenReturn(estacionamentoPadrao);
+        when(acessoLoteRepository.inserir(any())).thenReturn(List.of(10L));
+
+        List<Acesso> gravados = acessoService.gravarEntradasAdiadas(List.of(nova, jaGravada, copia));
+
+        assertEquals(List.of(10L), gravados.stream().map(Acesso::getId).toList());
+        verify(idempotencia).registrarAceita("k-7", EntradaPendente.ROTA, "a".repeat(64), HttpStatus.ACCEPTED,
+            AcessoDTO.de(nova.paraAcesso()));
+        verify(idempotencia, times(1)).registrarAceita(any(), any(), any(), any(), any());
+        assertEquals(1, indiceOcupacao.consultar(1L).vagasOcupadas());
+        verify(filaEntradas).avancarCheckpoint(9L);
+    }
+
     @Test
     @DisplayName("Deve deletar um acesso existente com sucesso")
     void deveDeletarAcessoExistente() {
@@ -344,4 +952,9 @@ acessoAtualizado.setVeiculo(veiculoPadrao);
         assertThrows(ObjetoNaoEncontradoException.class, () -> acessoService.deletarAcesso(99L));
         verify(acessoRepository, never()).delete(any(Acesso.class));
     }
+
+    private static TransactionTemplate transacao() {
+        return new TransactionTemplate(new DataSourceTransactionManager(
+            new DriverManagerDataSource("jdbc:h2:mem:estacionamento;DB_CLOSE_DELAY=-1", "sa", "")));
+    }
 }
@@ -1,5 +1,8 @@
 package com.estacionamento_tppe.service;
 
+import com.estacionamento.busca.IndiceContratantes;
+import com.estacionamento.dto.ContratanteResumoDTO;
+import com.estacionamento.dto.PaginaListagemDTO;
 import com.estacionamento.exception.DescricaoEmBrancoException;
 import com.estacionamento.exception.ObjetoNaoEncontradoException;
 import com.estacionamento.model.Contratante;
@@ -8,7 +11,9 @@ import com.estacionamento.model.Evento;
 import com.estacionamento.repository.ContratanteRepository;
 import com.estacionamento.repository.EstacionamentoRepository;
 import com.estacionamento.repository.EventoRepository;
+import com.estacionamento.repository.VinculosContratanteRepository;
 import com.estacionamento.service.ContratanteService;
+import com.estacionamento.service.Paginacao;
 
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
@@ -17,7 +22,10 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.Mockito;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.Pageable;
 
 import java.time.LocalDate;
 import java.time.LocalTime;
@@ -25,6 +33,9 @@ import java.util.Arrays;
 import java.util.HashSet;
 import java.util.List;
 import java.util.Optional;
+import java.util.Set;
+import java.util.stream.Collectors;
+import java.util.stream.LongStream;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.any;
@@ -40,6 +51,10 @@ class ContratanteServiceTest {
     private EstacionamentoRepository estacionamentoRepository;
     @Mock
     private EventoRepository eventoRepository;
+    @Mock
+    private VinculosContratanteRepository vinculosContratanteRepository;
+    @Spy
+    private IndiceContratantes indiceContratantes = new IndiceContratantes();
 
     @InjectMocks
     private ContratanteService contratanteService;
@@ -53,7 +68,7 @@ class ContratanteServiceTest {
     @BeforeEach
     void setUp() {
         estacionamentoPadrao = new Estacionamento(1L, "Estacionamento Teste", "Rua Teste, 123", 50,
-                LocalTime.of(8, 0), LocalTime.of(18, 0), new HashSet<>());
+                LocalTime.of(8, 0), LocalTime.of(18, 0), new HashSet<>(), 0L);
 
         eventoPadrao = new Evento();
         eventoPadrao.setId(1L);
@@ -103,6 +118,33 @@ class ContratanteServiceTest {
         verify(contratanteRepository, times(1)).save(any(Contratante.class));
     }
 
+    @Test
+    @DisplayName("Deve encontrar o contratante criado pela busca de nome e CPF/CNPJ e tirá-lo do índice ao excluir")
+    void deveManterIndiceDeBuscaNasEscritas() {
+        when(contratanteRepository.findByCpfCnpj(anyString())).thenReturn(Optional.empty());
+        when(contratanteRepository.findByEmail(anyString())).thenReturn(Optional.empty());
+        when(contratanteRepository.save(any(Contratante.class))).thenReturn(contratanteValido);
+        when(contratanteRepository.findById(1L)).thenReturn(Optional.of(contratanteValido));
+
+        contratanteService.criarContratante(contratanteValido);
+
+        assertEquals(List.of(1L), contratanteService.buscarContratantes("empr tes", null).stream()
+            .map(ContratanteResumoDTO::id).toList());
+        assertEquals(1, contratanteService.buscarContratantes("345.678", 5).size());
+
+        contratanteService.deletarContratante(1L);
+
+        assertTrue(contratanteService.buscarContratantes("empresa", null).isEmpty());
+        verify(contratanteRepository, never()).findAll();
+    }
+
+    @Test
+    @DisplayName("Deve recusar busca de contratantes sem termo ou com limite inválido")
+    void deveRecusarBuscaInvalida() {
+        assertThrows(DescricaoEmBrancoException.class, () -> contratanteService.buscarContratantes(" ", null));
+        assertThrows(IllegalArgumentException.class, () -> contratanteService.buscarContratantes("ana", 0));
+    }
+
     @Test
     @DisplayName("Deve criar contratante associando estacionamentos e eventos existentes")
     void deveCriarContratanteAssociandoEstacionamentosEEventosExistentes() {
@@ -115,34 +157,52 @@ class ContratanteServiceTest {
 
         lenient().when(contratanteRepository.findByCpfCnpj(anyString())).thenReturn(Optional.empty());
         lenient().when(contratanteRepository.findByEmail(anyString())).thenReturn(Optional.empty());
-        lenient().when(estacionamentoRepository.findById(
-            estacionamentoPadrao.getId())).thenReturn(Optional.of(estacionamentoPadrao
-        ));
-        lenient().when(eventoRepository.findById(eventoPadrao.getId())).thenReturn(Optional.of(eventoPadrao));
+        when(estacionamentoRepository.findAllById(Set.of(estacionamentoPadrao.getId())))
+            .thenReturn(List.of(estacionamentoPadrao));
+        when(eventoRepository.findAllById(Set.of(eventoPadrao.getId()))).thenReturn(List.of(eventoPadrao));
         when(contratanteRepository.save(any(Contratante.class))).thenAnswer(invocation -> {
             Contratante saved = invocation.getArgument(0);
             saved.setId(3L);
-            saved.getEstacionamentos().forEach(e -> e.getContratantes().add(saved));
-            saved.getEventos().forEach(e -> e.getContratantes().add(saved));
             return saved;
         });
 
         Contratante salvo = contratanteService.criarContratante(novoContratante);
 
         assertNotNull(salvo);
-        assertFalse(salvo.getEstacionamentos().isEmpty());
-        assertFalse(salvo.getEventos().isEmpty());
-        assertEquals(1, salvo.getEstacionamentos().size());
-        assertEquals(1, salvo.getEventos().size());
-        assertTrue(salvo.getEstacionamentos().contains(estacionamentoPadrao));
-        assertTrue(salvo.getEventos().contains(eventoPadrao));
-        assertTrue(estacionamentoPadrao.getContratantes().contains(salvo));
-        assertTrue(eventoPadrao.getContratantes().contains(salvo));
-        verify(estacionamentoRepository, times(1)).findById(estacionamentoPadrao.getId());
-        verify(eventoRepository, times(1)).findById(eventoPadrao.getId());
+        assertTrue(salvo.getEstacionamentos().isEmpty());
+        assertTrue(salvo.getEventos().isEmpty());
+        assertFalse(estacionamentoPadrao.getContratantes().contains(salvo));
+        verify(vinculosContratanteRepository).substituirEstacionamentos(3L, Set.of(estacionamentoPadrao.getId()));
+        verify(vinculosContratanteRepository).substituirEventos(3L, Set.of(eventoPadrao.getId()));
+        verify(estacionamentoRepository, never()).findById(any());
+        verify(eventoRepository, never()).findById(any());
         verify(contratanteRepository, times(1)).save(any(Contratante.class));
     }
 
+    @Test
+    @DisplayName("Deve validar 500 estacionamentos em uma só consulta e gravá-los em uma só substituição")
+    void deveVincularQuinhentosEstacionamentosEmLote() {
+        Set<Long> ids = LongStream.rangeClosed(1, 500).boxed().collect(Collectors.toSet());
+        Set<Estacionamento> estacionamentos = ids.stream()
+            .map(id -> new Estacionamento(id, "E" + id, "End", 10, LocalTime.of(8, 0), LocalTime.of(18, 0),
+                new HashSet<>(), 0L))
+            .collect(Collectors.toSet());
+        contratanteValido.setEstacionamentos(new HashSet<>(estacionamentos));
+
+        when(contratanteRepository.findByCpfCnpj(anyString())).thenReturn(Optional.empty());
+        when(contratanteRepository.findByEmail(anyString())).thenReturn(Optional.empty());
+        when(estacionamentoRepository.findAllById(ids)).thenReturn(List.copyOf(estacionamentos));
+        when(contratanteRepository.save(any(Contratante.class))).thenAnswer(invocation -> invocation.getArgument(0));
+
+        contratanteService.criarContratante(contratanteValido);
+
+        verify(estacionamentoRepository, times(1)).findAllById(any());
+        verify(estacionamentoRepository, never()).findById(any());
+        verify(vinculosContratanteRepository, times(1)).substituirEstacionamentos(1L, ids);
+        verify(vinculosContratanteRepository, times(1)).substituirEventos(1L, Set.of());
+        estacionamentos.forEach(e -> assertTrue(e.getContratantes().isEmpty()));
+    }
+
     @Test
     @DisplayName("Deve lançar DescricaoEmBrancoException ao criar contratante com nome em branco")
     void deveLancarExcecaoQuandoCriarContratanteComNomeEmBranco() {
@@ -173,26 +233,30 @@ class ContratanteServiceTest {
     }
 
     @Test
-    @DisplayName("Deve listar todos os contratantes")
-    void deveListarTodosContratantes() {
-        List<Contratante> contratantes = Arrays.asList(contratanteValido, new Contratante());
-        when(contratanteRepository.findAll()).thenReturn(contratantes);
-
-        List<Contratante> lista = contratanteService.listarTodosContratantes();
-
-        assertNotNull(lista);
-        assertEquals(2, lista.size());
-        verify(contratanteRepository, times(1)).findAll();
+    @DisplayName("Deve listar os contratantes paginados pela projeção de resumo")
+    void deveListarContratantesPaginados() {
+        ContratanteResumoDTO resumo = new ContratanteResumoDTO(
+            1L, "Empresa X", "12345678000199", "contato@x.com", null);
+        when(contratanteRepository.listarResumos(any(Pageable.class)))
+            .thenAnswer(invocacao -> new PageImpl<>(List.of(resumo), invocacao.getArgument(0), 1));
+
+        PaginaListagemDTO<ContratanteResumoDTO> pagina = contratanteService.listarContratantes(null, null, null);
+
+        assertEquals(List.of(resumo), pagina.itens());
+        assertEquals(0, pagina.pagina());
+        assertEquals(Paginacao.TAMANHO_PADRAO, pagina.tamanho());
+        assertEquals(1, pagina.totalItens());
+        verify(contratanteRepository, never()).findAll();
     }
 
     @Test
     @DisplayName("Deve atualizar contratante e gerenciar associações com estacionamentos e eventos")
     void deveAtualizarContratanteEGerenciarAssociacoesComEstacionamentosEEventos() {
         Estacionamento estExistente1 = Mockito.spy(
-            new Estacionamento(10L, "E1", "End1", 10, LocalTime.now(), LocalTime.now(), new HashSet<>())
+            new Estacionamento(10L, "E1", "End1", 10, LocalTime.now(), LocalTime.now(), new HashSet<>(), 0L)
         );
         Estacionamento estExistente2 = Mockito.spy(
-            new Estacionamento(11L, "E2", "End2", 20, LocalTime.now(), LocalTime.now(), new HashSet<>())
+            new Estacionamento(11L, "E2", "End2", 20, LocalTime.now(), LocalTime.now(), new HashSet<>(), 0L)
         );
 
         Evento evtExistente1 = Mockito.spy(new Evento());
@@ -238,14 +302,10 @@ class ContratanteServiceTest {
             contratanteRepository.findByEmail(anyString())).thenReturn(Optional.of(contratanteExistenteSpy)
         );
 
-        lenient().when(
-            estacionamentoRepository.findById(
-                estExistente1.getId())).thenReturn(Optional.of(estExistente1)
-        );
-        lenient().when(estacionamentoRepository.findById(estExistente2.getId())).thenReturn(Optional.of(estExistente2)
-        );
-        lenient().when(eventoRepository.findById(evtExistente1.getId())).thenReturn(Optional.of(evtExistente1));
-        lenient().when(eventoRepository.findById(evtExistente2.getId())).thenReturn(Optional.of(evtExistente2));
+        when(estacionamentoRepository.findAllById(Set.of(estExistente2.getId())))
+            .thenReturn(List.of(estExistente2));
+        when(eventoRepository.findAllById(Set.of(evtExistente1.getId(), evtExistente2.getId())))
+            .thenReturn(List.of(evtExistente1, evtExistente2));
 
         when(contratanteRepository.save(any(Contratante.class))).thenAnswer(invocation -> invocation.getArgument(0));
 
@@ -257,29 +317,19 @@ class ContratanteServiceTest {
         assertEquals("987", result.getCpfCnpj());
         assertEquals("upd@mail.com", result.getEmail());
 
-        assertEquals(1, result.getEstacionamentos().size());
-        assertTrue(result.getEstacionamentos().contains(estExistente2));
-        assertFalse(result.getEstacionamentos().contains(estExistente1));
-
-        assertEquals(2, result.getEventos().size());
-        assertTrue(result.getEventos().contains(evtExistente1));
-        assertTrue(result.getEventos().contains(evtExistente2));
-
-        verify(estExistente1, times(1)).removeContratante(contratanteExistenteSpy);
-        assertFalse(estExistente1.getContratantes().contains(contratanteExistenteSpy));
-
-        verify(estExistente2, times(1)).addContratante(contratanteExistenteSpy);
-        assertTrue(estExistente2.getContratantes().contains(contratanteExistenteSpy));
-
-        //verify(evtExistente1, never()).removeContratante(contratanteExistenteSpy);
-        //verify(evtExistente1, never()).addContratante(contratanteExistenteSpy);
-        //assertTrue(evtExistente1.getContratantes().contains(contratanteExistenteSpy));
-
-        //verify(evtExistente2, times(1)).addContratante(contratanteExistenteSpy);
-        //assertTrue(evtExistente2.getContratantes().contains(contratanteExistenteSpy));
+        verify(vinculosContratanteRepository).substituirEstacionamentos(1L, Set.of(estExistente2.getId()));
+        verify(vinculosContratanteRepository).substituirEventos(1L,
+            Set.of(evtExistente1.getId(), evtExistente2.getId()));
 
+        verify(contratanteExistenteSpy, never()).getEstacionamentos();
+        verify(contratanteExistenteSpy, never()).getEventos();
+        verify(estExistente1, never()).removeContratante(any());
+        verify(estExistente2, never()).addContratante(any());
+        verify(evtExistente2, never()).addContratante(any());
 
         verify(contratanteRepository, times(1)).findById(1L);
+        verify(estacionamentoRepository, never()).findById(any());
+        verify(eventoRepository, never()).findById(any());
         verify(contratanteRepository, times(1)).save(contratanteExistenteSpy);
     }
 
@@ -319,7 +369,7 @@ class ContratanteServiceTest {
     @DisplayName("Deve deletar um contratante existente com sucesso e desassociar de estacionamentos/eventos")
     void deveDeletarContratanteExistente() {
         Estacionamento estacionamentoReal = new Estacionamento(
-            100L, "Estacionamento Real", "Rua Real", 10, LocalTime.now(), LocalTime.now(), new HashSet<>()
+            100L, "Estacionamento Real", "Rua Real", 10, LocalTime.now(), LocalTime.now(), new HashSet<>(), 0L
         );
         Evento eventoReal = new Evento(
         );
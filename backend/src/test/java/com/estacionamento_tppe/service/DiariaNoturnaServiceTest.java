@@ -1,11 +1,16 @@
 package com.estacionamento_tppe.service;
 
+import com.estacionamento.cache.CacheTarifas;
+import com.estacionamento.dto.DiariaNoturnaResumoDTO;
+import com.estacionamento.dto.PaginaListagemDTO;
 import com.estacionamento.exception.DescricaoEmBrancoException;
 import com.estacionamento.exception.ObjetoNaoEncontradoException;
 import com.estacionamento.model.Diaria;
 import com.estacionamento.model.DiariaNoturna;
 import com.estacionamento.repository.DiariaNoturnaRepository;
 import com.estacionamento.service.DiariaNoturnaService;
+import com.estacionamento.service.Paginacao;
+import com.estacionamento.tarifa.MotorTarifario;
 
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
@@ -14,10 +19,11 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.Pageable;
 
 import java.math.BigDecimal;
 import java.time.LocalTime;
-import java.util.Arrays;
 import java.util.List;
 import java.util.Optional;
 
@@ -31,6 +37,10 @@ class DiariaNoturnaServiceTest {
 
     @Mock
     private DiariaNoturnaRepository diariaNoturnaRepository;
+    @Mock
+    private MotorTarifario motorTarifario;
+    @Mock
+    private CacheTarifas cacheTarifas;
 
     @InjectMocks
     private DiariaNoturnaService diariaNoturnaService;
@@ -77,23 +87,20 @@ class DiariaNoturnaServiceTest {
     }
 
     @Test
-    @DisplayName("Deve listar todas as DiariasNoturnas")
-    void deveListarTodasDiariasNoturnas() {
-        DiariaNoturna outraDiariaNoturna = new DiariaNoturna();
-        outraDiariaNoturna.setId(2L);
-        outraDiariaNoturna.setHoraInicio(LocalTime.of(23, 0));
-        outraDiariaNoturna.setHoraFim(LocalTime.of(7, 0));
-        outraDiariaNoturna.setAdicionalNoturno(new BigDecimal("12.50"));
-        outraDiariaNoturna.setDiaria(new Diaria(2L, new BigDecimal("60.00"), "Noturna Teste", "Desc", null));
-
-        List<DiariaNoturna> diariasNoturnas = Arrays.asList(diariaNoturnaValida, outraDiariaNoturna);
-        when(diariaNoturnaRepository.findAll()).thenReturn(diariasNoturnas);
-
-        List<DiariaNoturna> lista = diariaNoturnaService.listarTodasDiariasNoturnas();
-
-        assertNotNull(lista);
-        assertEquals(2, lista.size());
-        verify(diariaNoturnaRepository, times(1)).findAll();
+    @DisplayName("Deve listar as DiariasNoturnas paginadas pela projeção de resumo")
+    void deveListarDiariasNoturnasPaginadas() {
+        DiariaNoturnaResumoDTO resumo = new DiariaNoturnaResumoDTO(
+            1L, LocalTime.of(22, 0), LocalTime.of(6, 0), new BigDecimal("10.00"));
+        when(diariaNoturnaRepository.listarResumos(any(Pageable.class)))
+            .thenAnswer(invocacao -> new PageImpl<>(List.of(resumo), invocacao.getArgument(0), 1));
+
+        PaginaListagemDTO<DiariaNoturnaResumoDTO> pagina = diariaNoturnaService.listarDiariasNoturnas(null, null, null);
+
+        assertEquals(List.of(resumo), pagina.itens());
+        assertEquals(0, pagina.pagina());
+        assertEquals(Paginacao.TAMANHO_PADRAO, pagina.tamanho());
+        assertEquals(1, pagina.totalItens());
+        verify(diariaNoturnaRepository, never()).findAll();
     }
 
     @Test
@@ -1,5 +1,8 @@
 package com.estacionamento_tppe.service;
 
+import com.estacionamento.cache.CacheTarifas;
+import com.estacionamento.dto.DiariaResumoDTO;
+import com.estacionamento.dto.PaginaListagemDTO;
 import com.estacionamento.exception.DescricaoEmBrancoException;
 import com.estacionamento.exception.ObjetoNaoEncontradoException;
 import com.estacionamento.model.Diaria;
@@ -7,6 +10,8 @@ import com.estacionamento.model.DiariaNoturna;
 import com.estacionamento.repository.DiariaNoturnaRepository;
 import com.estacionamento.repository.DiariaRepository;
 import com.estacionamento.service.DiariaService;
+import com.estacionamento.service.Paginacao;
+import com.estacionamento.tarifa.MotorTarifario;
 
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
@@ -15,10 +20,11 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.Pageable;
 
 import java.math.BigDecimal;
 import java.time.LocalTime;
-import java.util.Arrays;
 import java.util.List;
 import java.util.Optional;
 
@@ -32,6 +38,10 @@ class DiariaServiceTest {
     private DiariaRepository diariaRepository;
     @Mock
     private DiariaNoturnaRepository diariaNoturnaRepository;
+    @Mock
+    private MotorTarifario motorTarifario;
+    @Mock
+    private CacheTarifas cacheTarifas;
 
     @InjectMocks
     private DiariaService diariaService;
@@ -114,16 +124,20 @@ class DiariaServiceTest {
     }
 
     @Test
-    @DisplayName("Deve listar todas as diárias")
-    void deveListarTodasDiarias() {
-        List<Diaria> diarias = Arrays.asList(diariaValida, new Diaria());
-        when(diariaRepository.findAll()).thenReturn(diarias);
-
-        List<Diaria> lista = diariaService.listarTodasDiarias();
-
-        assertNotNull(lista);
-        assertEquals(2, lista.size());
-        verify(diariaRepository, times(1)).findAll();
+    @DisplayName("Deve listar as diárias paginadas pela projeção de resumo")
+    void deveListarDiariasPaginadas() {
+        DiariaResumoDTO resumo = new DiariaResumoDTO(
+            1L, "Comum", new BigDecimal("50.00"), null, new BigDecimal("10.00"));
+        when(diariaRepository.listarResumos(any(Pageable.class)))
+            .thenAnswer(invocacao -> new PageImpl<>(List.of(resumo), invocacao.getArgument(0), 1));
+
+        PaginaListagemDTO<DiariaResumoDTO> pagina = diariaService.listarDiarias(null, null, null);
+
+        assertEquals(List.of(resumo), pagina.itens());
+        assertEquals(0, pagina.pagina());
+        assertEquals(Paginacao.TAMANHO_PADRAO, pagina.tamanho());
+        assertEquals(1, pagina.totalItens());
+        verify(diariaRepository, never()).findAll();
     }
 
     @Test
@@ -1,27 +1,45 @@
 package com.estacionamento_tppe.service;
 
+import com.estacionamento.dto.EstacionamentoResumoDTO;
+import com.estacionamento.dto.PaginaListagemDTO;
+import com.estacionamento.exception.ConflitoVersaoException;
 import com.estacionamento.exception.DescricaoEmBrancoException;
 import com.estacionamento.exception.ObjetoNaoEncontradoException;
+import com.estacionamento.exception.VersaoAusenteException;
 import com.estacionamento.model.Contratante;
 import com.estacionamento.model.Estacionamento;
+import com.estacionamento.ocupacao.IndiceOcupacao;
 import com.estacionamento.repository.ContratanteRepository;
 import com.estacionamento.repository.EstacionamentoRepository;
+import com.estacionamento.repository.VinculosContratanteRepository;
+import com.estacionamento.reserva.Reserva;
+import com.estacionamento.reserva.ReservasVagas;
 import com.estacionamento.service.EstacionamentoService;
+import com.estacionamento.service.Paginacao;
 
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InOrder;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.Mockito;
 import org.mockito.junit.jupiter.MockitoExtension;
-
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.Pageable;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
 import java.time.LocalTime;
 import java.util.Arrays;
 import java.util.HashSet;
 import java.util.List;
 import java.util.Optional;
+import java.util.Set;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.any;
@@ -35,6 +53,12 @@ class EstacionamentoServiceTest {
     private EstacionamentoRepository estacionamentoRepository;
     @Mock
     private ContratanteRepository contratanteRepository;
+    @Mock
+    private IndiceOcupacao indiceOcupacao;
+    @Mock
+    private ReservasVagas reservasVagas;
+    @Mock
+    private VinculosContratanteRepository vinculosContratanteRepository;
 
     @InjectMocks
     private EstacionamentoService estacionamentoService;
@@ -91,14 +115,13 @@ class EstacionamentoServiceTest {
         estComContratante.setHoraFechamento(LocalTime.of(19, 0));
         estComContratante.setContratantes(new HashSet<>(Arrays.asList(contratantePadrao)));
 
-        lenient().when(contratanteRepository.findById(contratantePadrao.getId()))
-            .thenReturn(Optional.of(contratantePadrao));
+        when(contratanteRepository.findAllById(Set.of(contratantePadrao.getId())))
+            .thenReturn(List.of(contratantePadrao));
         lenient().when(estacionamentoRepository.findByNome(anyString()))
             .thenReturn(Optional.empty());
         when(estacionamentoRepository.save(any(Estacionamento.class))).thenAnswer(invocation -> {
             Estacionamento saved = invocation.getArgument(0);
             saved.setId(2L);
-            saved.getContratantes().forEach(c -> c.getEstacionamentos().add(saved));
             return saved;
         });
 
@@ -108,9 +131,10 @@ class EstacionamentoServiceTest {
         assertFalse(salvo.getContratantes().isEmpty());
         assertEquals(1, salvo.getContratantes().size());
         assertTrue(salvo.getContratantes().contains(contratantePadrao));
-        assertTrue(contratantePadrao.getEstacionamentos().contains(salvo));
-        verify(contratanteRepository, times(1)).findById(contratantePadrao.getId());
+        assertTrue(contratantePadrao.getEstacionamentos().isEmpty());
+        verify(contratanteRepository, never()).findById(anyLong());
         verify(estacionamentoRepository, times(1)).save(any(Estacionamento.class));
+        verify(vinculosContratanteRepository).substituirContratantesDoEstacionamento(2L, Set.of(10L));
     }
 
     @Test
@@ -129,11 +153,12 @@ class EstacionamentoServiceTest {
 
         lenient().when(estacionamentoRepository.findByNome(anyString()))
             .thenReturn(Optional.empty());
-        when(contratanteRepository.findById(contratanteInexistente.getId()))
-            .thenReturn(Optional.empty());
+        when(contratanteRepository.findAllById(Set.of(contratanteInexistente.getId())))
+            .thenReturn(List.of());
 
-        assertThrows(ObjetoNaoEncontradoException.class, () ->
+        ObjetoNaoEncontradoException excecao = assertThrows(ObjetoNaoEncontradoException.class, () ->
             estacionamentoService.criarEstacionamento(estComContratanteInexistente));
+        assertEquals("Contratante com ID 99 não encontrado.", excecao.getMessage());
         verify(estacionamentoRepository, never()).save(any(Estacionamento.class));
     }
 
@@ -195,16 +220,21 @@ class EstacionamentoServiceTest {
     }
 
     @Test
-    @DisplayName("Deve listar todos os estacionamentos")
-    void deveListarTodosEstacionamentos() {
-        List<Estacionamento> estacionamentos = Arrays.asList(estacionamentoValido, new Estacionamento());
-        when(estacionamentoRepository.findAll()).thenReturn(estacionamentos);
-
-        List<Estacionamento> lista = estacionamentoService.listarTodosEstacionamentos();
-
-        assertNotNull(lista);
-        assertEquals(2, lista.size());
-        verify(estacionamentoRepository, times(1)).findAll();
+    @DisplayName("Deve listar os estacionamentos paginados pela projeção de resumo")
+    void deveListarEstacionamentosPaginados() {
+        EstacionamentoResumoDTO resumo = new EstacionamentoResumoDTO(
+            1L, "Centro", "Rua A, 10", 100, LocalTime.of(6, 0), LocalTime.of(22, 0));
+        when(estacionamentoRepository.listarResumos(any(Pageable.class)))
+            .thenAnswer(invocacao -> new PageImpl<>(List.of(resumo), invocacao.getArgument(0), 1));
+
+        PaginaListagemDTO<EstacionamentoResumoDTO> pagina =
+            estacionamentoService.listarEstacionamentos(null, null, null);
+
+        assertEquals(List.of(resumo), pagina.itens());
+        assertEquals(0, pagina.pagina());
+        assertEquals(Paginacao.TAMANHO_PADRAO, pagina.tamanho());
+        assertEquals(1, pagina.totalItens());
+        verify(estacionamentoRepository, never()).findAll();
     }
 
     @Test
@@ -219,7 +249,7 @@ class EstacionamentoServiceTest {
 
         Estacionamento estacionamentoExistente = new Estacionamento(
             1L, "Nome Antigo", "End Antigo", 50, LocalTime.of(8, 0),
-            LocalTime.of(18, 0), new HashSet<>()
+            LocalTime.of(18, 0), new HashSet<>(), 0L
         );
         estacionamentoExistente.addContratante(contratanteSpy);
 
@@ -230,6 +260,7 @@ class EstacionamentoServiceTest {
         estacionamentoAtualizadoPayload.setHoraAbertura(LocalTime.of(9, 0));
         estacionamentoAtualizadoPayload.setHoraFechamento(LocalTime.of(20, 0));
         estacionamentoAtualizadoPayload.setContratantes(new HashSet<>());
+        estacionamentoAtualizadoPayload.setVersao(0L);
 
         lenient().when(estacionamentoRepository.findById(1L))
             .thenReturn(Optional.of(estacionamentoExistente));
@@ -252,7 +283,8 @@ class EstacionamentoServiceTest {
         assertEquals(LocalTime.of(20, 0), atualizado.getHoraFechamento());
         assertTrue(atualizado.getContratantes().isEmpty());
 
-        verify(contratanteSpy, times(1)).removeEstacionamento(estacionamentoExistente);
+        verify(contratanteSpy, never()).removeEstacionamento(any());
+        verify(vinculosContratanteRepository).substituirContratantesDoEstacionamento(1L, Set.of());
 
         verify(estacionamentoRepository, times(1)).findById(1L);
         verify(estacionamentoRepository, times(1)).save(estacionamentoExistente);
@@ -276,10 +308,54 @@ class EstacionamentoServiceTest {
         verify(estacionamentoRepository, never()).save(any(Estacionamento.class));
     }
 
+    @Test
+    @DisplayName("Deve recusar com ConflitoVersaoException a atualização que parte de uma versão antiga")
+    void deveRecusarAtualizacaoDeVersaoAntiga() {
+        estacionamentoValido.setVersao(5L);
+        Estacionamento estacionamentoAtualizado = new Estacionamento();
+        estacionamentoAtualizado.setVersao(4L);
+        estacionamentoAtualizado.setNome("Nome");
+        estacionamentoAtualizado.setEndereco("End");
+        estacionamentoAtualizado.setCapacidade(10);
+        estacionamentoAtualizado.setHoraAbertura(LocalTime.of(8, 0));
+        estacionamentoAtualizado.setHoraFechamento(LocalTime.of(18, 0));
+
+        when(estacionamentoRepository.findById(1L)).thenReturn(Optional.of(estacionamentoValido));
+
+        ConflitoVersaoException conflito = assertThrows(ConflitoVersaoException.class, () ->
+            estacionamentoService.atualizarEstacionamento(1L, estacionamentoAtualizado));
+        assertEquals(1L, conflito.getId());
+        assertEquals("Estacionamento Teste", estacionamentoValido.getNome());
+        verify(estacionamentoRepository, never()).save(any(Estacionamento.class));
+        verifyNoInteractions(indiceOcupacao);
+    }
+
+    @Test
+    @DisplayName("Deve recusar com VersaoAusenteException a atualização sem a versão lida antes")
+    void deveExigirVersaoNaAtualizacao() {
+        estacionamentoValido.setVersao(5L);
+        Estacionamento estacionamentoAtualizado = new Estacionamento();
+        estacionamentoAtualizado.setNome("Nome");
+        estacionamentoAtualizado.setEndereco("End");
+        estacionamentoAtualizado.setCapacidade(10);
+        estacionamentoAtualizado.setHoraAbertura(LocalTime.of(8, 0));
+        estacionamentoAtualizado.setHoraFechamento(LocalTime.of(18, 0));
+
+        when(estacionamentoRepository.findById(1L)).thenReturn(Optional.of(estacionamentoValido));
+
+        assertThrows(VersaoAusenteException.class, () ->
+            estacionamentoService.atualizarEstacionamento(1L, estacionamentoAtualizado));
+        assertEquals("Estacionamento Teste", estacionamentoValido.getNome());
+        verify(estacionamentoRepository, never()).save(any(Estacionamento.class));
+        verifyNoInteractions(indiceOcupacao);
+    }
+
     @Test
     @DisplayName("Deve lançar DescricaoEmBrancoException ao tentar atualizar estacionamento com nome em branco")
     void deveLancarExcecaoAoAtualizarEstacionamentoComNomeEmBranco() {
+        estacionamentoValido.setVersao(0L);
         Estacionamento estacionamentoAtualizado = new Estacionamento();
+        estacionamentoAtualizado.setVersao(0L);
         estacionamentoAtualizado.setNome("");
         estacionamentoAtualizado.setEndereco("End");
         estacionamentoAtualizado.setCapacidade(10);
@@ -323,10 +399,10 @@ class EstacionamentoServiceTest {
 
         assertDoesNotThrow(() -> estacionamentoService.deletarEstacionamento(1L));
 
-        verify(estacionamentoRepository, times(1)).findById(1L);
-        verify(estacionamentoRepository, times(1)).delete(estacionamentoParaDeletar);
-        verify(contratanteSpy, times(1)).removeEstacionamento(estacionamentoParaDeletar);
-
+        InOrder ordem = inOrder(vinculosContratanteRepository, estacionamentoRepository);
+        ordem.verify(vinculosContratanteRepository).removerEstacionamento(1L);
+        ordem.verify(estacionamentoRepository).delete(estacionamentoParaDeletar);
+        verify(contratanteSpy, never()).removeEstacionamento(any());
     }
 
     @Test
@@ -346,11 +422,11 @@ class EstacionamentoServiceTest {
     void deveLancarExcecaoAoAtualizarEstacionamentoComNomeDuplicadoEmOutro() {
         Estacionamento outroEstacionamento = new Estacionamento(
             2L, "Nome Duplicado", "Outro Endereço", 100,
-            LocalTime.now(), LocalTime.now(), new HashSet<>()
+            LocalTime.now(), LocalTime.now(), new HashSet<>(), 0L
         );
         Estacionamento estacionamentoExistente = new Estacionamento(
             1L, "Original", "End Original", 50,
-            LocalTime.now(), LocalTime.now(), new HashSet<>()
+            LocalTime.now(), LocalTime.now(), new HashSet<>(), 0L
         );
 
         Estacionamento atualizacao = new Estacionamento();
@@ -360,6 +436,7 @@ class EstacionamentoServiceTest {
         atualizacao.setHoraAbertura(LocalTime.of(1, 0));
         atualizacao.setHoraFechamento(LocalTime.of(2, 0));
         atualizacao.setContratantes(new HashSet<>());
+        atualizacao.setVersao(0L);
 
         when(estacionamentoRepository.findById(1L))
             .thenReturn(Optional.of(estacionamentoExistente));
@@ -398,7 +475,7 @@ class EstacionamentoServiceTest {
         Estacionamento estacionamentoExistente = new Estacionamento(
             1L, "Estacionamento Central", "Rua Centro",
             150, LocalTime.of(8, 0), LocalTime.of(22, 0),
-            new HashSet<>()
+            new HashSet<>(), 0L
         );
 
         Estacionamento atualizacao = new Estacionamento();
@@ -408,6 +485,7 @@ class EstacionamentoServiceTest {
         atualizacao.setHoraAbertura(LocalTime.of(8, 0));
         atualizacao.setHoraFechamento(LocalTime.of(22, 0));
         atualizacao.setContratantes(new HashSet<>());
+        atualizacao.setVersao(0L);
 
         when(estacionamentoRepository.findById(1L))
             .thenReturn(Optional.of(estacionamentoExistente));
@@ -426,4 +504,64 @@ class EstacionamentoServiceTest {
         verify(estacionamentoRepository, times(1)).findByNome(atualizacao.getNome());
         verify(estacionamentoRepository, times(1)).save(estacionamentoExistente);
     }
-}
\ No newline at end of file
+
+    @Test
+    @DisplayName("Deve manter a ocupação e as reservas em memória quando a exclusão do estacionamento é desfeita")
+    void deveManterOcupacaoQuandoExclusaoRevertida() {
+        IndiceOcupacao indice = new IndiceOcupacao();
+        indice.registrarCapacidade(1L, 20);
+        indice.ocupar(1L, 20);
+        indice.ocupar(1L, 20);
+        indice.ocupar(1L, 20);
+        LocalDateTime inicioEvento = LocalDateTime.of(2024, 7, 10, 18, 0);
+        ReservasVagas reservas = new ReservasVagas();
+        reservas.registrar(7L, new Reserva(7L, 1L, inicioEvento, inicioEvento.plusHours(5), 10));
+        EstacionamentoService servico = new EstacionamentoService(
+            estacionamentoRepository, contratanteRepository, indice, reservas, vinculosContratanteRepository);
+        when(estacionamentoRepository.findById(1L)).thenReturn(Optional.of(estacionamentoValido));
+        doThrow(new DataIntegrityViolationException("fk_acesso_estacionamento"))
+            .when(estacionamentoRepository).delete(estacionamentoValido);
+
+        assertThrows(DataIntegrityViolationException.class,
+            () -> transacao().executeWithoutResult(status -> servico.deletarEstacionamento(1L)));
+        assertEquals(3, indice.consultar(1L).vagasOcupadas());
+        assertEquals(10, reservas.reservadas(1L, inicioEvento));
+
+        doNothing().when(estacionamentoRepository).delete(estacionamentoValido);
+        transacao().executeWithoutResult(status -> {
+            servico.deletarEstacionamento(1L);
+            status.setRollbackOnly();
+        });
+        assertEquals(3, indice.consultar(1L).vagasOcupadas());
+        assertEquals(10, reservas.reservadas(1L, inicioEvento));
+
+        transacao().executeWithoutResult(status -> servico.deletarEstacionamento(1L));
+        assertNull(indice.consultar(1L));
+        assertEquals(0, reservas.reservadas(1L, inicioEvento));
+        assertNull(reservas.buscarPorEvento(7L));
+    }
+
+    @Test
+    @DisplayName("Não deve registrar no índice a capacidade de um cadastro ou alteração revertidos")
+    void naoDeveRegistrarCapacidadeRevertida() {
+        IndiceOcupacao indice = new IndiceOcupacao();
+        EstacionamentoService servico = new EstacionamentoService(
+            estacionamentoRepository, contratanteRepository, indice, reservasVagas, vinculosContratanteRepository);
+        when(estacionamentoRepository.findByNome(anyString())).thenReturn(Optional.empty());
+        when(estacionamentoRepository.save(any(Estacionamento.class))).thenReturn(estacionamentoValido);
+
+        transacao().executeWithoutResult(status -> {
+            servico.criarEstacionamento(estacionamentoValido);
+            status.setRollbackOnly();
+        });
+        assertNull(indice.consultar(1L));
+
+        transacao().executeWithoutResult(status -> servico.criarEstacionamento(estacionamentoValido));
+        assertEquals(50, indice.consultar(1L).capacidade());
+    }
+
+    private static TransactionTemplate transacao() {
+        return new TransactionTemplate(new DataSourceTransactionManager(
+            new DriverManagerDataSource("jdbc:h2:mem:estacionamento;DB_CLOSE_DELAY=-1", "sa", "")));
+    }
+}
@@ -1,27 +1,41 @@
 package com.estacionamento_tppe.service;
 
+import com.estacionamento.dto.EventoDTO;
+import com.estacionamento.dto.EventoResumoDTO;
+import com.estacionamento.dto.PaginaListagemDTO;
 import com.estacionamento.exception.DescricaoEmBrancoException;
 import com.estacionamento.exception.ObjetoNaoEncontradoException;
 import com.estacionamento.model.Contratante;
+import com.estacionamento.model.Estacionamento;
 import com.estacionamento.model.Evento;
 import com.estacionamento.repository.ContratanteRepository;
+import com.estacionamento.repository.EstacionamentoRepository;
 import com.estacionamento.repository.EventoRepository;
+import com.estacionamento.repository.VinculosContratanteRepository;
+import com.estacionamento.reserva.ReservasVagas;
 import com.estacionamento.service.EventoService;
+import com.estacionamento.service.Paginacao;
 
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InOrder;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.Pageable;
 
 import java.time.LocalDate;
+import java.time.LocalDateTime;
 import java.time.LocalTime;
 import java.util.Arrays;
 import java.util.HashSet;
 import java.util.List;
 import java.util.Optional;
+import java.util.Set;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.any;
@@ -34,6 +48,12 @@ class EventoServiceTest {
     private EventoRepository eventoRepository;
     @Mock
     private ContratanteRepository contratanteRepository;
+    @Mock
+    private EstacionamentoRepository estacionamentoRepository;
+    @Spy
+    private ReservasVagas reservasVagas = new ReservasVagas();
+    @Mock
+    private VinculosContratanteRepository vinculosContratanteRepository;
 
     @InjectMocks
     private EventoService eventoService;
@@ -115,15 +135,59 @@ class EventoServiceTest {
         evento.setHoraFim(LocalTime.of(23, 0, 0));
         evento.setContratantes(new HashSet<>(Arrays.asList(contratantePadrao)));
 
-        when(contratanteRepository.findById(10L)).thenReturn(Optional.of(contratantePadrao));
-        when(eventoRepository.save(any(Evento.class))).thenReturn(evento);
+        when(contratanteRepository.findAllById(Set.of(10L))).thenReturn(List.of(contratantePadrao));
+        when(eventoRepository.save(any(Evento.class))).thenAnswer(invocation -> {
+            Evento salvo = invocation.getArgument(0);
+            salvo.setId(5L);
+            return salvo;
+        });
 
         Evento resultado = eventoService.criarEvento(evento);
 
         assertNotNull(resultado);
         assertEquals("Festival", resultado.getNomeEvento());
-        verify(contratanteRepository, times(1)).findById(10L);
+        assertEquals(Set.of(contratantePadrao), resultado.getContratantes());
+        assertTrue(contratantePadrao.getEventos().isEmpty());
+        verify(contratanteRepository, never()).findById(anyLong());
         verify(eventoRepository, times(1)).save(any(Evento.class));
+        verify(vinculosContratanteRepository).substituirContratantesDoEvento(5L, Set.of(10L));
+    }
+
+    @Test
+    @DisplayName("Deve reservar as vagas do evento no estacionamento durante a janela dele")
+    void deveRegistrarReservaAoCriarEvento() {
+        Estacionamento estacionamento = new Estacionamento(5L, "Arena", "Rua B", 100,
+            LocalTime.of(8, 0), LocalTime.of(23, 59), new HashSet<>(), 0L);
+        eventoValido.setEstacionamento(new Estacionamento(5L, null, null, null, null, null, null, null));
+        eventoValido.setVagasReservadas(30);
+
+        when(estacionamentoRepository.findById(5L)).thenReturn(Optional.of(estacionamento));
+        when(eventoRepository.save(any(Evento.class))).thenAnswer(invocacao -> invocacao.getArgument(0));
+
+        Evento resultado = eventoService.criarEvento(eventoValido);
+
+        assertSame(estacionamento, resultado.getEstacionamento());
+        assertEquals(30, reservasVagas.reservadas(5L, LocalDateTime.of(2024, 7, 10, 12, 0)));
+        assertEquals(0, reservasVagas.reservadas(5L, LocalDateTime.of(2024, 7, 10, 23, 0)));
+    }
+
+    @Test
+    @DisplayName("Deve recusar reserva sem estacionamento, negativa ou acima da capacidade")
+    void deveRecusarReservaInvalida() {
+        eventoValido.setVagasReservadas(10);
+        assertThrows(DescricaoEmBrancoException.class, () -> eventoService.criarEvento(eventoValido));
+
+        eventoValido.setVagasReservadas(-1);
+        assertThrows(IllegalArgumentException.class, () -> eventoService.criarEvento(eventoValido));
+
+        eventoValido.setEstacionamento(new Estacionamento(5L, null, null, null, null, null, null, null));
+        eventoValido.setVagasReservadas(101);
+        when(estacionamentoRepository.findById(5L)).thenReturn(Optional.of(new Estacionamento(5L, "Arena",
+            "Rua B", 100, LocalTime.of(8, 0), LocalTime.of(23, 59), new HashSet<>(), 0L)));
+        assertThrows(IllegalArgumentException.class, () -> eventoService.criarEvento(eventoValido));
+
+        verify(eventoRepository, never()).save(any(Evento.class));
+        verify(reservasVagas, never()).registrar(any(), any());
     }
 
     @Test
@@ -140,44 +204,54 @@ class EventoServiceTest {
         evento.setHoraFim(LocalTime.of(23, 0, 0));
         evento.setContratantes(new HashSet<>(Arrays.asList(contratanteInexistente)));
 
-        when(contratanteRepository.findById(99L)).thenReturn(Optional.empty());
+        when(contratanteRepository.findAllById(Set.of(99L))).thenReturn(List.of());
 
-        assertThrows(ObjetoNaoEncontradoException.class, () -> eventoService.criarEvento(evento));
+        ObjetoNaoEncontradoException excecao = assertThrows(ObjetoNaoEncontradoException.class, () ->
+            eventoService.criarEvento(evento));
+        assertEquals("Contratante com ID 99 não encontrado.", excecao.getMessage());
         verify(eventoRepository, never()).save(any(Evento.class));
     }
 
     @Test
-    @DisplayName("Deve retornar evento por ID quando encontrado")
+    @DisplayName("Deve retornar o detalhe do evento por ID pela projeção, com o estacionamento reduzido a ID e nome")
     void deveRetornarEventoPorIdQuandoEncontrado() {
-        when(eventoRepository.findById(1L)).thenReturn(Optional.of(eventoValido));
+        when(eventoRepository.buscarDetalhe(1L)).thenReturn(Optional.of(new EventoDTO(1L,
+            eventoValido.getNomeEvento(), eventoValido.getDescricao(), eventoValido.getDataInicio(),
+            eventoValido.getHoraInicio(), eventoValido.getDataFim(), eventoValido.getHoraFim(), 5, 3L, "Central")));
 
-        Evento resultado = eventoService.buscarEventoPorId(1L);
+        EventoDTO resultado = eventoService.buscarEventoPorId(1L);
 
         assertNotNull(resultado);
-        assertEquals(1L, resultado.getId());
-        verify(eventoRepository, times(1)).findById(1L);
+        assertEquals(1L, resultado.id());
+        assertEquals(new EventoDTO.EstacionamentoEvento(3L, "Central"), resultado.estacionamento());
+        assertNull(EventoDTO.de(eventoValido).estacionamento());
+        verify(eventoRepository, never()).findById(any());
     }
 
     @Test
     @DisplayName("Deve lançar ObjetoNaoEncontradoException ao buscar evento por ID inexistente")
     void deveLancarExcecaoQuandoBuscarEventoPorIdInexistente() {
-        when(eventoRepository.findById(99L)).thenReturn(Optional.empty());
+        when(eventoRepository.buscarDetalhe(99L)).thenReturn(Optional.empty());
 
         assertThrows(ObjetoNaoEncontradoException.class, () -> eventoService.buscarEventoPorId(99L));
-        verify(eventoRepository, times(1)).findById(99L);
+        verify(eventoRepository, times(1)).buscarDetalhe(99L);
     }
 
     @Test
-    @DisplayName("Deve listar todos os eventos")
-    void deveListarTodosEventos() {
-        List<Evento> eventos = Arrays.asList(eventoValido);
-        when(eventoRepository.findAll()).thenReturn(eventos);
-
-        List<Evento> resultado = eventoService.listarTodosEventos();
-
-        assertNotNull(resultado);
-        assertEquals(1, resultado.size());
-        verify(eventoRepository, times(1)).findAll();
+    @DisplayName("Deve listar os eventos paginados pela projeção de resumo")
+    void deveListarEventosPaginados() {
+        EventoResumoDTO resumo = new EventoResumoDTO(1L, "Show", LocalDate.of(2024, 7, 1), LocalTime.of(20, 0),
+            LocalDate.of(2024, 7, 1), LocalTime.of(23, 0));
+        when(eventoRepository.listarResumos(any(Pageable.class)))
+            .thenAnswer(invocacao -> new PageImpl<>(List.of(resumo), invocacao.getArgument(0), 1));
+
+        PaginaListagemDTO<EventoResumoDTO> pagina = eventoService.listarEventos(null, null, null);
+
+        assertEquals(List.of(resumo), pagina.itens());
+        assertEquals(0, pagina.pagina());
+        assertEquals(Paginacao.TAMANHO_PADRAO, pagina.tamanho());
+        assertEquals(1, pagina.totalItens());
+        verify(eventoRepository, never()).findAll();
     }
 
     @Test
@@ -210,6 +284,7 @@ class EventoServiceTest {
         assertNotNull(resultado);
         verify(eventoRepository, times(1)).findById(1L);
         verify(eventoRepository, times(1)).save(any(Evento.class));
+        verify(vinculosContratanteRepository).substituirContratantesDoEvento(1L, Set.of());
     }
 
     @Test
@@ -284,7 +359,9 @@ class EventoServiceTest {
         assertDoesNotThrow(() -> eventoService.deletarEvento(1L));
 
         verify(eventoRepository, times(1)).findById(1L);
-        verify(eventoRepository, times(1)).delete(eventoParaDeletar);
+        InOrder ordem = inOrder(vinculosContratanteRepository, eventoRepository);
+        ordem.verify(vinculosContratanteRepository).removerEvento(1L);
+        ordem.verify(eventoRepository).delete(eventoParaDeletar);
     }
 
     @Test
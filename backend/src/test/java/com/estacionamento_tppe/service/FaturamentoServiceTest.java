@@ -0,0 +1,114 @@
+package com.estacionamento_tppe.service;
+
+import com.estacionamento.dto.FaturamentoPeriodoDTO;
+import com.estacionamento.exception.ObjetoNaoEncontradoException;
+import com.estacionamento.faturamento.PeriodoFaturamento;
+import com.estacionamento.model.FaturamentoDiario;
+import com.estacionamento.repository.EstacionamentoRepository;
+import com.estacionamento.repository.FaturamentoDiarioRepository;
+import com.estacionamento.service.FaturamentoService;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class FaturamentoServiceTest {
+
+    @Mock
+    private FaturamentoDiarioRepository faturamentoDiarioRepository;
+    @Mock
+    private EstacionamentoRepository estacionamentoRepository;
+
+    @InjectMocks
+    private FaturamentoService faturamentoService;
+
+    private List<FaturamentoDiario> buckets;
+
+    @BeforeEach
+    void setUp() {
+        buckets = List.of(
+            new FaturamentoDiario(1L, 1L, LocalDate.of(2024, 7, 1), "TEMPO", new BigDecimal("100.00"), 10L),
+            new FaturamentoDiario(2L, 1L, LocalDate.of(2024, 7, 1), "DIARIA", new BigDecimal("55.00"), 1L),
+            new FaturamentoDiario(3L, 1L, LocalDate.of(2024, 7, 7), "TEMPO", new BigDecimal("20.00"), 2L),
+            new FaturamentoDiario(4L, 1L, LocalDate.of(2024, 7, 8), "TEMPO", new BigDecimal("30.50"), 3L),
+            new FaturamentoDiario(5L, 1L, LocalDate.of(2024, 8, 2), "DIARIA", new BigDecimal("50.00"), 1L)
+        );
+    }
+
+    @Test
+    @DisplayName("Deve agrupar os buckets diários por dia")
+    void deveAgruparPorDia() {
+        LocalDate inicio = LocalDate.of(2024, 7, 1);
+        LocalDate fim = LocalDate.of(2024, 8, 31);
+        when(estacionamentoRepository.existsById(1L)).thenReturn(true);
+        when(faturamentoDiarioRepository.findByEstacionamentoIdAndDiaBetweenOrderByDia(1L, inicio, fim))
+            .thenReturn(buckets);
+
+        List<FaturamentoPeriodoDTO> faturamento =
+            faturamentoService.consultar(1L, PeriodoFaturamento.DIA, inicio, fim);
+
+        assertEquals(4, faturamento.size());
+        assertEquals(new BigDecimal("155.00"), faturamento.get(0).valorTotal());
+        assertEquals(11L, faturamento.get(0).quantidade());
+        assertEquals(Map.of("DIARIA", new BigDecimal("55.00"), "TEMPO", new BigDecimal("100.00")),
+            faturamento.get(0).valorPorTipoAcesso());
+    }
+
+    @Test
+    @DisplayName("Deve agrupar por semana começando na segunda-feira e por mês")
+    void deveAgruparPorSemanaEMes() {
+        LocalDate inicio = LocalDate.of(2024, 7, 1);
+        LocalDate fim = LocalDate.of(2024, 8, 31);
+        when(estacionamentoRepository.existsById(1L)).thenReturn(true);
+        when(faturamentoDiarioRepository.findByEstacionamentoIdAndDiaBetweenOrderByDia(1L, inicio, fim))
+            .thenReturn(buckets);
+
+        List<FaturamentoPeriodoDTO> semanas =
+            faturamentoService.consultar(1L, PeriodoFaturamento.SEMANA, inicio, fim);
+        List<FaturamentoPeriodoDTO> meses = faturamentoService.consultar(1L, PeriodoFaturamento.MES, inicio, fim);
+
+        assertEquals(3, semanas.size());
+        assertEquals(LocalDate.of(2024, 7, 1), semanas.get(0).inicio());
+        assertEquals(LocalDate.of(2024, 7, 7), semanas.get(0).fim());
+        assertEquals(new BigDecimal("175.00"), semanas.get(0).valorTotal());
+        assertEquals(LocalDate.of(2024, 7, 29), semanas.get(2).inicio());
+
+        assertEquals(2, meses.size());
+        assertEquals(new BigDecimal("205.50"), meses.get(0).valorTotal());
+        assertEquals(16L, meses.get(0).quantidade());
+        assertEquals(LocalDate.of(2024, 8, 31), meses.get(1).fim());
+    }
+
+    @Test
+    @DisplayName("Deve lançar ObjetoNaoEncontradoException para estacionamento inexistente")
+    void deveLancarExcecaoParaEstacionamentoInexistente() {
+        when(estacionamentoRepository.existsById(99L)).thenReturn(false);
+
+        assertThrows(ObjetoNaoEncontradoException.class, () ->
+            faturamentoService.consultar(99L, PeriodoFaturamento.DIA, null, null));
+        verifyNoInteractions(faturamentoDiarioRepository);
+    }
+
+    @Test
+    @DisplayName("Deve lançar IllegalArgumentException quando a data final é anterior à inicial")
+    void deveLancarExcecaoParaIntervaloInvertido() {
+        when(estacionamentoRepository.existsById(1L)).thenReturn(true);
+
+        assertThrows(IllegalArgumentException.class, () -> faturamentoService.consultar(
+            1L, PeriodoFaturamento.MES, LocalDate.of(2024, 8, 1), LocalDate.of(2024, 7, 1)));
+        verifyNoInteractions(faturamentoDiarioRepository);
+    }
+}
@@ -1,10 +1,14 @@
 package com.estacionamento_tppe.service;
 
+import com.estacionamento.cache.CacheTarifas;
+import com.estacionamento.dto.MensalistaResumoDTO;
+import com.estacionamento.dto.PaginaListagemDTO;
 import com.estacionamento.exception.DescricaoEmBrancoException;
 import com.estacionamento.exception.ObjetoNaoEncontradoException;
 import com.estacionamento.model.Mensalista;
 import com.estacionamento.repository.MensalistaRepository;
 import com.estacionamento.service.MensalistaService;
+import com.estacionamento.service.Paginacao;
 
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
@@ -13,9 +17,10 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.Pageable;
 
 import java.math.BigDecimal;
-import java.util.Arrays;
 import java.util.List;
 import java.util.Optional;
 
@@ -29,6 +34,8 @@ class MensalistaServiceTest {
 
     @Mock
     private MensalistaRepository mensalistaRepository;
+    @Mock
+    private CacheTarifas cacheTarifas;
 
     @InjectMocks
     private MensalistaService mensalistaService;
@@ -99,16 +106,19 @@ class MensalistaServiceTest {
     }
 
     @Test
-    @DisplayName("Deve listar todos os mensalistas")
-    void deveListarTodosMensalistas() {
-        List<Mensalista> mensalistas = Arrays.asList(mensalistaValido, new Mensalista());
-        when(mensalistaRepository.findAll()).thenReturn(mensalistas);
-
-        List<Mensalista> lista = mensalistaService.listarTodosMensalistas();
-
-        assertNotNull(lista);
-        assertEquals(2, lista.size());
-        verify(mensalistaRepository, times(1)).findAll();
+    @DisplayName("Deve listar os mensalistas paginados pela projeção de resumo")
+    void deveListarMensalistasPaginados() {
+        MensalistaResumoDTO resumo = new MensalistaResumoDTO(1L, new BigDecimal("300.00"), 1, "Mensal");
+        when(mensalistaRepository.listarResumos(any(Pageable.class)))
+            .thenAnswer(invocacao -> new PageImpl<>(List.of(resumo), invocacao.getArgument(0), 1));
+
+        PaginaListagemDTO<MensalistaResumoDTO> pagina = mensalistaService.listarMensalistas(null, null, null);
+
+        assertEquals(List.of(resumo), pagina.itens());
+        assertEquals(0, pagina.pagina());
+        assertEquals(Paginacao.TAMANHO_PADRAO, pagina.tamanho());
+        assertEquals(1, pagina.totalItens());
+        verify(mensalistaRepository, never()).findAll();
     }
 
     @Test
@@ -129,6 +139,7 @@ class MensalistaServiceTest {
         assertEquals(3, atualizado.getPeriodoMeses());
         verify(mensalistaRepository, times(1)).findById(1L);
         verify(mensalistaRepository, times(1)).save(mensalistaValido);
+        verify(cacheTarifas).invalidarMensalista(1L);
     }
 
     @Test
@@ -1,10 +1,15 @@
 package com.estacionamento_tppe.service;
 
+import com.estacionamento.cache.CacheTarifas;
+import com.estacionamento.dto.PaginaListagemDTO;
+import com.estacionamento.dto.TempoResumoDTO;
 import com.estacionamento.exception.DescricaoEmBrancoException;
 import com.estacionamento.exception.ObjetoNaoEncontradoException;
 import com.estacionamento.model.Tempo;
 import com.estacionamento.repository.TempoRepository;
+import com.estacionamento.service.Paginacao;
 import com.estacionamento.service.TempoService;
+import com.estacionamento.tarifa.MotorTarifario;
 
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
@@ -13,10 +18,11 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.Pageable;
 
 import java.math.BigDecimal;
 import java.time.LocalTime;
-import java.util.Arrays;
 import java.util.List;
 import java.util.Optional;
 
@@ -30,6 +36,10 @@ class TempoServiceTest {
 
     @Mock
     private TempoRepository tempoRepository;
+    @Mock
+    private MotorTarifario motorTarifario;
+    @Mock
+    private CacheTarifas cacheTarifas;
 
     @InjectMocks
     private TempoService tempoService;
@@ -99,16 +109,19 @@ class TempoServiceTest {
     }
 
     @Test
-    @DisplayName("Deve listar todas as configurações de tempo")
-    void deveListarTodosTempos() {
-        List<Tempo> tempos = Arrays.asList(tempoValido, new Tempo());
-        when(tempoRepository.findAll()).thenReturn(tempos);
-
-        List<Tempo> lista = tempoService.listarTodosTempos();
-
-        assertNotNull(lista);
-        assertEquals(2, lista.size());
-        verify(tempoRepository, times(1)).findAll();
+    @DisplayName("Deve listar as configurações de tempo paginadas pela projeção de resumo")
+    void deveListarTemposPaginados() {
+        TempoResumoDTO resumo = new TempoResumoDTO(1L, LocalTime.of(0, 15), new BigDecimal("5.00"), null);
+        when(tempoRepository.listarResumos(any(Pageable.class)))
+            .thenAnswer(invocacao -> new PageImpl<>(List.of(resumo), invocacao.getArgument(0), 1));
+
+        PaginaListagemDTO<TempoResumoDTO> pagina = tempoService.listarTempos(null, null, null);
+
+        assertEquals(List.of(resumo), pagina.itens());
+        assertEquals(0, pagina.pagina());
+        assertEquals(Paginacao.TAMANHO_PADRAO, pagina.tamanho());
+        assertEquals(1, pagina.totalItens());
+        verify(tempoRepository, never()).findAll();
     }
 
     @Test
@@ -180,6 +193,7 @@ class TempoServiceTest {
 
         verify(tempoRepository, times(1)).existsById(1L);
         verify(tempoRepository, times(1)).deleteById(1L);
+        verify(cacheTarifas).invalidarTempo(1L);
     }
 
     @Test
@@ -1,20 +1,32 @@
 package com.estacionamento_tppe.service;
 
+import com.estacionamento.cache.CachePlacas;
+import com.estacionamento.dto.PaginaListagemDTO;
+import com.estacionamento.dto.VeiculoResumoDTO;
 import com.estacionamento.exception.DescricaoEmBrancoException;
 import com.estacionamento.exception.ObjetoNaoEncontradoException;
 import com.estacionamento.model.Veiculo;
 import com.estacionamento.repository.VeiculoRepository;
+import com.estacionamento.service.Paginacao;
 import com.estacionamento.service.VeiculoService;
 
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
-
-import java.util.Arrays;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
 import java.util.List;
 import java.util.Optional;
 
@@ -27,6 +39,9 @@ class VeiculoServiceTest {
     @Mock
     private VeiculoRepository veiculoRepository;
 
+    @Spy
+    private CachePlacas cachePlacas = new CachePlacas(100, Duration.ofMinutes(5));
+
     @InjectMocks
     private VeiculoService veiculoService;
 
@@ -117,16 +132,44 @@ class VeiculoServiceTest {
     }
 
     @Test
-    @DisplayName("Deve listar todos os veículos")
-    void deveListarTodosVeiculos() {
-        List<Veiculo> veiculos = Arrays.asList(veiculoValido, veiculoComPlacaExistente);
-        when(veiculoRepository.findAll()).thenReturn(veiculos);
+    @DisplayName("Deve listar os veículos paginados pela projeção de resumo")
+    void deveListarVeiculosPaginados() {
+        VeiculoResumoDTO resumo = new VeiculoResumoDTO(1L, "ABC1234", "Fiat", "Palio", "Preto");
+        when(veiculoRepository.listarResumos(any(Pageable.class)))
+            .thenAnswer(invocacao -> new PageImpl<>(List.of(resumo), invocacao.getArgument(0), 1));
+
+        PaginaListagemDTO<VeiculoResumoDTO> pagina = veiculoService.listarVeiculos(null, null, null);
+
+        assertEquals(List.of(resumo), pagina.itens());
+        assertEquals(0, pagina.pagina());
+        assertEquals(Paginacao.TAMANHO_PADRAO, pagina.tamanho());
+        assertEquals(1, pagina.totalItens());
+        verify(veiculoRepository, never()).findAll();
+    }
 
-        List<Veiculo> lista = veiculoService.listarTodosVeiculos();
+    @Test
+    @DisplayName("Deve limitar o tamanho da página e desempatar a ordem pelo ID")
+    void deveLimitarTamanhoDaPaginaEDesempatarPeloId() {
+        when(veiculoRepository.listarResumos(any(Pageable.class)))
+            .thenAnswer(invocacao -> new PageImpl<>(List.of(), invocacao.getArgument(0), 0));
+
+        veiculoService.listarVeiculos(2, 10_000, "placa,desc");
+
+        ArgumentCaptor<Pageable> captor = ArgumentCaptor.forClass(Pageable.class);
+        verify(veiculoRepository).listarResumos(captor.capture());
+        assertEquals(2, captor.getValue().getPageNumber());
+        assertEquals(Paginacao.TAMANHO_MAXIMO, captor.getValue().getPageSize());
+        assertEquals(Sort.by(Sort.Direction.DESC, "placa").and(Sort.by("id")), captor.getValue().getSort());
+    }
 
-        assertNotNull(lista);
-        assertEquals(2, lista.size());
-        verify(veiculoRepository, times(1)).findAll();
+    @Test
+    @DisplayName("Deve recusar ordem por campo fora da listagem e página inválida")
+    void deveRecusarParametrosDeListagemInvalidos() {
+        assertThrows(IllegalArgumentException.class, () -> veiculoService.listarVeiculos(null, null, "cor"));
+        assertThrows(IllegalArgumentException.class, () -> veiculoService.listarVeiculos(null, null, "placa,cima"));
+        assertThrows(IllegalArgumentException.class, () -> veiculoService.listarVeiculos(-1, null, null));
+        assertThrows(IllegalArgumentException.class, () -> veiculoService.listarVeiculos(null, 0, null));
+        verify(veiculoRepository, never()).listarResumos(any());
     }
 
     @Test
@@ -255,4 +298,58 @@ class VeiculoServiceTest {
         verify(veiculoRepository, times(1)).existsById(99L);
         verify(veiculoRepository, never()).deleteById(anyLong());
     }
-}
\ No newline at end of file
+
+    @Test
+    @DisplayName("Deve recusar placa duplicada a partir do cache sem consultar o repositório")
+    void deveRecusarPlacaDuplicadaPeloCache() {
+        cachePlacas.registrar(veiculoValido.getPlaca(), veiculoValido.getId());
+
+        assertThrows(IllegalArgumentException.class, () -> veiculoService.criarVeiculo(veiculoValido));
+        verify(veiculoRepository, never()).findByPlaca(anyString());
+        verify(veiculoRepository, never()).save(any(Veiculo.class));
+    }
+
+    @Test
+    @DisplayName("Deve manter o cache coerente ao trocar a placa e ao deletar o veículo")
+    void deveManterCacheCoerenteAoAtualizarEDeletar() {
+        cachePlacas.registrar("ABC1234", 1L);
+        Veiculo atualizacao = new Veiculo(null, "NOV0001", "Fiat", "Palio", "Preto");
+
+        when(veiculoRepository.findById(1L)).thenReturn(Optional.of(veiculoValido));
+        when(veiculoRepository.findByPlaca("NOV0001")).thenReturn(Optional.empty());
+        when(veiculoRepository.save(any(Veiculo.class))).thenAnswer(i -> i.getArguments()[0]);
+        when(veiculoRepository.existsById(1L)).thenReturn(true);
+
+        veiculoService.atualizarVeiculo(1L, atualizacao);
+        assertNull(cachePlacas.buscarId("ABC1234"));
+        assertEquals(1L, cachePlacas.buscarId("NOV0001"));
+
+        veiculoService.deletarVeiculo(1L);
+        assertNull(cachePlacas.buscarId("NOV0001"));
+    }
+
+    @Test
+    @DisplayName("Deve descartar depois do commit a placa antiga lida por outra transação durante a troca")
+    void deveDescartarPlacaAntigaLidaDuranteATroca() {
+        cachePlacas.registrar("ABC1234", 1L);
+        Veiculo atualizacao = new Veiculo(null, "NOV0001", "Fiat", "Palio", "Preto");
+        when(veiculoRepository.findById(1L)).thenReturn(Optional.of(veiculoValido));
+        when(veiculoRepository.findByPlaca("NOV0001")).thenReturn(Optional.empty());
+        when(veiculoRepository.save(any(Veiculo.class))).thenAnswer(i -> i.getArguments()[0]);
+
+        transacao().executeWithoutResult(status -> {
+            veiculoService.atualizarVeiculo(1L, atualizacao);
+            assertNull(cachePlacas.buscarId("ABC1234"));
+            assertNull(cachePlacas.buscarId("NOV0001"));
+            cachePlacas.registrar("ABC1234", 1L);
+        });
+
+        assertNull(cachePlacas.buscarId("ABC1234"));
+        assertEquals(1L, cachePlacas.buscarId("NOV0001"));
+    }
+
+    private static TransactionTemplate transacao() {
+        return new TransactionTemplate(new DataSourceTransactionManager(
+            new DriverManagerDataSource("jdbc:h2:mem:estacionamento;DB_CLOSE_DELAY=-1", "sa", "")));
+    }
+}
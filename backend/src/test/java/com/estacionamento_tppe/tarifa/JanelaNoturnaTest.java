@@ -0,0 +1,158 @@
+package com.estacionamento_tppe.tarifa;
+
+import com.estacionamento.model.DiariaNoturna;
+import com.estacionamento.tarifa.JanelaNoturna;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalTime;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class JanelaNoturnaTest {
+
+    private static final int DIA = JanelaNoturna.MINUTOS_POR_DIA;
+
+    private static final LocalTime[][] JANELAS = {
+        {LocalTime.of(22, 0), LocalTime.of(6, 0)},
+        {LocalTime.of(18, 0), LocalTime.of(23, 30)},
+        {LocalTime.of(0, 0), LocalTime.of(23, 59)},
+        {LocalTime.of(23, 59), LocalTime.of(0, 0)},
+        {LocalTime.of(0, 1), LocalTime.of(0, 0)},
+        {LocalTime.of(20, 0), LocalTime.of(20, 0)},
+    };
+
+    /** Regra da hora de saída no {@code CalculoTarifarioReferencia}, com limites exclusivos. */
+    private static boolean dentroPelaReferencia(LocalTime inicio, LocalTime fim, LocalTime horario) {
+        return (inicio.isBefore(fim) && horario.isAfter(inicio) && horario.isBefore(fim))
+            || (inicio.isAfter(fim) && (horario.isAfter(inicio) || horario.isBefore(fim)));
+    }
+
+    private static boolean minutoNoturno(int inicio, int fim, int minuto) {
+        return inicio < fim ? minuto >= inicio && minuto < fim : inicio > fim && (minuto >= inicio || minuto < fim);
+    }
+
+    @Test
+    @DisplayName("Deve marcar cada minuto do dia para todas as janelas de meia em meia hora")
+    void deveMarcarMinutosParaTodasAsJanelas() {
+        for (int inicio = 0; inicio < DIA; inicio += 30) {
+            for (int fim = 0; fim < DIA; fim += 30) {
+                JanelaNoturna janela = JanelaNoturna.de(LocalTime.ofSecondOfDay(inicio * 60L),
+                    LocalTime.ofSecondOfDay(fim * 60L));
+                int total = 0;
+                for (int minuto = 0; minuto < DIA; minuto++) {
+                    boolean esperado = minutoNoturno(inicio, fim, minuto);
+                    if (esperado != janela.contemMinuto(minuto)) {
+                        fail("Janela " + inicio + "-" + fim + ", minuto " + minuto);
+                    }
+                    total += esperado ? 1 : 0;
+                }
+                assertEquals(total, janela.minutosPorDia());
+                assertEquals(inicio == fim, janela.vazia());
+            }
+        }
+    }
+
+    @Test
+    @DisplayName("Deve concordar com a regra de saída da referência em cada minuto e meio minuto do dia")
+    void deveConcordarComReferenciaMinutoAMinuto() {
+        for (int inicio = 0; inicio < DIA; inicio += 30) {
+            for (int fim = 0; fim < DIA; fim += 30) {
+                LocalTime horaInicio = LocalTime.ofSecondOfDay(inicio * 60L);
+                LocalTime horaFim = LocalTime.ofSecondOfDay(fim * 60L);
+                JanelaNoturna janela = JanelaNoturna.de(horaInicio, horaFim);
+                for (int segundo = 0; segundo < DIA * 60; segundo += 30) {
+                    LocalTime horario = LocalTime.ofSecondOfDay(segundo);
+                    if (dentroPelaReferencia(horaInicio, horaFim, horario) != janela.contem(horario)) {
+                        fail("Janela " + horaInicio + "-" + horaFim + ", horário " + horario);
+                    }
+                }
+                LocalTime quaseMeiaNoite = LocalTime.MAX;
+                assertEquals(dentroPelaReferencia(horaInicio, horaFim, quaseMeiaNoite), janela.contem(quaseMeiaNoite));
+            }
+        }
+    }
+
+    @Test
+    @DisplayName("Deve contar os minutos noturnos de permanências de até três dias, minuto a minuto")
+    void deveContarMinutosNoturnosDePermanencias() {
+        for (LocalTime[] limites : JANELAS) {
+            JanelaNoturna janela = JanelaNoturna.de(limites[0], limites[1]);
+            int inicio = janela.inicio();
+            int fim = janela.fim();
+            for (int entrada = 0; entrada < DIA; entrada++) {
+                long esperado = 0;
+                for (int saida = entrada; saida <= entrada + 3 * DIA; saida++) {
+                    if (esperado != janela.minutosNoturnos(entrada, saida)) {
+                        fail("Janela " + inicio + "-" + fim + ", permanência " + entrada + "->" + saida);
+                    }
+                    esperado += minutoNoturno(inicio, fim, saida % DIA) ? 1 : 0;
+                }
+            }
+        }
+    }
+
+    @Test
+    @DisplayName("Deve contar as noites cruzadas por permanências de até três dias, minuto a minuto")
+    void deveContarNoitesCruzadas() {
+        for (LocalTime[] limites : JANELAS) {
+            JanelaNoturna janela = JanelaNoturna.de(limites[0], limites[1]);
+            int inicio = janela.inicio();
+            int fim = janela.fim();
+            for (int entrada = 0; entrada < DIA; entrada++) {
+                long esperado = 0;
+                for (int saida = entrada; saida <= entrada + 3 * DIA; saida++) {
+                    if (esperado != janela.noitesCruzadas(entrada, saida)) {
+                        fail("Janela " + inicio + "-" + fim + ", permanência " + entrada + "->" + saida);
+                    }
+                    boolean noturno = minutoNoturno(inicio, fim, saida % DIA);
+                    boolean continuacao = saida > entrada && minutoNoturno(inicio, fim, (saida - 1) % DIA);
+                    esperado += noturno && !continuacao ? 1 : 0;
+                }
+            }
+        }
+    }
+
+    @Test
+    @DisplayName("Deve contar minutos noturnos entre datas, inclusive antes da época e com saída antes da entrada")
+    void deveContarMinutosNoturnosEntreDatas() {
+        JanelaNoturna janela = JanelaNoturna.de(LocalTime.of(22, 0), LocalTime.of(6, 0));
+        LocalDate dia = LocalDate.of(2024, 7, 1);
+
+        assertEquals(480, janela.minutosNoturnos(dia, LocalTime.of(12, 0), dia.plusDays(1), LocalTime.of(12, 0)));
+        assertEquals(3 * 480 + 30, janela.minutosNoturnos(dia, LocalTime.of(21, 0), dia.plusDays(3),
+            LocalTime.of(22, 30, 59)));
+        assertEquals(120, janela.minutosNoturnos(LocalDate.of(1969, 12, 31), LocalTime.of(23, 0),
+            LocalDate.of(1970, 1, 1), LocalTime.of(1, 0)));
+        assertEquals(0, janela.minutosNoturnos(dia, LocalTime.of(23, 0), dia, LocalTime.of(22, 0)));
+    }
+
+    @Test
+    @DisplayName("Deve aceitar janela que atravessa a meia-noite e aplicar a mesma regra do cálculo na entidade")
+    void deveAplicarMesmaRegraNaEntidade() {
+        DiariaNoturna diariaNoturna = new DiariaNoturna(LocalTime.of(22, 0), LocalTime.of(6, 0), BigDecimal.ONE);
+
+        assertTrue(diariaNoturna.isValidTimeRange());
+        for (int segundo = 0; segundo < DIA * 60; segundo += 15) {
+            LocalTime horario = LocalTime.ofSecondOfDay(segundo);
+            assertEquals(dentroPelaReferencia(LocalTime.of(22, 0), LocalTime.of(6, 0), horario),
+                diariaNoturna.isTimeInNightPeriod(horario), horario.toString());
+        }
+
+        diariaNoturna.setHoraFim(LocalTime.of(22, 0));
+        assertFalse(diariaNoturna.isValidTimeRange());
+        assertFalse(diariaNoturna.isTimeInNightPeriod(LocalTime.of(23, 0)));
+    }
+
+    @Test
+    @DisplayName("Deve reutilizar a mesma instância para a mesma janela e detectar horários com segundos")
+    void deveReutilizarInstanciaEDetectarSegundos() {
+        assertSame(JanelaNoturna.de(LocalTime.of(22, 0), LocalTime.of(6, 0)),
+            JanelaNoturna.de(LocalTime.of(22, 0, 30), LocalTime.of(6, 0)));
+        assertTrue(JanelaNoturna.alinhadaAoMinuto(LocalTime.of(22, 0), LocalTime.of(6, 0)));
+        assertFalse(JanelaNoturna.alinhadaAoMinuto(LocalTime.of(22, 0, 30), LocalTime.of(6, 0)));
+    }
+}
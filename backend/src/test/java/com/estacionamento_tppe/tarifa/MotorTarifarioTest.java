@@ -0,0 +1,198 @@
+package com.estacionamento_tppe.tarifa;
+
+import com.estacionamento.model.Acesso;
+import com.estacionamento.model.Diaria;
+import com.estacionamento.model.DiariaNoturna;
+import com.estacionamento.model.Tempo;
+import com.estacionamento.tarifa.CalculoTarifarioReferencia;
+import com.estacionamento.tarifa.CobrancaDiaria;
+import com.estacionamento.tarifa.MotorTarifario;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class MotorTarifarioTest {
+
+    private MotorTarifario motorTarifario;
+    private Tempo tempoPadrao;
+    private Diaria diariaPadrao;
+
+    @BeforeEach
+    void setUp() {
+        motorTarifario = new MotorTarifario();
+        tempoPadrao = new Tempo(1L, LocalTime.of(0, 15), new BigDecimal("10.00"), new BigDecimal("10.0"));
+
+        DiariaNoturna diariaNoturna = new DiariaNoturna(
+            2L, LocalTime.of(22, 0), LocalTime.of(6, 0), new BigDecimal("5.00"), null
+        );
+        diariaPadrao = new Diaria(2L, new BigDecimal("50.00"), "DIARIA_COMUM", "Diária normal", null);
+        diariaPadrao.setDiariaNoturna(diariaNoturna);
+    }
+
+    private Acesso acesso(String tipo, LocalDate dataInicio, LocalTime horaInicio,
+                          LocalDate dataFim, LocalTime horaFim) {
+        Acesso acesso = new Acesso();
+        acesso.setTipoAcesso(tipo);
+        acesso.setDataInicio(dataInicio);
+        acesso.setHoraInicio(horaInicio);
+        acesso.setDataFim(dataFim);
+        acesso.setHoraFim(horaFim);
+        acesso.setTempo(tempoPadrao);
+        acesso.setDiaria(diariaPadrao);
+        return acesso;
+    }
+
+    @Test
+    @DisplayName("Deve calcular o mesmo valor do cálculo de referência para acessos do tipo TEMPO")
+    void deveCalcularMesmoValorDaReferenciaParaTempo() {
+        String[] descontos = {null, "0", "10.0", "12.5", "15", "33.33", "100"};
+        String[] valores = {"10.00", "7.35", "0.99", "3.333"};
+        LocalDate dia = LocalDate.of(2024, 7, 1);
+
+        for (String desconto : descontos) {
+            for (String valor : valores) {
+                tempoPadrao.setDesconto(desconto == null ? null : new BigDecimal(desconto));
+                tempoPadrao.setValorFracao(new BigDecimal(valor));
+                for (int minutos = 0; minutos <= 3 * 24 * 60; minutos += 7) {
+                    Acesso acesso = acesso("TEMPO", dia, LocalTime.of(9, 7, 1),
+                        dia.plusDays(minutos / 1440), LocalTime.of(9, 7, 1).plusMinutes(minutos % 1440));
+
+                    assertEquals(CalculoTarifarioReferencia.calcularValor(acesso),
+                        motorTarifario.calcularValor(acesso));
+                }
+            }
+        }
+    }
+
+    @Test
+    @DisplayName("Deve calcular o mesmo valor do cálculo de referência para DIARIA com cobrança única")
+    void deveCalcularMesmoValorDaReferenciaParaDiaria() {
+        MotorTarifario motorTarifario = new MotorTarifario(CobrancaDiaria.UNICA, Duration.ZERO);
+        LocalDate dia = LocalDate.of(2024, 7, 1);
+        LocalTime[][] janelas = {
+            {LocalTime.of(22, 0), LocalTime.of(6, 0)},
+            {LocalTime.of(18, 0), LocalTime.of(23, 30)},
+            {LocalTime.of(20, 0), LocalTime.of(20, 0)},
+        };
+
+        for (LocalTime[] janela : janelas) {
+            diariaPadrao.getDiariaNoturna().setHoraInicio(janela[0]);
+            diariaPadrao.getDiariaNoturna().setHoraFim(janela[1]);
+            for (int minuto = 0; minuto < 24 * 60; minuto++) {
+                Acesso acesso = acesso("diaria", dia, LocalTime.MIDNIGHT,
+                    dia.plusDays(1), LocalTime.MIDNIGHT.plusMinutes(minuto));
+
+                assertEquals(CalculoTarifarioReferencia.calcularValor(acesso),
+                    motorTarifario.calcularValor(acesso));
+            }
+        }
+    }
+
+    @Test
+    @DisplayName("Deve cobrar DIARIA por dia igual à referência dia a dia, com e sem tolerância")
+    void deveCobrarDiariaPorDiaIgualAReferencia() {
+        LocalDate dia = LocalDate.of(2024, 7, 1);
+        LocalTime[][] janelas = {
+            {LocalTime.of(22, 0), LocalTime.of(6, 0)},
+            {LocalTime.of(18, 0), LocalTime.of(23, 30)},
+            {LocalTime.of(20, 0), LocalTime.of(20, 0)},
+        };
+        LocalTime[] entradas = {LocalTime.MIDNIGHT, LocalTime.of(9, 7, 1), LocalTime.of(21, 59, 59)};
+        String[] adicionais = {"5.00", "2.345"};
+
+        for (long tolerancia : new long[]{0, 15}) {
+            MotorTarifario motorTarifario = new MotorTarifario(CobrancaDiaria.POR_DIA, Duration.ofMinutes(tolerancia));
+            for (String adicional : adicionais) {
+                diariaPadrao.getDiariaNoturna().setAdicionalNoturno(new BigDecimal(adicional));
+                for (LocalTime[] janela : janelas) {
+                    diariaPadrao.getDiariaNoturna().setHoraInicio(janela[0]);
+                    diariaPadrao.getDiariaNoturna().setHoraFim(janela[1]);
+                    for (LocalTime entrada : entradas) {
+                        for (int minutos = 0; minutos <= 3 * 24 * 60; minutos += 7) {
+                            LocalDateTime saida = dia.atTime(entrada).plusMinutes(minutos);
+                            Acesso acesso = acesso("DIARIA", dia, entrada, saida.toLocalDate(), saida.toLocalTime());
+
+                            BigDecimal esperado =
+                                CalculoTarifarioReferencia.calcularValorDiariaPorDia(acesso, tolerancia);
+                            if (!esperado.equals(motorTarifario.calcularValor(acesso))) {
+                                fail("Janela " + janela[0] + "-" + janela[1] + ", entrada " + entrada
+                                    + ", " + minutos + " minutos, tolerância " + tolerancia);
+                            }
+                        }
+                    }
+                }
+            }
+        }
+    }
+
+    @Test
+    @DisplayName("Deve cobrar uma diária por dia iniciado e um adicional por noite, respeitando a tolerância")
+    void deveCobrarDiariasENoitesComTolerancia() {
+        LocalDate dia = LocalDate.of(2024, 7, 1);
+
+        Acesso mesmoDia = acesso("DIARIA", dia, LocalTime.of(8, 0), dia, LocalTime.of(18, 0));
+        Acesso tresDias = acesso("DIARIA", dia, LocalTime.of(8, 0), dia.plusDays(2), LocalTime.of(9, 0));
+        Acesso dentroDaTolerancia = acesso("DIARIA", dia, LocalTime.of(8, 0), dia.plusDays(1), LocalTime.of(8, 10));
+        Acesso saidaNoturna = acesso("DIARIA", dia, LocalTime.of(8, 0), dia, LocalTime.of(22, 10));
+
+        assertEquals(new BigDecimal("50.00"), motorTarifario.calcularValor(mesmoDia));
+        assertEquals(new BigDecimal("160.00"), motorTarifario.calcularValor(tresDias));
+        assertEquals(new BigDecimal("55.00"), motorTarifario.calcularValor(dentroDaTolerancia));
+        assertEquals(new BigDecimal("50.00"), motorTarifario.calcularValor(saidaNoturna));
+        assertEquals(5500L, motorTarifario.calcularCentavos(dentroDaTolerancia));
+        assertEquals(new BigDecimal("55.00"),
+            new MotorTarifario(CobrancaDiaria.POR_DIA, Duration.ZERO).calcularValor(saidaNoturna));
+        assertEquals(new BigDecimal("50.00"),
+            new MotorTarifario(CobrancaDiaria.UNICA, Duration.ZERO).calcularValor(tresDias));
+    }
+
+    @Test
+    @DisplayName("Deve recompilar o plano quando a configuração de Tempo muda sem invalidação")
+    void deveRecompilarPlanoQuandoTempoMuda() {
+        LocalDate dia = LocalDate.of(2024, 7, 1);
+        Acesso acesso = acesso("TEMPO", dia, LocalTime.of(9, 30), dia, LocalTime.of(10, 0));
+        assertEquals(new BigDecimal("18.00"), motorTarifario.calcularValor(acesso));
+
+        tempoPadrao.setValorFracao(new BigDecimal("20.00"));
+        assertEquals(new BigDecimal("36.00"), motorTarifario.calcularValor(acesso));
+
+        motorTarifario.invalidarTempo(tempoPadrao.getId());
+        assertEquals(new BigDecimal("36.00"), motorTarifario.calcularValor(acesso));
+    }
+
+    @Test
+    @DisplayName("Deve retornar zero sem escala quando não há saída e zero em centavos para MENSALISTA")
+    void deveRetornarZeroParaAcessoAbertoEMensalista() {
+        LocalDate dia = LocalDate.of(2024, 7, 1);
+        Acesso aberto = acesso("TEMPO", dia, LocalTime.of(9, 0), null, null);
+        Acesso mensalista = acesso("MENSALISTA", dia, LocalTime.of(9, 0), dia, LocalTime.of(18, 0));
+
+        assertEquals(BigDecimal.ZERO, motorTarifario.calcularValor(aberto));
+        assertEquals(new BigDecimal("0.00"), motorTarifario.calcularValor(mensalista));
+        assertEquals(0L, motorTarifario.calcularCentavos(mensalista));
+    }
+
+    @Test
+    @DisplayName("Deve manter as exceções do cálculo de referência para configurações inválidas")
+    void deveManterExcecoesParaConfiguracoesInvalidas() {
+        LocalDate dia = LocalDate.of(2024, 7, 1);
+        Acesso acesso = acesso("TEMPO", dia, LocalTime.of(9, 0), dia, LocalTime.of(10, 0));
+        tempoPadrao.setDuracao(LocalTime.of(0, 0, 30));
+
+        IllegalStateException excecao = assertThrows(IllegalStateException.class,
+            () -> motorTarifario.calcularValor(acesso));
+        assertEquals("Duração da fração de tempo deve ser maior que zero.", excecao.getMessage());
+
+        acesso.setTempo(null);
+        assertThrows(IllegalStateException.class, () -> motorTarifario.calcularValor(acesso));
+    }
+}
@@ -0,0 +1,125 @@
+-- Banco como o ddl-auto=update o deixava antes das migrações: tabelas do mapeamento JPA daquela versão, com
+-- os nomes de restrição escolhidos pelo banco, e alguns acessos já encerrados.
+create table estacionamento (
+    id bigint not null auto_increment,
+    capacidade integer not null,
+    endereco varchar(255) not null,
+    hora_abertura time(6) not null,
+    hora_fechamento time(6) not null,
+    nome varchar(100) not null,
+    primary key (id),
+    unique (nome)
+);
+
+create table contratante (
+    id bigint not null auto_increment,
+    cpf_cnpj varchar(20) not null,
+    email varchar(100) not null,
+    nome varchar(100) not null,
+    telefone varchar(20),
+    primary key (id),
+    unique (cpf_cnpj),
+    unique (email)
+);
+
+create table veiculo (
+    id bigint not null auto_increment,
+    cor varchar(50),
+    marca varchar(50) not null,
+    modelo varchar(50) not null,
+    placa varchar(10) not null,
+    primary key (id),
+    unique (placa)
+);
+
+create table evento (
+    id bigint not null auto_increment,
+    data_fim date not null,
+    data_inicio date not null,
+    descricao text,
+    hora_fim time(6) not null,
+    hora_inicio time(6) not null,
+    nome_evento varchar(100) not null,
+    primary key (id)
+);
+
+create table tempo (
+    id bigint not null auto_increment,
+    desconto decimal(10,2),
+    duracao time(6) not null,
+    valor_fracao decimal(10,2) not null,
+    primary key (id)
+);
+
+create table diaria (
+    id bigint not null auto_increment,
+    descricao varchar(255),
+    tipo varchar(50) not null,
+    valor decimal(10,2) not null,
+    primary key (id),
+    unique (tipo)
+);
+
+create table diaria_noturna (
+    adicional_noturno decimal(10,2),
+    hora_fim time(6) not null,
+    hora_inicio time(6) not null,
+    id bigint not null,
+    primary key (id),
+    foreign key (id) references diaria (id)
+);
+
+create table mensalista (
+    id bigint not null auto_increment,
+    descricao varchar(255),
+    periodo_meses integer not null,
+    valor decimal(10,2) not null,
+    primary key (id)
+);
+
+create table acesso (
+    id bigint not null auto_increment,
+    data_fim date,
+    data_inicio date not null,
+    hora_fim time(6),
+    hora_inicio time(6) not null,
+    tipo_acesso varchar(50) not null,
+    valor_cobrado decimal(10,2),
+    diaria_id bigint,
+    estacionamento_id bigint not null,
+    mensalista_id bigint,
+    tempo_id bigint,
+    veiculo_id bigint not null,
+    primary key (id),
+    foreign key (diaria_id) references diaria (id),
+    foreign key (estacionamento_id) references estacionamento (id),
+    foreign key (mensalista_id) references mensalista (id),
+    foreign key (tempo_id) references tempo (id),
+    foreign key (veiculo_id) references veiculo (id)
+);
+
+create table estacionamento_contratante (
+    contratante_id bigint not null,
+    estacionamento_id bigint not null,
+    primary key (contratante_id, estacionamento_id),
+    foreign key (contratante_id) references contratante (id),
+    foreign key (estacionamento_id) references estacionamento (id)
+);
+
+create table contratante_evento (
+    contratante_id bigint not null,
+    evento_id bigint not null,
+    primary key (contratante_id, evento_id),
+    foreign key (contratante_id) references contratante (id),
+    foreign key (evento_id) references evento (id)
+);
+
+insert into estacionamento (capacidade, endereco, hora_abertura, hora_fechamento, nome)
+    values (10, 'Rua A', '08:00', '22:00', 'Central');
+insert into veiculo (marca, modelo, placa) values ('Fiat', 'Uno', 'ABC1234');
+insert into acesso (estacionamento_id, veiculo_id, data_inicio, hora_inicio, data_fim, hora_fim, tipo_acesso,
+    valor_cobrado) values (1, 1, '2024-07-01', '09:00', '2024-07-01', '10:00', 'Tempo', 10.00);
+insert into acesso (estacionamento_id, veiculo_id, data_inicio, hora_inicio, data_fim, hora_fim, tipo_acesso,
+    valor_cobrado) values (1, 1, '2024-07-01', '14:00', '2024-07-01', '15:00', 'TEMPO', 8.00);
+insert into acesso (estacionamento_id, veiculo_id, data_inicio, hora_inicio, tipo_acesso)
+    values (1, 1, '2024-07-02', '09:00', 'TEMPO');
@@ -1,21 +1,8 @@
-import api from './api';
+import api, { getTodosPeloCursor } from './api';
 
 export const getAllAcessos = async () => {
     try {
-        const response = await api.get('/acessos');
-        const data = response.data;
-
-        if (Array.isArray(data)) {
-            return data;
-        }
-        if (data && Array.isArray(data.data)) {
-            return data.data;
-        }
-        if (data && Array.isArray(data.acessos)) {
-            return data.acessos;
-        }
-        console.warn('API response structure unexpected for acessos:', data);
-        return [];
+        return await getTodosPeloCursor('/acessos');
     } catch (error) {
         console.error("Erro ao buscar todos os acessos da API:", error);
         if (error.response) {
@@ -7,4 +7,53 @@ const api = axios.create({
     },
 });
 
-export default api;
\ No newline at end of file
+export default api;
+
+// Tamanho máximo aceito pelas listagens dos cadastros (Paginacao.TAMANHO_MAXIMO no backend).
+const TAMANHO_PAGINA = 100;
+
+// Limite máximo aceito pela listagem de acessos (AcessoService.LIMITE_MAXIMO no backend).
+const LIMITE_CURSOR = 500;
+
+// Busca todas as páginas de uma listagem dos cadastros, até totalPaginas, e devolve os itens juntos.
+export const getTodasAsPaginas = async (url) => {
+    const itens = [];
+    let pagina = 0;
+    let totalPaginas = 1;
+    while (pagina < totalPaginas) {
+        const response = await api.get(url, { params: { pagina, tamanho: TAMANHO_PAGINA } });
+        const data = response.data;
+        if (Array.isArray(data)) {
+            return data;
+        }
+        if (!data || !Array.isArray(data.itens)) {
+            console.warn(`API response structure unexpected for ${url}:`, data);
+            return itens;
+        }
+        itens.push(...data.itens);
+        totalPaginas = data.totalPaginas;
+        pagina++;
+    }
+    return itens;
+};
+
+// Segue o cursor de uma listagem paginada por cursor até proximoCursor vir nulo e devolve os itens juntos.
+export const getTodosPeloCursor = async (url) => {
+    const itens = [];
+    let cursor = null;
+    do {
+        const params = cursor === null ? { limite: LIMITE_CURSOR } : { cursor, limite: LIMITE_CURSOR };
+        const response = await api.get(url, { params });
+        const data = response.data;
+        if (Array.isArray(data)) {
+            return data;
+        }
+        if (!data || !Array.isArray(data.itens)) {
+            console.warn(`API response structure unexpected for ${url}:`, data);
+            return itens;
+        }
+        itens.push(...data.itens);
+        cursor = data.proximoCursor ?? null;
+    } while (cursor !== null);
+    return itens;
+};
@@ -1,21 +1,8 @@
-import api from './api';
+import api, { getTodasAsPaginas } from './api';
 
 export const getAllContratantes = async () => {
     try {
-        const response = await api.get('/contratantes');
-        const data = response.data;
-
-        if (Array.isArray(data)) {
-            return data;
-        }
-        if (data && Array.isArray(data.data)) {
-            return data.data;
-        }
-        if (data && Array.isArray(data.contratantes)) {
-            return data.contratantes;
-        }
-        console.warn('API response structure unexpected for contratantes:', data);
-        return [];
+        return await getTodasAsPaginas('/contratantes');
     } catch (error) {
         console.error("Erro ao buscar todos os contratantes da API:", error);
         if (error.response) {
@@ -1,21 +1,8 @@
-import api from './api';
+import api, { getTodasAsPaginas } from './api';
 
 export const getAllDiarias = async () => {
     try {
-        const response = await api.get('/diarias');
-        const data = response.data;
-
-        if (Array.isArray(data)) {
-            return data;
-        }
-        if (data && Array.isArray(data.data)) {
-            return data.data;
-        }
-        if (data && Array.isArray(data.diarias)) { 
-            return data.diarias;
-        }
-        console.warn('API response structure unexpected for diarias:', data);
-        return [];
+        return await getTodasAsPaginas('/diarias');
     } catch (error) {
         console.error("Erro ao buscar todas as diárias da API:", error);
         if (error.response) {
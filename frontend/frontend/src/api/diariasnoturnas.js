@@ -1,21 +1,8 @@
-import api from './api';
+import api, { getTodasAsPaginas } from './api';
 
 export const getAllDiariasNoturnas = async () => {
     try {
-        const response = await api.get('/diariasnoturnas');
-        const data = response.data;
-
-        if (Array.isArray(data)) {
-            return data;
-        }
-        if (data && Array.isArray(data.data)) {
-            return data.data;
-        }
-        if (data && Array.isArray(data.diariasnoturnas)) {
-            return data.diariasnoturnas;
-        }
-        console.warn('API response structure unexpected for diariasnoturnas:', data);
-        return [];
+        return await getTodasAsPaginas('/diariasnoturnas');
     } catch (error) {
         console.error("Erro ao buscar todas as diárias noturnas da API:", error);
         if (error.response) {
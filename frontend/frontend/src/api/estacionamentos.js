@@ -1,26 +1,8 @@
-import api from './api';
+import api, { getTodasAsPaginas } from './api';
 
 export const getAllEstacionamentos = async () => {
     try {
-        const response = await api.get('/estacionamentos');
-
-        const data = response.data;
-
-        if (Array.isArray(data)) {
-            return data;
-        }
- 
-        if (data && Array.isArray(data.data)) {
-            return data.data;
-        }
-
-        if (data && Array.isArray(data.estacionamentos)) {
-            return data.estacionamentos;
-        }
-
-        console.warn('API response structure unexpected for estacionamentos:', data);
-        return [];
-        
+        return await getTodasAsPaginas('/estacionamentos');
     } catch (error) {
         console.error("Erro ao buscar todos os estacionamentos da API:", error);
         
@@ -1,21 +1,8 @@
-import api from './api';
+import api, { getTodasAsPaginas } from './api';
 
 export const getAllEventos = async () => {
     try {
-        const response = await api.get('/eventos');
-        const data = response.data;
-
-        if (Array.isArray(data)) {
-            return data;
-        }
-        if (data && Array.isArray(data.data)) {
-            return data.data;
-        }
-        if (data && Array.isArray(data.eventos)) {
-            return data.eventos;
-        }
-        console.warn('API response structure unexpected for eventos:', data);
-        return [];
+        return await getTodasAsPaginas('/eventos');
     } catch (error) {
         console.error("Erro ao buscar todos os eventos da API:", error);
         if (error.response) {
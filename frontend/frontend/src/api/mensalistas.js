@@ -1,21 +1,8 @@
-import api from './api';
+import api, { getTodasAsPaginas } from './api';
 
 export const getAllMensalistas = async () => {
     try {
-        const response = await api.get('/mensalistas');
-        const data = response.data;
-
-        if (Array.isArray(data)) {
-            return data;
-        }
-        if (data && Array.isArray(data.data)) {
-            return data.data;
-        }
-        if (data && Array.isArray(data.mensalistas)) {
-            return data.mensalistas;
-        }
-        console.warn('API response structure unexpected for mensalistas:', data);
-        return [];
+        return await getTodasAsPaginas('/mensalistas');
     } catch (error) {
         console.error("Erro ao buscar todos os mensalistas da API:", error);
         if (error.response) {
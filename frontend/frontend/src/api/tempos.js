@@ -1,21 +1,8 @@
-import api from './api';
+import api, { getTodasAsPaginas } from './api';
 
 export const getAllTempos = async () => {
     try {
-        const response = await api.get('/tempos');
-        const data = response.data;
-
-        if (Array.isArray(data)) {
-            return data;
-        }
-        if (data && Array.isArray(data.data)) {
-            return data.data;
-        }
-        if (data && Array.isArray(data.tempos)) {
-            return data.tempos;
-        }
-        console.warn('API response structure unexpected for tempos:', data);
-        return [];
+        return await getTodasAsPaginas('/tempos');
     } catch (error) {
         console.error("Erro ao buscar todos os tempos da API:", error);
         if (error.response) {
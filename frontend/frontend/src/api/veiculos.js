@@ -1,21 +1,8 @@
-import api from './api';
+import api, { getTodasAsPaginas } from './api';
 
 export const getAllVeiculos = async () => {
     try {
-        const response = await api.get('/veiculos');
-        const data = response.data;
-
-        if (Array.isArray(data)) {
-            return data;
-        }
-        if (data && Array.isArray(data.data)) {
-            return data.data;
-        }
-        if (data && Array.isArray(data.veiculos)) {
-            return data.veiculos;
-        }
-        console.warn('API response structure unexpected for veiculos:', data);
-        return [];
+        return await getTodasAsPaginas('/veiculos');
     } catch (error) {
         console.error("Erro ao buscar todos os veículos da API:", error);
         if (error.response) {